@@ -0,0 +1,146 @@
+package com.tsystem.configuration;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Brotli-encodes GET responses for clients whose Accept-Encoding allows br,
+ * i.e. lists it, or "*", with a weight above q=0.
+ *
+ * Tomcat only does gzip (server.compression). For br the body is buffered,
+ * and encoded once it is complete and at least as large as
+ * server.compression.min-response-size; smaller bodies and other content
+ * types go out as they are, still subject to Tomcat's gzip. Quality 4 keeps
+ * the encoder about as fast as gzip while producing smaller output for the
+ * repetitive JSON of ticket lists.
+ *
+ * Server-sent events and attachment downloads are streamed and never
+ * buffered. If the native library is not available for the platform, the
+ * filter passes everything through.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BrotliCompressionFilter extends OncePerRequestFilter {
+
+    private static final List<MediaType> COMPRESSIBLE = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"),
+            MediaType.APPLICATION_PROBLEM_JSON);
+
+    // files of any size, sent with sendfile or in ranges
+    private static final String ATTACHMENTS = "/attachments/";
+
+    private final boolean enabled;
+    private final int minSize;
+    private final Encoder.Parameters parameters;
+
+    public BrotliCompressionFilter(@Value("${tsystem.compression.brotli.enabled:true}") boolean enabled,
+                                   @Value("${tsystem.compression.brotli.quality:4}") int quality,
+                                   @Value("${server.compression.min-response-size:2KB}") DataSize minSize) {
+        this.enabled = enabled && available();
+        this.minSize = (int) minSize.toBytes();
+        this.parameters = new Encoder.Parameters().setQuality(quality);
+    }
+
+    private static boolean available() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            log.warn("Brotli is not available on this platform, responses are only gzip-compressed", e);
+            return false;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) return true;
+        String acceptEncoding = String.join(",", Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING)));
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return !acceptsBrotli(acceptEncoding)
+                || accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)
+                || request.getRequestURI().contains(ATTACHMENTS);
+    }
+
+    // an explicit br entry decides, otherwise "*"; q=0 means not acceptable (RFC 9110, 12.5.3)
+    static boolean acceptsBrotli(String acceptEncoding) {
+        Double br = null;
+        Double any = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].strip();
+            if ("br".equalsIgnoreCase(coding)) {
+                br = quality(parts);
+            } else if ("*".equals(coding)) {
+                any = quality(parts);
+            }
+        }
+        Double q = br != null ? br : any;
+        return q != null && q > 0;
+    }
+
+    // a malformed weight counts as q=0, the response then goes out as it is
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].strip();
+            if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(param.substring(2).strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, buffered);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!compressible(buffered)) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+        byte[] encoded = Encoder.compress(buffered.getContentAsByteArray(), parameters);
+        buffered.resetBuffer();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+        response.setContentLength(encoded.length);
+        response.getOutputStream().write(encoded);
+    }
+
+    private boolean compressible(ContentCachingResponseWrapper response) {
+        if (response.getContentSize() < minSize || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        String contentType = response.getContentType();
+        if (contentType == null) return false;
+        MediaType type = MediaType.parseMediaType(contentType);
+        return COMPRESSIBLE.stream().anyMatch(c -> c.isCompatibleWith(type));
+    }
+}
@@ -0,0 +1,57 @@
+package com.tsystem.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bounded in-process caches for hot single-row reads. Caffeine evicts by
+ * W-TinyLFU once a cache is full; every cache records stats so hit, miss and
+ * eviction counts show up under /actuator/metrics/cache.*.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String PROJECTS = "projects";
+    public static final String TICKETS = "tickets";
+    public static final String PORTFOLIO = "portfolio";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${tsystem.cache.projects.max-size:1000}") long projectsMaxSize,
+                                     @Value("${tsystem.cache.tickets.max-size:10000}") long ticketsMaxSize,
+                                     @Value("${tsystem.cache.ttl-ms:600000}") long ttlMs,
+                                     @Value("${tsystem.cache.portfolio.ttl-ms:60000}") long portfolioTtlMs) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.registerCustomCache(PROJECTS, Caffeine.newBuilder()
+                .maximumSize(projectsMaxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build());
+        manager.registerCustomCache(TICKETS, Caffeine.newBuilder()
+                .maximumSize(ticketsMaxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build());
+        // one report over all active projects, recomputed when it expires rather than evicted on writes
+        manager.registerCustomCache(PORTFOLIO, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMillis(portfolioTtlMs))
+                .recordStats()
+                .build());
+        // no other cache names may be created on the fly
+        manager.setCacheNames(List.of());
+
+        // puts and evictions issued inside a transaction are applied after commit,
+        // so a rolled-back write never leaves its value behind
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+}
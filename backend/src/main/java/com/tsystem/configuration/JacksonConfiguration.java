@@ -0,0 +1,42 @@
+package com.tsystem.configuration;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tsystem.model.dto.FieldSet;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Responses that support {@code fields=} carry a Jackson filter; everywhere
+ * they are written without a {@link FieldSet}, the filter lets every property
+ * through.
+ *
+ * Besides JSON, every endpoint speaks CBOR ({@code application/cbor}) and
+ * Smile ({@code application/x-jackson-smile}) when the client asks for them
+ * in Accept. Spring MVC would register both on its own, but with plain
+ * mappers; these are built from the application's builder so dates, filters
+ * and the rest come out the same as in JSON. JSON stays first, so a client
+ * that accepts anything still gets JSON.
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSetFilters() {
+        return builder -> builder.filters(FieldSet.ALL.filters());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.tsystem.controller;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.TicketAttachment;
+import com.tsystem.model.dto.response.TicketAttachmentResponse;
+import com.tsystem.model.mapper.TicketAttachmentMapper;
+import com.tsystem.service.AttachmentService;
+import com.tsystem.web.FileDownload;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/projects/{projectId}/tickets/{ticketId}/attachments")
+public class AttachmentController {
+
+    private final AttachmentService attachmentService;
+
+    // GET /projects/{projectId}/tickets/{ticketId}/attachments
+    @GetMapping
+    public List<TicketAttachmentResponse> list(@PathVariable UUID projectId, @PathVariable UUID ticketId) {
+        return TicketAttachmentMapper.toResponseList(attachmentService.list(projectId, ticketId));
+    }
+
+    // POST /projects/{projectId}/tickets/{ticketId}/attachments?name=server.log
+    // the body is the file itself, with its Content-Type; it is streamed to disk, not buffered
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public TicketAttachmentResponse upload(@PathVariable UUID projectId, @PathVariable UUID ticketId,
+                                           @RequestParam String name,
+                                           HttpServletRequest request,
+                                           @AuthenticationPrincipal UserDetails principal) throws IOException {
+        return TicketAttachmentMapper.toResponse(attachmentService.upload(projectId, ticketId, name,
+                request.getContentType(), request.getContentLengthLong(), request.getInputStream(),
+                principal.getUsername()));
+    }
+
+    // GET /projects/{projectId}/tickets/{ticketId}/attachments/{attachmentId}
+    // Range: bytes=0-1023 is answered with 206 and only those bytes
+    @GetMapping("/{attachmentId}")
+    public void download(@PathVariable UUID projectId, @PathVariable UUID ticketId, @PathVariable UUID attachmentId,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AttachmentService.AttachmentFile file = attachmentService.get(projectId, ticketId, attachmentId);
+        TicketAttachment a = file.attachment();
+        try {
+            // attachments never change; the content hash, or the id for files not moved yet, is a strong validator
+            String etag = a.getBlobHash() != null ? a.getBlobHash() : a.getId().toString();
+            FileDownload.send(request, response, file.path(), a.getContentType(), a.getFileName(),
+                    '"' + etag + '"');
+        } catch (NoSuchFileException e) {
+            throw new NotFoundException("Attachment not found");
+        }
+    }
+
+    // DELETE /projects/{projectId}/tickets/{ticketId}/attachments/{attachmentId}
+    @DeleteMapping("/{attachmentId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public void delete(@PathVariable UUID projectId, @PathVariable UUID ticketId, @PathVariable UUID attachmentId) {
+        attachmentService.delete(projectId, ticketId, attachmentId);
+    }
+}
@@ -0,0 +1,84 @@
+package com.tsystem.controller;
+
+import com.tsystem.model.dto.request.LabelRequest;
+import com.tsystem.model.dto.request.TicketLabelsRequest;
+import com.tsystem.model.dto.response.LabelResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.mapper.LabelMapper;
+import com.tsystem.service.LabelIndexService;
+import com.tsystem.service.LabelService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/projects/{projectId}")
+public class LabelController {
+
+    private final LabelService labelService;
+    private final LabelIndexService labelIndexService;
+
+    // GET /projects/{projectId}/labels
+    @GetMapping("/labels")
+    public List<LabelResponse> list(@PathVariable UUID projectId) {
+        return LabelMapper.toResponseList(labelService.list(projectId));
+    }
+
+    // POST /projects/{projectId}/labels
+    @PostMapping("/labels")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public LabelResponse create(@PathVariable UUID projectId, @Valid @RequestBody LabelRequest req) {
+        return LabelMapper.toResponse(labelService.create(projectId, req));
+    }
+
+    // PUT /projects/{projectId}/labels/{labelId}
+    @PutMapping("/labels/{labelId}")
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public LabelResponse rename(@PathVariable UUID projectId, @PathVariable UUID labelId,
+                                @Valid @RequestBody LabelRequest req) {
+        return LabelMapper.toResponse(labelService.rename(projectId, labelId, req));
+    }
+
+    // DELETE /projects/{projectId}/labels/{labelId}
+    // the label comes off every ticket that had it
+    @DeleteMapping("/labels/{labelId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public void delete(@PathVariable UUID projectId, @PathVariable UUID labelId) {
+        labelService.delete(projectId, labelId);
+    }
+
+    // GET /projects/{projectId}/tickets/{ticketId}/labels
+    @GetMapping("/tickets/{ticketId}/labels")
+    public List<LabelResponse> ticketLabels(@PathVariable UUID projectId, @PathVariable UUID ticketId) {
+        return LabelMapper.toResponseList(labelService.getTicketLabels(projectId, ticketId));
+    }
+
+    // PUT /projects/{projectId}/tickets/{ticketId}/labels  {"labelIds": [...]}
+    // replaces the ticket's labels
+    @PutMapping("/tickets/{ticketId}/labels")
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public List<LabelResponse> setTicketLabels(@PathVariable UUID projectId, @PathVariable UUID ticketId,
+                                               @Valid @RequestBody TicketLabelsRequest req) {
+        return LabelMapper.toResponseList(labelService.setTicketLabels(projectId, ticketId, req));
+    }
+
+    // GET /projects/{projectId}/tickets/labeled?q=bug and (ui or api) and not wontfix&limit=50
+    // oldest first; pass the X-Next-Cursor header back as cursor for the next page
+    @GetMapping("/tickets/labeled")
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TicketResponse>> labeled(@PathVariable UUID projectId,
+                                                        @RequestParam String q,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        return TicketController.page(labelIndexService.find(projectId, q, cursor, limit));
+    }
+}
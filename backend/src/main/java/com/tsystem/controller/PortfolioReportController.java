@@ -0,0 +1,26 @@
+package com.tsystem.controller;
+
+import com.tsystem.model.dto.response.PortfolioReportResponse;
+import com.tsystem.service.PortfolioReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/reports")
+public class PortfolioReportController {
+
+    private final PortfolioReportService portfolioReportService;
+
+    // GET /reports/portfolio
+    // ticket counts of all active projects, stale and unassigned tickets, and the busiest assignees;
+    // up to tsystem.cache.portfolio.ttl-ms old, see generatedAt
+    @GetMapping("/portfolio")
+    @PreAuthorize("hasAuthority('project:read_all') or hasRole('ADMIN')")
+    public PortfolioReportResponse getPortfolio() {
+        return portfolioReportService.getReport();
+    }
+}
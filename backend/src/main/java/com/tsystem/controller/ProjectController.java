@@ -1,17 +1,27 @@
 package com.tsystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.VersionStamp;
 import com.tsystem.model.dto.request.ProjectCreateRequest;
 import com.tsystem.model.dto.request.ProjectUpdateRequest;
+import com.tsystem.model.dto.response.ProjectDeletionResponse;
 import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.enums.ProjectDeletionState;
 import com.tsystem.model.mapper.ProjectMapper;
+import com.tsystem.service.CollectionVersionService;
 import com.tsystem.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,13 +32,22 @@ import java.util.UUID;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final CollectionVersionService collectionVersions;
+    private final ObjectMapper objectMapper;
 
-    // GET /projects
+    // GET /projects?fields=id,name
+    // 304 for a matching If-None-Match; the owners' names are part of the list, so users count too
     @GetMapping
     @PreAuthorize("hasAuthority('project:read_all') or hasRole('ADMIN')")
-    public List<ProjectResponse> list() {
-        return projectService.findAll()
-                .stream().map(ProjectMapper::toResponse).toList();
+    public MappingJacksonValue list(@RequestParam(required = false) String fields, ServletWebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(objectMapper, ProjectResponse.class, fields);
+        VersionStamp stamp = collectionVersions.stamp(CollectionVersionService.PROJECTS, CollectionVersionService.USERS);
+        if (stamp.checkNotModified(request)) return null;
+
+        List<ProjectResponse> projects = fieldSet.isAll()
+                ? projectService.findAll().stream().map(ProjectMapper::toResponse).toList()
+                : projectService.findAll(fieldSet);
+        return fieldSet.apply(projects);
     }
 
     // POST /projects
@@ -44,7 +63,7 @@ public class ProjectController {
     @GetMapping("/{projectId}")
     @PreAuthorize("hasAuthority('project:read_all') or hasRole('ADMIN')")
     public ProjectResponse get(@PathVariable UUID projectId) {
-        return ProjectMapper.toResponse(projectService.findById(projectId));
+        return projectService.lookup(projectId).orElseThrow(NotFoundException::new);
     }
 
     // PUT /projects/{projectId}
@@ -56,11 +75,21 @@ public class ProjectController {
     }
 
     // DELETE /projects/{projectId}
+    // 204 when deleted right away, 202 with the job status when it continues in the background
     @DeleteMapping("/{projectId}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
     @PreAuthorize("hasAuthority('project:delete') or hasRole('ADMIN')")
-    public void delete(@PathVariable UUID projectId,
-                       @AuthenticationPrincipal UserDetails principal) {
-        projectService.delete(projectId);
+    public ResponseEntity<ProjectDeletionResponse> delete(@PathVariable UUID projectId,
+                                                          @AuthenticationPrincipal UserDetails principal) {
+        ProjectDeletionResponse status = projectService.delete(projectId);
+        return status.getState() == ProjectDeletionState.DONE
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.accepted().body(status);
+    }
+
+    // GET /projects/{projectId}/deletion
+    @GetMapping("/{projectId}/deletion")
+    @PreAuthorize("hasAuthority('project:delete') or hasRole('ADMIN')")
+    public ProjectDeletionResponse deletionStatus(@PathVariable UUID projectId) {
+        return projectService.deletionStatus(projectId).orElseThrow(NotFoundException::new);
     }
 }
\ No newline at end of file
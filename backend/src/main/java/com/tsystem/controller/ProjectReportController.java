@@ -0,0 +1,54 @@
+package com.tsystem.controller;
+
+import com.tsystem.model.dto.response.FlowReportResponse;
+import com.tsystem.model.dto.response.StateSeriesResponse;
+import com.tsystem.service.FlowReportService;
+import com.tsystem.service.StateSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/projects/{projectId}/reports")
+public class ProjectReportController {
+
+    private final FlowReportService flowReportService;
+    private final StateSnapshotService stateSnapshotService;
+
+    // GET /projects/{projectId}/reports/flow
+    // lead time, cycle time and time in state by ticket type and priority, durations in seconds;
+    // brought up to date with the state changes since the previous report
+    @GetMapping("/flow")
+    @PreAuthorize("hasAuthority('project:read_all') or hasRole('ADMIN')")
+    public FlowReportResponse getFlowReport(@PathVariable UUID projectId) {
+        return flowReportService.getFlowReport(projectId);
+    }
+
+    // GET /projects/{projectId}/reports/states?from=2026-01-01&to=2026-01-31
+    // tickets per state at the end of each UTC day (cumulative flow) and those not done (burndown);
+    // the last 30 days by default
+    @GetMapping("/states")
+    @PreAuthorize("hasAuthority('project:read_all') or hasRole('ADMIN')")
+    public StateSeriesResponse getStateSeries(@PathVariable UUID projectId,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        return stateSnapshotService.getSeries(projectId, from != null ? from : end.minusDays(29), end);
+    }
+
+    // POST /projects/{projectId}/reports/states/refresh
+    // fills missing days now instead of at night, and counts today so far
+    @PostMapping("/states/refresh")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasAuthority('project:update') or hasRole('ADMIN')")
+    public void refreshStateSeries(@PathVariable UUID projectId) {
+        stateSnapshotService.refresh(projectId);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tsystem.controller;
+
+import com.tsystem.model.dto.request.SavedFilterRequest;
+import com.tsystem.model.dto.response.SavedFilterResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.mapper.SavedFilterMapper;
+import com.tsystem.model.mapper.TicketMapper;
+import com.tsystem.model.user.User;
+import com.tsystem.service.SavedFilterService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/filters")
+public class SavedFilterController {
+
+    private final SavedFilterService savedFilterService;
+
+    // GET /api/filters
+    // the caller's saved filters by name, each with its current result count
+    @GetMapping
+    public List<SavedFilterResponse> list(@AuthenticationPrincipal User me) {
+        return savedFilterService.list(me.getId());
+    }
+
+    // POST /api/filters  {"name": "My open bugs", "types": ["bug"], "states": ["open"], "assignee": "me"}
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SavedFilterResponse create(@AuthenticationPrincipal User me, @Valid @RequestBody SavedFilterRequest req) {
+        return SavedFilterMapper.toResponse(savedFilterService.create(me, req));
+    }
+
+    // PUT /api/filters/{filterId}
+    @PutMapping("/{filterId}")
+    public SavedFilterResponse update(@AuthenticationPrincipal User me, @PathVariable UUID filterId,
+                                      @Valid @RequestBody SavedFilterRequest req) {
+        return SavedFilterMapper.toResponse(savedFilterService.update(me, filterId, req));
+    }
+
+    // DELETE /api/filters/{filterId}
+    @DeleteMapping("/{filterId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@AuthenticationPrincipal User me, @PathVariable UUID filterId) {
+        savedFilterService.delete(me, filterId);
+    }
+
+    // GET /api/filters/{filterId}/tickets?limit=50
+    // oldest first; pass the X-Next-Cursor header back as cursor for the next page
+    @GetMapping("/{filterId}/tickets")
+    public ResponseEntity<List<TicketResponse>> tickets(@AuthenticationPrincipal User me,
+                                                        @PathVariable UUID filterId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        return TicketController.page(savedFilterService.tickets(me.getId(), filterId, cursor, limit)
+                .map(TicketMapper::toResponse));
+    }
+}
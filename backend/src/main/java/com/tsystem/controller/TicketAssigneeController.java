@@ -1,13 +1,23 @@
 package com.tsystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.MyWorkResponse;
 import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.enums.TicketState;
 import com.tsystem.model.mapper.TicketMapper;
+import com.tsystem.model.user.User;
+import com.tsystem.service.MyWorkService;
 import com.tsystem.service.TicketService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -19,14 +29,37 @@ import java.util.UUID;
 public class TicketAssigneeController {
 
     private final TicketService ticketService;
+    private final MyWorkService myWorkService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/assignee/{userId}")
     @PreAuthorize("hasAuthority('ticket:read_assigned') or hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
-    public List<TicketResponse> getByAssignee(@PathVariable UUID userId) {
+    public MappingJacksonValue getByAssignee(@PathVariable UUID userId,
+                                             @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = FieldSet.parse(objectMapper, TicketResponse.class, fields);
+        List<TicketResponse> tickets = fieldSet.isAll()
+                ? ticketService.findByAssignee(userId).stream().map(TicketMapper::toResponse).toList()
+                : ticketService.findByAssignee(userId, fieldSet);
+        return fieldSet.apply(tickets);
+    }
+
+    // GET /api/tickets/my-work?state=open&state=in_progress&limit=10
+    // the caller's assigned tickets by project and state, the newest of each group first
+    @GetMapping("/my-work")
+    public MyWorkResponse getMyWork(@AuthenticationPrincipal User me,
+                                    @RequestParam(required = false) List<TicketState> state,
+                                    @RequestParam(defaultValue = "10") int limit) {
+        return myWorkService.get(me.getId(), state, limit);
+    }
 
-        return ticketService.findByAssignee(userId)
-                .stream()
-                .map(TicketMapper::toResponse)
-                .toList();
+    // older tickets of one group; pass a group's nextCursor, then the X-Next-Cursor header
+    @GetMapping("/my-work/{projectId}/{state}")
+    public ResponseEntity<List<TicketResponse>> getMyWorkGroup(@AuthenticationPrincipal User me,
+                                                               @PathVariable UUID projectId,
+                                                               @PathVariable TicketState state,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return TicketController.page(myWorkService.getGroupPage(me.getId(), projectId, state, cursor, limit)
+                .map(TicketMapper::toResponse));
     }
 }
@@ -1,19 +1,34 @@
 package com.tsystem.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.exception.DuplicateTicketsException;
+import com.tsystem.model.dto.request.DuplicateCheckRequest;
 import com.tsystem.model.dto.request.TicketCommentRequest;
 import com.tsystem.model.dto.request.TicketCreateRequest;
 import com.tsystem.model.dto.request.TicketUpdateRequest;
+import com.tsystem.model.dto.response.RelatedTicketResponse;
+import com.tsystem.model.dto.response.TicketChangesResponse;
 import com.tsystem.model.dto.response.TicketCommentResponse;
+import com.tsystem.model.dto.response.DuplicateTicketResponse;
+import com.tsystem.model.dto.response.TicketDetailResponse;
 import com.tsystem.model.dto.response.TicketHistoryResponse;
 import com.tsystem.model.dto.response.TicketResponse;
 import com.tsystem.model.mapper.TicketCommentMapper;
 import com.tsystem.model.mapper.TicketHistoryMapper;
 import com.tsystem.model.mapper.TicketMapper;
+import com.tsystem.service.DuplicateTicketService;
+import com.tsystem.service.RelatedTicketService;
+import com.tsystem.service.TicketDetailService;
 import com.tsystem.service.TicketService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,14 +42,35 @@ import java.util.UUID;
 @RequestMapping("/api/projects/{projectId}/tickets")
 public class TicketController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int DUPLICATES_LIMIT = 5;
+
     private final TicketService ticketService;
+    private final TicketDetailService ticketDetailService;
+    private final DuplicateTicketService duplicateTicketService;
+    private final RelatedTicketService relatedTicketService;
+    private final ObjectMapper objectMapper;
 
-    // GET /projects/{projectId}/tickets
+    // GET /projects/{projectId}/tickets?fields=id,name,state
+    // without fields every property is returned
     @GetMapping
     @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
-    public List<TicketResponse> list(@PathVariable UUID projectId) {
-        return ticketService.getAllByProjectId(projectId)
-                .stream().map(TicketMapper::toResponse).toList();
+    public MappingJacksonValue list(@PathVariable UUID projectId,
+                                    @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = FieldSet.parse(objectMapper, TicketResponse.class, fields);
+        List<TicketResponse> tickets = fieldSet.isAll()
+                ? ticketService.getAllByProjectId(projectId).stream().map(TicketMapper::toResponse).toList()
+                : ticketService.getAllByProjectId(projectId, fieldSet);
+        return fieldSet.apply(tickets);
+    }
+
+    // GET /projects/{projectId}/tickets/changes?cursor=...
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public TicketChangesResponse changes(@PathVariable UUID projectId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "200") int limit) {
+        return ticketService.getChanges(projectId, cursor, limit);
     }
 
     // POST /projects/{projectId}/tickets
@@ -43,14 +79,48 @@ public class TicketController {
     @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
     public TicketResponse create(@PathVariable UUID projectId,
                                  @Valid @RequestBody TicketCreateRequest req,
+                                 @RequestParam(defaultValue = "false") boolean checkDuplicates,
                                  @AuthenticationPrincipal UserDetails principal) {
+        // with checkDuplicates=true likely duplicates are answered with 409 and nothing is created;
+        // posting again without the flag files the ticket anyway
+        if (checkDuplicates) {
+            List<DuplicateTicketResponse> duplicates = duplicateTicketService.find(
+                    projectId, req.getName(), req.getDescription(), null, DUPLICATES_LIMIT);
+            if (!duplicates.isEmpty()) throw new DuplicateTicketsException(duplicates);
+        }
         return TicketMapper.toResponse(ticketService.create(projectId, req, principal.getUsername()));
     }
 
+    // POST /projects/{projectId}/tickets/duplicates?limit=5
+    // tickets similar to a draft's name and description, most similar first
+    @PostMapping("/duplicates")
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public List<DuplicateTicketResponse> duplicates(@PathVariable UUID projectId,
+                                                    @Valid @RequestBody DuplicateCheckRequest req,
+                                                    @RequestParam(defaultValue = "5") int limit) {
+        return duplicateTicketService.find(projectId, req.getName(), req.getDescription(), req.getTicketId(), limit);
+    }
+
     // GET /projects/{projectId}/tickets/{ticketId}
     @GetMapping("/{ticketId}")
     public TicketResponse get(@PathVariable UUID projectId, @PathVariable UUID ticketId) {
-        return TicketMapper.toResponse(ticketService.get(projectId, ticketId));
+        return ticketService.getResponse(projectId, ticketId);
+    }
+
+    // GET /projects/{projectId}/tickets/{ticketId}/related?limit=10
+    // tickets of the project with the most similar text and comments, best first
+    @GetMapping("/{ticketId}/related")
+    public List<RelatedTicketResponse> related(@PathVariable UUID projectId, @PathVariable UUID ticketId,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        return relatedTicketService.find(projectId, ticketId, limit);
+    }
+
+    // GET /projects/{projectId}/tickets/{ticketId}/detail
+    // ticket, newest comments and history and their authors in one response
+    @GetMapping("/{ticketId}/detail")
+    public TicketDetailResponse detail(@PathVariable UUID projectId, @PathVariable UUID ticketId,
+                                       @RequestParam(defaultValue = "50") int limit) {
+        return ticketDetailService.get(projectId, ticketId, limit);
     }
 
     // PUT /projects/{projectId}/tickets/{ticketId}
@@ -72,18 +142,26 @@ public class TicketController {
 
 
 
+    // GET .../comments?limit=50&direction=DESC for the newest page; pass the
+    // X-Next-Cursor header back as cursor, with the same direction, for the next one.
+    // Without limit all comments come back at once, as before paging
     @GetMapping("/{ticketId}/comments")
-    public List<TicketCommentResponse> listComments(@PathVariable UUID ticketId) {
-        return TicketCommentMapper.toResponseList(ticketService.getComments(ticketId));
+    public ResponseEntity<List<TicketCommentResponse>> listComments(@PathVariable UUID ticketId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer limit,
+                                                                    @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+        return page(ticketService.getComments(ticketId, cursor, limit, direction)
+                .map(TicketCommentMapper::toResponse));
     }
 
     @PostMapping("/{ticketId}/comments")
     @ResponseStatus(HttpStatus.CREATED)
-    public TicketCommentResponse addComment(@PathVariable UUID ticketId,
+    public TicketCommentResponse addComment(@PathVariable UUID projectId,
+                                            @PathVariable UUID ticketId,
                                             @Valid @RequestBody TicketCommentRequest req,
                                             @AuthenticationPrincipal UserDetails principal) {
         return TicketCommentMapper.toResponse(
-                ticketService.addComment(ticketId, req, principal.getUsername())
+                ticketService.addComment(projectId, ticketId, req, principal.getUsername())
         );
     }
 
@@ -99,8 +177,24 @@ public class TicketController {
         ticketService.deleteComment(commentId);
     }
 
+    // paged like comments, all entries without limit; long description changes come back
+    // as splices (diffOffset set) unless full=true
     @GetMapping("/{ticketId}/history")
-    public List<TicketHistoryResponse> getHistory(@PathVariable UUID ticketId) {
-        return TicketHistoryMapper.toResponseList(ticketService.getHistory(ticketId));
+    public ResponseEntity<List<TicketHistoryResponse>> getHistory(@PathVariable UUID projectId,
+                                                                  @PathVariable UUID ticketId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                                  @RequestParam(defaultValue = "false") boolean full) {
+        return page(ticketService.getHistory(projectId, ticketId, cursor, limit, direction, full)
+                .map(TicketHistoryMapper::toResponse));
+    }
+
+    static <T> ResponseEntity<List<T>> page(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            ok.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return ok.body(page.items());
     }
 }
\ No newline at end of file
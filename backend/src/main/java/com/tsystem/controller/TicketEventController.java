@@ -0,0 +1,29 @@
+package com.tsystem.controller;
+
+import com.tsystem.service.TicketEventBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/projects/{projectId}/tickets")
+public class TicketEventController {
+
+    private final TicketEventBroadcaster broadcaster;
+
+    // GET /projects/{projectId}/tickets/events
+    // the events carry every ticket of the project, so readers as for the ticket list
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public SseEmitter events(@PathVariable UUID projectId) {
+        return broadcaster.subscribe(projectId);
+    }
+}
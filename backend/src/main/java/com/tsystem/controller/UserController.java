@@ -4,6 +4,8 @@ import com.tsystem.model.dto.request.UserRequest;
 import com.tsystem.model.dto.response.UserResponse;
 import com.tsystem.model.dto.response.UserShortResponse;
 import com.tsystem.model.mapper.UserMapper;
+import com.tsystem.service.CollectionVersionService;
+import com.tsystem.service.UserDirectory;
 import com.tsystem.service.UserService;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
@@ -12,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,13 +25,23 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserDirectory userDirectory;
+    private final CollectionVersionService collectionVersions;
 
+    // 304 for a matching If-None-Match, without reading the users table
     @GetMapping
-    public List<UserResponse> getAllUsers() {
+    public List<UserResponse> getAllUsers(ServletWebRequest request) {
+        if (collectionVersions.stamp(CollectionVersionService.USERS).checkNotModified(request)) return null;
         return userService.findAll()
                 .stream().map(UserMapper::toResponse).toList();
     }
 
+    // GET /api/users/short?ids=a,b,c - names for author ids, served from memory
+    @GetMapping("/short")
+    public List<UserShortResponse> getShort(@RequestParam List<UUID> ids) {
+        return userDirectory.find(ids);
+    }
+
     @GetMapping("/getById/{id}")
     public ResponseEntity<?> getUserById(@PathVariable UUID id) {
         return ResponseEntity.ok(userService.findById(id));
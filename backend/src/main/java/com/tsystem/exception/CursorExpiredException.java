@@ -0,0 +1,8 @@
+package com.tsystem.exception;
+
+/** A sync cursor reaches back past the kept deletions; answered with 410, the client syncs again from scratch. */
+public class CursorExpiredException extends RuntimeException {
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.tsystem.exception;
+
+import com.tsystem.model.dto.response.DuplicateTicketResponse;
+
+import java.util.List;
+
+/** A ticket was about to be created while likely duplicates exist; answered with 409 and the candidates. */
+public class DuplicateTicketsException extends RuntimeException {
+    private final List<DuplicateTicketResponse> duplicates;
+
+    public DuplicateTicketsException(List<DuplicateTicketResponse> duplicates) {
+        super("Likely duplicates exist");
+        this.duplicates = duplicates;
+    }
+
+    public List<DuplicateTicketResponse> getDuplicates() {
+        return duplicates;
+    }
+}
@@ -0,0 +1,8 @@
+package com.tsystem.exception;
+
+/** An upload is larger than allowed; answered with 413. */
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.tsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Change counter of a whole collection (all projects, all users). List
+ * responses are stamped with it, so an unchanged list can be confirmed to
+ * a client without reading the collection itself.
+ */
+@Entity
+@Table(name = "collection_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CollectionVersion {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
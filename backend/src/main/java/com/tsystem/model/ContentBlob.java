@@ -0,0 +1,39 @@
+package com.tsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One stored file, named by the SHA-256 of its content. Written through
+ * BlobStore only, which keeps {@code refCount} equal to the number of rows
+ * referring to it.
+ */
+@Entity
+@Table(name = "content_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    // when refCount last dropped to zero
+    @Column(name = "unreferenced_at")
+    private OffsetDateTime unreferencedAt;
+}
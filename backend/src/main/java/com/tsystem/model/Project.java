@@ -1,11 +1,16 @@
 package com.tsystem.model;
 
 import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.id.UuidV7Generator;
 import com.tsystem.model.user.User;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.OffsetDateTime;
 import java.util.LinkedHashSet;
@@ -14,12 +19,14 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "projects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
+@SQLRestriction("deleted_at is null")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @EqualsAndHashCode.Include
     private UUID id;
 
@@ -49,6 +56,10 @@ public class Project {
     @Builder.Default
     private OffsetDateTime createdAt = OffsetDateTime.now();
 
+    // set when deletion starts; the row is invisible from then on and removed once its tickets are gone
+    @Column(name = "deleted_at")
+    private OffsetDateTime deletedAt;
+
     @PrePersist
     void prePersist() {
         if (createdAt == null) createdAt = OffsetDateTime.now();
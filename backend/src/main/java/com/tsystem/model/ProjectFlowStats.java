@@ -0,0 +1,42 @@
+package com.tsystem.model;
+
+import com.tsystem.model.dto.KeysetCursor;
+import com.tsystem.model.report.FlowStats;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Stored flow metrics of a project (a serialized {@link FlowStats}) and how
+ * far into ticket_history they reach. Every project gets its row when it is
+ * created, so refreshes can always lock an existing row.
+ */
+@Entity
+@Table(name = "project_flow_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectFlowStats {
+
+    @Id
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "computed_through", nullable = false)
+    private OffsetDateTime computedThrough;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] histograms;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    /** Nothing computed yet; the first refresh reads the whole history. */
+    public static ProjectFlowStats empty(UUID projectId, OffsetDateTime at) {
+        return new ProjectFlowStats(projectId, KeysetCursor.START.at(), new FlowStats().toBytes(), at);
+    }
+}
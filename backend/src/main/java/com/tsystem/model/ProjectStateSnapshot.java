@@ -0,0 +1,65 @@
+package com.tsystem.model;
+
+import com.tsystem.model.enums.TicketState;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Number of a project's tickets in each state at the end of one UTC day.
+ * Counts are read and written as an array indexed by {@link TicketState}
+ * ordinal, so the column per state stays in this class.
+ */
+@Entity
+@Table(name = "project_state_snapshots")
+@IdClass(ProjectStateSnapshot.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectStateSnapshot {
+
+    @Id
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Id
+    @Column(name = "snapshot_day")
+    private LocalDate day;
+
+    @Column(name = "open_count", nullable = false)
+    private int openCount;
+
+    @Column(name = "in_progress_count", nullable = false)
+    private int inProgressCount;
+
+    @Column(name = "done_count", nullable = false)
+    private int doneCount;
+
+    public static ProjectStateSnapshot of(UUID projectId, LocalDate day, int[] counts) {
+        return new ProjectStateSnapshot(projectId, day,
+                counts[TicketState.open.ordinal()],
+                counts[TicketState.in_progress.ordinal()],
+                counts[TicketState.done.ordinal()]);
+    }
+
+    public int count(TicketState state) {
+        return switch (state) {
+            case open -> openCount;
+            case in_progress -> inProgressCount;
+            case done -> doneCount;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID projectId;
+        private LocalDate day;
+    }
+}
@@ -0,0 +1,61 @@
+package com.tsystem.model;
+
+import com.tsystem.model.id.UuidV7Generator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A ticket query saved by a user. The value lists hold comma-separated enum
+ * names, empty for any value; {@link com.tsystem.model.filter.TicketCriteria}
+ * is the parsed form.
+ */
+@Entity
+@Table(name = "saved_filters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SavedFilter {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Column(nullable = false, length = 80)
+    private String name;
+
+    // null for tickets of every project
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(nullable = false, length = 64)
+    @Builder.Default
+    private String types = "";
+
+    @Column(nullable = false, length = 64)
+    @Builder.Default
+    private String priorities = "";
+
+    @Column(nullable = false, length = 64)
+    @Builder.Default
+    private String states = "";
+
+    @Column(name = "assignee_id")
+    private UUID assigneeId;
+
+    // only tickets nobody is assigned to; assigneeId is null then
+    @Column(nullable = false)
+    private boolean unassigned;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+}
@@ -0,0 +1,53 @@
+package com.tsystem.model;
+
+/**
+ * A text edit reduced to the one region that differs: at {@code offset},
+ * {@code removed} was replaced by {@code inserted}. Everything before the
+ * offset and after the region is shared by both versions, so either version
+ * can be rebuilt from the other.
+ *
+ * Several edits far apart collapse into one region spanning all of them; the
+ * usual edit of a long description touches one place.
+ */
+public record TextSplice(int offset, String removed, String inserted) {
+
+    public static TextSplice between(String before, String after) {
+        int max = Math.min(before.length(), after.length());
+
+        int prefix = 0;
+        while (prefix < max && before.charAt(prefix) == after.charAt(prefix)) prefix++;
+        // never cut a surrogate pair in half
+        if (prefix > 0 && Character.isHighSurrogate(before.charAt(prefix - 1))) prefix--;
+
+        int suffix = 0;
+        while (suffix < max - prefix
+                && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(before.charAt(before.length() - suffix))) suffix--;
+
+        return new TextSplice(prefix,
+                before.substring(prefix, before.length() - suffix),
+                after.substring(prefix, after.length() - suffix));
+    }
+
+    /** Characters needed to store the splice, compared with storing both versions. */
+    public int size() {
+        return removed.length() + inserted.length();
+    }
+
+    public String apply(String before) {
+        return before.substring(0, offset) + inserted + before.substring(offset + removed.length());
+    }
+
+    /** Whether {@code after} holds the inserted text at the offset, i.e. is a text this splice produced. */
+    public boolean canUndo(String after) {
+        return after != null && offset >= 0 && offset + inserted.length() <= after.length()
+                && after.startsWith(inserted, offset);
+    }
+
+    public String undo(String after) {
+        if (!canUndo(after)) throw new IllegalArgumentException("Splice does not fit the text at offset " + offset);
+        return after.substring(0, offset) + removed + after.substring(offset + inserted.length());
+    }
+}
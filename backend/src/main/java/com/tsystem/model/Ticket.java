@@ -2,11 +2,13 @@ package com.tsystem.model;
 
 
 import com.tsystem.model.enums.*;
+import com.tsystem.model.id.UuidV7Generator;
 import com.tsystem.model.user.User;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -18,7 +20,7 @@ import java.util.UUID;
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @EqualsAndHashCode.Include
     private UUID id;
 
@@ -60,5 +62,14 @@ public class Ticket {
     @Builder.Default
     private OffsetDateTime createdAt = OffsetDateTime.now();
 
+    // bumped on every write, drives the delta-sync cursor
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private OffsetDateTime updatedAt = OffsetDateTime.now();
 
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = OffsetDateTime.now();
+        if (updatedAt == null) updatedAt = createdAt;
+    }
 }
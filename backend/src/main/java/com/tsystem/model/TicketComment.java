@@ -1,7 +1,9 @@
 package com.tsystem.model;
 
+import com.tsystem.model.id.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -16,7 +18,7 @@ import java.util.UUID;
 public class TicketComment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(name = "ticket_id", nullable = false)
@@ -25,10 +27,25 @@ public class TicketComment {
     @Column(name = "author_id", nullable = false)
     private UUID authorId;
 
-    @Column(columnDefinition = "TEXT", nullable = false)
+    // null for a long body kept in the blob store under textBlob
+    @Column(columnDefinition = "TEXT")
+    @Getter(AccessLevel.NONE)
     private String text;
 
+    @Column(name = "text_blob", length = 64)
+    private String textBlob;
+
+    // the body read back from the blob store, not a column
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private String blobText;
+
     @Column(name = "created_at", nullable = false)
     @Builder.Default
     private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    /** The body, from the row or, once resolved, from the blob store. */
+    public String getText() {
+        return text != null ? text : blobText;
+    }
 }
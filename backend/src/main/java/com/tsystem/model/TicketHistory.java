@@ -1,7 +1,9 @@
 package com.tsystem.model;
 
+import com.tsystem.model.id.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -10,13 +12,13 @@ import java.util.UUID;
 @Table(name = "ticket_history")
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TicketHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(name = "ticket_id", nullable = false)
@@ -37,6 +39,10 @@ public class TicketHistory {
     @Column(columnDefinition = "TEXT")
     private String newValue;
 
+    // set when oldValue/newValue are only the fragments of a TextSplice at this offset
+    @Column(name = "diff_offset")
+    private Integer diffOffset;
+
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 }
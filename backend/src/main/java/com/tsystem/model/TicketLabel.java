@@ -0,0 +1,35 @@
+package com.tsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/** A label on a ticket. */
+@Entity
+@Table(name = "ticket_labels")
+@IdClass(TicketLabel.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketLabel {
+
+    @Id
+    @Column(name = "ticket_id")
+    private UUID ticketId;
+
+    @Id
+    @Column(name = "label_id")
+    private UUID labelId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID ticketId;
+        private UUID labelId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Left behind when a ticket is deleted so that delta-sync clients learn
+ * about the removal. Removed together with the project, or once older than
+ * the sync retention; older cursors are then rejected.
+ */
+@Entity
+@Table(name = "ticket_tombstones")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketTombstone {
+
+    @Id
+    @Column(name = "ticket_id")
+    private UUID ticketId;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private OffsetDateTime deletedAt;
+}
@@ -0,0 +1,9 @@
+package com.tsystem.model.dto;
+
+import com.tsystem.model.enums.TicketState;
+
+import java.util.UUID;
+
+/** How many tickets in one state of one project are assigned to a user. */
+public record AssignedTicketCount(UUID projectId, String projectName, TicketState state, long count) {
+}
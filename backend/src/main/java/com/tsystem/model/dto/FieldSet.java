@@ -0,0 +1,105 @@
+package com.tsystem.model.dto;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.tsystem.exception.BadRequestException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The properties of a response a client asked for with {@code fields=id,name,state}.
+ *
+ * The names are checked against the properties the application's ObjectMapper
+ * writes for the response class, read once per class, so renamed or ignored
+ * properties are known by the name a client sees. Every distinct set is built once and shared, together with
+ * the Jackson filter that writes only those properties, so a request costs a
+ * split and a map lookup; Jackson keeps its bean serializers per class as
+ * usual. Responses filtered this way carry {@code @JsonFilter(FieldSet.FILTER)}.
+ */
+public final class FieldSet {
+
+    public static final String FILTER = "fields";
+
+    /** No fields parameter: every property is written. */
+    public static final FieldSet ALL = new FieldSet(Set.of(), SimpleBeanPropertyFilter.serializeAll());
+
+    private static final Map<Class<?>, List<String>> PROPERTIES = new ConcurrentHashMap<>();
+    // at most 2^n entries per response class, whatever clients send
+    private static final Map<Key, FieldSet> SETS = new ConcurrentHashMap<>();
+
+    private record Key(Class<?> type, long bits) {}
+
+    private final Set<String> names;
+    private final FilterProvider filters;
+
+    private FieldSet(Set<String> names, SimpleBeanPropertyFilter filter) {
+        this.names = names;
+        this.filters = new SimpleFilterProvider().addFilter(FILTER, filter);
+    }
+
+    /** Null or blank means {@link #ALL}; an unknown name is a bad request. */
+    public static FieldSet parse(ObjectMapper mapper, Class<?> type, String fields) {
+        if (fields == null || fields.isBlank()) return ALL;
+        List<String> properties = PROPERTIES.computeIfAbsent(type, t -> properties(mapper, t));
+
+        long bits = 0;
+        for (String name : fields.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) continue;
+            int i = properties.indexOf(name);
+            if (i < 0) throw new BadRequestException("Unknown field: " + name);
+            bits |= 1L << i;
+        }
+        if (bits == 0) return ALL;
+
+        return SETS.computeIfAbsent(new Key(type, bits), k -> {
+            Set<String> names = new LinkedHashSet<>();
+            for (int i = 0; i < properties.size(); i++) {
+                if ((k.bits() & 1L << i) != 0) names.add(properties.get(i));
+            }
+            return new FieldSet(Collections.unmodifiableSet(names), SimpleBeanPropertyFilter.filterOutAllExcept(names));
+        });
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /** The requested properties in the order they are written; empty for {@link #ALL}. */
+    public Set<String> names() {
+        return names;
+    }
+
+    public FilterProvider filters() {
+        return filters;
+    }
+
+    /** Wraps a response body so that only the requested properties are written. */
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters);
+        return value;
+    }
+
+    private static List<String> properties(ObjectMapper mapper, Class<?> type) {
+        BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(type));
+        List<String> properties = description.findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .toList();
+        if (properties.size() > Long.SIZE) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has too many properties for a field set");
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,68 @@
+package com.tsystem.model.dto;
+
+import com.tsystem.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position in a list ordered by (timestamp, id), handed to clients as an opaque
+ * url-safe string. Timestamps are kept with microsecond precision, the same as
+ * Postgres timestamptz, so a cursor built from a row compares equal to it.
+ */
+public record KeysetCursor(OffsetDateTime at, UUID id) {
+
+    /** Sorts before every real row. */
+    public static final KeysetCursor START =
+            new KeysetCursor(OffsetDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC), new UUID(0L, 0L));
+
+    /** Sorts after every real row, the start when paging backwards. */
+    public static final KeysetCursor END =
+            new KeysetCursor(OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC), new UUID(-1L, -1L));
+
+    /** UUID order as Postgres sees it (unsigned byte order), unlike UUID.compareTo. */
+    public static final Comparator<UUID> UUID_ORDER = (a, b) -> {
+        int c = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    public static final Comparator<KeysetCursor> ORDER =
+            Comparator.comparing((KeysetCursor c) -> c.at().toInstant()).thenComparing(KeysetCursor::id, UUID_ORDER);
+
+    public static KeysetCursor of(OffsetDateTime at, UUID id) {
+        return new KeysetCursor(at.truncatedTo(ChronoUnit.MICROS), id);
+    }
+
+    public String encode() {
+        ByteBuffer buf = ByteBuffer.allocate(24);
+        buf.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, at.toInstant()));
+        buf.putLong(id.getMostSignificantBits());
+        buf.putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf.array());
+    }
+
+    /** Null or blank means "from the beginning". */
+    public static KeysetCursor decode(String cursor) {
+        return decode(cursor, START);
+    }
+
+    /** Null or blank means {@code ifAbsent}. */
+    public static KeysetCursor decode(String cursor, KeysetCursor ifAbsent) {
+        if (cursor == null || cursor.isBlank()) return ifAbsent;
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != 24) throw new BadRequestException("Invalid cursor");
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            Instant at = Instant.EPOCH.plus(buf.getLong(), ChronoUnit.MICROS);
+            return new KeysetCursor(OffsetDateTime.ofInstant(at, ZoneOffset.UTC), new UUID(buf.getLong(), buf.getLong()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.tsystem.model.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list ordered by (timestamp, id). {@code nextCursor} continues
+ * in the same direction and is null on the last page.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    /** Builds a page from up to {@code pageSize + 1} rows; the extra row only signals that more follow. */
+    public static <T> KeysetPage<T> of(List<T> rows, int pageSize, Function<T, KeysetCursor> key) {
+        if (rows.size() <= pageSize) return new KeysetPage<>(rows, null);
+        List<T> items = rows.subList(0, pageSize);
+        return new KeysetPage<>(List.copyOf(items), key.apply(items.getLast()).encode());
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,9 @@
+package com.tsystem.model.dto;
+
+import com.tsystem.model.enums.TicketState;
+
+import java.util.UUID;
+
+/** How many tickets of one project are in one state with one assignee (null: unassigned), and how many of them are stale. */
+public record ProjectTicketCount(TicketState state, UUID assigneeId, long count, long stale) {
+}
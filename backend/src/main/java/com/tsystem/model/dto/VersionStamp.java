@@ -0,0 +1,26 @@
+package com.tsystem.model.dto;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Validators for a response built from one or more collections: a weak ETag
+ * naming every collection version, and the latest of their change times in
+ * epoch milliseconds (-1 if none is known). The same stamp covers every
+ * representation the client can negotiate, so responses vary by Accept.
+ */
+public record VersionStamp(String etag, long lastModified) {
+
+    /**
+     * True, with a 304 prepared, when the client's copy is current; otherwise
+     * the validators are set on the response about to be written.
+     */
+    public boolean checkNotModified(ServletWebRequest request) {
+        // revalidate every time; without this browsers guess a freshness period from Last-Modified
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        // the stamp does not name the format; JSON, CBOR and Smile copies must be cached apart
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return request.checkNotModified(etag, lastModified);
+    }
+}
@@ -0,0 +1,25 @@
+package com.tsystem.model.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateCheckRequest {
+    @NotBlank
+    @Size(min = 1, max = 160)
+    private String name;
+
+    @Size(max = 10000)
+    private String description;
+
+    private UUID ticketId;  // when editing, the ticket itself is not reported
+}
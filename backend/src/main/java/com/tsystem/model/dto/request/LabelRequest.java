@@ -0,0 +1,14 @@
+package com.tsystem.model.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LabelRequest {
+    @NotBlank
+    @Size(max = 50)
+    private String name;
+}
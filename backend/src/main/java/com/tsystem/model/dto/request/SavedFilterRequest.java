@@ -0,0 +1,32 @@
+package com.tsystem.model.dto.request;
+
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SavedFilterRequest {
+    @NotBlank
+    @Size(max = 80)
+    private String name;
+
+    // all projects when null
+    private UUID projectId;
+
+    // empty or missing for any value
+    private Set<TicketType> types;
+    private Set<TicketPriority> priorities;
+    private Set<TicketState> states;
+
+    // "me", "none", a user id, or null for anybody
+    @Size(max = 36)
+    private String assignee;
+}
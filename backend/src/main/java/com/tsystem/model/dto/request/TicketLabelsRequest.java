@@ -0,0 +1,18 @@
+package com.tsystem.model.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketLabelsRequest {
+    // the ticket's labels afterwards; an empty list removes them all
+    @NotNull
+    @Size(max = 50)
+    private List<@NotNull UUID> labelIds;
+}
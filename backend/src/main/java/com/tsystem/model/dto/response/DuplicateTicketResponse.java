@@ -0,0 +1,18 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateTicketResponse {
+    private UUID ticketId;
+    private String name;
+    private double similarity;  // estimated share of common words and word pairs, 0 to 1
+}
@@ -0,0 +1,20 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Distribution of a duration, all values in seconds. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DurationStatsResponse {
+    private long count;
+    private long mean;
+    private long p50;
+    private long p85;
+    private long p95;
+    private long max;
+}
@@ -0,0 +1,23 @@
+package com.tsystem.model.dto.response;
+
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlowGroupResponse {
+    private TicketType type;            // null in the project total
+    private TicketPriority priority;    // null in the project total
+    private DurationStatsResponse leadTime;     // creation to done
+    private DurationStatsResponse cycleTime;    // first in_progress to done
+    private Map<TicketState, DurationStatsResponse> timeInState;
+}
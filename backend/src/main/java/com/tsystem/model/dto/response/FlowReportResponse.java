@@ -0,0 +1,21 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlowReportResponse {
+    private UUID projectId;
+    private OffsetDateTime computedThrough;   // state changes up to here are included
+    private FlowGroupResponse total;
+    private List<FlowGroupResponse> groups;   // by type, then priority; groups without data are left out
+}
@@ -0,0 +1,20 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LabelResponse {
+    private UUID id;
+    private UUID projectId;
+    private String name;
+    private OffsetDateTime createdAt;
+}
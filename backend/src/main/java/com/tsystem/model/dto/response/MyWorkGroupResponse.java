@@ -0,0 +1,23 @@
+package com.tsystem.model.dto.response;
+
+import com.tsystem.model.enums.TicketState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MyWorkGroupResponse {
+    private UUID projectId;
+    private String projectName;
+    private TicketState state;
+    private long count;
+    private List<TicketResponse> tickets;   // newest first
+    private String nextCursor;              // older tickets: /my-work/{projectId}/{state}?cursor=...
+}
@@ -0,0 +1,17 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MyWorkResponse {
+    private long total;                         // all assigned tickets in the requested states
+    private List<MyWorkGroupResponse> groups;   // by project name, then state
+}
@@ -0,0 +1,17 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioAssigneeResponse {
+    private UserShortResponse user;
+    private long open;      // assigned tickets not done, across all active projects
+    private long stale;     // of those, untouched for the stale period
+    private int projects;   // active projects they have open tickets in
+}
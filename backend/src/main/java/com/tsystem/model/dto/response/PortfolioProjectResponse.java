@@ -0,0 +1,23 @@
+package com.tsystem.model.dto.response;
+
+import com.tsystem.model.enums.TicketState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioProjectResponse {
+    private UUID projectId;
+    private String name;
+    private Map<TicketState, Long> states;  // every state, zero included
+    private long total;
+    private long stale;                     // not done and untouched for the stale period
+    private long unassigned;                // not done and without an assignee
+}
@@ -0,0 +1,26 @@
+package com.tsystem.model.dto.response;
+
+import com.tsystem.model.enums.TicketState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioReportResponse {
+    private OffsetDateTime generatedAt;             // the report is cached, this is when it was computed
+    private OffsetDateTime staleBefore;             // not done tickets last updated before this are stale
+    private Map<TicketState, Long> states;          // all active projects together
+    private long total;
+    private long stale;
+    private long unassigned;
+    private List<PortfolioProjectResponse> projects;        // by name
+    private List<PortfolioAssigneeResponse> topAssignees;   // most open tickets first
+}
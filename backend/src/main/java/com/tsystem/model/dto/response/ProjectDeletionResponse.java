@@ -0,0 +1,21 @@
+package com.tsystem.model.dto.response;
+
+import com.tsystem.model.enums.ProjectDeletionState;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectDeletionResponse {
+    private UUID projectId;
+    private ProjectDeletionState state;
+    private long totalTickets;              // counted when the deletion started
+    private long deletedTickets;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private String error;                   // set when state is FAILED
+}
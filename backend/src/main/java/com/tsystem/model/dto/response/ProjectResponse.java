@@ -1,5 +1,7 @@
 package com.tsystem.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.tsystem.model.dto.FieldSet;
 import com.tsystem.model.enums.ProjectStatus;
 import lombok.*;
 
@@ -10,6 +12,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter(FieldSet.FILTER)
 public class ProjectResponse {
     private UUID id;
     private String name;
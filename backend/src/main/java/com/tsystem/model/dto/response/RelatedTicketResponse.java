@@ -0,0 +1,18 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatedTicketResponse {
+    private UUID ticketId;
+    private String name;
+    private double similarity;  // cosine of the TF-IDF vectors of text and comments, 0 to 1
+}
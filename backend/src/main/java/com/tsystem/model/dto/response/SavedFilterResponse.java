@@ -0,0 +1,29 @@
+package com.tsystem.model.dto.response;
+
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SavedFilterResponse {
+    private UUID id;
+    private String name;
+    private UUID projectId;
+    private Set<TicketType> types;
+    private Set<TicketPriority> priorities;
+    private Set<TicketState> states;
+    private String assignee;
+    private Long count;     // set in the filter list only
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.tsystem.model.dto.response;
+
+import com.tsystem.model.enums.TicketState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/** Daily ticket counts, one array entry per day from {@code from} to {@code to}. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StateSeriesResponse {
+    private UUID projectId;
+    private LocalDate from;
+    private LocalDate to;
+    private Map<TicketState, int[]> states;   // cumulative flow: tickets in each state at the end of the day
+    private int[] remaining;                  // burndown: tickets not done
+}
@@ -0,0 +1,23 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketAttachmentResponse {
+    private UUID id;
+    private UUID ticketId;
+    private UUID uploaderId;
+    private String fileName;
+    private String contentType;
+    private long size;
+    private OffsetDateTime createdAt;
+}
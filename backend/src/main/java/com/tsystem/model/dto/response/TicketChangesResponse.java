@@ -0,0 +1,17 @@
+package com.tsystem.model.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketChangesResponse {
+    private List<TicketResponse> changed;   // created or updated since the cursor
+    private List<UUID> deleted;             // ticket ids removed since the cursor
+    private String cursor;                  // pass back to continue from here
+    private boolean hasMore;                // another page is ready right away
+}
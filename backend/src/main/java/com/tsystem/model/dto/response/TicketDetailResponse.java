@@ -0,0 +1,21 @@
+package com.tsystem.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketDetailResponse {
+    private TicketResponse ticket;
+    private List<TicketCommentResponse> comments;   // newest first
+    private String commentsCursor;                  // older comments: /comments?direction=DESC&cursor=...
+    private List<TicketHistoryResponse> history;    // newest first
+    private String historyCursor;                   // older history: /history?direction=DESC&cursor=...
+    private List<UserShortResponse> users;          // authors of the comments and history entries
+}
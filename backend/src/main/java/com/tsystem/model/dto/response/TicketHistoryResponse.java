@@ -20,5 +20,6 @@ public class TicketHistoryResponse {
     private String field;
     private String oldValue;
     private String newValue;
+    private Integer diffOffset;
     private OffsetDateTime createdAt;
 }
@@ -1,6 +1,8 @@
 package com.tsystem.model.dto.response;
 
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.tsystem.model.dto.FieldSet;
 import com.tsystem.model.enums.*;
 import lombok.*;
 
@@ -11,6 +13,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter(FieldSet.FILTER)
 public class TicketResponse {
     private UUID id;
     private String name;
@@ -19,6 +22,7 @@ public class TicketResponse {
     private TicketPriority priority;
     private TicketState state;
     private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
     private UserShortResponse owner;
     private UserShortResponse assignee;
     private UUID projectId;
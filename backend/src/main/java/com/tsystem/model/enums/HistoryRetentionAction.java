@@ -0,0 +1,9 @@
+package com.tsystem.model.enums;
+
+/** What happens to a ticket_history partition once it is older than the retention period. */
+public enum HistoryRetentionAction {
+    /** Detach and drop the partition. */
+    DROP,
+    /** Detach only; the partition stays a plain table to be exported (pg_dump, COPY) and dropped by hand. */
+    DETACH
+}
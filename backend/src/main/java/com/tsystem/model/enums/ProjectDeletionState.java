@@ -0,0 +1,3 @@
+package com.tsystem.model.enums;
+
+public enum ProjectDeletionState { QUEUED, RUNNING, DONE, FAILED }
@@ -0,0 +1,32 @@
+package com.tsystem.model.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by LabelService whenever a label, or the labels of a ticket,
+ * change; LabelIndexService follows it after commit.
+ */
+public record LabelEvent(
+        Type type,
+        UUID projectId,
+        UUID labelId,          // set for LABEL_SAVED / LABEL_DELETED
+        String name,           // set for LABEL_SAVED
+        UUID ticketId,         // set for TICKET_LABELED
+        List<UUID> labelIds    // set for TICKET_LABELED, the ticket's labels afterwards
+) {
+
+    public enum Type { LABEL_SAVED, LABEL_DELETED, TICKET_LABELED }
+
+    public static LabelEvent saved(UUID projectId, UUID labelId, String name) {
+        return new LabelEvent(Type.LABEL_SAVED, projectId, labelId, name, null, null);
+    }
+
+    public static LabelEvent deleted(UUID projectId, UUID labelId) {
+        return new LabelEvent(Type.LABEL_DELETED, projectId, labelId, null, null, null);
+    }
+
+    public static LabelEvent ticketLabeled(UUID projectId, UUID ticketId, List<UUID> labelIds) {
+        return new LabelEvent(Type.TICKET_LABELED, projectId, null, null, ticketId, List.copyOf(labelIds));
+    }
+}
@@ -0,0 +1,21 @@
+package com.tsystem.model.event;
+
+import java.util.UUID;
+
+/**
+ * STATUS_CHANGED is published by ProjectService when a project is archived or
+ * restored; ProjectArchiveService then moves its tickets after commit and
+ * publishes TICKETS_MOVED once they all are on the side the status names.
+ */
+public record ProjectArchiveEvent(Type type, UUID projectId) {
+
+    public enum Type { STATUS_CHANGED, TICKETS_MOVED }
+
+    public static ProjectArchiveEvent statusChanged(UUID projectId) {
+        return new ProjectArchiveEvent(Type.STATUS_CHANGED, projectId);
+    }
+
+    public static ProjectArchiveEvent ticketsMoved(UUID projectId) {
+        return new ProjectArchiveEvent(Type.TICKETS_MOVED, projectId);
+    }
+}
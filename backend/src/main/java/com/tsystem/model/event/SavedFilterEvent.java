@@ -0,0 +1,10 @@
+package com.tsystem.model.event;
+
+import java.util.UUID;
+
+/**
+ * Published when one of a user's saved filters is created, changed or
+ * deleted, so the cached filters and counts of that user follow after commit.
+ */
+public record SavedFilterEvent(UUID ownerId, UUID filterId) {
+}
@@ -0,0 +1,40 @@
+package com.tsystem.model.event;
+
+import com.tsystem.model.dto.response.TicketCommentResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Published by TicketService whenever a ticket or its comments change.
+ * Listeners that talk to the outside world should use AFTER_COMMIT so that
+ * rolled back writes are never announced.
+ */
+public record TicketEvent(
+        Type type,
+        UUID projectId,
+        UUID ticketId,
+        TicketResponse ticket,          // set for TICKET_CREATED / TICKET_UPDATED
+        TicketCommentResponse comment,  // set for COMMENT_ADDED
+        OffsetDateTime occurredAt
+) {
+
+    public enum Type { TICKET_CREATED, TICKET_UPDATED, TICKET_DELETED, COMMENT_ADDED }
+
+    public static TicketEvent created(TicketResponse ticket) {
+        return new TicketEvent(Type.TICKET_CREATED, ticket.getProjectId(), ticket.getId(), ticket, null, OffsetDateTime.now());
+    }
+
+    public static TicketEvent updated(TicketResponse ticket) {
+        return new TicketEvent(Type.TICKET_UPDATED, ticket.getProjectId(), ticket.getId(), ticket, null, OffsetDateTime.now());
+    }
+
+    public static TicketEvent deleted(UUID projectId, UUID ticketId) {
+        return new TicketEvent(Type.TICKET_DELETED, projectId, ticketId, null, null, OffsetDateTime.now());
+    }
+
+    public static TicketEvent commentAdded(UUID projectId, TicketCommentResponse comment) {
+        return new TicketEvent(Type.COMMENT_ADDED, projectId, comment.getTicketId(), null, comment, OffsetDateTime.now());
+    }
+}
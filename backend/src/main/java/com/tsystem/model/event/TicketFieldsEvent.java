@@ -0,0 +1,19 @@
+package com.tsystem.model.event;
+
+import com.tsystem.model.filter.TicketFields;
+
+/**
+ * Published by TicketService when a ticket is created or deleted, or an update
+ * changes one of its filterable fields. {@code before} is null for a new
+ * ticket and {@code after} for a deleted one.
+ */
+public record TicketFieldsEvent(TicketFields before, TicketFields after) {
+
+    public static TicketFieldsEvent created(TicketFields ticket) {
+        return new TicketFieldsEvent(null, ticket);
+    }
+
+    public static TicketFieldsEvent deleted(TicketFields ticket) {
+        return new TicketFieldsEvent(ticket, null);
+    }
+}
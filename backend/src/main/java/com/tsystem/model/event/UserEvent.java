@@ -0,0 +1,22 @@
+package com.tsystem.model.event;
+
+import com.tsystem.model.dto.response.UserShortResponse;
+
+import java.util.UUID;
+
+/**
+ * Published when a user is created, changed or deleted, so copies of the
+ * user's public profile (UserDirectory) can follow after commit.
+ */
+public record UserEvent(Type type, UUID userId, UserShortResponse user) {
+
+    public enum Type { SAVED, DELETED }
+
+    public static UserEvent saved(UserShortResponse user) {
+        return new UserEvent(Type.SAVED, user.getId(), user);
+    }
+
+    public static UserEvent deleted(UUID userId) {
+        return new UserEvent(Type.DELETED, userId, null);
+    }
+}
@@ -0,0 +1,86 @@
+package com.tsystem.model.filter;
+
+import com.tsystem.model.SavedFilter;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * What a saved filter asks for. Every part that is set must match; an empty
+ * set matches any value, a null projectId any project, and a null assigneeId
+ * anybody or, with {@code unassigned}, nobody.
+ */
+public record TicketCriteria(UUID projectId,
+                             Set<TicketType> types,
+                             Set<TicketPriority> priorities,
+                             Set<TicketState> states,
+                             UUID assigneeId,
+                             boolean unassigned) {
+
+    public TicketCriteria {
+        types = copy(TicketType.class, types);
+        priorities = copy(TicketPriority.class, priorities);
+        states = copy(TicketState.class, states);
+    }
+
+    public static TicketCriteria of(SavedFilter f) {
+        return new TicketCriteria(f.getProjectId(),
+                parse(TicketType.class, f.getTypes()),
+                parse(TicketPriority.class, f.getPriorities()),
+                parse(TicketState.class, f.getStates()),
+                f.getAssigneeId(),
+                f.isUnassigned());
+    }
+
+    /** Same test as the filter's query, on one ticket; false for null. */
+    public boolean matches(TicketFields t) {
+        if (t == null) return false;
+        if (projectId != null && !projectId.equals(t.projectId())) return false;
+        if (!types.isEmpty() && !types.contains(t.type())) return false;
+        if (!priorities.isEmpty() && !priorities.contains(t.priority())) return false;
+        if (!states.isEmpty() && !states.contains(t.state())) return false;
+        if (unassigned) return t.assigneeId() == null;
+        return assigneeId == null || assigneeId.equals(t.assigneeId());
+    }
+
+    /**
+     * Whether a write moves the ticket into or out of the results, i.e. changes
+     * the count; null stands for a ticket not there before or no longer there.
+     */
+    public boolean changedBy(TicketFields before, TicketFields after) {
+        return matches(before) != matches(after);
+    }
+
+    /** Stored form of a value set, e.g. {@code "bug,task"}, in declaration order. */
+    public static <E extends Enum<E>> String join(Collection<E> values) {
+        return values.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .map(Enum::name)
+                .collect(Collectors.joining(","));
+    }
+
+    // declaration order, so responses list the values the same way every time
+    private static <E extends Enum<E>> Set<E> copy(Class<E> type, Set<E> values) {
+        Set<E> set = EnumSet.noneOf(type);
+        if (values != null) values.stream().filter(Objects::nonNull).forEach(set::add);
+        return Collections.unmodifiableSet(set);
+    }
+
+    static <E extends Enum<E>> Set<E> parse(Class<E> type, String values) {
+        Set<E> set = EnumSet.noneOf(type);
+        if (values == null || values.isBlank()) return set;
+        Arrays.stream(values.split(",")).map(v -> Enum.valueOf(type, v.strip())).forEach(set::add);
+        return set;
+    }
+}
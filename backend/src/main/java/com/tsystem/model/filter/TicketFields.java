@@ -0,0 +1,19 @@
+package com.tsystem.model.filter;
+
+import com.tsystem.model.Ticket;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+
+import java.util.UUID;
+
+/** The fields of a ticket a {@link TicketCriteria} can test. */
+public record TicketFields(UUID projectId, TicketType type, TicketPriority priority, TicketState state,
+                           UUID assigneeId) {
+
+    public static TicketFields of(Ticket t) {
+        // ids of the lazy associations are read without loading them
+        return new TicketFields(t.getProject().getId(), t.getType(), t.getPriority(), t.getState(),
+                t.getAssignee() == null ? null : t.getAssignee().getId());
+    }
+}
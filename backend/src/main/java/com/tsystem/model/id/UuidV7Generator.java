@@ -0,0 +1,57 @@
+package com.tsystem.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562).
+ *
+ * Layout: 48 bit unix millis | version 7 | 12 bit sequence | variant | 62 random bits.
+ * The 12 bit field is a counter within the millisecond (RFC 9562, method 1),
+ * so ids from this JVM are strictly increasing in Postgres uuid order and new
+ * rows land at the right edge of the primary-key B-tree instead of on a random
+ * leaf page.
+ *
+ * Use on an id with {@code @UuidGenerator(algorithm = UuidV7Generator.class)}.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // last issued (millis << 12 | sequence)
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long stamp = nextStamp(System.currentTimeMillis());
+        long msb = (stamp >>> 12) << 16      // unix millis, top 48 bits
+                | 0x7000L                     // version
+                | (stamp & 0xFFFL);           // sequence
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // variant 10
+        return new UUID(msb, lsb);
+    }
+
+    /** Millisecond timestamp encoded in a version 7 UUID. */
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextStamp(long nowMillis) {
+        long now = nowMillis << 12;
+        while (true) {
+            long last = LAST.get();
+            // same millisecond (or clock stepped back): continue the sequence,
+            // overflowing into the next millisecond rather than repeating
+            long next = now > last ? now : last + 1;
+            if (LAST.compareAndSet(last, next)) return next;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.tsystem.model.label;
+
+import com.tsystem.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * A label filter such as {@code bug and (ui or api) and not wontfix}.
+ * {@code not} binds tightest, then {@code and}, then {@code or}; keywords are
+ * case-insensitive, and a label whose name has spaces or parentheses, or is a
+ * keyword, is written in double quotes.
+ */
+public sealed interface LabelExpression {
+
+    int MAX_LENGTH = 1000;
+    int MAX_DEPTH = 32;
+
+    record Label(String name) implements LabelExpression {
+    }
+
+    record Not(LabelExpression operand) implements LabelExpression {
+    }
+
+    record And(List<LabelExpression> operands) implements LabelExpression {
+    }
+
+    record Or(List<LabelExpression> operands) implements LabelExpression {
+    }
+
+    /** Throws BadRequestException on a blank, malformed or oversized filter. */
+    static LabelExpression parse(String text) {
+        if (text == null || text.isBlank()) throw new BadRequestException("Label filter is empty");
+        if (text.length() > MAX_LENGTH) throw new BadRequestException("Label filter is too long");
+        Parser parser = new Parser(text);
+        LabelExpression e = parser.or(0);
+        if (parser.peek() != null) throw new BadRequestException("Unexpected '" + parser.peek() + "' in label filter");
+        return e;
+    }
+
+    /**
+     * The tickets matching the filter, given each label's tickets and all of
+     * them. An AND intersects its plain operands smallest first and then
+     * subtracts the negated ones, so a NOT inside an AND never builds the
+     * complement.
+     */
+    default RoaringBitmap evaluate(Function<String, RoaringBitmap> label, RoaringBitmap all) {
+        return switch (this) {
+            case Label l -> label.apply(l.name());
+            case Not n -> RoaringBitmap.andNot(all, n.operand().evaluate(label, all));
+            case Or o -> {
+                RoaringBitmap r = new RoaringBitmap();
+                for (LabelExpression e : o.operands()) r = RoaringBitmap.or(r, e.evaluate(label, all));
+                yield r;
+            }
+            case And a -> {
+                List<RoaringBitmap> include = new ArrayList<>();
+                List<RoaringBitmap> exclude = new ArrayList<>();
+                for (LabelExpression e : a.operands()) {
+                    if (e instanceof Not n) {
+                        exclude.add(n.operand().evaluate(label, all));
+                    } else {
+                        include.add(e.evaluate(label, all));
+                    }
+                }
+                include.sort(Comparator.comparingInt(RoaringBitmap::cardinality));
+                RoaringBitmap r = include.isEmpty() ? all : include.getFirst();
+                for (int i = 1; i < include.size() && !r.isEmpty(); i++) r = RoaringBitmap.and(r, include.get(i));
+                for (RoaringBitmap b : exclude) r = RoaringBitmap.andNot(r, b);
+                yield r;
+            }
+        };
+    }
+
+    /** Recursive descent over the tokens, one method per precedence level. */
+    final class Parser {
+        private final List<String> tokens;
+        private int pos;
+
+        private Parser(String text) {
+            this.tokens = tokenize(text);
+        }
+
+        private LabelExpression or(int depth) {
+            List<LabelExpression> operands = new ArrayList<>();
+            operands.add(and(depth));
+            while (keyword("or")) operands.add(and(depth));
+            return operands.size() == 1 ? operands.getFirst() : new Or(List.copyOf(operands));
+        }
+
+        private LabelExpression and(int depth) {
+            List<LabelExpression> operands = new ArrayList<>();
+            operands.add(not(depth));
+            while (keyword("and")) operands.add(not(depth));
+            return operands.size() == 1 ? operands.getFirst() : new And(List.copyOf(operands));
+        }
+
+        private LabelExpression not(int depth) {
+            if (depth > MAX_DEPTH) throw new BadRequestException("Label filter is nested too deeply");
+            if (keyword("not")) return new Not(not(depth + 1));
+            String token = next();
+            if (token.equals("(")) {
+                LabelExpression e = or(depth + 1);
+                if (!")".equals(next())) throw new BadRequestException("Missing ')' in label filter");
+                return e;
+            }
+            if (token.equals(")") || isKeyword(token)) {
+                throw new BadRequestException("Unexpected '" + token + "' in label filter");
+            }
+            return new Label(token.startsWith("\"") ? token.substring(1) : token);
+        }
+
+        private boolean keyword(String word) {
+            String token = peek();
+            if (token == null || !token.equalsIgnoreCase(word)) return false;
+            pos++;
+            return true;
+        }
+
+        private String peek() {
+            return pos < tokens.size() ? tokens.get(pos) : null;
+        }
+
+        private String next() {
+            if (pos == tokens.size()) throw new BadRequestException("Label filter ends early");
+            return tokens.get(pos++);
+        }
+
+        private static boolean isKeyword(String token) {
+            String t = token.toLowerCase(Locale.ROOT);
+            return t.equals("and") || t.equals("or") || t.equals("not");
+        }
+
+        // a quoted name keeps its opening quote as a marker, so "and" stays a label
+        private static List<String> tokenize(String text) {
+            List<String> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else if (c == '"') {
+                    int end = text.indexOf('"', i + 1);
+                    if (end < 0) throw new BadRequestException("Unterminated quote in label filter");
+                    if (end == i + 1) throw new BadRequestException("Empty label in label filter");
+                    tokens.add(text.substring(i, end));
+                    i = end + 1;
+                } else {
+                    int start = i;
+                    while (i < text.length() && !Character.isWhitespace(text.charAt(i))
+                            && "()\"".indexOf(text.charAt(i)) < 0) {
+                        i++;
+                    }
+                    tokens.add(text.substring(start, i));
+                }
+            }
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.tsystem.model.label;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.model.dto.KeysetCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One project's labels as bitmaps over ticket ordinals. Each ticket gets a
+ * small int, its position in id order; each label keeps a
+ * {@link RoaringBitmap} of the ordinals of its tickets, and a filter is
+ * evaluated on those bitmaps alone. Only the page that is finally shown is
+ * turned back into ticket ids.
+ *
+ * Tickets created later have larger ids and are appended. An id that does
+ * not fit at the end, or a pile of deleted ordinals, makes the next query
+ * renumber everything, in memory.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public final class LabelIndex {
+
+    private UUID[] tickets = new UUID[64];
+    private int size;
+    private boolean sorted = true;
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private RoaringBitmap live = new RoaringBitmap();
+
+    private final Map<UUID, RoaringBitmap> labels = new HashMap<>();
+    private final Map<UUID, String> names = new HashMap<>();
+    private final Map<String, UUID> byName = new HashMap<>();
+
+    public void putTicket(UUID ticketId) {
+        if (ordinals.containsKey(ticketId)) return;
+        if (size == tickets.length) tickets = Arrays.copyOf(tickets, size * 2);
+        if (size > 0 && KeysetCursor.UUID_ORDER.compare(tickets[size - 1], ticketId) >= 0) sorted = false;
+        tickets[size] = ticketId;
+        ordinals.put(ticketId, size);
+        live.add(size++);
+    }
+
+    public void removeTicket(UUID ticketId) {
+        Integer ordinal = ordinals.remove(ticketId);
+        if (ordinal == null) return;
+        // the id stays in its slot, for the binary search over the cursor
+        live.remove(ordinal);
+        for (RoaringBitmap b : labels.values()) b.remove(ordinal);
+    }
+
+    public void putLabel(UUID labelId, String name) {
+        String old = names.put(labelId, name);
+        if (old != null) byName.remove(key(old));
+        byName.put(key(name), labelId);
+        labels.computeIfAbsent(labelId, id -> new RoaringBitmap());
+    }
+
+    public void removeLabel(UUID labelId) {
+        String name = names.remove(labelId);
+        if (name != null) byName.remove(key(name));
+        labels.remove(labelId);
+    }
+
+    /** Replaces the ticket's labels; unknown tickets and labels are ignored. */
+    public void setLabels(UUID ticketId, Collection<UUID> labelIds) {
+        Integer ordinal = ordinals.get(ticketId);
+        if (ordinal == null) return;
+        Set<UUID> wanted = new HashSet<>(labelIds);
+        labels.forEach((id, b) -> {
+            if (wanted.contains(id)) {
+                b.add(ordinal);
+            } else {
+                b.remove(ordinal);
+            }
+        });
+    }
+
+    public void addLabel(UUID ticketId, UUID labelId) {
+        Integer ordinal = ordinals.get(ticketId);
+        RoaringBitmap b = labels.get(labelId);
+        if (ordinal != null && b != null) b.add(ordinal);
+    }
+
+    public int ticketCount() {
+        return ordinals.size();
+    }
+
+    /**
+     * Up to {@code limit} ids of tickets matching the filter, in id order and
+     * after {@code after} if given. Unknown label names throw
+     * BadRequestException.
+     */
+    public List<UUID> find(LabelExpression filter, UUID after, int limit) {
+        if (!sorted || size > 2 * ordinals.size() + 64) renumber();
+        RoaringBitmap matches = filter.evaluate(this::label, live);
+        List<UUID> ids = new ArrayList<>(Math.min(limit, 64));
+        for (int o = matches.nextValue(after == null ? 0 : start(after)); o >= 0 && ids.size() < limit;
+             o = matches.nextValue(o + 1)) {
+            ids.add(tickets[o]);
+        }
+        return ids;
+    }
+
+    private RoaringBitmap label(String name) {
+        UUID id = byName.get(key(name));
+        if (id == null) throw new BadRequestException("Unknown label: " + name);
+        return labels.get(id);
+    }
+
+    // first ordinal whose id sorts after the cursor
+    private int start(UUID after) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (KeysetCursor.UUID_ORDER.compare(tickets[mid], after) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // live tickets get 0..n-1 in id order again, deleted ones drop out
+    private void renumber() {
+        int n = ordinals.size();
+        Integer[] order = new Integer[n];
+        int k = 0;
+        for (int o = live.nextValue(0); o >= 0; o = live.nextValue(o + 1)) order[k++] = o;
+        Arrays.sort(order, (a, b) -> KeysetCursor.UUID_ORDER.compare(tickets[a], tickets[b]));
+
+        int[] moved = new int[size];
+        UUID[] next = new UUID[Math.max(64, n + n / 2)];
+        RoaringBitmap nextLive = new RoaringBitmap();
+        for (int i = 0; i < n; i++) {
+            moved[order[i]] = i;
+            next[i] = tickets[order[i]];
+            ordinals.put(next[i], i);
+            nextLive.add(i);
+        }
+        labels.replaceAll((id, b) -> {
+            RoaringBitmap r = new RoaringBitmap();
+            for (int o = b.nextValue(0); o >= 0; o = b.nextValue(o + 1)) r.add(moved[o]);
+            return r;
+        });
+        tickets = next;
+        size = n;
+        live = nextLive;
+        sorted = true;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,415 @@
+package com.tsystem.model.label;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative ints in the Roaring layout: values are split
+ * by their high 16 bits into chunks of 65536, and each chunk keeps its low
+ * bits either as a sorted array, while it holds at most {@link #ARRAY_MAX}
+ * values, or as a 1024-word bitmap. A label on a few tickets costs a few
+ * bytes per ticket, one on most of them a bit per ticket, and AND/OR/AND NOT
+ * run chunk by chunk on whichever form each side has.
+ *
+ * Mutable and not thread-safe; the binary operations return new bitmaps and
+ * leave their operands alone.
+ */
+public final class RoaringBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1 << 10;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public boolean add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int i = find(key);
+        if (i < 0) {
+            i = -i - 1;
+            insert(i, key, new ArrayContainer());
+        }
+        Container c = containers[i];
+        int before = c.cardinality();
+        containers[i] = c.add((char) value);
+        return containers[i].cardinality() > before;
+    }
+
+    public boolean remove(int value) {
+        if (value < 0) return false;
+        int i = find((char) (value >>> 16));
+        if (i < 0) return false;
+        Container c = containers[i];
+        int before = c.cardinality();
+        Container after = c.remove((char) value);
+        if (after.cardinality() == 0) {
+            delete(i);
+        } else {
+            containers[i] = after;
+        }
+        return after.cardinality() < before;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int i = find((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) n += containers[i].cardinality();
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** The smallest value {@code >= from}, or -1. */
+    public int nextValue(int from) {
+        if (from < 0) from = 0;
+        char key = (char) (from >>> 16);
+        int i = find(key);
+        if (i >= 0) {
+            int low = containers[i].next((char) from);
+            if (low >= 0) return key << 16 | low;
+            i++;
+        } else {
+            i = -i - 1;
+        }
+        return i < size ? keys[i] << 16 | containers[i].next((char) 0) : -1;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap r = new RoaringBitmap();
+        r.keys = Arrays.copyOf(keys, Math.max(size, 4));
+        r.containers = new Container[r.keys.length];
+        for (int i = 0; i < size; i++) r.containers[i] = containers[i].copy();
+        r.size = size;
+        return r;
+    }
+
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap r = new RoaringBitmap();
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            int c = Character.compare(a.keys[i], b.keys[j]);
+            if (c < 0) {
+                i++;
+            } else if (c > 0) {
+                j++;
+            } else {
+                r.append(a.keys[i], a.containers[i].and(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return r;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap r = new RoaringBitmap();
+        int i = 0, j = 0;
+        while (i < a.size || j < b.size) {
+            int c = i == a.size ? 1 : j == b.size ? -1 : Character.compare(a.keys[i], b.keys[j]);
+            if (c < 0) {
+                r.append(a.keys[i], a.containers[i++].copy());
+            } else if (c > 0) {
+                r.append(b.keys[j], b.containers[j++].copy());
+            } else {
+                r.append(a.keys[i], a.containers[i++].or(b.containers[j++]));
+            }
+        }
+        return r;
+    }
+
+    /** The values of {@code a} that are not in {@code b}. */
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap r = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) j++;
+            r.append(a.keys[i], j < b.size && b.keys[j] == a.keys[i]
+                    ? a.containers[i].andNot(b.containers[j])
+                    : a.containers[i].copy());
+        }
+        return r;
+    }
+
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int i, char key, Container c) {
+        grow();
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = c;
+        size++;
+    }
+
+    // keys arrive in ascending order; empty results are dropped
+    private void append(char key, Container c) {
+        if (c.cardinality() == 0) return;
+        grow();
+        keys[size] = key;
+        containers[size++] = c;
+    }
+
+    private void delete(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    private void grow() {
+        if (size < keys.length) return;
+        keys = Arrays.copyOf(keys, size * 2);
+        containers = Arrays.copyOf(containers, size * 2);
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) throw new IllegalArgumentException("Negative value " + value);
+    }
+
+    /** The low 16 bits of one chunk. Operations may return a different container, in the form that suits the result. */
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+        Container add(char value);
+        Container remove(char value);
+        boolean contains(char value);
+        int cardinality();
+        /** The smallest value {@code >= from}, or -1. */
+        int next(char from);
+        Container copy();
+        Container and(Container other);
+        Container or(Container other);
+        Container andNot(Container other);
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) return this;
+            if (cardinality == ARRAY_MAX) return toBitmap().add(value);
+            i = -i - 1;
+            if (cardinality == values.length) values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_MAX));
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i < 0) return this;
+            System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+            cardinality--;
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int next(char from) {
+            int i = Arrays.binarySearch(values, 0, cardinality, from);
+            if (i < 0) i = -i - 1;
+            return i < cardinality ? values[i] : -1;
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 4)), cardinality);
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] out = new char[cardinality];
+            int n = 0;
+            if (other instanceof ArrayContainer a) {
+                int j = 0;
+                for (int i = 0; i < cardinality && j < a.cardinality; ) {
+                    if (values[i] < a.values[j]) {
+                        i++;
+                    } else if (values[i] > a.values[j]) {
+                        j++;
+                    } else {
+                        out[n++] = values[i++];
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) out[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof BitmapContainer b) return b.or(this);
+            ArrayContainer a = (ArrayContainer) other;
+            char[] out = new char[cardinality + a.cardinality];
+            int n = 0, i = 0, j = 0;
+            while (i < cardinality || j < a.cardinality) {
+                if (j == a.cardinality || i < cardinality && values[i] < a.values[j]) {
+                    out[n++] = values[i++];
+                } else if (i == cardinality || values[i] > a.values[j]) {
+                    out[n++] = a.values[j++];
+                } else {
+                    out[n++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer r = new ArrayContainer(out, n);
+            return n > ARRAY_MAX ? r.toBitmap() : r;
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            char[] out = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) out[n++] = values[i];
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        BitmapContainer toBitmap() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) words[values[i] >>> 6] |= 1L << values[i];
+            return new BitmapContainer(words, cardinality);
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) return this;
+            words[value >>> 6] &= ~bit;
+            cardinality--;
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int next(char from) {
+            int w = from >>> 6;
+            long word = words[w] & -1L << from;
+            while (word == 0) {
+                if (++w == WORDS) return -1;
+                word = words[w];
+            }
+            return w << 6 | Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer a) return a.and(this);
+            long[] o = ((BitmapContainer) other).words;
+            long[] out = new long[WORDS];
+            for (int w = 0; w < WORDS; w++) out[w] = words[w] & o[w];
+            return of(out);
+        }
+
+        @Override
+        public Container or(Container other) {
+            long[] out = words.clone();
+            if (other instanceof ArrayContainer a) {
+                for (int i = 0; i < a.cardinality; i++) out[a.values[i] >>> 6] |= 1L << a.values[i];
+            } else {
+                long[] o = ((BitmapContainer) other).words;
+                for (int w = 0; w < WORDS; w++) out[w] |= o[w];
+            }
+            return of(out);
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            long[] out = words.clone();
+            if (other instanceof ArrayContainer a) {
+                for (int i = 0; i < a.cardinality; i++) out[a.values[i] >>> 6] &= ~(1L << a.values[i]);
+            } else {
+                long[] o = ((BitmapContainer) other).words;
+                for (int w = 0; w < WORDS; w++) out[w] &= ~o[w];
+            }
+            return of(out);
+        }
+
+        private static Container of(long[] words) {
+            int n = 0;
+            for (long w : words) n += Long.bitCount(w);
+            BitmapContainer b = new BitmapContainer(words, n);
+            return n <= ARRAY_MAX ? b.toArray() : b;
+        }
+
+        ArrayContainer toArray() {
+            char[] values = new char[Math.max(cardinality, 4)];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    values[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.tsystem.model.mapper;
+
+import com.tsystem.model.dto.response.DurationStatsResponse;
+import com.tsystem.model.dto.response.FlowGroupResponse;
+import com.tsystem.model.dto.response.FlowReportResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.report.DurationHistogram;
+import com.tsystem.model.report.FlowStats;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class FlowReportMapper {
+    private FlowReportMapper(){}
+
+    public static FlowReportResponse toResponse(UUID projectId, OffsetDateTime computedThrough, FlowStats stats) {
+        List<FlowGroupResponse> groups = new ArrayList<>();
+        for (TicketType type : TicketType.values()) {
+            for (TicketPriority priority : TicketPriority.values()) {
+                FlowStats.Cell cell = stats.find(type, priority);
+                if (cell != null) groups.add(toGroupResponse(type, priority, cell));
+            }
+        }
+        return FlowReportResponse.builder()
+                .projectId(projectId)
+                .computedThrough(computedThrough)
+                .total(toGroupResponse(null, null, stats.total()))
+                .groups(groups)
+                .build();
+    }
+
+    public static FlowGroupResponse toGroupResponse(TicketType type, TicketPriority priority, FlowStats.Cell cell) {
+        Map<TicketState, DurationStatsResponse> timeInState = new EnumMap<>(TicketState.class);
+        for (TicketState state : TicketState.values()) {
+            timeInState.put(state, toStatsResponse(cell.timeIn(state)));
+        }
+        return FlowGroupResponse.builder()
+                .type(type)
+                .priority(priority)
+                .leadTime(toStatsResponse(cell.leadTime()))
+                .cycleTime(toStatsResponse(cell.cycleTime()))
+                .timeInState(timeInState)
+                .build();
+    }
+
+    public static DurationStatsResponse toStatsResponse(DurationHistogram h) {
+        return DurationStatsResponse.builder()
+                .count(h.count())
+                .mean(h.mean())
+                .p50(h.percentile(50))
+                .p85(h.percentile(85))
+                .p95(h.percentile(95))
+                .max(h.max())
+                .build();
+    }
+}
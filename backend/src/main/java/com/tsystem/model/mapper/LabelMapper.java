@@ -0,0 +1,25 @@
+package com.tsystem.model.mapper;
+
+import com.tsystem.model.Label;
+import com.tsystem.model.dto.response.LabelResponse;
+
+import java.util.List;
+
+public class LabelMapper {
+    private LabelMapper(){}
+
+    public static LabelResponse toResponse(Label l){
+        return LabelResponse.builder()
+                .id(l.getId())
+                .projectId(l.getProjectId())
+                .name(l.getName())
+                .createdAt(l.getCreatedAt())
+                .build();
+    }
+
+    public static List<LabelResponse> toResponseList(List<Label> labels) {
+        return labels.stream()
+                .map(LabelMapper::toResponse)
+                .toList();
+    }
+}
@@ -0,0 +1,38 @@
+package com.tsystem.model.mapper;
+
+import com.tsystem.model.SavedFilter;
+import com.tsystem.model.dto.response.SavedFilterResponse;
+import com.tsystem.model.filter.TicketCriteria;
+
+public class SavedFilterMapper {
+    private SavedFilterMapper(){}
+
+    public static final String ME = "me";
+    public static final String NOBODY = "none";
+
+    public static SavedFilterResponse toResponse(SavedFilter f){
+        TicketCriteria c = TicketCriteria.of(f);
+        return SavedFilterResponse.builder()
+                .id(f.getId())
+                .name(f.getName())
+                .projectId(f.getProjectId())
+                .types(c.types())
+                .priorities(c.priorities())
+                .states(c.states())
+                .assignee(assignee(f))
+                .createdAt(f.getCreatedAt())
+                .build();
+    }
+
+    public static SavedFilterResponse toResponse(SavedFilter f, long count){
+        SavedFilterResponse r = toResponse(f);
+        r.setCount(count);
+        return r;
+    }
+
+    private static String assignee(SavedFilter f) {
+        if (f.isUnassigned()) return NOBODY;
+        if (f.getAssigneeId() == null) return null;
+        return f.getAssigneeId().equals(f.getOwnerId()) ? ME : f.getAssigneeId().toString();
+    }
+}
@@ -0,0 +1,28 @@
+package com.tsystem.model.mapper;
+
+import com.tsystem.model.TicketAttachment;
+import com.tsystem.model.dto.response.TicketAttachmentResponse;
+
+import java.util.List;
+
+public class TicketAttachmentMapper {
+    private TicketAttachmentMapper(){}
+
+    public static TicketAttachmentResponse toResponse(TicketAttachment a){
+        return TicketAttachmentResponse.builder()
+                .id(a.getId())
+                .ticketId(a.getTicketId())
+                .uploaderId(a.getUploaderId())
+                .fileName(a.getFileName())
+                .contentType(a.getContentType())
+                .size(a.getSize())
+                .createdAt(a.getCreatedAt())
+                .build();
+    }
+
+    public static List<TicketAttachmentResponse> toResponseList(List<TicketAttachment> attachments) {
+        return attachments.stream()
+                .map(TicketAttachmentMapper::toResponse)
+                .toList();
+    }
+}
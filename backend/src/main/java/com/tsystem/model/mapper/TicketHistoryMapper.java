@@ -15,6 +15,7 @@ public class TicketHistoryMapper {
                 .field(h.getField())
                 .oldValue(h.getOldValue())
                 .newValue(h.getNewValue())
+                .diffOffset(h.getDiffOffset())
                 .createdAt(h.getCreatedAt())
                 .build();
     }
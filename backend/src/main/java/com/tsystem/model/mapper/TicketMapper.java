@@ -18,6 +18,7 @@ public final class TicketMapper {
                 .priority(t.getPriority())
                 .state(t.getState())
                 .createdAt(t.getCreatedAt())
+                .updatedAt(t.getUpdatedAt())
                 .owner(toUserResponse(t.getAuthor()))
                 .assignee(t.getAssignee() != null ? toUserResponse(t.getAssignee()) : null)
                 .projectId(t.getProject().getId())
@@ -2,6 +2,7 @@ package com.tsystem.model.mapper;
 
 import com.tsystem.model.dto.request.UserRequest;
 import com.tsystem.model.dto.response.UserResponse;
+import com.tsystem.model.dto.response.UserShortResponse;
 import com.tsystem.model.user.SystemRole;
 import com.tsystem.model.user.User;
 
@@ -19,6 +20,15 @@ public class UserMapper {
                 .build();
     }
 
+    public static UserShortResponse toShortResponse(User u) {
+        return UserShortResponse.builder()
+                .id(u.getId())
+                .username(u.getUsername())
+                .name(u.getName())
+                .surname(u.getSurname())
+                .build();
+    }
+
     public static void update(User u, UserRequest req) {
         u.setEmail(req.getEmail());
         u.setName(req.getName());
@@ -0,0 +1,142 @@
+package com.tsystem.model.report;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Counts of durations in seconds, in log-linear buckets: exact below 32 s,
+ * then 32 buckets per power of two, so a percentile is off by at most about
+ * 3% of its value. Histograms of the same kind of duration add up with
+ * {@link #merge}, which is what lets a report be extended with new history
+ * instead of being recomputed.
+ *
+ * The bucket array only grows as far as the largest value seen.
+ */
+public final class DurationHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** Values are capped at 2^40 s, some 35,000 years. */
+    private static final int MAX_EXPONENT = 40;
+    static final int MAX_BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private long[] counts = new long[0];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long seconds) {
+        long value = Math.max(0, seconds);
+        int index = bucket(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(DurationHistogram other) {
+        if (other.count == 0) return;
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long mean() {
+        return count == 0 ? 0 : Math.round((double) sum / count);
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /** The value below which {@code percent} of the recorded durations fall, 0 when empty. */
+    public long percentile(double percent) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * count));
+        if (rank >= count) return max;
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long mid = lowerBound(i) + (upperBound(i) - lowerBound(i)) / 2;
+                return Math.min(max, Math.max(min, mid));
+            }
+        }
+        return max;
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT) return MAX_BUCKETS - 1;
+        int shift = exponent - SUB_BITS;
+        int mantissa = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + mantissa;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        if (bucket == MAX_BUCKETS - 1) return 1L << MAX_EXPONENT;
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long mantissa = (bucket - SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return mantissa << shift;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        if (bucket == MAX_BUCKETS - 1) return Long.MAX_VALUE;
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        return lowerBound(bucket) + (1L << shift) - 1;
+    }
+
+    // only the non-empty buckets are written
+    void write(DataOutput out) throws IOException {
+        out.writeLong(count);
+        if (count == 0) return;
+        out.writeLong(sum);
+        out.writeLong(min);
+        out.writeLong(max);
+        int used = 0;
+        for (long c : counts) if (c != 0) used++;
+        out.writeShort(used);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            out.writeShort(i);
+            out.writeLong(counts[i]);
+        }
+    }
+
+    static DurationHistogram read(DataInput in) throws IOException {
+        DurationHistogram h = new DurationHistogram();
+        h.count = in.readLong();
+        if (h.count == 0) return h;
+        h.sum = in.readLong();
+        h.min = in.readLong();
+        h.max = in.readLong();
+        int used = in.readUnsignedShort();
+        for (int i = 0; i < used; i++) {
+            int index = in.readUnsignedShort();
+            if (index >= h.counts.length) h.counts = Arrays.copyOf(h.counts, index + 1);
+            h.counts[index] = in.readLong();
+        }
+        return h;
+    }
+}
@@ -0,0 +1,162 @@
+package com.tsystem.model.report;
+
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Flow metrics of one project, one {@link Cell} per ticket type and priority.
+ *
+ * Every entry into {@code done} is a completion: its lead time runs from the
+ * ticket's creation, its cycle time from the first move to
+ * {@code in_progress} (tickets closed straight from {@code open} have none).
+ * A reopened ticket completes again. Time in a state is recorded when the
+ * state is left, so every sample is final once recorded and new history only
+ * ever adds samples.
+ *
+ * Stored as bytes: enum names rather than ordinals, so adding a type or
+ * priority does not scramble existing stats.
+ */
+public final class FlowStats {
+
+    private static final int FORMAT = 1;
+
+    private static final TicketType[] TYPES = TicketType.values();
+    private static final TicketPriority[] PRIORITIES = TicketPriority.values();
+    private static final TicketState[] STATES = TicketState.values();
+
+    public static final class Cell {
+        private final DurationHistogram leadTime = new DurationHistogram();
+        private final DurationHistogram cycleTime = new DurationHistogram();
+        private final DurationHistogram[] timeInState = new DurationHistogram[STATES.length];
+
+        Cell() {
+            for (int i = 0; i < timeInState.length; i++) timeInState[i] = new DurationHistogram();
+        }
+
+        public DurationHistogram leadTime() {
+            return leadTime;
+        }
+
+        public DurationHistogram cycleTime() {
+            return cycleTime;
+        }
+
+        public DurationHistogram timeIn(TicketState state) {
+            return timeInState[state.ordinal()];
+        }
+
+        public boolean isEmpty() {
+            if (leadTime.count() > 0 || cycleTime.count() > 0) return false;
+            for (DurationHistogram h : timeInState) if (h.count() > 0) return false;
+            return true;
+        }
+
+        public void merge(Cell other) {
+            leadTime.merge(other.leadTime);
+            cycleTime.merge(other.cycleTime);
+            for (int i = 0; i < timeInState.length; i++) timeInState[i].merge(other.timeInState[i]);
+        }
+    }
+
+    private final Cell[] cells = new Cell[TYPES.length * PRIORITIES.length];
+
+    public Cell cell(TicketType type, TicketPriority priority) {
+        int i = type.ordinal() * PRIORITIES.length + priority.ordinal();
+        if (cells[i] == null) cells[i] = new Cell();
+        return cells[i];
+    }
+
+    /** The cell if anything was recorded for it, otherwise null. */
+    public Cell find(TicketType type, TicketPriority priority) {
+        Cell c = cells[type.ordinal() * PRIORITIES.length + priority.ordinal()];
+        return c == null || c.isEmpty() ? null : c;
+    }
+
+    /** All cells merged, for the project-wide figures. */
+    public Cell total() {
+        Cell total = new Cell();
+        for (Cell c : cells) if (c != null) total.merge(c);
+        return total;
+    }
+
+    public void merge(FlowStats other) {
+        for (TicketType type : TYPES) {
+            for (TicketPriority priority : PRIORITIES) {
+                Cell c = other.find(type, priority);
+                if (c != null) cell(type, priority).merge(c);
+            }
+        }
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            int used = 0;
+            for (Cell c : cells) if (c != null && !c.isEmpty()) used++;
+            out.writeShort(used);
+            for (TicketType type : TYPES) {
+                for (TicketPriority priority : PRIORITIES) {
+                    Cell c = find(type, priority);
+                    if (c == null) continue;
+                    out.writeUTF(type.name());
+                    out.writeUTF(priority.name());
+                    c.leadTime.write(out);
+                    c.cycleTime.write(out);
+                    out.writeByte(STATES.length);
+                    for (TicketState state : STATES) {
+                        out.writeUTF(state.name());
+                        c.timeIn(state).write(out);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Null or empty bytes are empty stats; cells of types, priorities or states that no longer exist are dropped. */
+    public static FlowStats fromBytes(byte[] bytes) {
+        FlowStats stats = new FlowStats();
+        if (bytes == null || bytes.length == 0) return stats;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int format = in.readUnsignedByte();
+            if (format != FORMAT) throw new IllegalStateException("Unknown flow stats format " + format);
+            int used = in.readUnsignedShort();
+            for (int i = 0; i < used; i++) {
+                TicketType type = valueOf(TicketType.class, in.readUTF());
+                TicketPriority priority = valueOf(TicketPriority.class, in.readUTF());
+                Cell read = new Cell();
+                read.leadTime.merge(DurationHistogram.read(in));
+                read.cycleTime.merge(DurationHistogram.read(in));
+                int states = in.readUnsignedByte();
+                for (int s = 0; s < states; s++) {
+                    TicketState state = valueOf(TicketState.class, in.readUTF());
+                    DurationHistogram h = DurationHistogram.read(in);
+                    if (state != null) read.timeIn(state).merge(h);
+                }
+                if (type != null && priority != null) stats.cell(type, priority).merge(read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stats;
+    }
+
+    private static <E extends Enum<E>> E valueOf(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
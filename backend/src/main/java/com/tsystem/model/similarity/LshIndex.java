@@ -0,0 +1,88 @@
+package com.tsystem.model.similarity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Locality-sensitive index over {@link MinHash} signatures: each signature is
+ * cut into {@link #BANDS} bands of {@link #ROWS} values, and two entries are
+ * candidates when any band matches exactly. With 16 bands of 4 a pair at
+ * Jaccard 0.5 is found with probability 0.64, at 0.7 with 0.98, and
+ * unrelated pairs almost never, so a query only compares against a handful
+ * of entries whatever the size of the index.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public final class LshIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = MinHash.SIGNATURE_SIZE / BANDS;
+
+    /** An indexed entry and its estimated similarity to the query. */
+    public record Match(UUID id, String name, double similarity) {
+    }
+
+    private record Entry(String name, int[] signature) {
+    }
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    // key: band number in the top bits, hash of the band's values in the rest
+    private final Map<Long, Set<UUID>> buckets = new HashMap<>();
+
+    public void put(UUID id, String name, int[] signature) {
+        remove(id);
+        if (signature == null) return;
+        entries.put(id, new Entry(name, signature));
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(key(signature, band), k -> new HashSet<>(2)).add(id);
+        }
+    }
+
+    public void remove(UUID id) {
+        Entry old = entries.remove(id);
+        if (old == null) return;
+        for (int band = 0; band < BANDS; band++) {
+            long key = key(old.signature(), band);
+            Set<UUID> ids = buckets.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) buckets.remove(key);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** Entries at least {@code threshold} similar, most similar first, without {@code exclude}. */
+    public List<Match> query(int[] signature, UUID exclude, double threshold, int limit) {
+        if (signature == null) return List.of();
+        Set<UUID> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<UUID> ids = buckets.get(key(signature, band));
+            if (ids != null) candidates.addAll(ids);
+        }
+        candidates.remove(exclude);
+
+        List<Match> matches = new ArrayList<>();
+        for (UUID id : candidates) {
+            Entry e = entries.get(id);
+            double similarity = MinHash.similarity(signature, e.signature());
+            if (similarity >= threshold) matches.add(new Match(id, e.name(), similarity));
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparing(Match::id));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private static long key(int[] signature, int band) {
+        long h = 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            h = h * 0x100000001b3L + signature[i];
+        }
+        return ((long) band << 58) ^ (h & 0x03FF_FFFF_FFFF_FFFFL);
+    }
+}
@@ -0,0 +1,92 @@
+package com.tsystem.model.similarity;
+
+import java.util.Arrays;
+
+/**
+ * MinHash signatures of ticket texts. A text is reduced to its shingles, the
+ * lower-cased words and pairs of adjacent words, and each of
+ * {@link #SIGNATURE_SIZE} hash functions keeps the smallest hash of any
+ * shingle. Two signatures agree in a position with probability equal to the
+ * Jaccard similarity of the shingle sets, so the fraction of equal positions
+ * estimates it within a few percent.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_SIZE = 64;
+
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        // fixed seeds: signatures must be comparable across restarts and instances
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SEEDS.length; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /** The signature of the texts taken together, or null when they contain no words. */
+    public static int[] signature(String... texts) {
+        long[] shingles = shingles(texts);
+        if (shingles.length == 0) return null;
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int h = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    /** Estimated Jaccard similarity of the texts behind two signatures, 0 to 1. */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    /** Distinct hashes of the words and adjacent word pairs, see {@link Words}. */
+    static long[] shingles(String... texts) {
+        long[] out = new long[64];
+        int size = 0;
+        for (String text : texts) {
+            long previous = 0;
+            for (String word : Words.of(text)) {
+                long h = hash(word);
+                if (size + 2 > out.length) out = Arrays.copyOf(out, out.length * 2);
+                out[size++] = h;
+                if (previous != 0) out[size++] = mix(previous * 31 + h);
+                previous = h;
+            }
+        }
+        if (size == 0) return new long[0];
+        Arrays.sort(out, 0, size);
+        int distinct = 1;
+        for (int i = 1; i < size; i++) {
+            if (out[i] != out[distinct - 1]) out[distinct++] = out[i];
+        }
+        return Arrays.copyOf(out, distinct);
+    }
+
+    private static long hash(String word) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            h = (h ^ word.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,419 @@
+package com.tsystem.model.similarity;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * TF-IDF vectors of a project's tickets, for "related tickets".
+ *
+ * A ticket is one document: its name and description plus the text of its
+ * comments. Terms are {@link Words}; a term weighs (1 + ln tf) * ln(1 + N / df).
+ * Everything is kept in primitive arrays: per document its sorted term ids
+ * and counts, per term a posting list of document numbers and tf weights.
+ * A query walks the postings of the ticket's strongest terms, accumulating
+ * dot products in a float array, and keeps the best cosines in a small
+ * sorted array, so it touches only documents sharing a term and allocates
+ * nothing per posting.
+ *
+ * Changing a ticket gives it a new document number and leaves the old one
+ * dead in the postings; they are compacted once dead documents reach a
+ * quarter of the live ones. Document norms are computed with the IDF of the
+ * time they were indexed and refreshed all at once when the number of
+ * documents has moved by a tenth.
+ *
+ * Thread-safe: queries share a read lock, changes take the write lock.
+ */
+public final class TfIdfIndex {
+
+    /** A related ticket and the cosine of the two vectors, 0 to 1. */
+    public record Match(UUID id, String name, double similarity) {
+    }
+
+    /** One ticket to index, with the texts of its comments. */
+    public record Source(UUID id, String name, String description, List<String> comments) {
+    }
+
+    /** Terms of the ticket used as the query; the weakest add little but cost a posting walk each. */
+    static final int MAX_QUERY_TERMS = 32;
+    /** Terms in more documents than this share rank nothing, unless the project is tiny. */
+    static final double MAX_DF_SHARE = 0.25;
+    private static final int MIN_DOCS_FOR_DF_CAP = 100;
+
+    private static final float[] TF_WEIGHTS = new float[64];
+
+    static {
+        for (int tf = 1; tf < TF_WEIGHTS.length; tf++) TF_WEIGHTS[tf] = (float) (1 + Math.log(tf));
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // terms
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[] df = new int[256];
+    private Postings[] postings = new Postings[256];
+
+    // documents, by number; a dead one has a null Doc
+    private final Map<UUID, Integer> docNos = new HashMap<>();
+    private UUID[] ids = new UUID[256];
+    private String[] names = new String[256];
+    private Doc[] docs = new Doc[256];
+    private float[] norms = new float[256];
+    private int docCount;
+    private int alive;
+    private int normsAt;
+
+    public void putAll(List<Source> sources) {
+        lock.writeLock().lock();
+        try {
+            for (Source s : sources) {
+                Terms ticket = terms(Words.of(s.name(), s.description()));
+                Terms comments = terms(Words.of(s.comments().toArray(String[]::new)));
+                replace(s.id(), s.name(), new Doc(ticket, comments), false);
+            }
+            renormIfDrifted(true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Indexes or re-indexes the ticket's own text; comments already indexed are kept. */
+    public void put(UUID id, String name, String description) {
+        lock.writeLock().lock();
+        try {
+            Integer old = docNos.get(id);
+            Terms comments = old == null ? Terms.EMPTY : docs[old].comments;
+            replace(id, name, new Doc(terms(Words.of(name, description)), comments), true);
+            renormIfDrifted(false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds a comment to an indexed ticket; comments of unknown tickets are ignored. */
+    public void addComment(UUID id, String text) {
+        lock.writeLock().lock();
+        try {
+            Integer old = docNos.get(id);
+            if (old == null) return;
+            Doc doc = docs[old];
+            replace(id, names[old], new Doc(doc.ticket, Terms.merge(doc.comments, terms(Words.of(text)))), true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer old = docNos.remove(id);
+            if (old == null) return;
+            unlink(old);
+            compactIfSparse();
+            renormIfDrifted(false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return alive;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} tickets most similar to the given one, best first; null if it is not indexed. */
+    public List<Match> related(UUID id, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer self = docNos.get(id);
+            if (self == null) return null;
+            Terms query = docs[self].all;
+            if (query.size() == 0 || norms[self] == 0) return List.of();
+
+            // the strongest terms of the ticket, leaving out the too common ones
+            int[] picked = new int[query.size()];
+            float[] weights = new float[query.size()];
+            int n = 0;
+            for (int i = 0; i < query.size(); i++) {
+                int term = query.terms[i];
+                if (alive >= MIN_DOCS_FOR_DF_CAP && df[term] > MAX_DF_SHARE * alive) continue;
+                picked[n] = term;
+                weights[n] = tfWeight(query.counts[i]) * idf(term);
+                n++;
+            }
+            n = strongest(picked, weights, n, MAX_QUERY_TERMS);
+
+            float[] scores = new float[docCount];
+            int[] touched = new int[64];
+            int touchedCount = 0;
+            for (int q = 0; q < n; q++) {
+                Postings p = postings[picked[q]];
+                float wq = weights[q] * idf(picked[q]);
+                for (int i = 0; i < p.size; i++) {
+                    int d = p.docs[i];
+                    if (d == self || docs[d] == null) continue;
+                    if (scores[d] == 0) {
+                        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                        touched[touchedCount++] = d;
+                    }
+                    scores[d] += wq * p.tfWeights[i];
+                }
+            }
+
+            // best cosines, kept sorted in place; limit is small
+            int k = Math.min(limit, touchedCount);
+            if (k <= 0) return List.of();
+            int[] best = new int[k];
+            float[] bestScore = new float[k];
+            int size = 0;
+            float qNorm = norms[self];
+            for (int t = 0; t < touchedCount; t++) {
+                int d = touched[t];
+                float cosine = norms[d] == 0 ? 0 : scores[d] / (qNorm * norms[d]);
+                if (size == k && cosine <= bestScore[k - 1]) continue;
+                int at = size < k ? size++ : k - 1;
+                while (at > 0 && bestScore[at - 1] < cosine) {
+                    best[at] = best[at - 1];
+                    bestScore[at] = bestScore[at - 1];
+                    at--;
+                }
+                best[at] = d;
+                bestScore[at] = cosine;
+            }
+
+            Match[] matches = new Match[size];
+            for (int i = 0; i < size; i++) {
+                // the norms may lag the IDF a little
+                matches[i] = new Match(ids[best[i]], names[best[i]], Math.min(1.0, bestScore[i]));
+            }
+            return List.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // a bulk load leaves the norms to one pass at the end
+    private void replace(UUID id, String name, Doc doc, boolean norm) {
+        Integer old = docNos.get(id);
+        if (old != null) unlink(old);
+
+        int d = docCount++;
+        if (d == docs.length) {
+            int capacity = d * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            docs = Arrays.copyOf(docs, capacity);
+            norms = Arrays.copyOf(norms, capacity);
+        }
+        ids[d] = id;
+        names[d] = name;
+        docs[d] = doc;
+        docNos.put(id, d);
+        alive++;
+        for (int i = 0; i < doc.all.size(); i++) {
+            int term = doc.all.terms[i];
+            df[term]++;
+            postings[term].add(d, tfWeight(doc.all.counts[i]));
+        }
+        if (norm) norms[d] = norm(doc.all);
+        compactIfSparse();
+    }
+
+    // the postings keep pointing at the dead number until the next compaction
+    private void unlink(int d) {
+        Terms all = docs[d].all;
+        for (int i = 0; i < all.size(); i++) df[all.terms[i]]--;
+        docs[d] = null;
+        names[d] = null;
+        alive--;
+    }
+
+    private void compactIfSparse() {
+        if (docCount - alive > Math.max(1024, alive / 4)) compact();
+    }
+
+    private void compact() {
+        int[] renumber = new int[docCount];
+        int next = 0;
+        for (int d = 0; d < docCount; d++) {
+            if (docs[d] == null) {
+                renumber[d] = -1;
+                continue;
+            }
+            renumber[d] = next;
+            ids[next] = ids[d];
+            names[next] = names[d];
+            docs[next] = docs[d];
+            docNos.put(ids[next], next);
+            next++;
+        }
+        Arrays.fill(ids, next, docCount, null);
+        Arrays.fill(names, next, docCount, null);
+        Arrays.fill(docs, next, docCount, null);
+        docCount = next;
+        for (int t = 0; t < termIds.size(); t++) postings[t].renumber(renumber);
+        renormIfDrifted(true);
+    }
+
+    private void renormIfDrifted(boolean force) {
+        if (!force && Math.abs(alive - normsAt) * 10 <= Math.max(normsAt, 10)) return;
+        float[] idf = new float[termIds.size()];
+        for (int t = 0; t < idf.length; t++) idf[t] = idf(t);
+        for (int d = 0; d < docCount; d++) {
+            Terms all = docs[d] == null ? Terms.EMPTY : docs[d].all;
+            double sum = 0;
+            for (int i = 0; i < all.size(); i++) {
+                double w = tfWeight(all.counts[i]) * idf[all.terms[i]];
+                sum += w * w;
+            }
+            norms[d] = (float) Math.sqrt(sum);
+        }
+        normsAt = alive;
+    }
+
+    private float norm(Terms t) {
+        double sum = 0;
+        for (int i = 0; i < t.size(); i++) {
+            double w = tfWeight(t.counts[i]) * idf(t.terms[i]);
+            sum += w * w;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    private float idf(int term) {
+        return (float) Math.log(1 + (double) Math.max(alive, 1) / Math.max(df[term], 1));
+    }
+
+    private static float tfWeight(int count) {
+        return count < TF_WEIGHTS.length ? TF_WEIGHTS[count] : (float) (1 + Math.log(count));
+    }
+
+    private Terms terms(List<String> words) {
+        if (words.isEmpty()) return Terms.EMPTY;
+        int[] ids = new int[words.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = termId(words.get(i));
+        return Terms.of(ids);
+    }
+
+    private int termId(String word) {
+        Integer id = termIds.get(word);
+        if (id != null) return id;
+        int next = termIds.size();
+        if (next == postings.length) {
+            postings = Arrays.copyOf(postings, next * 2);
+            df = Arrays.copyOf(df, next * 2);
+        }
+        postings[next] = new Postings();
+        termIds.put(word, next);
+        return next;
+    }
+
+    /** Moves the {@code max} heaviest of the first {@code n} terms to the front, returns how many are kept. */
+    private static int strongest(int[] terms, float[] weights, int n, int max) {
+        if (n <= max) return n;
+        for (int i = 0; i < max; i++) {
+            int top = i;
+            for (int j = i + 1; j < n; j++) if (weights[j] > weights[top]) top = j;
+            int t = terms[i]; terms[i] = terms[top]; terms[top] = t;
+            float w = weights[i]; weights[i] = weights[top]; weights[top] = w;
+        }
+        return max;
+    }
+
+    private static final class Doc {
+        final Terms ticket;
+        final Terms comments;
+        final Terms all;
+
+        Doc(Terms ticket, Terms comments) {
+            this.ticket = ticket;
+            this.comments = comments;
+            this.all = Terms.merge(ticket, comments);
+        }
+    }
+
+    /** Sorted distinct term ids and how often each occurs. */
+    private static final class Terms {
+        static final Terms EMPTY = new Terms(new int[0], new int[0]);
+
+        final int[] terms;
+        final int[] counts;
+
+        private Terms(int[] terms, int[] counts) {
+            this.terms = terms;
+            this.counts = counts;
+        }
+
+        int size() {
+            return terms.length;
+        }
+
+        static Terms of(int[] ids) {
+            Arrays.sort(ids);
+            int distinct = 0;
+            int[] counts = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                if (distinct > 0 && ids[distinct - 1] == ids[i]) {
+                    counts[distinct - 1]++;
+                } else {
+                    ids[distinct] = ids[i];
+                    counts[distinct++] = 1;
+                }
+            }
+            return new Terms(Arrays.copyOf(ids, distinct), Arrays.copyOf(counts, distinct));
+        }
+
+        static Terms merge(Terms a, Terms b) {
+            if (b.size() == 0) return a;
+            if (a.size() == 0) return b;
+            int[] terms = new int[a.size() + b.size()];
+            int[] counts = new int[terms.length];
+            int i = 0, j = 0, n = 0;
+            while (i < a.size() || j < b.size()) {
+                if (j == b.size() || (i < a.size() && a.terms[i] < b.terms[j])) {
+                    terms[n] = a.terms[i]; counts[n++] = a.counts[i++];
+                } else if (i == a.size() || b.terms[j] < a.terms[i]) {
+                    terms[n] = b.terms[j]; counts[n++] = b.counts[j++];
+                } else {
+                    terms[n] = a.terms[i]; counts[n++] = a.counts[i++] + b.counts[j++];
+                }
+            }
+            return new Terms(Arrays.copyOf(terms, n), Arrays.copyOf(counts, n));
+        }
+    }
+
+    /** Document numbers containing a term, with the term's tf weight in each. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] tfWeights = new float[4];
+        int size;
+
+        void add(int doc, float tfWeight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfWeights = Arrays.copyOf(tfWeights, size * 2);
+            }
+            docs[size] = doc;
+            tfWeights[size++] = tfWeight;
+        }
+
+        void renumber(int[] renumber) {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                int d = renumber[docs[i]];
+                if (d < 0) continue;
+                docs[n] = d;
+                tfWeights[n++] = tfWeights[i];
+            }
+            size = n;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.tsystem.model.similarity;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/** The words of a ticket text as the similarity indexes see them: lower-cased, accents and punctuation dropped. */
+public final class Words {
+
+    private Words() {
+    }
+
+    /** The words of all texts in order; null and blank texts have none. */
+    public static List<String> of(String... texts) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder(16);
+        for (String text : texts) {
+            if (text == null || text.isEmpty()) continue;
+            if (isAscii(text)) {
+                ascii(text, word, words);
+            } else {
+                unicode(text, word, words);
+            }
+            if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    // the common case, without normalizing or code point lookups
+    private static void ascii(String text, StringBuilder word, List<String> words) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                word.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                word.append((char) (c + ('a' - 'A')));
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+    }
+
+    // accents become separate marks, which are skipped
+    private static void unicode(String text, StringBuilder word, List<String> words) {
+        String s = Normalizer.normalize(text, Normalizer.Form.NFD);
+        for (int i = 0; i < s.length(); ) {
+            int c = s.codePointAt(i);
+            i += Character.charCount(c);
+            if (Character.isLetter(c) || Character.getType(c) == Character.DECIMAL_DIGIT_NUMBER) {
+                word.appendCodePoint(Character.toLowerCase(c));
+            } else if (!isMark(c) && !word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    private static boolean isMark(int c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+}
@@ -0,0 +1,17 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.CollectionVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+
+public interface CollectionVersionRepository extends JpaRepository<CollectionVersion, String> {
+
+    // the row lock is held until the writing transaction commits, so versions never go backwards
+    @Modifying
+    @Query("update CollectionVersion v set v.version = v.version + 1, v.updatedAt = :at where v.name = :name")
+    int bump(@Param("name") String name, @Param("at") OffsetDateTime at);
+}
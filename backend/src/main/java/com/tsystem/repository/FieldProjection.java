@@ -0,0 +1,104 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.UserShortResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Maps the properties of a response to the columns they are read from, so a
+ * list query selects only what a {@link FieldSet} asks for. Users are joined
+ * only when the property holding them is requested.
+ */
+final class FieldProjection<E, R> {
+
+    @FunctionalInterface
+    interface Restriction<E> {
+        void apply(CriteriaBuilder cb, CriteriaQuery<?> query, Root<E> root);
+    }
+
+    @FunctionalInterface
+    private interface Reader<R> {
+        void read(R response, Object[] row, int at);
+    }
+
+    private record Column<E, R>(Function<Root<E>, List<Selection<?>>> select, int width, Reader<R> reader) {}
+
+    private final Class<E> entity;
+    private final Supplier<R> factory;
+    private final Map<String, Column<E, R>> columns = new HashMap<>();
+
+    FieldProjection(Class<E> entity, Supplier<R> factory) {
+        this.entity = entity;
+        this.factory = factory;
+    }
+
+    /** A property read from the entity attribute of the same name. */
+    <T> FieldProjection<E, R> attribute(String property, BiConsumer<R, T> setter) {
+        return attribute(property, root -> root.get(property), setter);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> FieldProjection<E, R> attribute(String property, Function<Root<E>, Path<?>> path, BiConsumer<R, T> setter) {
+        columns.put(property, new Column<>(root -> List.of(path.apply(root)), 1,
+                (r, row, at) -> setter.accept(r, (T) row[at])));
+        return this;
+    }
+
+    /** A property holding the short profile of the user behind {@code association}. */
+    FieldProjection<E, R> user(String property, String association, JoinType joinType,
+                               BiConsumer<R, UserShortResponse> setter) {
+        columns.put(property, new Column<>(root -> {
+            Join<E, ?> user = root.join(association, joinType);
+            return List.of(user.get("id"), user.get("username"), user.get("name"), user.get("surname"));
+        }, 4, (r, row, at) -> setter.accept(r, row[at] == null ? null : new UserShortResponse(
+                (UUID) row[at], (String) row[at + 1], (String) row[at + 2], (String) row[at + 3]))));
+        return this;
+    }
+
+    /** The requested properties of every row matching {@code restriction}; the rest are left null. */
+    List<R> list(EntityManager em, FieldSet fields, Restriction<E> restriction) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<E> root = query.from(entity);
+
+        List<Column<E, R>> selected = new ArrayList<>(fields.names().size());
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String property : fields.names()) {
+            Column<E, R> column = columns.get(property);
+            if (column == null) throw new IllegalStateException("No column for " + property);
+            selected.add(column);
+            selections.addAll(column.select().apply(root));
+        }
+        query.multiselect(selections);
+        restriction.apply(cb, query, root);
+
+        List<Object[]> rows = em.createQuery(query).getResultList();
+        List<R> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            R response = factory.get();
+            int at = 0;
+            for (Column<E, R> column : selected) {
+                column.reader().read(response, row, at);
+                at += column.width();
+            }
+            result.add(response);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.Label;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface LabelRepository extends JpaRepository<Label, UUID> {
+
+    List<Label> findByProjectIdOrderByNameAsc(UUID projectId);
+
+    Optional<Label> findByIdAndProjectId(UUID id, UUID projectId);
+
+    Optional<Label> findByProjectIdAndNameIgnoreCase(UUID projectId, String name);
+
+    @Query("select l from Label l where l.id in (select tl.labelId from TicketLabel tl where tl.ticketId = :ticketId) "
+            + "order by l.name")
+    List<Label> findByTicketId(@Param("ticketId") UUID ticketId);
+
+    @Query(value = "select l.* from labels l join ticket_labels_archive tl on tl.label_id = l.id "
+            + "where tl.ticket_id = :ticketId order by l.name", nativeQuery = true)
+    List<Label> findArchivedByTicketId(@Param("ticketId") UUID ticketId);
+}
@@ -0,0 +1,19 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.ProjectFlowStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProjectFlowStatsRepository extends JpaRepository<ProjectFlowStats, UUID> {
+
+    // held until the refreshed stats are written, so no history is counted twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProjectFlowStats s where s.projectId = :projectId")
+    Optional<ProjectFlowStats> findForUpdate(@Param("projectId") UUID projectId);
+}
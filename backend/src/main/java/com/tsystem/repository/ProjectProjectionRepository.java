@@ -0,0 +1,12 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.ProjectResponse;
+
+import java.util.List;
+
+/** Project lists that select only the columns behind the requested response fields. */
+public interface ProjectProjectionRepository {
+
+    List<ProjectResponse> findAllFields(FieldSet fields);
+}
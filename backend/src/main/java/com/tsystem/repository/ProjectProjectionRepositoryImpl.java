@@ -0,0 +1,31 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.Project;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.ProjectResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.JoinType;
+
+import java.util.List;
+
+class ProjectProjectionRepositoryImpl implements ProjectProjectionRepository {
+
+    private static final FieldProjection<Project, ProjectResponse> PROJECTION =
+            new FieldProjection<>(Project.class, ProjectResponse::new)
+                    .attribute("id", ProjectResponse::setId)
+                    .attribute("name", ProjectResponse::setName)
+                    .attribute("description", ProjectResponse::setDescription)
+                    .attribute("status", ProjectResponse::setStatus)
+                    .attribute("createdAt", ProjectResponse::setCreatedAt)
+                    .user("owner", "user", JoinType.INNER, ProjectResponse::setOwner);
+
+    @PersistenceContext
+    private EntityManager em;
+
+    // hidden (deleting) projects are filtered by the entity's @SQLRestriction, as in findAll
+    @Override
+    public List<ProjectResponse> findAllFields(FieldSet fields) {
+        return PROJECTION.list(em, fields, (cb, q, p) -> {});
+    }
+}
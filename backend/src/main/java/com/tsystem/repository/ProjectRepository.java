@@ -2,17 +2,41 @@ package com.tsystem.repository;
 
 
 import com.tsystem.model.Project;
+import com.tsystem.model.enums.ProjectStatus;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface ProjectRepository extends JpaRepository<Project, UUID> {
+public interface ProjectRepository extends JpaRepository<Project, UUID>, ProjectProjectionRepository {
     Optional<Project> findById(UUID Id);
 
     @Override
     @EntityGraph(attributePaths = "user")
     List<Project> findAll();
+
+    List<Project> findByStatus(ProjectStatus status);
+
+    @Query("select p.id from Project p where p.status = :status")
+    List<UUID> findIdsByStatus(@Param("status") ProjectStatus status);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Project p set p.deletedAt = :at where p.id = :projectId and p.deletedAt is null")
+    int markDeleted(@Param("projectId") UUID projectId, @Param("at") OffsetDateTime at);
+
+    // native: hidden projects are filtered out of every JPQL query; ids come back as text
+    // because drivers disagree on how a bare uuid column is returned
+    @Query(value = "select cast(id as varchar(36)) from projects where deleted_at is not null order by deleted_at",
+            nativeQuery = true)
+    List<String> findPendingDeletion();
+
+    @Modifying
+    @Query(value = "delete from projects where id = :projectId and deleted_at is not null", nativeQuery = true)
+    int purge(@Param("projectId") UUID projectId);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.ProjectStateSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProjectStateSnapshotRepository
+        extends JpaRepository<ProjectStateSnapshot, ProjectStateSnapshot.Key> {
+
+    // one range scan over the primary key
+    List<ProjectStateSnapshot> findByProjectIdAndDayBetweenOrderByDayAsc(UUID projectId, LocalDate from, LocalDate to);
+
+    @Query("select max(s.day) from ProjectStateSnapshot s where s.projectId = :projectId")
+    Optional<LocalDate> findLastDay(@Param("projectId") UUID projectId);
+}
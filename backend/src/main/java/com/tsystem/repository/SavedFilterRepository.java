@@ -0,0 +1,19 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.SavedFilter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SavedFilterRepository extends JpaRepository<SavedFilter, UUID> {
+
+    List<SavedFilter> findByOwnerIdOrderByNameAsc(UUID ownerId);
+
+    Optional<SavedFilter> findByIdAndOwnerId(UUID id, UUID ownerId);
+
+    Optional<SavedFilter> findByOwnerIdAndNameIgnoreCase(UUID ownerId, String name);
+
+    long countByOwnerId(UUID ownerId);
+}
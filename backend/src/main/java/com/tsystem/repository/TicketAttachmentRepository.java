@@ -0,0 +1,45 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.TicketAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TicketAttachmentRepository extends JpaRepository<TicketAttachment, UUID> {
+
+    List<TicketAttachment> findByTicketIdOrderByCreatedAtAscIdAsc(UUID ticketId);
+
+    Optional<TicketAttachment> findByIdAndTicketId(UUID id, UUID ticketId);
+
+    // one element per attachment, so each releases its own blob reference
+    @Query("select a.blobHash from TicketAttachment a where a.ticketId in :ticketIds")
+    List<String> findBlobHashesByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    @Modifying
+    @Query("delete from TicketAttachment a where a.ticketId in :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    @Query(value = "select * from ticket_attachments_archive where ticket_id = :ticketId order by created_at, id",
+            nativeQuery = true)
+    List<TicketAttachment> findArchivedByTicketId(@Param("ticketId") UUID ticketId);
+
+    @Query(value = "select * from ticket_attachments_archive where id = :id and ticket_id = :ticketId",
+            nativeQuery = true)
+    Optional<TicketAttachment> findArchivedByIdAndTicketId(@Param("id") UUID id, @Param("ticketId") UUID ticketId);
+
+    // attachments stored before the blob store, once their file has moved into it
+    @Modifying
+    @Query("update TicketAttachment a set a.blobHash = :hash where a.id = :id and a.blobHash is null")
+    int setBlobHash(@Param("id") UUID id, @Param("hash") String hash);
+
+    @Modifying
+    @Query(value = "update ticket_attachments_archive set blob_hash = :hash where id = :id and blob_hash is null",
+            nativeQuery = true)
+    int setArchivedBlobHash(@Param("id") UUID id, @Param("hash") String hash);
+}
@@ -1,12 +1,50 @@
 package com.tsystem.repository;
 
 import com.tsystem.model.TicketComment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface TicketCommentRepository extends JpaRepository<TicketComment, UUID> {
-    List<TicketComment> findByTicketIdOrderByCreatedAtAsc(UUID ticketId);
+    // keyset pages over idx_ticket_comments_ticket_created, one query per direction
+    @Query("""
+            select c from TicketComment c
+            where c.ticketId = :ticketId
+              and (c.createdAt > :at or (c.createdAt = :at and c.id > :id))
+            order by c.createdAt, c.id
+            """)
+    List<TicketComment> findPageAfter(@Param("ticketId") UUID ticketId,
+                                      @Param("at") OffsetDateTime at,
+                                      @Param("id") UUID id,
+                                      Limit limit);
 
+    @Query("""
+            select c from TicketComment c
+            where c.ticketId = :ticketId
+              and (c.createdAt < :at or (c.createdAt = :at and c.id < :id))
+            order by c.createdAt desc, c.id desc
+            """)
+    List<TicketComment> findPageBefore(@Param("ticketId") UUID ticketId,
+                                       @Param("at") OffsetDateTime at,
+                                       @Param("id") UUID id,
+                                       Limit limit);
+
+    // one element per comment kept in the blob store, so each releases its own reference
+    @Query("select c.textBlob from TicketComment c where c.ticketId in :ticketIds and c.textBlob is not null")
+    List<String> findTextBlobsByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    @Modifying
+    @Query("delete from TicketComment c where c.ticketId in :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    @Query(value = "select * from ticket_comments_archive where ticket_id = :ticketId order by created_at",
+            nativeQuery = true)
+    List<TicketComment> findArchivedByTicketId(@Param("ticketId") UUID ticketId);
 }
@@ -0,0 +1,91 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.Ticket;
+import com.tsystem.model.filter.TicketCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A {@link TicketCriteria} compiled once into criteria queries: the count of
+ * matching tickets and pages of them in id order. The trees are built with
+ * the factory's CriteriaBuilder and are only read when executed, so one
+ * instance serves every session; their values are sent as bind parameters.
+ *
+ * Only hot tickets are matched, tickets of archived projects are not counted.
+ * Neither are those of deleted projects, which stay in place until the
+ * background deletion gets to them.
+ */
+public final class TicketFilterQuery {
+
+    private final CriteriaQuery<Long> count;
+    private final CriteriaQuery<Ticket> first;
+    private final CriteriaQuery<Ticket> next;
+    private final ParameterExpression<UUID> after;
+
+    private TicketFilterQuery(CriteriaBuilder cb, TicketCriteria criteria) {
+        count = cb.createQuery(Long.class);
+        Root<Ticket> c = count.from(Ticket.class);
+        count.select(cb.count(c)).where(restrict(cb, c, criteria).toArray(Predicate[]::new));
+
+        after = cb.parameter(UUID.class, "after");
+        first = page(cb, criteria, null);
+        next = page(cb, criteria, after);
+    }
+
+    public static TicketFilterQuery compile(CriteriaBuilder cb, TicketCriteria criteria) {
+        return new TicketFilterQuery(cb, criteria);
+    }
+
+    public long count(EntityManager em) {
+        return em.createQuery(count).getSingleResult();
+    }
+
+    /** Up to {@code limit} matching tickets with ids after {@code after}, or from the start; users fetched. */
+    public List<Ticket> page(EntityManager em, UUID after, int limit) {
+        return (after == null
+                ? em.createQuery(first)
+                : em.createQuery(next).setParameter(this.after, after))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static CriteriaQuery<Ticket> page(CriteriaBuilder cb, TicketCriteria criteria,
+                                              ParameterExpression<UUID> after) {
+        CriteriaQuery<Ticket> q = cb.createQuery(Ticket.class);
+        Root<Ticket> t = q.from(Ticket.class);
+        // the mapper reads both users after the transaction
+        t.fetch("author", JoinType.INNER);
+        t.fetch("assignee", JoinType.LEFT);
+        List<Predicate> where = restrict(cb, t, criteria);
+        if (after != null) where.add(cb.greaterThan(t.<UUID>get("id"), after));
+        return q.select(t)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(t.get("id")));
+    }
+
+    private static List<Predicate> restrict(CriteriaBuilder cb, Root<Ticket> t, TicketCriteria criteria) {
+        List<Predicate> where = new ArrayList<>();
+        // foreign key columns, no joins but the one to the project
+        if (criteria.projectId() != null) where.add(cb.equal(t.get("project").get("id"), criteria.projectId()));
+        // the project's own restriction is not applied through the foreign key, so spelled out here
+        where.add(cb.isNull(t.join("project").get("deletedAt")));
+        if (!criteria.types().isEmpty()) where.add(t.get("type").in(criteria.types()));
+        if (!criteria.priorities().isEmpty()) where.add(t.get("priority").in(criteria.priorities()));
+        if (!criteria.states().isEmpty()) where.add(t.get("state").in(criteria.states()));
+        if (criteria.unassigned()) {
+            where.add(cb.isNull(t.get("assignee")));
+        } else if (criteria.assigneeId() != null) {
+            where.add(cb.equal(t.get("assignee").get("id"), criteria.assigneeId()));
+        }
+        return where;
+    }
+}
@@ -1,14 +1,50 @@
 package com.tsystem.repository;
 
 import com.tsystem.model.TicketHistory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface TicketHistoryRepository
         extends JpaRepository<TicketHistory, UUID> {
 
-    List<TicketHistory> findByTicketIdOrderByCreatedAtAsc(UUID ticketId);
-}
+    List<TicketHistory> findByTicketIdAndFieldOrderByCreatedAtAsc(UUID ticketId, String field);
+
+    // keyset pages over idx_ticket_history_ticket_created, one query per direction
+    @Query("""
+            select h from TicketHistory h
+            where h.ticketId = :ticketId
+              and (h.createdAt > :at or (h.createdAt = :at and h.id > :id))
+            order by h.createdAt, h.id
+            """)
+    List<TicketHistory> findPageAfter(@Param("ticketId") UUID ticketId,
+                                      @Param("at") OffsetDateTime at,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+
+    @Query("""
+            select h from TicketHistory h
+            where h.ticketId = :ticketId
+              and (h.createdAt < :at or (h.createdAt = :at and h.id < :id))
+            order by h.createdAt desc, h.id desc
+            """)
+    List<TicketHistory> findPageBefore(@Param("ticketId") UUID ticketId,
+                                       @Param("at") OffsetDateTime at,
+                                       @Param("id") UUID id,
+                                       Limit limit);
 
+    @Modifying
+    @Query("delete from TicketHistory h where h.ticketId in :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    @Query(value = "select * from ticket_history_archive where ticket_id = :ticketId order by created_at",
+            nativeQuery = true)
+    List<TicketHistory> findArchivedByTicketId(@Param("ticketId") UUID ticketId);
+}
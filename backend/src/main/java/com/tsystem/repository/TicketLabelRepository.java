@@ -0,0 +1,25 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.TicketLabel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface TicketLabelRepository extends JpaRepository<TicketLabel, TicketLabel.Key> {
+
+    @Modifying
+    @Query("delete from TicketLabel tl where tl.ticketId = :ticketId")
+    int deleteByTicketId(@Param("ticketId") UUID ticketId);
+
+    @Modifying
+    @Query("delete from TicketLabel tl where tl.ticketId in :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    @Modifying
+    @Query("delete from TicketLabel tl where tl.labelId = :labelId")
+    int deleteByLabelId(@Param("labelId") UUID labelId);
+}
@@ -0,0 +1,16 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.TicketResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Ticket lists that select only the columns behind the requested response fields. */
+public interface TicketProjectionRepository {
+
+    // same order as findByProjectIdOrderByCreatedAtDesc
+    List<TicketResponse> findFieldsByProjectId(UUID projectId, FieldSet fields);
+
+    List<TicketResponse> findFieldsByAssigneeId(UUID assigneeId, FieldSet fields);
+}
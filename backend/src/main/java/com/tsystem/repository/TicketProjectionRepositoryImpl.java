@@ -0,0 +1,47 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.TicketResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.JoinType;
+
+import java.util.List;
+import java.util.UUID;
+
+class TicketProjectionRepositoryImpl implements TicketProjectionRepository {
+
+    private static final FieldProjection<Ticket, TicketResponse> PROJECTION =
+            new FieldProjection<>(Ticket.class, TicketResponse::new)
+                    .attribute("id", TicketResponse::setId)
+                    .attribute("name", TicketResponse::setName)
+                    .attribute("description", TicketResponse::setDescription)
+                    .attribute("type", TicketResponse::setType)
+                    .attribute("priority", TicketResponse::setPriority)
+                    .attribute("state", TicketResponse::setState)
+                    .attribute("createdAt", TicketResponse::setCreatedAt)
+                    .attribute("updatedAt", TicketResponse::setUpdatedAt)
+                    .user("owner", "author", JoinType.INNER, TicketResponse::setOwner)
+                    .user("assignee", "assignee", JoinType.LEFT, TicketResponse::setAssignee)
+                    // the foreign key column, no join to projects
+                    .attribute("projectId", t -> t.get("project").get("id"), TicketResponse::setProjectId);
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<TicketResponse> findFieldsByProjectId(UUID projectId, FieldSet fields) {
+        return PROJECTION.list(em, fields, (cb, q, t) -> q
+                .where(cb.equal(t.get("project").get("id"), projectId))
+                .orderBy(cb.desc(t.get("createdAt"))));
+    }
+
+    @Override
+    public List<TicketResponse> findFieldsByAssigneeId(UUID assigneeId, FieldSet fields) {
+        // the same order as findByAssigneeIdOrderByCreatedAtAscIdAsc, with or without fields
+        return PROJECTION.list(em, fields, (cb, q, t) -> q
+                .where(cb.equal(t.get("assignee").get("id"), assigneeId))
+                .orderBy(cb.asc(t.get("createdAt")), cb.asc(t.get("id"))));
+    }
+}
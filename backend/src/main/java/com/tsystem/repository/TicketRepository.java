@@ -2,14 +2,23 @@ package com.tsystem.repository;
 
 
 import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.AssignedTicketCount;
+import com.tsystem.model.dto.ProjectTicketCount;
+import com.tsystem.model.enums.TicketState;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, TicketProjectionRepository {
 
     @EntityGraph(attributePaths = {"author", "assignee"})
     List<Ticket> findByProjectIdOrderByCreatedAtDesc(UUID projectId);
@@ -18,6 +27,95 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     Optional<Ticket> findByIdAndProjectId(UUID id, UUID projectId);
 
     @EntityGraph(attributePaths = {"author", "assignee"})
-    List<Ticket> findByAssigneeId(UUID assigneeId);
+    List<Ticket> findByAssigneeIdOrderByCreatedAtAscIdAsc(UUID assigneeId);
 
+    // "my work" counts; joining the project leaves out projects being deleted
+    @Query("""
+            select new com.tsystem.model.dto.AssignedTicketCount(p.id, p.name, t.state, count(t))
+            from Ticket t join t.project p
+            where t.assignee.id = :assigneeId and t.state in :states
+            group by p.id, p.name, t.state
+            """)
+    List<AssignedTicketCount> countAssigned(@Param("assigneeId") UUID assigneeId,
+                                            @Param("states") Collection<TicketState> states);
+
+    // portfolio report: one project's tickets per state and assignee, an index-only
+    // scan of idx_tickets_project_state_assignee
+    @Query("""
+            select new com.tsystem.model.dto.ProjectTicketCount(t.state, t.assignee.id, count(t),
+                   sum(case when t.updatedAt < :staleBefore then 1 else 0 end))
+            from Ticket t
+            where t.project.id = :projectId
+            group by t.state, t.assignee.id
+            """)
+    List<ProjectTicketCount> countForPortfolio(@Param("projectId") UUID projectId,
+                                               @Param("staleBefore") OffsetDateTime staleBefore);
+
+    // the newest :perGroup ticket ids of every (project, state) group, in one
+    // pass over idx_tickets_assignee_state_created
+    @Query(value = """
+            select cast(id as varchar(36)) from (
+                select t.id, row_number() over (
+                           partition by t.project_id, t.state order by t.created_at desc, t.id desc) as rn
+                from tickets t
+                join projects p on p.id = t.project_id and p.deleted_at is null
+                where t.assignee_id = :assigneeId and t.state in (:states)
+            ) ranked
+            where rn <= :perGroup
+            """, nativeQuery = true)
+    List<String> findFirstAssignedIds(@Param("assigneeId") UUID assigneeId,
+                                      @Param("states") Collection<String> states,
+                                      @Param("perGroup") int perGroup);
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    List<Ticket> findByIdIn(Collection<UUID> ids);
+
+    // one "my work" group, newest first, continuing below (at, id)
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    @Query("""
+            select t from Ticket t join t.project p
+            where t.assignee.id = :assigneeId and p.id = :projectId and t.state = :state
+              and (t.createdAt < :at or (t.createdAt = :at and t.id < :id))
+            order by t.createdAt desc, t.id desc
+            """)
+    List<Ticket> findAssignedPageBefore(@Param("assigneeId") UUID assigneeId,
+                                        @Param("projectId") UUID projectId,
+                                        @Param("state") TicketState state,
+                                        @Param("at") OffsetDateTime at,
+                                        @Param("id") UUID id,
+                                        Limit limit);
+
+    // keyset scan over idx_tickets_project_updated
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    @Query("""
+            select t from Ticket t
+            where t.project.id = :projectId
+              and t.updatedAt <= :upTo
+              and (t.updatedAt > :since or (t.updatedAt = :since and t.id > :afterId))
+            order by t.updatedAt, t.id
+            """)
+    List<Ticket> findChangedSince(@Param("projectId") UUID projectId,
+                                  @Param("since") OffsetDateTime since,
+                                  @Param("afterId") UUID afterId,
+                                  @Param("upTo") OffsetDateTime upTo,
+                                  Limit limit);
+
+    // JPQL on purpose: the derived query would join projects and miss hidden ones
+    @Query("select count(t) from Ticket t where t.project.id = :projectId")
+    long countByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("select t.id from Ticket t where t.project.id = :projectId")
+    List<UUID> findIdsByProjectId(@Param("projectId") UUID projectId, Limit limit);
+
+    @Modifying
+    @Query("delete from Ticket t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // tickets of ARCHIVED projects, read straight from the archive table
+    @Query(value = "select * from tickets_archive where project_id = :projectId order by created_at desc",
+            nativeQuery = true)
+    List<Ticket> findArchivedByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(value = "select * from tickets_archive where id = :id and project_id = :projectId", nativeQuery = true)
+    Optional<Ticket> findArchivedByIdAndProjectId(@Param("id") UUID id, @Param("projectId") UUID projectId);
 }
@@ -0,0 +1,40 @@
+package com.tsystem.repository;
+
+import com.tsystem.model.TicketTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TicketTombstoneRepository extends JpaRepository<TicketTombstone, UUID> {
+
+    @Query("""
+            select t from TicketTombstone t
+            where t.projectId = :projectId
+              and t.deletedAt <= :upTo
+              and (t.deletedAt > :since or (t.deletedAt = :since and t.ticketId > :afterId))
+            order by t.deletedAt, t.ticketId
+            """)
+    List<TicketTombstone> findDeletedSince(@Param("projectId") UUID projectId,
+                                           @Param("since") OffsetDateTime since,
+                                           @Param("afterId") UUID afterId,
+                                           @Param("upTo") OffsetDateTime upTo,
+                                           Limit limit);
+
+    @Query("select t.ticketId from TicketTombstone t where t.projectId = :projectId")
+    List<UUID> findIdsByProjectId(@Param("projectId") UUID projectId, Limit limit);
+
+    @Modifying
+    @Query("delete from TicketTombstone t where t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") OffsetDateTime before);
+
+    @Modifying
+    @Query("delete from TicketTombstone t where t.ticketId in :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+}
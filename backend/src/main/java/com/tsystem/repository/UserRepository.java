@@ -1,18 +1,41 @@
 package com.tsystem.repository;
+import com.tsystem.model.dto.response.UserShortResponse;
 import com.tsystem.model.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+    // resolved on every authenticated request; results are invalidated by any write to users
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
     boolean existsByEmail(String email);
 
+    @Query("select new com.tsystem.model.dto.response.UserShortResponse(u.id, u.username, u.name, u.surname) from User u")
+    List<UserShortResponse> findAllShort();
+
+    @Query("""
+            select new com.tsystem.model.dto.response.UserShortResponse(u.id, u.username, u.name, u.surname)
+            from User u where u.id in :ids
+            """)
+    List<UserShortResponse> findShortByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Bulk updates bypass the second-level cache. Hibernate evicts the users region and
+    // invalidates cached queries on the table when the statement runs, and keeps the
+    // region locked until commit so no other session can cache the old row meanwhile.
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE User u SET u.blocked = true, u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :userId")
     int blockUser(@Param("userId") UUID userId);
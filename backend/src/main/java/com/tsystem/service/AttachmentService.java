@@ -0,0 +1,265 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.exception.PayloadTooLargeException;
+import com.tsystem.model.TicketAttachment;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.TicketAttachmentRepository;
+import com.tsystem.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Files attached to tickets: metadata in ticket_attachments, content in the
+ * {@link BlobStore}, so a file attached to many tickets is stored once.
+ *
+ * An upload is the raw request body. It is streamed to disk and hashed before
+ * any transaction starts, so a slow client holds no database connection; the
+ * row and the blob reference are written afterwards in one short transaction.
+ * Attachments of archived projects can still be listed and downloaded, not
+ * changed.
+ *
+ * Files uploaded before the blob store sit under {@code tsystem.attachments.root}
+ * as {@code <project>/<ticket>/<attachment>}; they are served from there and
+ * moved into the blob store in the background after startup.
+ */
+@Slf4j
+@Service
+public class AttachmentService {
+
+    static final int MAX_FILE_NAME = 255;
+    private static final int MAX_CONTENT_TYPE = 255;
+
+    private final TicketAttachmentRepository attachmentRepository;
+    private final UserRepository userRepository;
+    private final TicketService ticketService;
+    private final ProjectService projectService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate tx;
+    private final long maxSize;
+    private final Path legacyRoot;
+
+    private final ExecutorService adopter = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("attachment-adoption").factory());
+
+    public AttachmentService(TicketAttachmentRepository attachmentRepository,
+                             UserRepository userRepository,
+                             TicketService ticketService,
+                             ProjectService projectService,
+                             BlobStore blobStore,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${tsystem.attachments.max-size:100MB}") DataSize maxSize,
+                             @Value("${tsystem.attachments.root:data/attachments}") Path legacyRoot) {
+        this.attachmentRepository = attachmentRepository;
+        this.userRepository = userRepository;
+        this.ticketService = ticketService;
+        this.projectService = projectService;
+        this.blobStore = blobStore;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize.toBytes();
+        this.legacyRoot = legacyRoot.toAbsolutePath().normalize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // an interrupted adoption continues on the next start
+        adopter.shutdownNow();
+    }
+
+    /** A stored attachment and where its content is. */
+    public record AttachmentFile(TicketAttachment attachment, Path path) {
+    }
+
+    public List<TicketAttachment> list(UUID projectId, UUID ticketId) {
+        ticketService.getResponse(projectId, ticketId);
+        List<TicketAttachment> attachments = attachmentRepository.findByTicketIdOrderByCreatedAtAscIdAsc(ticketId);
+        return attachments.isEmpty() ? attachmentRepository.findArchivedByTicketId(ticketId) : attachments;
+    }
+
+    public AttachmentFile get(UUID projectId, UUID ticketId, UUID attachmentId) {
+        ticketService.getResponse(projectId, ticketId);
+        TicketAttachment attachment = attachmentRepository.findByIdAndTicketId(attachmentId, ticketId)
+                .or(() -> attachmentRepository.findArchivedByIdAndTicketId(attachmentId, ticketId))
+                .orElseThrow(() -> new NotFoundException("Attachment not found"));
+        Path path = attachment.getBlobHash() != null
+                ? blobStore.path(attachment.getBlobHash())
+                : legacyRoot.resolve(projectId.toString()).resolve(ticketId.toString()).resolve(attachmentId.toString());
+        return new AttachmentFile(attachment, path);
+    }
+
+    /**
+     * Stores {@code content} as a new attachment of the ticket.
+     * {@code contentLength} is the declared length, -1 if unknown; the limit
+     * is enforced on the bytes actually read either way.
+     */
+    public TicketAttachment upload(UUID projectId, UUID ticketId, String fileName, String contentType,
+                                   long contentLength, InputStream content, String username) {
+        requireWritable(projectId);
+        ticketService.getResponse(projectId, ticketId);
+        String name = fileName(fileName);
+        String type = contentType(contentType);
+        if (contentLength > maxSize) throw new PayloadTooLargeException("Attachment is larger than " + maxSize + " bytes");
+        User uploader = userRepository.findByUsername(username).orElseThrow(NotFoundException::new);
+
+        BlobStore.Received received = blobStore.receive(content, maxSize);
+        TicketAttachment attachment = TicketAttachment.builder()
+                .ticketId(ticketId)
+                .uploaderId(uploader.getId())
+                .fileName(name)
+                .contentType(type)
+                .size(received.size())
+                .blobHash(received.hash())
+                .build();
+        try {
+            return insert(attachment, received);
+        } catch (RuntimeException e) {
+            blobStore.discard(received);
+            throw e;
+        }
+    }
+
+    private TicketAttachment insert(TicketAttachment attachment, BlobStore.Received received) {
+        return tx.execute(s -> {
+            TicketAttachment saved = attachmentRepository.saveAndFlush(attachment);
+            blobStore.acquire(received);
+            return saved;
+        });
+    }
+
+    public void delete(UUID projectId, UUID ticketId, UUID attachmentId) {
+        requireWritable(projectId);
+        Boolean deleted = tx.execute(s -> attachmentRepository.findByIdAndTicketId(attachmentId, ticketId)
+                .map(a -> {
+                    attachmentRepository.delete(a);
+                    blobStore.release(Collections.singletonList(a.getBlobHash()));
+                    return true;
+                })
+                .orElse(false));
+        if (!Boolean.TRUE.equals(deleted)) throw new NotFoundException("Attachment not found");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startAdoption() {
+        if (Files.isDirectory(legacyRoot)) adopter.execute(this::adoptLegacyFiles);
+    }
+
+    /**
+     * Moves the files stored before the blob store into it; returns how many
+     * belonged to an attachment. A file that fails is left in place for the
+     * next start and the others are still moved.
+     */
+    public int adoptLegacyFiles() {
+        int adopted = 0;
+        if (!Files.isDirectory(legacyRoot)) return adopted;
+        try (Stream<Path> files = Files.walk(legacyRoot)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                try {
+                    if (adopt(file)) adopted++;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Attachment file {} not moved into the blob store", file, e);
+                }
+            }
+            deleteEmptyDirectories();
+            log.info("Moved {} attachments into the blob store", adopted);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Moving attachments into the blob store stopped after {}", adopted, e);
+        }
+        return adopted;
+    }
+
+    // a file without its row, e.g. left by an interrupted upload, is dropped
+    private boolean adopt(Path file) throws IOException {
+        UUID id = uuid(file.getFileName().toString());
+        int rows = 0;
+        if (id != null) {
+            BlobStore.Received received;
+            try (InputStream in = Files.newInputStream(file)) {
+                received = blobStore.receive(in, Long.MAX_VALUE);
+            }
+            Integer updated = tx.execute(s -> {
+                int n = attachmentRepository.setBlobHash(id, received.hash())
+                        + attachmentRepository.setArchivedBlobHash(id, received.hash());
+                if (n > 0) blobStore.acquire(received);
+                return n;
+            });
+            rows = updated == null ? 0 : updated;
+            if (rows == 0) blobStore.discard(received);
+        }
+        Files.delete(file);
+        return rows > 0;
+    }
+
+    private void deleteEmptyDirectories() throws IOException {
+        try (Stream<Path> dirs = Files.walk(legacyRoot)) {
+            // deepest first, so a directory is empty by the time it is reached
+            for (Path dir : dirs.filter(Files::isDirectory).sorted(Comparator.reverseOrder()).toList()) {
+                try (Stream<Path> entries = Files.list(dir)) {
+                    if (entries.findAny().isEmpty()) Files.delete(dir);
+                }
+            }
+        }
+    }
+
+    private static UUID uuid(String name) {
+        try {
+            return UUID.fromString(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void requireWritable(UUID projectId) {
+        ProjectStatus status = projectService.lookup(projectId)
+                .orElseThrow(() -> new NotFoundException("Project not found"))
+                .getStatus();
+        if (status == ProjectStatus.ARCHIVED) throw new BadRequestException("Project is archived");
+    }
+
+    // only the last path segment, without control characters
+    static String fileName(String fileName) {
+        if (fileName == null) throw new BadRequestException("File name is required");
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1)
+                .replaceAll("\\p{Cntrl}", "")
+                .strip();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) throw new BadRequestException("File name is required");
+        if (name.length() > MAX_FILE_NAME) throw new BadRequestException("File name is longer than " + MAX_FILE_NAME);
+        return name;
+    }
+
+    static String contentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            if (type.getType().equals("multipart")) {
+                throw new BadRequestException("Send the file itself as the request body");
+            }
+            String value = type.toString();
+            return value.length() <= MAX_CONTENT_TYPE ? value : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+}
@@ -4,6 +4,8 @@ package com.tsystem.service;
 import com.tsystem.model.dto.request.LoginRequest;
 import com.tsystem.model.dto.request.RegisterRequest;
 import com.tsystem.model.dto.response.TokenResponse;
+import com.tsystem.model.event.UserEvent;
+import com.tsystem.model.mapper.UserMapper;
 import com.tsystem.model.user.PasswordResetToken;
 import com.tsystem.model.user.SystemRole;
 import com.tsystem.model.user.User;
@@ -12,6 +14,7 @@ import com.tsystem.model.dto.*;
 import com.tsystem.repository.PasswordResetTokenRepository;
 import com.tsystem.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -35,6 +38,8 @@ public class AuthService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CollectionVersionService collectionVersions;
 
     public TokenResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -51,6 +56,8 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        collectionVersions.bump(CollectionVersionService.USERS);
+        eventPublisher.publishEvent(UserEvent.saved(UserMapper.toShortResponse(user)));
         var jwtToken = jwtService.generateToken(user);
 
         return new TokenResponse(jwtToken);
@@ -0,0 +1,279 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.PayloadTooLargeException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed files on local disk: a file is stored once under the
+ * SHA-256 of its bytes, at {@code <root>/sha256/ab/cd/<hash>}, however many
+ * rows refer to it.
+ *
+ * content_blobs counts the references. {@link #acquire} and {@link #release}
+ * run in the transaction that adds or removes the referring rows, so the
+ * count commits or rolls back with them. A blob whose count has dropped to
+ * zero is deleted by the nightly garbage collection, under the row's lock:
+ * an upload taking a new reference at the same time either waits and finds
+ * the count above zero, or finds no row and stores the file again.
+ *
+ * A file placed by an upload that then rolled back has no row; it is reused
+ * by the next upload of the same content.
+ */
+@Slf4j
+@Service
+public class BlobStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GC_BATCH = 500;
+    private static final Duration TEMP_MAX_AGE = Duration.ofDays(1);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final String ACQUIRE =
+            "update content_blobs set ref_count = ref_count + 1, unreferenced_at = null where hash = ?";
+
+    private static final String INSERT =
+            "insert into content_blobs (hash, size, ref_count, created_at) values (?, ?, 1, ?)";
+
+    private static final String RELEASE = """
+            update content_blobs
+            set ref_count = ref_count - ?,
+                unreferenced_at = case when ref_count - ? <= 0 then ? else unreferenced_at end
+            where hash = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final Path blobs;
+    private final Path temp;
+
+    public BlobStore(JdbcTemplate jdbcTemplate,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${tsystem.blobs.root:data/blobs}") Path root) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        Path r = root.toAbsolutePath().normalize();
+        this.blobs = r.resolve("sha256");
+        this.temp = r.resolve("tmp");
+    }
+
+    /** Content streamed to a temporary file, not referenced yet. */
+    public record Received(Path file, String hash, long size) {
+    }
+
+    public Path path(String hash) {
+        return blobs.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Streams {@code in} into a temporary file, hashing it on the way, at most
+     * {@code maxSize} bytes; a longer stream is cut off, the file removed and
+     * PayloadTooLargeException thrown. Runs outside any transaction.
+     */
+    public Received receive(InputStream in, long maxSize) {
+        Path file = temp.resolve(UUID.randomUUID().toString());
+        try {
+            Files.createDirectories(temp);
+            MessageDigest sha256 = sha256();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long size = 0;
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                // one byte over the limit is enough to know it is too large
+                while (size <= maxSize && source.read(buffer) >= 0) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    sha256.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) out.write(buffer);
+                    buffer.clear();
+                }
+            }
+            if (size > maxSize) throw new PayloadTooLargeException("File is larger than " + maxSize + " bytes");
+            return new Received(file, HEX.formatHex(sha256.digest()), size);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Takes one reference to the received content and stores it unless it is
+     * there already; the temporary file is gone afterwards either way. Of two
+     * transactions adding the same new blob at once, the second one's insert
+     * waits for the first, fails on the primary key and then counts on the
+     * first one's row; the caller's transaction carries on.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String acquire(Received received) {
+        String hash = received.hash();
+        if (jdbcTemplate.update(ACQUIRE, hash) == 0 && !insert(received)) {
+            // added by a concurrent acquire meanwhile
+            jdbcTemplate.update(ACQUIRE, hash);
+        }
+        place(received.file(), path(hash));
+        return hash;
+    }
+
+    // under a savepoint, a failed statement would otherwise abort the whole transaction on Postgres
+    private boolean insert(Received received) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            Savepoint savepoint = con.setSavepoint();
+            try (PreparedStatement ps = con.prepareStatement(INSERT)) {
+                ps.setString(1, received.hash());
+                ps.setLong(2, received.size());
+                ps.setObject(3, OffsetDateTime.now());
+                ps.executeUpdate();
+                con.releaseSavepoint(savepoint);
+                return true;
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) throw e;
+                con.rollback(savepoint);
+                return false;
+            }
+        }));
+    }
+
+    /** Drops one reference per element; null hashes, of rows without a blob, are skipped. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Collection<String> hashes) {
+        Map<String, Long> counts = hashes.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        if (counts.isEmpty()) return;
+        OffsetDateTime now = OffsetDateTime.now();
+        jdbcTemplate.batchUpdate(RELEASE, counts.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), e.getValue(), now, e.getKey()})
+                .toList());
+    }
+
+    /** Deletes the blobs nobody refers to any more, and temporary files left by interrupted uploads. */
+    @Scheduled(cron = "${tsystem.blobs.gc.cron:0 45 3 * * *}")
+    public int collectGarbage() {
+        int deleted = 0;
+        String after = "";
+        List<String> candidates;
+        do {
+            candidates = jdbcTemplate.queryForList(
+                    "select hash from content_blobs where ref_count <= 0 and hash > ? order by hash limit ?",
+                    String.class, after, GC_BATCH);
+            for (String hash : candidates) {
+                if (Boolean.TRUE.equals(tx.execute(s -> delete(hash)))) deleted++;
+                after = hash;
+            }
+        } while (candidates.size() == GC_BATCH);
+        sweepTemp();
+        if (deleted > 0) log.info("Deleted {} unreferenced blobs", deleted);
+        return deleted;
+    }
+
+    // the row stays locked until the file is gone, see the class comment
+    private boolean delete(String hash) {
+        List<String> locked = jdbcTemplate.queryForList(
+                "select hash from content_blobs where hash = ? and ref_count <= 0 for update", String.class, hash);
+        if (locked.isEmpty()) return false;
+        try {
+            Files.deleteIfExists(path(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jdbcTemplate.update("delete from content_blobs where hash = ?", hash);
+        return true;
+    }
+
+    private void place(Path file, Path target) {
+        try {
+            if (Files.exists(target)) {
+                Files.delete(file);
+                return;
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // stored by a concurrent upload meanwhile, same content
+            deleteQuietly(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sweepTemp() {
+        if (!Files.isDirectory(temp)) return;
+        Instant cutoff = Instant.now().minus(TEMP_MAX_AGE);
+        try (Stream<Path> files = Files.list(temp)) {
+            files.filter(f -> lastModified(f).isBefore(cutoff)).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Temporary blob files not swept", e);
+        }
+    }
+
+    private Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.MAX;
+        }
+    }
+
+    /** Removes a received file that is not going to be acquired. */
+    public void discard(Received received) {
+        deleteQuietly(received.file());
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Blob file {} not deleted", file, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
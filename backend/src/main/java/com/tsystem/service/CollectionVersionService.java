@@ -0,0 +1,58 @@
+package com.tsystem.service;
+
+import com.tsystem.model.CollectionVersion;
+import com.tsystem.model.dto.VersionStamp;
+import com.tsystem.repository.CollectionVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Version counters of the project and user collections, behind the ETags of
+ * the list endpoints.
+ *
+ * Writers bump the counter inside their own transaction, so the new version
+ * becomes visible exactly when the data does, on every instance. A list
+ * request reads the stamp before the data; if a write slips in between, the
+ * client gets newer data under the older stamp and simply refetches next time.
+ */
+@Service
+@RequiredArgsConstructor
+public class CollectionVersionService {
+
+    public static final String PROJECTS = "projects";
+    public static final String USERS = "users";
+
+    private final CollectionVersionRepository repository;
+
+    @Transactional
+    public void bump(String collection) {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (repository.bump(collection, now) == 0) {
+            // only on a schema without the seeded rows, e.g. the test database
+            repository.save(new CollectionVersion(collection, 1, now));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp stamp(String... collections) {
+        Map<String, CollectionVersion> versions = repository.findAllById(Arrays.asList(collections)).stream()
+                .collect(Collectors.toMap(CollectionVersion::getName, Function.identity()));
+
+        StringBuilder etag = new StringBuilder("W/\"");
+        long lastModified = -1;
+        for (String name : collections) {
+            CollectionVersion v = versions.get(name);
+            if (etag.length() > 3) etag.append('-');
+            etag.append(name).append('.').append(v != null ? v.getVersion() : 0);
+            if (v != null) lastModified = Math.max(lastModified, v.getUpdatedAt().toInstant().toEpochMilli());
+        }
+        return new VersionStamp(etag.append('"').toString(), lastModified);
+    }
+}
@@ -0,0 +1,152 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.dto.response.DuplicateTicketResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.model.similarity.LshIndex;
+import com.tsystem.model.similarity.MinHash;
+import com.tsystem.repository.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Likely duplicates of a ticket about to be filed, from the name and
+ * description of the project's existing tickets.
+ *
+ * Every project has an in-memory {@link LshIndex} of the tickets' MinHash
+ * signatures, so a check hashes the new text and compares it with the few
+ * tickets sharing a band, never the whole project. The indexes are built in
+ * the background after startup, one query per active project, and kept
+ * current from TicketEvents after commit. A project not loaded yet, e.g. one
+ * restored from the archive, is loaded on first use; an index is dropped
+ * when its project's tickets move to or from the archive.
+ */
+@Slf4j
+@Service
+public class DuplicateTicketService {
+
+    public static final int MAX_RESULTS = 20;
+
+    private static final String PROJECT_TICKETS = """
+            select cast(id as varchar(36)) as id, name, description
+            from tickets
+            where project_id = ?
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectRepository projectRepository;
+    private final ProjectIndexes<LshIndex> indexes;
+    private final double threshold;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("duplicate-index").factory());
+
+    public DuplicateTicketService(JdbcTemplate jdbcTemplate,
+                                  ProjectRepository projectRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${tsystem.duplicates.threshold:0.5}") double threshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectRepository = projectRepository;
+        this.indexes = new ProjectIndexes<>(transactionManager, LshIndex::new, this::load);
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loader.execute(() -> {
+            List<UUID> projectIds = projectRepository.findIdsByStatus(ProjectStatus.ACTIVE);
+            long tickets = 0;
+            for (UUID projectId : projectIds) {
+                try {
+                    tickets += indexes.read(projectId, LshIndex::size);
+                } catch (DataAccessException e) {
+                    // left unloaded, the first check tries again
+                    log.warn("Duplicate index of project {} not loaded", projectId, e);
+                }
+            }
+            log.info("Duplicate index loaded ({} projects, {} tickets)", projectIds.size(), tickets);
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    // a project not loaded yet is left alone, its load reads the committed change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        switch (event.type()) {
+            case TICKET_CREATED, TICKET_UPDATED -> {
+                TicketResponse t = event.ticket();
+                int[] signature = MinHash.signature(t.getName(), t.getDescription());
+                // idempotent, so a change the load already saw is harmless
+                indexes.apply(event.projectId(), lsh -> lsh.put(t.getId(), t.getName(), signature));
+            }
+            case TICKET_DELETED -> indexes.apply(event.projectId(), lsh -> lsh.remove(event.ticketId()));
+            case COMMENT_ADDED -> { }
+        }
+    }
+
+    // once the status commits and again once the tickets have moved, a load in between may be partial
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArchiveEvent(ProjectArchiveEvent event) {
+        forget(event.projectId());
+    }
+
+    /** Tickets of the project similar to the given text, most similar first; {@code exclude} is left out. */
+    public List<DuplicateTicketResponse> find(UUID projectId, String name, String description,
+                                              UUID exclude, int limit) {
+        // from the second-level cache; unknown ids must not leave empty indexes behind
+        if (projectRepository.findById(projectId).isEmpty()) throw new NotFoundException("Project not found");
+        int[] signature = MinHash.signature(name, description);
+        if (signature == null) return List.of();
+        int max = Math.max(1, Math.min(limit, MAX_RESULTS));
+        return indexes.read(projectId, lsh -> lsh.query(signature, exclude, threshold, max))
+                .stream()
+                .map(m -> DuplicateTicketResponse.builder()
+                        .ticketId(m.id())
+                        .name(m.name())
+                        .similarity(m.similarity())
+                        .build())
+                .toList();
+    }
+
+    /** Drops a project's index, e.g. once the project is deleted. */
+    public void forget(UUID projectId) {
+        indexes.forget(projectId);
+    }
+
+    private void load(UUID projectId, LshIndex lsh) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(PROJECT_TICKETS);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, projectId);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            String name = rs.getString("name");
+            lsh.put(UUID.fromString(rs.getString("id")), name,
+                    MinHash.signature(name, rs.getString("description")));
+        });
+    }
+}
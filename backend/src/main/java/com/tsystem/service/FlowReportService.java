@@ -0,0 +1,200 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.ProjectFlowStats;
+import com.tsystem.model.dto.response.FlowReportResponse;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.mapper.FlowReportMapper;
+import com.tsystem.model.report.FlowStats;
+import com.tsystem.repository.ProjectFlowStatsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Lead time, cycle time and time in state of a project's tickets, from the
+ * state changes in ticket_history (see {@link FlowStats} for what counts).
+ *
+ * The histograms are stored per project together with the time they reach.
+ * A report first folds in what happened since: only tickets with a state
+ * change in the new window are read, their changes streamed oldest first
+ * through primitive arrays, and only samples ending in the window are added.
+ * Changes younger than the sync commit lag are left for the next report, so
+ * a transaction committing late is not skipped.
+ *
+ * Type and priority are the ticket's current ones when its samples are taken.
+ */
+@Service
+public class FlowReportService {
+
+    static final String STATE_CHANGES = """
+            select cast(t.id as varchar(36)) as ticket_id, t.type, t.priority, t.created_at as ticket_created_at,
+                   h.new_value, h.created_at
+            from tickets t
+            join ticket_history h on h.ticket_id = t.id and h.field = 'state'
+            where t.project_id = ?
+              and h.created_at <= ?
+              and exists (select 1 from ticket_history n
+                          where n.ticket_id = t.id and n.field = 'state'
+                            and n.created_at > ? and n.created_at <= ?)
+            order by t.id, h.created_at, h.id
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectFlowStatsRepository flowStatsRepository;
+    private final ProjectService projectService;
+    private final long commitLagMs;
+
+    public FlowReportService(JdbcTemplate jdbcTemplate,
+                             ProjectFlowStatsRepository flowStatsRepository,
+                             ProjectService projectService,
+                             @Value("${tsystem.sync.commit-lag-ms:2000}") long commitLagMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flowStatsRepository = flowStatsRepository;
+        this.projectService = projectService;
+        this.commitLagMs = commitLagMs;
+    }
+
+    @Transactional
+    public FlowReportResponse getFlowReport(UUID projectId) {
+        ProjectResponse project = projectService.lookup(projectId)
+                .orElseThrow(() -> new NotFoundException("Project not found"));
+        OffsetDateTime now = OffsetDateTime.now();
+
+        ProjectFlowStats row = flowStatsRepository.findForUpdate(projectId)
+                // only on a schema without the rows made with the projects, e.g. the test database
+                .orElseGet(() -> flowStatsRepository.save(ProjectFlowStats.empty(projectId, now)));
+        FlowStats stats = FlowStats.fromBytes(row.getHistograms());
+
+        // archived tickets have left tickets and ticket_history; their stats stay as they were
+        OffsetDateTime upTo = now.minusNanos(commitLagMs * 1_000_000);
+        if (project.getStatus() != ProjectStatus.ARCHIVED && upTo.isAfter(row.getComputedThrough())) {
+            accumulate(projectId, row.getComputedThrough(), upTo, stats);
+            row.setHistograms(stats.toBytes());
+            row.setComputedThrough(upTo);
+            row.setUpdatedAt(now);
+        }
+        return FlowReportMapper.toResponse(projectId, row.getComputedThrough(), stats);
+    }
+
+    /** Adds the samples of the state changes in (since, upTo] to {@code stats}. */
+    void accumulate(UUID projectId, OffsetDateTime since, OffsetDateTime upTo, FlowStats stats) {
+        Timeline timeline = new Timeline(micros(since));
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STATE_CHANGES);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, projectId);
+            ps.setObject(2, upTo);
+            ps.setObject(3, since);
+            ps.setObject(4, upTo);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            String ticketId = rs.getString("ticket_id");
+            if (!ticketId.equals(timeline.ticketId)) {
+                timeline.flush(stats);
+                timeline.start(ticketId,
+                        valueOf(TicketType.class, rs.getString("type")),
+                        valueOf(TicketPriority.class, rs.getString("priority")),
+                        micros(rs.getObject("ticket_created_at", OffsetDateTime.class)));
+            }
+            TicketState state = valueOf(TicketState.class, rs.getString("new_value"));
+            if (state != null) {
+                timeline.add(micros(rs.getObject("created_at", OffsetDateTime.class)), state);
+            }
+        });
+        timeline.flush(stats);
+    }
+
+    /** The state changes of the ticket being read, oldest first; the arrays are reused for the next one. */
+    static final class Timeline {
+        private static final TicketState[] STATES = TicketState.values();
+        private static final int IN_PROGRESS = TicketState.in_progress.ordinal();
+        private static final int DONE = TicketState.done.ordinal();
+
+        private final long since;
+        private String ticketId;
+        private TicketType type;
+        private TicketPriority priority;
+        private long createdAt;
+        private long[] at = new long[16];
+        private byte[] state = new byte[16];
+        private int size;
+
+        Timeline(long since) {
+            this.since = since;
+        }
+
+        void start(String ticketId, TicketType type, TicketPriority priority, long createdAt) {
+            this.ticketId = ticketId;
+            this.type = type;
+            this.priority = priority;
+            this.createdAt = createdAt;
+            this.size = 0;
+        }
+
+        void add(long at, TicketState state) {
+            if (size == this.at.length) {
+                this.at = Arrays.copyOf(this.at, size * 2);
+                this.state = Arrays.copyOf(this.state, size * 2);
+            }
+            this.at[size] = at;
+            this.state[size] = (byte) state.ordinal();
+            size++;
+        }
+
+        // every ticket starts open at its creation
+        void flush(FlowStats stats) {
+            if (ticketId == null || size == 0 || type == null || priority == null) return;
+            FlowStats.Cell cell = stats.cell(type, priority);
+            int current = TicketState.open.ordinal();
+            long enteredAt = createdAt;
+            long startedAt = -1;
+            for (int i = 0; i < size; i++) {
+                int next = state[i];
+                long t = at[i];
+                if (startedAt < 0 && next == IN_PROGRESS) startedAt = t;
+                if (t > since) {
+                    cell.timeIn(STATES[current]).record(seconds(t - enteredAt));
+                    if (next == DONE) {
+                        cell.leadTime().record(seconds(t - createdAt));
+                        if (startedAt >= 0) cell.cycleTime().record(seconds(t - startedAt));
+                    }
+                }
+                current = next;
+                enteredAt = t;
+            }
+        }
+    }
+
+    private static long micros(OffsetDateTime at) {
+        Instant i = at.toInstant();
+        return i.getEpochSecond() * 1_000_000 + i.getNano() / 1_000;
+    }
+
+    private static long seconds(long micros) {
+        return micros / 1_000_000;
+    }
+
+    private static <E extends Enum<E>> E valueOf(Class<E> type, String name) {
+        if (name == null) return null;
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.LabelEvent;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.model.label.LabelExpression;
+import com.tsystem.model.label.LabelIndex;
+import com.tsystem.model.mapper.TicketMapper;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filters a project's tickets by a label expression on in-memory bitmaps
+ * ({@link LabelIndex}) and reads only the resulting page from the database.
+ *
+ * Every project's index is built after startup, three streamed queries each,
+ * and then kept current from TicketEvents and LabelEvents after commit. A
+ * project the startup pass has not reached yet is built on first use. Only
+ * hot tickets are indexed; archived projects cannot be filtered by label.
+ */
+@Slf4j
+@Service
+public class LabelIndexService {
+
+    public static final int MAX_PAGE = 200;
+
+    private static final String PROJECT_TICKETS = """
+            select cast(id as varchar(36)) as id
+            from tickets
+            where project_id = ?
+            order by id
+            """;
+
+    private static final String PROJECT_LABELS = """
+            select cast(id as varchar(36)) as id, name
+            from labels
+            where project_id = ?
+            """;
+
+    private static final String PROJECT_TICKET_LABELS = """
+            select cast(tl.ticket_id as varchar(36)) as ticket_id, cast(tl.label_id as varchar(36)) as label_id
+            from ticket_labels tl
+            join labels l on l.id = tl.label_id
+            where l.project_id = ?
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectRepository projectRepository;
+    private final TicketRepository ticketRepository;
+    private final ProjectIndexes<LabelIndex> indexes;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("label-index").factory());
+
+    public LabelIndexService(JdbcTemplate jdbcTemplate,
+                             ProjectRepository projectRepository,
+                             TicketRepository ticketRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectRepository = projectRepository;
+        this.ticketRepository = ticketRepository;
+        this.indexes = new ProjectIndexes<>(transactionManager, LabelIndex::new, this::load);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        loader.execute(() -> {
+            try {
+                List<UUID> projects = projectRepository.findAll().stream()
+                        .filter(p -> p.getStatus() != ProjectStatus.ARCHIVED)
+                        .map(Project::getId)
+                        .toList();
+                projects.forEach(id -> indexes.read(id, LabelIndex::ticketCount));
+                log.info("Label index built for {} projects", projects.size());
+            } catch (RuntimeException e) {
+                log.warn("Label index not built at startup, projects are loaded on first use", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    // a project not loaded yet is left alone, its load reads the committed change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        switch (event.type()) {
+            case TICKET_CREATED -> apply(event.projectId(), index -> index.putTicket(event.ticketId()));
+            case TICKET_DELETED -> apply(event.projectId(), index -> index.removeTicket(event.ticketId()));
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLabelEvent(LabelEvent event) {
+        switch (event.type()) {
+            case LABEL_SAVED -> apply(event.projectId(), index -> index.putLabel(event.labelId(), event.name()));
+            case LABEL_DELETED -> apply(event.projectId(), index -> index.removeLabel(event.labelId()));
+            case TICKET_LABELED -> apply(event.projectId(), index -> index.setLabels(event.ticketId(), event.labelIds()));
+        }
+    }
+
+    // once the status commits and again once the tickets have moved, a load in between may be partial
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArchiveEvent(ProjectArchiveEvent event) {
+        forget(event.projectId());
+    }
+
+    /**
+     * One page of the project's tickets matching {@code filter}, in id order.
+     * The next page starts after {@code cursor}, the id of the last ticket of
+     * the previous one.
+     */
+    public KeysetPage<TicketResponse> find(UUID projectId, String filter, String cursor, int limit) {
+        // from the second-level cache; unknown ids must not leave empty indexes behind
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new NotFoundException("Project not found"));
+        if (project.getStatus() == ProjectStatus.ARCHIVED) {
+            throw new BadRequestException("Archived projects cannot be filtered by label");
+        }
+        LabelExpression expression = LabelExpression.parse(filter);
+        UUID after = cursor(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE));
+
+        // find may renumber the index, so queries take its monitor
+        List<UUID> ids = indexes.read(projectId, index -> index.find(expression, after, pageSize + 1));
+        String next = ids.size() > pageSize ? ids.get(pageSize - 1).toString() : null;
+        List<UUID> page = ids.subList(0, Math.min(ids.size(), pageSize));
+
+        // a ticket deleted since is skipped, the page comes out one short
+        Map<UUID, Ticket> tickets = ticketRepository.findByIdIn(page).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+        List<TicketResponse> items = new ArrayList<>(page.size());
+        for (UUID id : page) {
+            Ticket t = tickets.get(id);
+            if (t != null) items.add(TicketMapper.toResponse(t));
+        }
+        return new KeysetPage<>(items, next);
+    }
+
+    /** Drops a project's index, e.g. once the project is deleted. */
+    public void forget(UUID projectId) {
+        indexes.forget(projectId);
+    }
+
+    private void apply(UUID projectId, Consumer<LabelIndex> change) {
+        indexes.apply(projectId, change);
+    }
+
+    private static UUID cursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return UUID.fromString(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private void load(UUID projectId, LabelIndex index) {
+        jdbcTemplate.query(con -> statement(con.prepareStatement(PROJECT_TICKETS), projectId),
+                (RowCallbackHandler) rs -> index.putTicket(UUID.fromString(rs.getString("id"))));
+        jdbcTemplate.query(con -> statement(con.prepareStatement(PROJECT_LABELS), projectId),
+                (RowCallbackHandler) rs -> index.putLabel(UUID.fromString(rs.getString("id")),
+                        rs.getString("name")));
+        jdbcTemplate.query(con -> statement(con.prepareStatement(PROJECT_TICKET_LABELS), projectId),
+                (RowCallbackHandler) rs -> index.addLabel(
+                        UUID.fromString(rs.getString("ticket_id")), UUID.fromString(rs.getString("label_id"))));
+    }
+
+    private static PreparedStatement statement(PreparedStatement ps, UUID projectId) throws SQLException {
+        ps.setFetchSize(FETCH_SIZE);
+        ps.setObject(1, projectId);
+        return ps;
+    }
+}
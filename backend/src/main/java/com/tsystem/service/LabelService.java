@@ -0,0 +1,130 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.Label;
+import com.tsystem.model.TicketLabel;
+import com.tsystem.model.dto.request.LabelRequest;
+import com.tsystem.model.dto.request.TicketLabelsRequest;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.LabelEvent;
+import com.tsystem.repository.LabelRepository;
+import com.tsystem.repository.TicketLabelRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Free-form labels of a project and the labels on its tickets. Every change
+ * publishes a LabelEvent for the bitmap index. Labels of archived projects
+ * can be read, not changed.
+ */
+@Service
+@RequiredArgsConstructor
+public class LabelService {
+
+    private final LabelRepository labelRepository;
+    private final TicketLabelRepository ticketLabelRepository;
+    private final ProjectService projectService;
+    private final TicketService ticketService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<Label> list(UUID projectId) {
+        requireProject(projectId);
+        return labelRepository.findByProjectIdOrderByNameAsc(projectId);
+    }
+
+    @Transactional
+    public Label create(UUID projectId, LabelRequest req) {
+        requireWritable(projectId);
+        String name = name(req.getName());
+        requireUnique(projectId, name, null);
+        Label saved = labelRepository.save(Label.builder().projectId(projectId).name(name).build());
+        eventPublisher.publishEvent(LabelEvent.saved(projectId, saved.getId(), saved.getName()));
+        return saved;
+    }
+
+    @Transactional
+    public Label rename(UUID projectId, UUID labelId, LabelRequest req) {
+        requireWritable(projectId);
+        Label label = getLabel(projectId, labelId);
+        String name = name(req.getName());
+        requireUnique(projectId, name, labelId);
+        label.setName(name);
+        eventPublisher.publishEvent(LabelEvent.saved(projectId, labelId, name));
+        return label;
+    }
+
+    @Transactional
+    public void delete(UUID projectId, UUID labelId) {
+        requireWritable(projectId);
+        Label label = getLabel(projectId, labelId);
+        ticketLabelRepository.deleteByLabelId(labelId);
+        labelRepository.delete(label);
+        eventPublisher.publishEvent(LabelEvent.deleted(projectId, labelId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Label> getTicketLabels(UUID projectId, UUID ticketId) {
+        ticketService.getResponse(projectId, ticketId);
+        List<Label> labels = labelRepository.findByTicketId(ticketId);
+        return labels.isEmpty() ? labelRepository.findArchivedByTicketId(ticketId) : labels;
+    }
+
+    /** Replaces the ticket's labels with the given ones, which must all belong to the project. */
+    @Transactional
+    public List<Label> setTicketLabels(UUID projectId, UUID ticketId, TicketLabelsRequest req) {
+        requireWritable(projectId);
+        ticketService.getResponse(projectId, ticketId);
+        Set<UUID> ids = new LinkedHashSet<>(req.getLabelIds());
+        List<Label> labels = labelRepository.findAllById(ids).stream()
+                .filter(l -> l.getProjectId().equals(projectId))
+                .toList();
+        if (labels.size() != ids.size()) throw new BadRequestException("Unknown label");
+
+        ticketLabelRepository.deleteByTicketId(ticketId);
+        ticketLabelRepository.saveAll(ids.stream()
+                .map(id -> TicketLabel.builder().ticketId(ticketId).labelId(id).build())
+                .toList());
+        eventPublisher.publishEvent(LabelEvent.ticketLabeled(projectId, ticketId, List.copyOf(ids)));
+        return labelRepository.findByTicketId(ticketId);
+    }
+
+    private Label getLabel(UUID projectId, UUID labelId) {
+        return labelRepository.findByIdAndProjectId(labelId, projectId)
+                .orElseThrow(() -> new NotFoundException("Label not found"));
+    }
+
+    private void requireUnique(UUID projectId, String name, UUID self) {
+        labelRepository.findByProjectIdAndNameIgnoreCase(projectId, name)
+                .filter(l -> !l.getId().equals(self))
+                .ifPresent(l -> {
+                    throw new BadRequestException("Label '" + l.getName() + "' already exists");
+                });
+    }
+
+    private ProjectStatus requireProject(UUID projectId) {
+        return projectService.lookup(projectId)
+                .orElseThrow(() -> new NotFoundException("Project not found"))
+                .getStatus();
+    }
+
+    private void requireWritable(UUID projectId) {
+        if (requireProject(projectId) == ProjectStatus.ARCHIVED) throw new BadRequestException("Project is archived");
+    }
+
+    // quotes would make the label impossible to write in a filter
+    static String name(String name) {
+        String n = name == null ? "" : name.strip();
+        if (n.isEmpty()) throw new BadRequestException("Label name is empty");
+        if (n.indexOf('"') >= 0) throw new BadRequestException("Label name must not contain '\"'");
+        return n;
+    }
+}
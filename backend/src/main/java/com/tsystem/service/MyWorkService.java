@@ -0,0 +1,114 @@
+package com.tsystem.service;
+
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.AssignedTicketCount;
+import com.tsystem.model.dto.KeysetCursor;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.MyWorkGroupResponse;
+import com.tsystem.model.dto.response.MyWorkResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.mapper.TicketMapper;
+import com.tsystem.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The tickets assigned to one user across all projects, grouped by project and
+ * state. The dashboard is three queries whatever the number of groups: the
+ * counts, the ids of the first page of every group, and those tickets.
+ */
+@Service
+@RequiredArgsConstructor
+public class MyWorkService {
+
+    public static final int MAX_PAGE = 100;
+
+    private static final Comparator<AssignedTicketCount> GROUP_ORDER =
+            Comparator.comparing(AssignedTicketCount::projectName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(AssignedTicketCount::projectId)
+                    .thenComparing(AssignedTicketCount::state);
+
+    private static final Comparator<Ticket> NEWEST_FIRST =
+            Comparator.comparing(MyWorkService::key, KeysetCursor.ORDER).reversed();
+
+    private final TicketRepository ticketRepository;
+
+    /** No states means all of them. */
+    @Transactional(readOnly = true)
+    public MyWorkResponse get(UUID assigneeId, Collection<TicketState> states, int limit) {
+        int pageSize = pageSize(limit);
+        Set<TicketState> wanted = states == null || states.isEmpty()
+                ? EnumSet.allOf(TicketState.class) : EnumSet.copyOf(states);
+
+        List<AssignedTicketCount> counts = ticketRepository.countAssigned(assigneeId, wanted);
+        if (counts.isEmpty()) {
+            return MyWorkResponse.builder().total(0).groups(List.of()).build();
+        }
+
+        List<UUID> ids = ticketRepository.findFirstAssignedIds(assigneeId,
+                        wanted.stream().map(Enum::name).toList(), pageSize)
+                .stream().map(UUID::fromString).toList();
+        Map<Group, List<Ticket>> firstPages = ticketRepository.findByIdIn(ids).stream()
+                .sorted(NEWEST_FIRST)
+                .collect(Collectors.groupingBy(t -> new Group(t.getProject().getId(), t.getState())));
+
+        List<MyWorkGroupResponse> groups = counts.stream()
+                .sorted(GROUP_ORDER)
+                .map(c -> group(c, firstPages.getOrDefault(new Group(c.projectId(), c.state()), List.of())))
+                .toList();
+        return MyWorkResponse.builder()
+                .total(counts.stream().mapToLong(AssignedTicketCount::count).sum())
+                .groups(groups)
+                .build();
+    }
+
+    /** The next page of one group, continuing from a group's nextCursor. */
+    @Transactional(readOnly = true)
+    public KeysetPage<Ticket> getGroupPage(UUID assigneeId, UUID projectId, TicketState state,
+                                           String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        KeysetCursor from = KeysetCursor.decode(cursor, KeysetCursor.END);
+        List<Ticket> rows = ticketRepository.findAssignedPageBefore(
+                assigneeId, projectId, state, from.at(), from.id(), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, MyWorkService::key);
+    }
+
+    private static MyWorkGroupResponse group(AssignedTicketCount count, List<Ticket> tickets) {
+        List<TicketResponse> items = tickets.stream().map(TicketMapper::toResponse).toList();
+        // the count and the page are separate statements; a ticket assigned in
+        // between only shows up on the next load
+        String nextCursor = !tickets.isEmpty() && count.count() > tickets.size()
+                ? key(tickets.getLast()).encode() : null;
+        return MyWorkGroupResponse.builder()
+                .projectId(count.projectId())
+                .projectName(count.projectName())
+                .state(count.state())
+                .count(count.count())
+                .tickets(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE));
+    }
+
+    private static KeysetCursor key(Ticket t) {
+        return KeysetCursor.of(t.getCreatedAt(), t.getId());
+    }
+
+    private record Group(UUID projectId, TicketState state) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.tsystem.service;
+
+import com.tsystem.configuration.CacheConfiguration;
+import com.tsystem.model.Project;
+import com.tsystem.model.dto.ProjectTicketCount;
+import com.tsystem.model.dto.response.PortfolioAssigneeResponse;
+import com.tsystem.model.dto.response.PortfolioProjectResponse;
+import com.tsystem.model.dto.response.PortfolioReportResponse;
+import com.tsystem.model.dto.response.UserShortResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ticket counts across all active projects for managers: per state, stale and
+ * unassigned per project, and the assignees with the most open tickets.
+ *
+ * Every project is one aggregate query, grouped by state and assignee, run on
+ * its own virtual thread; a semaphore keeps at most {@code db-concurrency} of
+ * them on the connection pool so a large portfolio does not starve the API.
+ * The partial counts are summed here. The report is cached for a short TTL
+ * and concurrent requests for an expired one wait for a single computation.
+ *
+ * Tickets have no due date, so "overdue" is approximated as stale: not done
+ * and not updated for {@code stale-days}.
+ */
+@Service
+public class PortfolioReportService {
+
+    private static final TicketState[] STATES = TicketState.values();
+
+    private static final Comparator<Assignee> MOST_OPEN =
+            Comparator.comparingLong(Assignee::open).reversed()
+                    .thenComparing(Comparator.comparingLong(Assignee::stale).reversed())
+                    .thenComparing(Assignee::id);
+
+    private final ProjectRepository projectRepository;
+    private final TicketRepository ticketRepository;
+    private final UserDirectory userDirectory;
+    private final Semaphore connections;
+    private final Duration staleAfter;
+    private final int topAssignees;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PortfolioReportService(ProjectRepository projectRepository,
+                                  TicketRepository ticketRepository,
+                                  UserDirectory userDirectory,
+                                  @Value("${tsystem.portfolio.db-concurrency:4}") int dbConcurrency,
+                                  @Value("${tsystem.portfolio.stale-days:14}") int staleDays,
+                                  @Value("${tsystem.portfolio.top-assignees:10}") int topAssignees) {
+        this.projectRepository = projectRepository;
+        this.ticketRepository = ticketRepository;
+        this.userDirectory = userDirectory;
+        this.connections = new Semaphore(Math.max(1, dbConcurrency));
+        this.staleAfter = Duration.ofDays(staleDays);
+        this.topAssignees = topAssignees;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Cacheable(cacheNames = CacheConfiguration.PORTFOLIO, key = "'active'", sync = true)
+    public PortfolioReportResponse getReport() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime staleBefore = now.minus(staleAfter);
+
+        List<Project> projects = projectRepository.findByStatus(ProjectStatus.ACTIVE);
+        List<CompletableFuture<List<ProjectTicketCount>>> counts = projects.stream()
+                .map(p -> CompletableFuture.supplyAsync(() -> count(p.getId(), staleBefore), executor))
+                .toList();
+
+        Map<TicketState, Long> states = zeroes();
+        Map<UUID, Assignee> assignees = new HashMap<>();
+        List<PortfolioProjectResponse> rows = new ArrayList<>(projects.size());
+        long stale = 0, unassigned = 0;
+        for (int i = 0; i < projects.size(); i++) {
+            PortfolioProjectResponse row = project(projects.get(i), join(counts.get(i)), assignees);
+            row.getStates().forEach((state, n) -> states.merge(state, n, Long::sum));
+            stale += row.getStale();
+            unassigned += row.getUnassigned();
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparing(PortfolioProjectResponse::getName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(PortfolioProjectResponse::getProjectId));
+
+        return PortfolioReportResponse.builder()
+                .generatedAt(now)
+                .staleBefore(staleBefore)
+                .states(states)
+                .total(states.values().stream().mapToLong(Long::longValue).sum())
+                .stale(stale)
+                .unassigned(unassigned)
+                .projects(rows)
+                .topAssignees(top(assignees.values()))
+                .build();
+    }
+
+    private List<ProjectTicketCount> count(UUID projectId, OffsetDateTime staleBefore) {
+        connections.acquireUninterruptibly();
+        try {
+            return ticketRepository.countForPortfolio(projectId, staleBefore);
+        } finally {
+            connections.release();
+        }
+    }
+
+    // folds one project's counts into its row and into the assignee totals
+    private static PortfolioProjectResponse project(Project project, List<ProjectTicketCount> counts,
+                                                    Map<UUID, Assignee> assignees) {
+        Map<TicketState, Long> states = zeroes();
+        Map<UUID, long[]> open = new HashMap<>();
+        long total = 0, stale = 0, unassigned = 0;
+        for (ProjectTicketCount c : counts) {
+            states.merge(c.state(), c.count(), Long::sum);
+            total += c.count();
+            if (c.state() == TicketState.done) continue;
+            stale += c.stale();
+            if (c.assigneeId() == null) {
+                unassigned += c.count();
+            } else {
+                long[] a = open.computeIfAbsent(c.assigneeId(), id -> new long[2]);
+                a[0] += c.count();
+                a[1] += c.stale();
+            }
+        }
+        open.forEach((id, a) -> assignees.merge(id, new Assignee(id, a[0], a[1], 1), Assignee::plus));
+
+        return PortfolioProjectResponse.builder()
+                .projectId(project.getId())
+                .name(project.getName())
+                .states(states)
+                .total(total)
+                .stale(stale)
+                .unassigned(unassigned)
+                .build();
+    }
+
+    private List<PortfolioAssigneeResponse> top(Iterable<Assignee> assignees) {
+        List<Assignee> top = new ArrayList<>();
+        assignees.forEach(top::add);
+        top.sort(MOST_OPEN);
+        if (top.size() > topAssignees) top = top.subList(0, topAssignees);
+
+        Map<UUID, UserShortResponse> users = userDirectory.find(top.stream().map(Assignee::id).toList()).stream()
+                .collect(Collectors.toMap(UserShortResponse::getId, Function.identity()));
+        return top.stream()
+                .map(a -> PortfolioAssigneeResponse.builder()
+                        // a user deleted meanwhile still shows with its id
+                        .user(users.getOrDefault(a.id(), UserShortResponse.builder().id(a.id()).build()))
+                        .open(a.open())
+                        .stale(a.stale())
+                        .projects(a.projects())
+                        .build())
+                .toList();
+    }
+
+    private static Map<TicketState, Long> zeroes() {
+        Map<TicketState, Long> states = new EnumMap<>(TicketState.class);
+        for (TicketState state : STATES) states.put(state, 0L);
+        return states;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private record Assignee(UUID id, long open, long stale, int projects) {
+        Assignee plus(Assignee other) {
+            return new Assignee(id, open + other.open, stale + other.stale, projects + other.projects);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.tsystem.service;
+
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves the tickets of an archived project, with their comments, history,
+ * attachment metadata and labels, between the hot tables and their *_archive
+ * copies. Blob references move with the attachment and comment rows and are
+ * not counted again.
+ *
+ * The move starts after the status change has committed (ProjectArchiveEvent)
+ * and runs on a single background worker, a chunk of tickets per short
+ * transaction, so no lock is held for longer than one chunk. Each chunk locks
+ * the project row and moves toward the status it reads there, which keeps a
+ * project archived and restored again in quick succession consistent. While
+ * a move runs the tickets are split between the two sides and readers, who
+ * follow the status, see the part moved so far. Within a chunk rows are
+ * copied parent first and deleted child first, which keeps the foreign keys
+ * on both sides satisfied. Moves cut short by a restart are picked up again
+ * on startup.
+ */
+@Slf4j
+@Service
+public class ProjectArchiveService {
+
+    /** Parent first. Rows are selected by the id of their ticket. */
+    static final List<ArchivedTable> TABLES = List.of(
+            new ArchivedTable("tickets", "tickets_archive", "id"),
+            new ArchivedTable("ticket_comments", "ticket_comments_archive", "ticket_id"),
+            new ArchivedTable("ticket_history", "ticket_history_archive", "ticket_id"),
+            new ArchivedTable("ticket_attachments", "ticket_attachments_archive", "ticket_id"),
+            new ArchivedTable("ticket_labels", "ticket_labels_archive", "ticket_id")
+    );
+
+    private static final String PENDING = """
+            select p.id
+            from projects p
+            where p.deleted_at is null
+              and ((p.status = 'ARCHIVED' and exists (select 1 from tickets t where t.project_id = p.id))
+                or (p.status <> 'ARCHIVED' and exists (select 1 from tickets_archive t where t.project_id = p.id)))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+    private final Map<String, String> columnLists = new ConcurrentHashMap<>();
+
+    // one move at a time, in the order the status changes committed
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("project-archive").factory());
+
+    private final int chunkSize;
+
+    public ProjectArchiveService(JdbcTemplate jdbcTemplate,
+                                 BlobStore blobStore,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${tsystem.projects.archive.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobStore = blobStore;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArchiveEvent(ProjectArchiveEvent event) {
+        if (event.type() == ProjectArchiveEvent.Type.STATUS_CHANGED) {
+            worker.execute(() -> move(event.projectId()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        worker.execute(() -> {
+            try {
+                for (UUID projectId : jdbcTemplate.queryForList(PENDING, UUID.class)) {
+                    log.info("Resuming the ticket move of project {}", projectId);
+                    move(projectId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Pending ticket moves not resumed, they continue on the next status change", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // every chunk commits on its own, an interrupted move is resumed on the next start
+        worker.shutdownNow();
+    }
+
+    /**
+     * Moves the project's tickets chunk by chunk to the side its status names.
+     * Must not be called inside a transaction, every chunk commits on its own.
+     */
+    public int move(UUID projectId) {
+        int moved = 0;
+        try {
+            Integer n;
+            while ((n = tx.execute(s -> moveChunk(projectId))) != null && n > 0) {
+                moved += n;
+            }
+        } catch (RuntimeException e) {
+            log.error("Moving the tickets of project {} failed after {} tickets", projectId, moved, e);
+            return moved;
+        }
+        log.info("Moved {} tickets of project {}", moved, projectId);
+        eventPublisher.publishEvent(ProjectArchiveEvent.ticketsMoved(projectId));
+        return moved;
+    }
+
+    public long countArchivedTickets(UUID projectId) {
+        Long n = jdbcTemplate.queryForObject(
+                "select count(*) from tickets_archive where project_id = ?", Long.class, projectId);
+        return n == null ? 0 : n;
+    }
+
+    /**
+     * Deletes up to {@code limit} archived tickets of a project; comments, history, attachments and labels cascade,
+     * the blob references of attachments and comments are released.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int purgeChunk(UUID projectId, int limit) {
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "select id from tickets_archive where project_id = ? limit ?", UUID.class, projectId, limit);
+        if (ids.isEmpty()) return 0;
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        blobStore.release(jdbcTemplate.queryForList(
+                "select blob_hash from ticket_attachments_archive where ticket_id in (" + in + ")", String.class, args));
+        blobStore.release(jdbcTemplate.queryForList(
+                "select text_blob from ticket_comments_archive where ticket_id in (" + in + ")", String.class, args));
+        return jdbcTemplate.update("delete from tickets_archive where id in (" + in + ")", args);
+    }
+
+    private int moveChunk(UUID projectId) {
+        // the lock holds a concurrent status change back until this chunk is through
+        List<String> status = jdbcTemplate.queryForList(
+                "select status from projects where id = ? and deleted_at is null for update", String.class, projectId);
+        if (status.isEmpty()) return 0;
+        boolean toArchive = ProjectStatus.ARCHIVED.name().equals(status.getFirst());
+
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "select id from " + (toArchive ? "tickets" : "tickets_archive") + " where project_id = ? limit ?",
+                UUID.class, projectId, chunkSize);
+        if (ids.isEmpty()) return 0;
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+
+        for (ArchivedTable t : TABLES) {
+            String from = toArchive ? t.hot() : t.archive();
+            String to = toArchive ? t.archive() : t.hot();
+            String columns = columns(t.hot());
+            jdbcTemplate.update("insert into " + to + " (" + columns + ") select " + columns
+                    + " from " + from + " where " + t.key() + " in (" + in + ")", args);
+        }
+        for (ArchivedTable t : TABLES.reversed()) {
+            String from = toArchive ? t.hot() : t.archive();
+            jdbcTemplate.update("delete from " + from + " where " + t.key() + " in (" + in + ")", args);
+        }
+        return ids.size();
+    }
+
+    // read from the hot table, so a column added there without its archive twin fails loudly
+    private String columns(String table) {
+        return columnLists.computeIfAbsent(table, name -> jdbcTemplate.query(
+                "select * from " + name + " where 1 = 0", rs -> {
+                    List<String> names = new ArrayList<>();
+                    for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                        names.add('"' + rs.getMetaData().getColumnName(i) + '"');
+                    }
+                    return String.join(", ", names);
+                }));
+    }
+
+    record ArchivedTable(String hot, String archive, String key) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.dto.response.ProjectDeletionResponse;
+import com.tsystem.model.enums.ProjectDeletionState;
+import com.tsystem.repository.*;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes a project and everything below it with set-based DELETEs.
+ *
+ * The project is hidden first (deleted_at), then its tickets are removed in
+ * chunks, each chunk in its own short transaction together with the
+ * tickets' comments, history, attachments and labels, so no lock is held
+ * for longer than one chunk; tickets of an archived project are purged from
+ * the archive tables the same way, releasing the attachments' blobs as it
+ * goes. Small projects are deleted inline; larger ones are handed to a
+ * single background worker and their progress can be polled. Projects left
+ * hidden by a restart are picked up again on startup.
+ */
+@Slf4j
+@Service
+public class ProjectDeletionService {
+
+    private static final Duration FINISHED_RETENTION = Duration.ofHours(1);
+
+    private final ProjectRepository projectRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketCommentRepository ticketCommentRepository;
+    private final TicketHistoryRepository ticketHistoryRepository;
+    private final TicketTombstoneRepository ticketTombstoneRepository;
+    private final TicketAttachmentRepository ticketAttachmentRepository;
+    private final TicketLabelRepository ticketLabelRepository;
+    private final ProjectArchiveService projectArchiveService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate tx;
+
+    // one deletion at a time keeps the extra write load on the database flat
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("project-deletion").factory());
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    private final int chunkSize;
+    private final long asyncThreshold;
+
+    public ProjectDeletionService(ProjectRepository projectRepository,
+                                  TicketRepository ticketRepository,
+                                  TicketCommentRepository ticketCommentRepository,
+                                  TicketHistoryRepository ticketHistoryRepository,
+                                  TicketTombstoneRepository ticketTombstoneRepository,
+                                  TicketAttachmentRepository ticketAttachmentRepository,
+                                  TicketLabelRepository ticketLabelRepository,
+                                  ProjectArchiveService projectArchiveService,
+                                  BlobStore blobStore,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${tsystem.projects.delete.chunk-size:500}") int chunkSize,
+                                  @Value("${tsystem.projects.delete.async-threshold:2000}") long asyncThreshold) {
+        this.projectRepository = projectRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketCommentRepository = ticketCommentRepository;
+        this.ticketHistoryRepository = ticketHistoryRepository;
+        this.ticketTombstoneRepository = ticketTombstoneRepository;
+        this.ticketAttachmentRepository = ticketAttachmentRepository;
+        this.ticketLabelRepository = ticketLabelRepository;
+        this.projectArchiveService = projectArchiveService;
+        this.blobStore = blobStore;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.asyncThreshold = asyncThreshold;
+    }
+
+    /**
+     * Hides the project and deletes it, inline when it has at most
+     * {@code async-threshold} tickets and in the background otherwise.
+     * Must not be called inside a transaction, every chunk commits on its own.
+     */
+    public ProjectDeletionResponse delete(UUID projectId) {
+        Integer hidden = tx.execute(s -> projectRepository.markDeleted(projectId, OffsetDateTime.now()));
+        if (hidden == null || hidden == 0) {
+            // already hidden: report the running job, or retry one that failed
+            Job existing = jobs.get(projectId);
+            if (existing == null) throw new NotFoundException("Project not found");
+            if (existing.state != ProjectDeletionState.FAILED) return existing.snapshot();
+        }
+
+        pruneFinished();
+        Job job = new Job(projectId, countTickets(projectId));
+        jobs.put(projectId, job);
+
+        if (job.total <= asyncThreshold) {
+            run(job);
+        } else {
+            worker.execute(() -> run(job));
+        }
+        return job.snapshot();
+    }
+
+    public Optional<ProjectDeletionResponse> status(UUID projectId) {
+        return Optional.ofNullable(jobs.get(projectId)).map(Job::snapshot);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        for (String id : projectRepository.findPendingDeletion()) {
+            UUID projectId = UUID.fromString(id);
+            Job job = new Job(projectId, countTickets(projectId));
+            if (jobs.putIfAbsent(projectId, job) == null) {
+                log.info("Resuming deletion of project {} ({} tickets left)", projectId, job.total);
+                worker.execute(() -> run(job));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // chunks are idempotent, an interrupted job is resumed on the next start
+        worker.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.state = ProjectDeletionState.RUNNING;
+        try {
+            int n;
+            while ((n = deleteTicketChunk(job.projectId)) > 0) {
+                job.deleted += n;
+            }
+            while ((n = deleteArchivedChunk(job.projectId)) > 0) {
+                job.deleted += n;
+            }
+            // tombstones of tickets deleted earlier, there may be more of them than live tickets
+            do {
+                n = deleteTombstoneChunk(job.projectId);
+            } while (n > 0);
+            tx.executeWithoutResult(s -> projectRepository.purge(job.projectId));
+            job.state = ProjectDeletionState.DONE;
+        } catch (RuntimeException e) {
+            log.error("Deletion of project {} failed after {} tickets", job.projectId, job.deleted, e);
+            job.error = e.getMessage();
+            job.state = ProjectDeletionState.FAILED;
+        } finally {
+            job.finishedAt = OffsetDateTime.now();
+        }
+    }
+
+    private int deleteTicketChunk(UUID projectId) {
+        Integer deleted = tx.execute(s -> {
+            List<UUID> ids = ticketRepository.findIdsByProjectId(projectId, Limit.of(chunkSize));
+            if (ids.isEmpty()) return 0;
+            blobStore.release(ticketCommentRepository.findTextBlobsByTicketIdIn(ids));
+            ticketCommentRepository.deleteByTicketIdIn(ids);
+            ticketHistoryRepository.deleteByTicketIdIn(ids);
+            blobStore.release(ticketAttachmentRepository.findBlobHashesByTicketIdIn(ids));
+            ticketAttachmentRepository.deleteByTicketIdIn(ids);
+            ticketLabelRepository.deleteByTicketIdIn(ids);
+            return ticketRepository.deleteByIdIn(ids);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private int deleteArchivedChunk(UUID projectId) {
+        Integer deleted = tx.execute(s -> projectArchiveService.purgeChunk(projectId, chunkSize));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private int deleteTombstoneChunk(UUID projectId) {
+        Integer deleted = tx.execute(s -> {
+            List<UUID> ids = ticketTombstoneRepository.findIdsByProjectId(projectId, Limit.of(chunkSize));
+            return ids.isEmpty() ? 0 : ticketTombstoneRepository.deleteByTicketIdIn(ids);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private long countTickets(UUID projectId) {
+        return ticketRepository.countByProjectId(projectId) + projectArchiveService.countArchivedTickets(projectId);
+    }
+
+    private void pruneFinished() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(FINISHED_RETENTION);
+        jobs.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class Job {
+        final UUID projectId;
+        final long total;
+        final OffsetDateTime startedAt = OffsetDateTime.now();
+        volatile ProjectDeletionState state = ProjectDeletionState.QUEUED;
+        volatile long deleted;
+        volatile OffsetDateTime finishedAt;
+        volatile String error;
+
+        Job(UUID projectId, long total) {
+            this.projectId = projectId;
+            this.total = total;
+        }
+
+        ProjectDeletionResponse snapshot() {
+            return ProjectDeletionResponse.builder()
+                    .projectId(projectId)
+                    .state(state)
+                    .totalTickets(total)
+                    .deletedTickets(deleted)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
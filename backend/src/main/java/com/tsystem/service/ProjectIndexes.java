@@ -0,0 +1,91 @@
+package com.tsystem.service;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The in-memory indexes of one service, one per project, loaded on first use
+ * and then kept current from events after commit.
+ *
+ * A project's index is loaded once, in a read-only transaction, under the
+ * project's own monitor so other projects are not held up. A change that
+ * arrives during the load waits for it and is applied after, so a change
+ * committed meanwhile is not lost; changes must therefore tolerate replaying
+ * one the load already saw. A change for a project not loaded yet is dropped,
+ * its load reads the committed row. A load that fails leaves nothing behind,
+ * the next use starts over.
+ */
+final class ProjectIndexes<T> {
+
+    private final Supplier<T> factory;
+    private final BiConsumer<UUID, T> loader;
+    private final TransactionTemplate readOnly;
+
+    private final Map<UUID, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    /** {@code loader} fills a new index from the database, it runs inside the read-only transaction. */
+    ProjectIndexes(PlatformTransactionManager transactionManager, Supplier<T> factory, BiConsumer<UUID, T> loader) {
+        this.factory = factory;
+        this.loader = loader;
+        // in a transaction, without one the driver ignores the fetch size and reads every row at once
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /** The project's index, loaded first if needed. Only for index types that are thread-safe themselves. */
+    T get(UUID projectId) {
+        return loaded(projectId).index;
+    }
+
+    /** Runs {@code query} on the project's index under its monitor, loading the index first if needed. */
+    <R> R read(UUID projectId, Function<T, R> query) {
+        Entry<T> entry = loaded(projectId);
+        synchronized (entry) {
+            return query.apply(entry.index);
+        }
+    }
+
+    /** Applies a committed change under the project's monitor; a project not loaded yet is left alone. */
+    void apply(UUID projectId, Consumer<T> change) {
+        Entry<T> entry = entries.get(projectId);
+        if (entry == null) return;
+        synchronized (entry) {
+            if (entry.index != null) change.accept(entry.index);
+        }
+    }
+
+    /** Drops a project's index, e.g. once the project is deleted or its tickets move. */
+    void forget(UUID projectId) {
+        entries.remove(projectId);
+    }
+
+    private Entry<T> loaded(UUID projectId) {
+        Entry<T> entry = entries.computeIfAbsent(projectId, id -> new Entry<>());
+        if (entry.index != null) return entry;
+        synchronized (entry) {
+            if (entry.index == null) {
+                T index = factory.get();
+                try {
+                    readOnly.executeWithoutResult(s -> loader.accept(projectId, index));
+                } catch (RuntimeException e) {
+                    entries.remove(projectId, entry);
+                    throw e;
+                }
+                entry.index = index;
+            }
+        }
+        return entry;
+    }
+
+    private static final class Entry<T> {
+        private volatile T index;
+    }
+}
@@ -1,18 +1,32 @@
 package com.tsystem.service;
 
+import com.tsystem.configuration.CacheConfiguration;
 import com.tsystem.exception.NotFoundException;
 import com.tsystem.model.Project;
+import com.tsystem.model.ProjectFlowStats;
 import com.tsystem.model.user.User;
 
+import com.tsystem.model.dto.FieldSet;
 import com.tsystem.model.dto.request.ProjectCreateRequest;
 import com.tsystem.model.dto.request.ProjectUpdateRequest;
+import com.tsystem.model.dto.response.ProjectDeletionResponse;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.mapper.ProjectMapper;
+import com.tsystem.repository.ProjectFlowStatsRepository;
 import com.tsystem.repository.ProjectRepository;
 import com.tsystem.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -21,6 +35,14 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final ProjectDeletionService projectDeletionService;
+    private final CollectionVersionService collectionVersions;
+    private final ProjectFlowStatsRepository flowStatsRepository;
+    private final DuplicateTicketService duplicateTicketService;
+    private final RelatedTicketService relatedTicketService;
+    private final LabelIndexService labelIndexService;
+    private final SavedFilterCounts savedFilterCounts;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Project create(ProjectCreateRequest req, String username) {
@@ -32,7 +54,10 @@ public class ProjectService {
                 .description(req.getDescription())
                 .user(owner)
                 .build();
-        return projectRepository.save(p);
+        Project saved = projectRepository.save(p);
+        flowStatsRepository.save(ProjectFlowStats.empty(saved.getId(), saved.getCreatedAt()));
+        collectionVersions.bump(CollectionVersionService.PROJECTS);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -40,25 +65,66 @@ public class ProjectService {
         return projectRepository.findAll();
     }
 
+    /** Only the requested fields, selected as columns. */
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> findAll(FieldSet fields) {
+        return projectRepository.findAllFields(fields);
+    }
+
     @Transactional(readOnly = true)
     public Project findById(UUID uuid) {
         return projectRepository.findById(uuid).orElseThrow(NotFoundException::new);
     }
 
+    /**
+     * Cached read of a single project. Misses are not cached, so a project
+     * created right after a failed lookup is found on the next call.
+     */
+    @Cacheable(cacheNames = CacheConfiguration.PROJECTS, key = "#projectId", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<ProjectResponse> lookup(UUID projectId) {
+        return projectRepository.findById(projectId).map(ProjectMapper::toResponse);
+    }
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.PROJECTS, key = "#projectId")
     public Project update(UUID projectId, ProjectUpdateRequest req) {
 
         Project p = projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
 
+        ProjectStatus previous = p.getStatus();
         p.setName(req.getName());
         p.setDescription(req.getDescription());
         p.setStatus(req.getStatus());
-        return projectRepository.save(p);
+
+        if (previous != req.getStatus()) {
+            // the tickets follow the status into or out of the archive tables, after commit
+            eventPublisher.publishEvent(ProjectArchiveEvent.statusChanged(projectId));
+        }
+        // the flow stats row is left alone: nothing is written while archived, so it is still current on restore
+        Project saved = projectRepository.save(p);
+        collectionVersions.bump(CollectionVersionService.PROJECTS);
+        return saved;
     }
 
-    @Transactional
-    public void delete(UUID projectId) {
-        projectRepository.deleteById(projectId);
+    // not transactional: the deletion commits chunk by chunk
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.PROJECTS, key = "#projectId"),
+            @CacheEvict(cacheNames = CacheConfiguration.TICKETS, allEntries = true)
+    })
+    public ProjectDeletionResponse delete(UUID projectId) {
+        ProjectDeletionResponse status = projectDeletionService.delete(projectId);
+        duplicateTicketService.forget(projectId);
+        relatedTicketService.forget(projectId);
+        labelIndexService.forget(projectId);
+        savedFilterCounts.forget(projectId);
+        // the project is hidden from the list from here on, even while its tickets are still going
+        collectionVersions.bump(CollectionVersionService.PROJECTS);
+        return status;
+    }
+
+    public Optional<ProjectDeletionResponse> deletionStatus(UUID projectId) {
+        return projectDeletionService.status(projectId);
     }
 }
\ No newline at end of file
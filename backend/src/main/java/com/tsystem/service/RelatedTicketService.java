@@ -0,0 +1,140 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.dto.response.RelatedTicketResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.model.similarity.TfIdfIndex;
+import com.tsystem.repository.ProjectRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * "Related tickets": the tickets of the same project whose text and comments
+ * are closest to a ticket's, by TF-IDF cosine.
+ *
+ * Each project's {@link TfIdfIndex} is built from the tickets and comments
+ * tables on first use, two streamed queries, and then kept current from
+ * TicketEvents after commit: ticket text on create and update, comments as
+ * they are added. Edited or deleted comments have no event; their old words
+ * stay until the project is loaded again. A comment added while its project
+ * loads may be counted twice. An index is dropped when its project's tickets
+ * move to or from the archive.
+ */
+@Service
+public class RelatedTicketService {
+
+    public static final int MAX_RESULTS = 50;
+
+    private static final String PROJECT_TICKETS = """
+            select cast(id as varchar(36)) as id, name, description
+            from tickets
+            where project_id = ?
+            """;
+
+    private static final String PROJECT_COMMENTS = """
+            select cast(c.ticket_id as varchar(36)) as ticket_id, c.text, c.text_blob
+            from ticket_comments c
+            join tickets t on t.id = c.ticket_id
+            where t.project_id = ?
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectRepository projectRepository;
+    private final TextBlobs textBlobs;
+    private final ProjectIndexes<TfIdfIndex> indexes;
+
+    public RelatedTicketService(JdbcTemplate jdbcTemplate,
+                                ProjectRepository projectRepository,
+                                TextBlobs textBlobs,
+                                PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectRepository = projectRepository;
+        this.textBlobs = textBlobs;
+        this.indexes = new ProjectIndexes<>(transactionManager, TfIdfIndex::new,
+                (projectId, tfIdf) -> tfIdf.putAll(read(projectId)));
+    }
+
+    // a project not loaded yet is left alone, its load reads the committed change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        indexes.apply(event.projectId(), tfIdf -> {
+            switch (event.type()) {
+                case TICKET_CREATED, TICKET_UPDATED -> {
+                    TicketResponse t = event.ticket();
+                    tfIdf.put(t.getId(), t.getName(), t.getDescription());
+                }
+                case TICKET_DELETED -> tfIdf.remove(event.ticketId());
+                case COMMENT_ADDED -> tfIdf.addComment(event.ticketId(), event.comment().getText());
+            }
+        });
+    }
+
+    // once the status commits and again once the tickets have moved, a load in between may be partial
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArchiveEvent(ProjectArchiveEvent event) {
+        forget(event.projectId());
+    }
+
+    /** Up to {@code limit} tickets most related to the given one, best first. */
+    public List<RelatedTicketResponse> find(UUID projectId, UUID ticketId, int limit) {
+        // from the second-level cache; unknown ids must not leave empty indexes behind
+        if (projectRepository.findById(projectId).isEmpty()) throw new NotFoundException("Project not found");
+        // the TfIdfIndex is thread-safe itself, queries need not wait for each other
+        List<TfIdfIndex.Match> matches = indexes.get(projectId)
+                .related(ticketId, Math.max(1, Math.min(limit, MAX_RESULTS)));
+        if (matches == null) throw new NotFoundException("Ticket not found");
+        return matches.stream()
+                .map(m -> RelatedTicketResponse.builder()
+                        .ticketId(m.id())
+                        .name(m.name())
+                        .similarity(m.similarity())
+                        .build())
+                .toList();
+    }
+
+    /** Drops a project's index, e.g. once the project is deleted. */
+    public void forget(UUID projectId) {
+        indexes.forget(projectId);
+    }
+
+    private List<TfIdfIndex.Source> read(UUID projectId) {
+        Map<UUID, String[]> tickets = new LinkedHashMap<>();
+        Map<UUID, List<String>> comments = new LinkedHashMap<>();
+        jdbcTemplate.query(con -> statement(con.prepareStatement(PROJECT_TICKETS), projectId),
+                (RowCallbackHandler) rs -> tickets.put(UUID.fromString(rs.getString("id")),
+                        new String[]{rs.getString("name"), rs.getString("description")}));
+        jdbcTemplate.query(con -> statement(con.prepareStatement(PROJECT_COMMENTS), projectId),
+                (RowCallbackHandler) rs -> comments.computeIfAbsent(UUID.fromString(rs.getString("ticket_id")),
+                        id -> new ArrayList<>(2)).add(text(rs.getString("text"), rs.getString("text_blob"))));
+
+        List<TfIdfIndex.Source> sources = new ArrayList<>(tickets.size());
+        tickets.forEach((id, t) -> sources.add(
+                new TfIdfIndex.Source(id, t[0], t[1], comments.getOrDefault(id, List.of()))));
+        return sources;
+    }
+
+    private String text(String text, String blob) {
+        return blob == null ? text : textBlobs.read(blob);
+    }
+
+    private static PreparedStatement statement(PreparedStatement ps, UUID projectId) throws SQLException {
+        ps.setFetchSize(FETCH_SIZE);
+        ps.setObject(1, projectId);
+        return ps;
+    }
+}
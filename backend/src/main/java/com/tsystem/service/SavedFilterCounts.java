@@ -0,0 +1,167 @@
+package com.tsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tsystem.model.SavedFilter;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.event.SavedFilterEvent;
+import com.tsystem.model.event.TicketFieldsEvent;
+import com.tsystem.model.filter.TicketCriteria;
+import com.tsystem.repository.SavedFilterRepository;
+import com.tsystem.repository.TicketFilterQuery;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Each user's saved filters compiled into queries, and the filters' result
+ * counts, held in memory. A sidebar whose counts are all cached costs one
+ * lookup per filter and no database access.
+ *
+ * A count is dropped only when a ticket write moves a ticket into or out of
+ * that filter's results (TicketFieldsEvent, after commit); edits that leave
+ * the filterable fields alone keep every count. Project archive and restore
+ * (ProjectArchiveEvent, after commit) and deletion drop the counts that may
+ * include the project's tickets. The entries also expire after
+ * tsystem.cache.ttl-ms, as a bound on anything missed, e.g. writes made on
+ * another instance.
+ *
+ * A load runs outside the writer's transaction and may have read the state
+ * before a commit whose invalidation has already passed; a load that overlaps
+ * an invalidation is therefore not kept.
+ */
+@Service
+public class SavedFilterCounts {
+
+    /** A saved filter with its parsed criteria and compiled queries. */
+    public record Compiled(SavedFilter filter, TicketCriteria criteria, TicketFilterQuery query) {
+
+        public UUID id() {
+            return filter.getId();
+        }
+    }
+
+    private record Count(TicketCriteria criteria, long value) {
+    }
+
+    private final SavedFilterRepository savedFilterRepository;
+    private final EntityManager em;
+    private final TransactionTemplate readOnly;
+
+    private final Cache<UUID, List<Compiled>> filters;
+    private final Cache<UUID, Count> counts;
+    private final AtomicLong filterChanges = new AtomicLong();
+    private final AtomicLong countChanges = new AtomicLong();
+
+    public SavedFilterCounts(SavedFilterRepository savedFilterRepository,
+                             EntityManager em,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${tsystem.filters.cache.max-size:10000}") long maxSize,
+                             @Value("${tsystem.cache.ttl-ms:600000}") long ttlMs) {
+        this.savedFilterRepository = savedFilterRepository;
+        this.em = em;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.filters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    /** The user's filters by name, compiled on first use. */
+    public List<Compiled> filters(UUID ownerId) {
+        List<Compiled> cached = filters.getIfPresent(ownerId);
+        if (cached != null) return cached;
+
+        long seen = filterChanges.get();
+        List<Compiled> loaded = savedFilterRepository.findByOwnerIdOrderByNameAsc(ownerId).stream()
+                .map(this::compile)
+                .toList();
+        filters.put(ownerId, loaded);
+        if (filterChanges.get() != seen) filters.invalidate(ownerId);
+        return loaded;
+    }
+
+    /** Result counts by filter id; the missing ones are counted in one read-only transaction. */
+    public Map<UUID, Long> counts(List<Compiled> wanted) {
+        Map<UUID, Long> result = new HashMap<>();
+        List<Compiled> missing = new ArrayList<>();
+        for (Compiled f : wanted) {
+            Count c = counts.getIfPresent(f.id());
+            if (c != null) {
+                result.put(f.id(), c.value());
+            } else {
+                missing.add(f);
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        long seen = countChanges.get();
+        Map<UUID, Long> loaded = readOnly.execute(s -> {
+            Map<UUID, Long> m = new HashMap<>();
+            missing.forEach(f -> m.put(f.id(), f.query().count(em)));
+            return m;
+        });
+        missing.forEach(f -> counts.put(f.id(), new Count(f.criteria(), loaded.get(f.id()))));
+        if (countChanges.get() != seen) counts.invalidateAll(loaded.keySet());
+        result.putAll(loaded);
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketFields(TicketFieldsEvent event) {
+        dropCounts(c -> c.criteria().changedBy(event.before(), event.after()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSavedFilter(SavedFilterEvent event) {
+        filterChanges.incrementAndGet();
+        filters.invalidate(event.ownerId());
+        countChanges.incrementAndGet();
+        counts.invalidate(event.filterId());
+    }
+
+    // once the status commits and again once the tickets have moved, a count in between may be partial
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArchiveEvent(ProjectArchiveEvent event) {
+        forget(event.projectId());
+    }
+
+    /**
+     * Drops the counts that may include the project's tickets, and the filter
+     * lists that name the project; for when its tickets move or go all at once.
+     */
+    public void forget(UUID projectId) {
+        filterChanges.incrementAndGet();
+        filters.asMap().values().removeIf(list -> list.stream()
+                .anyMatch(f -> projectId.equals(f.criteria().projectId())));
+        dropCounts(c -> c.criteria().projectId() == null || projectId.equals(c.criteria().projectId()));
+    }
+
+    private void dropCounts(Predicate<Count> stale) {
+        // first, so a load running now does not keep its result, see the class comment
+        countChanges.incrementAndGet();
+        counts.asMap().values().removeIf(stale);
+    }
+
+    private Compiled compile(SavedFilter f) {
+        TicketCriteria criteria = TicketCriteria.of(f);
+        return new Compiled(f, criteria, TicketFilterQuery.compile(em.getCriteriaBuilder(), criteria));
+    }
+}
@@ -0,0 +1,166 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.SavedFilter;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.request.SavedFilterRequest;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.dto.response.SavedFilterResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.SavedFilterEvent;
+import com.tsystem.model.filter.TicketCriteria;
+import com.tsystem.model.mapper.SavedFilterMapper;
+import com.tsystem.model.user.SystemPermission;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.SavedFilterRepository;
+import com.tsystem.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ticket queries saved per user, listed with their result counts. Users who
+ * may not read every ticket can only save filters on their own tickets.
+ */
+@Service
+@RequiredArgsConstructor
+public class SavedFilterService {
+
+    public static final int MAX_FILTERS = 50;
+    public static final int MAX_PAGE = 200;
+
+    private final SavedFilterRepository savedFilterRepository;
+    private final UserRepository userRepository;
+    private final ProjectService projectService;
+    private final SavedFilterCounts savedFilterCounts;
+    private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * The user's filters by name with their counts. Not transactional: once
+     * the filters and counts are cached nothing here touches the database.
+     */
+    public List<SavedFilterResponse> list(UUID ownerId) {
+        List<SavedFilterCounts.Compiled> filters = savedFilterCounts.filters(ownerId);
+        Map<UUID, Long> counts = savedFilterCounts.counts(filters);
+        return filters.stream()
+                .map(f -> SavedFilterMapper.toResponse(f.filter(), counts.get(f.id())))
+                .toList();
+    }
+
+    @Transactional
+    public SavedFilter create(User me, SavedFilterRequest req) {
+        if (savedFilterRepository.countByOwnerId(me.getId()) >= MAX_FILTERS) {
+            throw new BadRequestException("At most " + MAX_FILTERS + " saved filters per user");
+        }
+        SavedFilter f = SavedFilter.builder().ownerId(me.getId()).build();
+        apply(me, f, req);
+        SavedFilter saved = savedFilterRepository.save(f);
+        eventPublisher.publishEvent(new SavedFilterEvent(me.getId(), saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public SavedFilter update(User me, UUID filterId, SavedFilterRequest req) {
+        SavedFilter f = getFilter(me.getId(), filterId);
+        apply(me, f, req);
+        eventPublisher.publishEvent(new SavedFilterEvent(me.getId(), filterId));
+        return f;
+    }
+
+    @Transactional
+    public void delete(User me, UUID filterId) {
+        savedFilterRepository.delete(getFilter(me.getId(), filterId));
+        eventPublisher.publishEvent(new SavedFilterEvent(me.getId(), filterId));
+    }
+
+    /**
+     * One page of the filter's tickets in id order, with the compiled query.
+     * The next page starts after {@code cursor}, the id of the last ticket of
+     * the previous one.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Ticket> tickets(UUID ownerId, UUID filterId, String cursor, int limit) {
+        SavedFilterCounts.Compiled filter = savedFilterCounts.filters(ownerId).stream()
+                .filter(f -> f.id().equals(filterId))
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Saved filter not found"));
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE));
+        List<Ticket> rows = filter.query().page(em, cursor(cursor), pageSize + 1);
+        if (rows.size() <= pageSize) return new KeysetPage<>(rows, null);
+        List<Ticket> items = List.copyOf(rows.subList(0, pageSize));
+        return new KeysetPage<>(items, items.getLast().getId().toString());
+    }
+
+    private void apply(User me, SavedFilter f, SavedFilterRequest req) {
+        String name = req.getName().strip();
+        savedFilterRepository.findByOwnerIdAndNameIgnoreCase(me.getId(), name)
+                .filter(other -> !other.getId().equals(f.getId()))
+                .ifPresent(other -> {
+                    throw new BadRequestException("A saved filter with this name exists");
+                });
+        if (req.getProjectId() != null) requireActive(req.getProjectId());
+
+        f.setName(name);
+        f.setProjectId(req.getProjectId());
+        f.setTypes(TicketCriteria.join(orEmpty(req.getTypes())));
+        f.setPriorities(TicketCriteria.join(orEmpty(req.getPriorities())));
+        f.setStates(TicketCriteria.join(orEmpty(req.getStates())));
+        f.setUnassigned(SavedFilterMapper.NOBODY.equalsIgnoreCase(req.getAssignee()));
+        f.setAssigneeId(f.isUnassigned() ? null : assignee(me, req.getAssignee()));
+
+        if (!me.getRole().getPermissions().contains(SystemPermission.TICKET_READ_ALL)
+                && !me.getId().equals(f.getAssigneeId())) {
+            throw new BadRequestException("Only filters on your own tickets can be saved");
+        }
+    }
+
+    private UUID assignee(User me, String assignee) {
+        if (assignee == null || assignee.isBlank()) return null;
+        if (SavedFilterMapper.ME.equalsIgnoreCase(assignee)) return me.getId();
+        UUID id;
+        try {
+            id = UUID.fromString(assignee);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Assignee must be \"me\", \"none\" or a user id");
+        }
+        if (!userRepository.existsById(id)) throw new BadRequestException("Unknown assignee");
+        return id;
+    }
+
+    // tickets of archived projects are not counted, a filter on one would always be empty
+    private void requireActive(UUID projectId) {
+        ProjectResponse project = projectService.lookup(projectId)
+                .orElseThrow(() -> new NotFoundException("Project not found"));
+        if (project.getStatus() == ProjectStatus.ARCHIVED) {
+            throw new BadRequestException("Project is archived");
+        }
+    }
+
+    private SavedFilter getFilter(UUID ownerId, UUID filterId) {
+        return savedFilterRepository.findByIdAndOwnerId(filterId, ownerId)
+                .orElseThrow(() -> new NotFoundException("Saved filter not found"));
+    }
+
+    private static <E> Set<E> orEmpty(Set<E> values) {
+        return values == null ? Set.of() : values;
+    }
+
+    private static UUID cursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return UUID.fromString(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.tsystem.service;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.ProjectStateSnapshot;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.dto.response.StateSeriesResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.ProjectStateSnapshotRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Daily per-state ticket counts of every active project, for burndown and
+ * cumulative-flow charts.
+ *
+ * Once a night the day just ended is counted for each project: the state of
+ * every ticket as of midnight is its last state change before it, one index
+ * probe per ticket. A project without snapshots, or one that missed more than
+ * a month of them, is backfilled instead by replaying its whole state history
+ * once: the changes are streamed in ticket order into per-day deltas, whose
+ * running sum gives every day at once. Projects are processed in parallel,
+ * each in its own transaction. On demand, a project is caught up the same way
+ * and today is counted as of now; the nightly run later overwrites it.
+ *
+ * Days are UTC. Deleted tickets take their history with them, so a backfill
+ * can only count the tickets that still exist.
+ */
+@Slf4j
+@Service
+public class StateSnapshotService {
+
+    static final int MAX_CATCH_UP_DAYS = 31;
+    public static final int MAX_SERIES_DAYS = 731;
+
+    // the state at the end of the day is the last change before midnight, open if there was none
+    static final String STATE_AS_OF = """
+            select state, count(*) as tickets from (
+                select coalesce((select h.new_value from ticket_history h
+                                 where h.ticket_id = t.id and h.field = 'state' and h.created_at < ?
+                                 order by h.created_at desc, h.id desc
+                                 limit 1), 'open') as state
+                from tickets t
+                where t.project_id = ? and t.created_at < ?
+            ) s
+            group by state
+            """;
+
+    static final String STATE_CHANGES = """
+            select cast(t.id as varchar(36)) as ticket_id, t.created_at as ticket_created_at,
+                   h.new_value, h.created_at
+            from tickets t
+            left join ticket_history h on h.ticket_id = t.id and h.field = 'state'
+            where t.project_id = ?
+            order by t.id, h.created_at, h.id
+            """;
+
+    private static final String INSERT = """
+            insert into project_state_snapshots
+                (project_id, snapshot_day, open_count, in_progress_count, done_count)
+            values (?, ?, ?, ?, ?)
+            """;
+
+    private static final TicketState[] STATES = TicketState.values();
+    private static final int FETCH_SIZE = 1000;
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectRepository projectRepository;
+    private final ProjectStateSnapshotRepository snapshotRepository;
+    private final ProjectService projectService;
+    private final TransactionTemplate tx;
+    private final ExecutorService workers;
+
+    public StateSnapshotService(JdbcTemplate jdbcTemplate,
+                                ProjectRepository projectRepository,
+                                ProjectStateSnapshotRepository snapshotRepository,
+                                ProjectService projectService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${tsystem.snapshots.threads:4}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectRepository = projectRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.projectService = projectService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.workers = Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("state-snapshot-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Scheduled(cron = "${tsystem.snapshots.cron:0 5 0 * * *}", zone = "UTC")
+    public void nightly() {
+        LocalDate yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        List<Callable<Void>> jobs = new ArrayList<>();
+        for (UUID projectId : projectRepository.findIdsByStatus(ProjectStatus.ACTIVE)) {
+            jobs.add(() -> {
+                try {
+                    catchUp(projectId, yesterday);
+                } catch (DataAccessException e) {
+                    // e.g. another instance wrote the same day first; the next run catches up
+                    log.warn("State snapshot of project {} failed", projectId, e);
+                }
+                return null;
+            });
+        }
+        try {
+            workers.invokeAll(jobs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Fills the missing days of a project through yesterday and counts today as of now. */
+    public void refresh(UUID projectId) {
+        if (requireProject(projectId).getStatus() == ProjectStatus.ARCHIVED) {
+            throw new BadRequestException("Project is archived");
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        catchUp(projectId, today.minusDays(1));
+        snapshot(projectId, today);
+    }
+
+    @Transactional(readOnly = true)
+    public StateSeriesResponse getSeries(UUID projectId, LocalDate from, LocalDate to) {
+        requireProject(projectId);
+        if (from.isAfter(to)) throw new BadRequestException("from is after to");
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_SERIES_DAYS) throw new BadRequestException("At most " + MAX_SERIES_DAYS + " days");
+
+        int[][] counts = new int[STATES.length][days];
+        int[] remaining = new int[days];
+        List<ProjectStateSnapshot> rows = snapshotRepository.findByProjectIdAndDayBetweenOrderByDayAsc(projectId, from, to);
+        int next = 0;
+        ProjectStateSnapshot current = null;
+        for (int d = 0; d < days; d++) {
+            LocalDate day = from.plusDays(d);
+            while (next < rows.size() && !rows.get(next).getDay().isAfter(day)) current = rows.get(next++);
+            // a day the job missed shows the day before
+            if (current == null) continue;
+            for (TicketState state : STATES) counts[state.ordinal()][d] = current.count(state);
+            remaining[d] = current.getOpenCount() + current.getInProgressCount();
+        }
+
+        Map<TicketState, int[]> states = new EnumMap<>(TicketState.class);
+        for (TicketState state : STATES) states.put(state, counts[state.ordinal()]);
+        return StateSeriesResponse.builder()
+                .projectId(projectId)
+                .from(from)
+                .to(to)
+                .states(states)
+                .remaining(remaining)
+                .build();
+    }
+
+    void catchUp(UUID projectId, LocalDate through) {
+        LocalDate last = snapshotRepository.findLastDay(projectId).orElse(null);
+        if (last == null || ChronoUnit.DAYS.between(last, through) > MAX_CATCH_UP_DAYS) {
+            backfill(projectId, through);
+            return;
+        }
+        // the last day again: it may have been counted before it ended
+        for (LocalDate day = last; !day.isAfter(through); day = day.plusDays(1)) {
+            snapshot(projectId, day);
+        }
+    }
+
+    /** Counts one day, as of its end or now, whichever is earlier. */
+    void snapshot(UUID projectId, LocalDate day) {
+        OffsetDateTime end = day.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime asOf = end.isAfter(OffsetDateTime.now()) ? OffsetDateTime.now() : end;
+        int[] counts = new int[STATES.length];
+        jdbcTemplate.query(STATE_AS_OF, (RowCallbackHandler) rs -> {
+            TicketState state = valueOf(rs.getString("state"));
+            if (state != null) counts[state.ordinal()] += rs.getInt("tickets");
+        }, asOf, projectId, asOf);
+        snapshotRepository.save(ProjectStateSnapshot.of(projectId, day, counts));
+    }
+
+    /** Replays the project's state history into every day up to {@code through}, replacing what is there. */
+    void backfill(UUID projectId, LocalDate through) {
+        tx.executeWithoutResult(s -> {
+            OffsetDateTime first = jdbcTemplate.queryForObject(
+                    "select min(created_at) from tickets where project_id = ?", OffsetDateTime.class, projectId);
+            jdbcTemplate.update("delete from project_state_snapshots where project_id = ? and snapshot_day <= ?",
+                    projectId, Date.valueOf(through));
+            if (first == null) return;
+
+            Replay replay = new Replay(epochDay(first), through.toEpochDay());
+            if (replay.days <= 0) return;
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(STATE_CHANGES);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setObject(1, projectId);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                String ticketId = rs.getString("ticket_id");
+                if (!ticketId.equals(replay.ticketId)) {
+                    replay.ticket(ticketId, epochDay(rs.getObject("ticket_created_at", OffsetDateTime.class)));
+                }
+                OffsetDateTime at = rs.getObject("created_at", OffsetDateTime.class);
+                TicketState state = valueOf(rs.getString("new_value"));
+                if (at != null && state != null) replay.change(state.ordinal(), epochDay(at));
+            });
+
+            int[][] counts = replay.counts();
+            List<Object[]> rows = new ArrayList<>(replay.days);
+            for (int d = 0; d < replay.days; d++) {
+                rows.add(new Object[]{projectId, Date.valueOf(LocalDate.ofEpochDay(replay.firstDay + d)),
+                        counts[TicketState.open.ordinal()][d],
+                        counts[TicketState.in_progress.ordinal()][d],
+                        counts[TicketState.done.ordinal()][d]});
+            }
+            for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT, rows.subList(i, Math.min(i + BATCH_SIZE, rows.size())));
+            }
+        });
+    }
+
+    /** Per-day changes of the state counts, [state][day]; their running sum is the count at each day's end. */
+    static final class Replay {
+        private static final int OPEN = TicketState.open.ordinal();
+
+        final long firstDay;
+        final int days;
+        private final int[][] delta;
+        private String ticketId;
+        private int state;
+
+        Replay(long firstDay, long lastDay) {
+            this.firstDay = firstDay;
+            this.days = (int) Math.max(0, lastDay - firstDay + 1);
+            this.delta = new int[STATES.length][days];
+        }
+
+        // every ticket starts open
+        void ticket(String ticketId, long createdDay) {
+            this.ticketId = ticketId;
+            this.state = OPEN;
+            move(-1, OPEN, createdDay);
+        }
+
+        void change(int next, long day) {
+            if (next == state) return;
+            move(state, next, day);
+            state = next;
+        }
+
+        private void move(int from, int to, long day) {
+            int d = (int) Math.max(0, day - firstDay);
+            if (d >= days) return;
+            if (from >= 0) delta[from][d]--;
+            delta[to][d]++;
+        }
+
+        int[][] counts() {
+            int[][] counts = new int[STATES.length][days];
+            for (int s = 0; s < STATES.length; s++) {
+                int running = 0;
+                for (int d = 0; d < days; d++) {
+                    running += delta[s][d];
+                    counts[s][d] = running;
+                }
+            }
+            return counts;
+        }
+    }
+
+    private ProjectResponse requireProject(UUID projectId) {
+        return projectService.lookup(projectId).orElseThrow(() -> new NotFoundException("Project not found"));
+    }
+
+    private static long epochDay(OffsetDateTime at) {
+        return Math.floorDiv(at.toEpochSecond(), 86_400);
+    }
+
+    private static TicketState valueOf(String name) {
+        if (name == null) return null;
+        try {
+            return TicketState.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
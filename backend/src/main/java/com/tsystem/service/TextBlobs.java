@@ -0,0 +1,74 @@
+package com.tsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Long text bodies in the {@link BlobStore}: the same stack trace or log
+ * excerpt pasted into many comments is stored once, the rows keep its hash
+ * instead of the text and count as its references. Shorter text stays in the
+ * row, where reading it costs nothing extra.
+ *
+ * Blobs never change, so their text is cached by hash without expiry, up to
+ * a total length.
+ */
+@Service
+public class TextBlobs {
+
+    private static final long MAX_CACHED_CHARS = 16L * 1024 * 1024;
+
+    private final BlobStore blobStore;
+    private final int threshold;
+    private final Cache<String, String> texts = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_CHARS)
+            .<String, String>weigher((hash, text) -> text.length())
+            .build();
+
+    public TextBlobs(BlobStore blobStore,
+                     @Value("${tsystem.blobs.text-threshold:4096}") int threshold) {
+        this.blobStore = blobStore;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Stores {@code text} in the blob store, taking one reference, if it is at
+     * least the threshold long in UTF-8; returns its hash, or null for text
+     * that stays in the row. The reference commits with the caller's rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String acquire(String text) {
+        if (text == null) return null;
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < threshold) return null;
+        BlobStore.Received received = blobStore.receive(new ByteArrayInputStream(bytes), bytes.length);
+        try {
+            String hash = blobStore.acquire(received);
+            texts.put(hash, text);
+            return hash;
+        } catch (RuntimeException e) {
+            blobStore.discard(received);
+            throw e;
+        }
+    }
+
+    /** The text stored under {@code hash}. */
+    public String read(String hash) {
+        return texts.get(hash, h -> {
+            try {
+                return Files.readString(blobStore.path(h), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
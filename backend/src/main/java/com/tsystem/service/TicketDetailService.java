@@ -0,0 +1,82 @@
+package com.tsystem.service;
+
+import com.tsystem.model.TicketComment;
+import com.tsystem.model.TicketHistory;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.TicketDetailResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.mapper.TicketCommentMapper;
+import com.tsystem.model.mapper.TicketHistoryMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Everything the ticket detail page needs in one call: the ticket, the newest
+ * page of comments and of history, and short profiles of their authors.
+ * Description changes in the history carry the whole texts, not splices.
+ *
+ * The three reads are independent and run side by side on virtual threads,
+ * each in its own read-only transaction. The authors are then resolved from
+ * the UserDirectory.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketDetailService {
+
+    private final TicketService ticketService;
+    private final UserDirectory userDirectory;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TicketDetailResponse get(UUID projectId, UUID ticketId, int limit) {
+        CompletableFuture<TicketResponse> ticket = CompletableFuture.supplyAsync(
+                () -> ticketService.getResponse(projectId, ticketId), executor);
+        CompletableFuture<KeysetPage<TicketComment>> comments = CompletableFuture.supplyAsync(
+                () -> ticketService.getComments(ticketId, null, limit, Sort.Direction.DESC), executor);
+        CompletableFuture<KeysetPage<TicketHistory>> history = CompletableFuture.supplyAsync(
+                () -> ticketService.getHistory(projectId, ticketId, null, limit, Sort.Direction.DESC, true), executor);
+
+        // the ticket first, so a missing one is reported as such
+        TicketResponse t = join(ticket);
+        KeysetPage<TicketComment> c = join(comments);
+        KeysetPage<TicketHistory> h = join(history);
+
+        Set<UUID> authorIds = new HashSet<>();
+        c.items().forEach(comment -> authorIds.add(comment.getAuthorId()));
+        h.items().forEach(entry -> authorIds.add(entry.getAuthorId()));
+
+        return TicketDetailResponse.builder()
+                .ticket(t)
+                .comments(TicketCommentMapper.toResponseList(c.items()))
+                .commentsCursor(c.nextCursor())
+                .history(TicketHistoryMapper.toResponseList(h.items()))
+                .historyCursor(h.nextCursor())
+                .users(userDirectory.find(authorIds))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // surface NotFoundException and friends as if called directly
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.tsystem.service;
+
+import com.tsystem.model.event.TicketEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans ticket events out to the SSE connections opened per project.
+ *
+ * An idle connection holds no thread (the servlet request is async). Every
+ * subscriber has its own bounded buffer which is drained on a virtual thread
+ * only while there is something to send, so a slow client never blocks the
+ * publisher or the other subscribers. A subscriber whose buffer overflows is
+ * disconnected; the browser reconnects and reloads the list.
+ */
+@Slf4j
+@Service
+public class TicketEventBroadcaster {
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final long timeoutMs;
+    private final int bufferSize;
+
+    public TicketEventBroadcaster(@Value("${tsystem.events.timeout-ms:1800000}") long timeoutMs,
+                                  @Value("${tsystem.events.buffer-size:256}") int bufferSize) {
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+    }
+
+    public SseEmitter subscribe(UUID projectId) {
+        return register(projectId, new SseEmitter(timeoutMs));
+    }
+
+    public SseEmitter register(UUID projectId, SseEmitter emitter) {
+        Subscriber s = new Subscriber(projectId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(s));
+        emitter.onTimeout(() -> remove(s));
+        emitter.onError(e -> remove(s));
+        subscribers.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(s);
+        return emitter;
+    }
+
+    public int subscriberCount(UUID projectId) {
+        Set<Subscriber> set = subscribers.get(projectId);
+        return set == null ? 0 : set.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        Set<Subscriber> set = subscribers.get(event.projectId());
+        if (set == null || set.isEmpty()) return;
+
+        // built once and shared: SseEventBuilder.build() is not idempotent
+        Set<DataWithMediaType> sse = SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(event.type().name())
+                .data(event, MediaType.APPLICATION_JSON)
+                .build();
+
+        for (Subscriber s : set) {
+            offer(s, sse);
+        }
+    }
+
+    /** Keeps proxies from closing idle connections and detects dead clients. */
+    @Scheduled(fixedRateString = "${tsystem.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(set -> set.forEach(s -> offer(s, ping)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter().complete()));
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void offer(Subscriber s, Set<DataWithMediaType> sse) {
+        if (!s.queue().offer(sse)) {
+            // slow consumer: drop it instead of buffering without bound
+            log.debug("SSE buffer full for project {}, closing subscriber", s.projectId());
+            remove(s);
+            s.emitter().complete();
+            return;
+        }
+        if (s.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(s));
+        }
+    }
+
+    private void drain(Subscriber s) {
+        do {
+            Set<DataWithMediaType> next;
+            while ((next = s.queue().poll()) != null) {
+                try {
+                    s.emitter().send(next);
+                } catch (Exception e) {
+                    remove(s);
+                    s.emitter().completeWithError(e);
+                    s.queue().clear();
+                    return;
+                }
+            }
+            s.draining().set(false);
+            // an offer may have slipped in between the last poll and the reset
+        } while (!s.queue().isEmpty() && s.draining().compareAndSet(false, true));
+    }
+
+    private void remove(Subscriber s) {
+        subscribers.computeIfPresent(s.projectId(), (id, set) -> {
+            set.remove(s);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private record Subscriber(UUID projectId,
+                              SseEmitter emitter,
+                              Queue<Set<DataWithMediaType>> queue,
+                              AtomicBoolean draining) {
+
+        Subscriber(UUID projectId, SseEmitter emitter, Queue<Set<DataWithMediaType>> queue) {
+            this(projectId, emitter, queue, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.tsystem.service;
+
+import com.tsystem.model.enums.HistoryRetentionAction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of ticket_history.
+ *
+ * Partitions for the current month and the next {@code ahead} months are
+ * created at startup and once a day, so inserts never have to wait for one.
+ * Rows that reached the default partition because a month was missing, e.g.
+ * after runs that failed, are moved into that month's partition when it is
+ * created.
+ * With a retention period set, partitions entirely older than it are
+ * detached, a catalog change instead of a long DELETE, and then dropped or
+ * left in place for export. Months are UTC.
+ */
+@Slf4j
+@Service
+public class TicketHistoryPartitionService {
+
+    private static final String PARENT = "ticket_history";
+    private static final String DEFAULT_PARTITION = "ticket_history_default";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION = Pattern.compile("ticket_history_p(\\d{4})(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final HistoryRetentionAction retentionAction;
+
+    public TicketHistoryPartitionService(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${tsystem.history.partitions.enabled:true}") boolean enabled,
+                                         @Value("${tsystem.history.partitions.ahead:3}") int monthsAhead,
+                                         @Value("${tsystem.history.retention.months:0}") int retentionMonths,
+                                         @Value("${tsystem.history.retention.action:DROP}") HistoryRetentionAction retentionAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${tsystem.history.partitions.cron:0 15 3 * * *}", zone = "UTC")
+    public void maintain() {
+        if (!enabled) return;
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        try {
+            ensurePartitions(current);
+        } catch (DataAccessException e) {
+            // not harmless: until the next run succeeds, new history goes to the default partition
+            log.error("ticket_history partitions from {} not created, new rows land in {}",
+                    current, DEFAULT_PARTITION, e);
+        }
+        try {
+            retire(current);
+        } catch (DataAccessException e) {
+            // another instance may be doing the same, the next run catches up
+            log.warn("ticket_history partition retirement failed", e);
+        }
+    }
+
+    /** Creates the partitions for {@code current} and the months ahead that do not exist yet. */
+    public void ensurePartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            Boolean stranded = jdbcTemplate.queryForObject(
+                    "select to_regclass(?) is null and exists (select 1 from " + DEFAULT_PARTITION
+                            + " where created_at >= ? and created_at < ?)",
+                    Boolean.class, partitionName(month), start(month), start(month.plusMonths(1)));
+            if (Boolean.TRUE.equals(stranded)) {
+                adopt(month);
+            } else {
+                jdbcTemplate.execute(createPartition(month));
+            }
+        }
+    }
+
+    /**
+     * Creates the month's partition and moves its rows out of the default
+     * partition. Postgres refuses the new partition while the default one
+     * holds rows of its range, so the default partition is detached for the
+     * move and attached again, all in one transaction.
+     */
+    private void adopt(YearMonth month) {
+        String name = partitionName(month);
+        Object[] range = {start(month), start(month.plusMonths(1))};
+        Integer moved = tx.execute(s -> {
+            jdbcTemplate.execute("set local lock_timeout = '5s'");
+            jdbcTemplate.execute("alter table " + PARENT + " detach partition " + DEFAULT_PARTITION);
+            jdbcTemplate.execute(createPartition(month));
+            jdbcTemplate.update("insert into " + name + " select * from " + DEFAULT_PARTITION
+                    + " where created_at >= ? and created_at < ?", range);
+            int n = jdbcTemplate.update("delete from " + DEFAULT_PARTITION
+                    + " where created_at >= ? and created_at < ?", range);
+            jdbcTemplate.execute("alter table " + PARENT + " attach partition " + DEFAULT_PARTITION + " default");
+            return n;
+        });
+        log.warn("ticket_history partition {} created late, {} rows moved out of {}", name, moved, DEFAULT_PARTITION);
+    }
+
+    /**
+     * Detaches, and depending on the retention action drops, every monthly
+     * partition that ends before the retention window starts.
+     *
+     * @return the names of the partitions taken out of ticket_history
+     */
+    public List<String> retire(YearMonth current) {
+        if (retentionMonths <= 0) return List.of();
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+
+        List<String> retired = new ArrayList<>();
+        for (String name : partitions()) {
+            Matcher m = PARTITION.matcher(name);
+            if (!m.matches()) continue;
+            YearMonth month = YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+            if (!month.isBefore(oldestKept)) continue;
+
+            tx.executeWithoutResult(s -> {
+                // DETACH briefly locks the parent; give up rather than queue every writer behind us
+                jdbcTemplate.execute("set local lock_timeout = '5s'");
+                jdbcTemplate.execute("alter table " + PARENT + " detach partition " + name);
+                if (retentionAction == HistoryRetentionAction.DROP) {
+                    jdbcTemplate.execute("drop table " + name);
+                }
+            });
+            log.info("ticket_history partition {} {}", name,
+                    retentionAction == HistoryRetentionAction.DROP ? "dropped" : "detached for export");
+            retired.add(name);
+        }
+
+        // stragglers outside the monthly ranges; the default partition stays small
+        jdbcTemplate.update("delete from " + DEFAULT_PARTITION + " where created_at < ?",
+                start(oldestKept));
+        return retired;
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i "
+                        + "join pg_class c on c.oid = i.inhrelid "
+                        + "join pg_class p on p.oid = i.inhparent "
+                        + "where p.relname = ? order by c.relname",
+                String.class, PARENT);
+    }
+
+    private static String createPartition(YearMonth month) {
+        return "create table if not exists " + partitionName(month)
+                + " partition of " + PARENT
+                + " for values from ('" + start(month) + "') to ('" + start(month.plusMonths(1)) + "')";
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "ticket_history_p" + month.format(SUFFIX);
+    }
+
+    private static OffsetDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -1,40 +1,105 @@
 package com.tsystem.service;
 
+import com.tsystem.configuration.CacheConfiguration;
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.CursorExpiredException;
 import com.tsystem.exception.NotFoundException;
 import com.tsystem.model.Project;
+import com.tsystem.model.TextSplice;
 import com.tsystem.model.Ticket;
 import com.tsystem.model.TicketComment;
 import com.tsystem.model.TicketHistory;
+import com.tsystem.model.TicketTombstone;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.KeysetCursor;
+import com.tsystem.model.dto.KeysetPage;
 import com.tsystem.model.dto.request.TicketCommentRequest;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.model.event.TicketFieldsEvent;
+import com.tsystem.model.filter.TicketFields;
+import com.tsystem.model.mapper.TicketCommentMapper;
+import com.tsystem.model.mapper.TicketMapper;
 import com.tsystem.model.user.User;
 
 import com.tsystem.model.dto.request.TicketCreateRequest;
 import com.tsystem.model.dto.request.TicketUpdateRequest;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.dto.response.TicketChangesResponse;
+import com.tsystem.model.dto.response.TicketResponse;
 import com.tsystem.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TicketService {
 
     private final TicketRepository ticketRepository;
     private final ProjectRepository projectRepository;
+    private final ProjectService projectService;
     private final UserRepository userRepository;
     private final TicketCommentRepository ticketCommentRepository;
     private final TicketHistoryRepository ticketHistoryRepository;
+    private final TicketTombstoneRepository ticketTombstoneRepository;
+    private final TicketAttachmentRepository ticketAttachmentRepository;
+    private final BlobStore blobStore;
+    private final TextBlobs textBlobs;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public static final int MAX_CHANGES_PAGE = 1000;
+    public static final int MAX_ACTIVITY_PAGE = 1000;
+
+    // page size when no limit is given; one below MAX_VALUE, the extra row must fit
+    private static final int UNPAGED = Integer.MAX_VALUE - 1;
+
+    private static final String DESCRIPTION = "description";
+
+    /** Descriptions at least this long are logged as a TextSplice instead of both full values. */
+    static final int SPLICE_MIN_LENGTH = 256;
+
+    /**
+     * Rows written less than this long ago are held back from delta sync, so a
+     * slower transaction that commits an older updated_at cannot slip behind a
+     * cursor that was already handed out.
+     */
+    @Value("${tsystem.sync.commit-lag-ms:2000}")
+    private long commitLagMs = 2000;
+
+    /**
+     * Tombstones are kept this long. A cursor older than that could have
+     * missed a deletion and is rejected, the client syncs again from scratch.
+     */
+    @Value("${tsystem.sync.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays = 30;
 
     @Transactional
     public Ticket create(UUID projectId, TicketCreateRequest req, String username) {
 
-        Project p = projectRepository.findById(projectId)
-                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        requireWritable(projectId);
+        Project p = projectRepository.getReferenceById(projectId);
 
         User author = getUserByUsername(username);
 
@@ -58,6 +123,8 @@ public class TicketService {
                 null
         );
 
+        eventPublisher.publishEvent(TicketEvent.created(TicketMapper.toResponse(saved)));
+        eventPublisher.publishEvent(TicketFieldsEvent.created(TicketFields.of(saved)));
         return saved;
     }
 
@@ -68,61 +135,112 @@ public class TicketService {
         userRepository.findById(assigneeId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return ticketRepository.findByAssigneeId(assigneeId);
+        return ticketRepository.findByAssigneeIdOrderByCreatedAtAscIdAsc(assigneeId);
+    }
+
+    /** Only the requested fields, selected as columns. */
+    @Transactional(readOnly = true)
+    public List<TicketResponse> findByAssignee(UUID assigneeId, FieldSet fields) {
+        userRepository.findById(assigneeId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        return ticketRepository.findFieldsByAssigneeId(assigneeId, fields);
     }
 
     @Transactional(readOnly = true)
     public List<Ticket> getAllByProjectId(UUID projectId) {
 
-        Project p = projectRepository.findById(projectId)
-                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        if (requireProject(projectId).getStatus() == ProjectStatus.ARCHIVED) {
+            return ticketRepository.findArchivedByProjectId(projectId).stream()
+                    .map(this::withUsers)
+                    .toList();
+        }
+        return ticketRepository.findByProjectIdOrderByCreatedAtDesc(projectId);
+    }
 
-        return ticketRepository.findByProjectIdOrderByCreatedAtDesc(p.getId());
+    /**
+     * Only the requested fields, selected as columns. The archive table is read
+     * whole and narrowed when the response is written.
+     */
+    @Transactional(readOnly = true)
+    public List<TicketResponse> getAllByProjectId(UUID projectId, FieldSet fields) {
+
+        if (requireProject(projectId).getStatus() == ProjectStatus.ARCHIVED) {
+            return ticketRepository.findArchivedByProjectId(projectId).stream()
+                    .map(this::withUsers)
+                    .map(TicketMapper::toResponse)
+                    .toList();
+        }
+        return ticketRepository.findFieldsByProjectId(projectId, fields);
     }
 
     @Transactional(readOnly = true)
     public Ticket get(UUID projectId, UUID ticketId) {
         return ticketRepository.findByIdAndProjectId(ticketId, projectId)
+                .or(() -> ticketRepository.findArchivedByIdAndProjectId(ticketId, projectId).map(this::withUsers))
                 .orElseThrow(() -> new NotFoundException("Ticket not found"));
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.TICKETS, key = "#projectId + ':' + #ticketId")
+    @Transactional(readOnly = true)
+    public TicketResponse getResponse(UUID projectId, UUID ticketId) {
+        return TicketMapper.toResponse(get(projectId, ticketId));
+    }
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.TICKETS, key = "#projectId + ':' + #ticketId")
     public Ticket update(UUID projectId, UUID ticketId, TicketUpdateRequest req, String username) {
 
+        requireWritable(projectId);
         Ticket t = getTicket(projectId, ticketId);
         User actor = getUserByUsername(username);
+        TicketFields before = TicketFields.of(t);
+        boolean changed = false;
 
         if (!Objects.equals(t.getName(), req.getName())) {
             logHistory(ticketId, actor.getId(),
                     "UPDATED", "name", t.getName(), req.getName());
             t.setName(req.getName());
+            changed = true;
         }
 
         if (!Objects.equals(t.getDescription(), req.getDescription())) {
-            logHistory(ticketId, actor.getId(),
-                    "UPDATED", "description", t.getDescription(), req.getDescription());
+            logTextHistory(ticketId, actor.getId(),
+                    DESCRIPTION, t.getDescription(), req.getDescription());
             t.setDescription(req.getDescription());
+            changed = true;
         }
 
         if (!Objects.equals(t.getPriority(), req.getPriority())) {
             logHistory(ticketId, actor.getId(),
                     "UPDATED", "priority", t.getPriority(), req.getPriority());
             t.setPriority(req.getPriority());
+            changed = true;
         }
 
         if (!Objects.equals(t.getState(), req.getState())) {
             logHistory(ticketId, actor.getId(),
                     "UPDATED", "state", t.getState(), req.getState());
             t.setState(req.getState());
+            changed = true;
         }
 
-        return ticketRepository.save(t);
+        // an unchanged save would send the ticket to every delta-sync client again
+        if (changed) t.setUpdatedAt(OffsetDateTime.now());
+        Ticket saved = ticketRepository.save(t);
+        eventPublisher.publishEvent(TicketEvent.updated(TicketMapper.toResponse(saved)));
+        // name and description edits leave every saved filter's count alone
+        TicketFields after = TicketFields.of(saved);
+        if (!before.equals(after)) eventPublisher.publishEvent(new TicketFieldsEvent(before, after));
+        return saved;
     }
 
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.TICKETS, key = "#projectId + ':' + #ticketId")
     public void delete(UUID projectId, UUID ticketId, String username) {
 
+        requireWritable(projectId);
         Ticket t = getTicket(projectId, ticketId);
         User actor = getUserByUsername(username);
 
@@ -135,9 +253,100 @@ public class TicketService {
                 null
         );
 
+        // the attachment and comment rows go with the ticket, their blob references here
+        blobStore.release(ticketAttachmentRepository.findBlobHashesByTicketIdIn(List.of(ticketId)));
+        blobStore.release(ticketCommentRepository.findTextBlobsByTicketIdIn(List.of(ticketId)));
         ticketRepository.delete(t);
+        ticketTombstoneRepository.save(TicketTombstone.builder()
+                .ticketId(ticketId)
+                .projectId(projectId)
+                .deletedAt(OffsetDateTime.now())
+                .build());
+        eventPublisher.publishEvent(TicketEvent.deleted(projectId, ticketId));
+        eventPublisher.publishEvent(TicketFieldsEvent.deleted(TicketFields.of(t)));
+    }
+
+
+    /**
+     * Tickets created, updated or deleted after the cursor, oldest change first.
+     * Changed tickets and tombstones share one (timestamp, id) ordering, so a
+     * single cursor covers both.
+     */
+    @Transactional(readOnly = true)
+    public TicketChangesResponse getChanges(UUID projectId, String cursor, int limit) {
+        KeysetCursor from = KeysetCursor.decode(cursor);
+        if (cursor != null && !cursor.isBlank() && from.at().isBefore(tombstoneCutoff())) {
+            throw new CursorExpiredException("Cursor has expired, sync again without one");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE));
+        OffsetDateTime upTo = OffsetDateTime.now().minusNanos(commitLagMs * 1_000_000);
+
+        List<Ticket> changed = ticketRepository.findChangedSince(
+                projectId, from.at(), from.id(), upTo, Limit.of(pageSize + 1));
+        List<TicketTombstone> deleted = ticketTombstoneRepository.findDeletedSince(
+                projectId, from.at(), from.id(), upTo, Limit.of(pageSize + 1));
+
+        // merge the two sorted runs and keep the first pageSize entries
+        List<Ticket> pageChanged = new ArrayList<>();
+        List<UUID> pageDeleted = new ArrayList<>();
+        KeysetCursor last = from;
+        int i = 0, j = 0;
+        while (pageChanged.size() + pageDeleted.size() < pageSize
+                && (i < changed.size() || j < deleted.size())) {
+            KeysetCursor c = i < changed.size()
+                    ? KeysetCursor.of(changed.get(i).getUpdatedAt(), changed.get(i).getId()) : null;
+            KeysetCursor d = j < deleted.size()
+                    ? KeysetCursor.of(deleted.get(j).getDeletedAt(), deleted.get(j).getTicketId()) : null;
+
+            if (d == null || (c != null && KeysetCursor.ORDER.compare(c, d) <= 0)) {
+                pageChanged.add(changed.get(i++));
+                last = c;
+            } else {
+                pageDeleted.add(deleted.get(j++).getTicketId());
+                last = d;
+            }
+        }
+
+        return TicketChangesResponse.builder()
+                .changed(pageChanged.stream().map(TicketMapper::toResponse).toList())
+                .deleted(pageDeleted)
+                .cursor(last.encode())
+                .hasMore(i < changed.size() || j < deleted.size())
+                .build();
     }
 
+    /** Deletes the tombstones older than the retention; cursors from before then are rejected anyway. */
+    @Scheduled(cron = "${tsystem.sync.tombstone-cron:0 30 3 * * *}", zone = "UTC")
+    @Transactional
+    public int purgeTombstones() {
+        int deleted = ticketTombstoneRepository.deleteByDeletedAtBefore(tombstoneCutoff());
+        if (deleted > 0) log.info("Deleted {} expired ticket tombstones", deleted);
+        return deleted;
+    }
+
+    private OffsetDateTime tombstoneCutoff() {
+        return OffsetDateTime.now().minusDays(tombstoneRetentionDays);
+    }
+
+    private ProjectResponse requireProject(UUID projectId) {
+        // served from the project cache, the row itself is not needed here
+        return projectService.lookup(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+    }
+
+    private void requireWritable(UUID projectId) {
+        if (requireProject(projectId).getStatus() == ProjectStatus.ARCHIVED) {
+            throw new BadRequestException("Project is archived");
+        }
+    }
+
+    // archived tickets come from a native query without the entity graph; load the
+    // users here, the mapper runs after the transaction has ended
+    private Ticket withUsers(Ticket t) {
+        Hibernate.initialize(t.getAuthor());
+        Hibernate.initialize(t.getAssignee());
+        return t;
+    }
 
     private User getUserByUsername(String username) {
         return userRepository.findByUsername(username).orElseThrow(NotFoundException::new);
@@ -150,24 +359,46 @@ public class TicketService {
 
     // --------- COMMENTS ---------
 
+    /**
+     * One page of a ticket's comments, oldest first for ASC and newest first
+     * for DESC. The returned cursor continues in the same direction. Without
+     * a limit every comment after the cursor comes back in one page.
+     */
     @Transactional(readOnly = true)
-    public List<TicketComment> getComments(UUID ticketId) {
-
-        return ticketCommentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId);
+    public KeysetPage<TicketComment> getComments(UUID ticketId, String cursor, Integer limit, Sort.Direction direction) {
+        int pageSize = activityPageSize(limit);
+        KeysetCursor from = activityCursor(cursor, direction);
+        List<TicketComment> rows = direction.isAscending()
+                ? ticketCommentRepository.findPageAfter(ticketId, from.at(), from.id(), Limit.of(pageSize + 1))
+                : ticketCommentRepository.findPageBefore(ticketId, from.at(), from.id(), Limit.of(pageSize + 1));
+        if (rows.isEmpty() && isArchived(ticketId)) {
+            rows = slice(ticketCommentRepository.findArchivedByTicketId(ticketId),
+                    from, direction, pageSize + 1, TicketService::commentKey);
+        }
+        KeysetPage<TicketComment> page = KeysetPage.of(rows, pageSize, TicketService::commentKey);
+        for (TicketComment c : page.items()) {
+            if (c.getTextBlob() != null) c.setBlobText(textBlobs.read(c.getTextBlob()));
+        }
+        return page;
     }
 
     @Transactional
-    public TicketComment addComment(UUID ticketId, TicketCommentRequest request, String username) {
+    public TicketComment addComment(UUID projectId, UUID ticketId, TicketCommentRequest request, String username) {
 
+        requireWritable(projectId);
+        // the comment is announced on this project's stream, the ticket must be one of its own
+        getTicket(projectId, ticketId);
         User author = getUserByUsername(username);
 
         TicketComment comment = TicketComment.builder()
                 .ticketId(ticketId)
                 .authorId(author.getId())
-                .text(request.getText())
                 .build();
+        setText(comment, request.getText());
 
-        return ticketCommentRepository.save(comment);
+        TicketComment saved = ticketCommentRepository.save(comment);
+        eventPublisher.publishEvent(TicketEvent.commentAdded(projectId, TicketCommentMapper.toResponse(saved)));
+        return saved;
     }
 
     @Transactional
@@ -177,7 +408,7 @@ public class TicketService {
         TicketComment comment = ticketCommentRepository.findById(commentId)
                 .orElseThrow(NotFoundException::new);
 
-        comment.setText(request.getText());
+        setText(comment, request.getText());
         return ticketCommentRepository.save(comment);
     }
 
@@ -188,6 +419,17 @@ public class TicketService {
                 .orElseThrow(NotFoundException::new);
 
         ticketCommentRepository.delete(comment);
+        blobStore.release(Collections.singletonList(comment.getTextBlob()));
+    }
+
+    // a long body goes to the blob store and the row keeps its hash, see TextBlobs
+    private void setText(TicketComment comment, String text) {
+        String previous = comment.getTextBlob();
+        String hash = textBlobs.acquire(text);
+        comment.setText(hash == null ? text : null);
+        comment.setTextBlob(hash);
+        comment.setBlobText(hash == null ? null : text);
+        blobStore.release(Collections.singletonList(previous));
     }
 
     private void logHistory(UUID ticketId,
@@ -210,9 +452,127 @@ public class TicketService {
         ticketHistoryRepository.save(h);
     }
 
+    // frequent edits of a long description would otherwise store it twice per edit
+    private void logTextHistory(UUID ticketId,
+                                UUID authorId,
+                                String field,
+                                String oldValue,
+                                String newValue) {
+
+        if (oldValue == null || newValue == null
+                || oldValue.length() + newValue.length() < SPLICE_MIN_LENGTH) {
+            logHistory(ticketId, authorId, "UPDATED", field, oldValue, newValue);
+            return;
+        }
+
+        TextSplice splice = TextSplice.between(oldValue, newValue);
+        ticketHistoryRepository.save(TicketHistory.builder()
+                .ticketId(ticketId)
+                .authorId(authorId)
+                .action("UPDATED")
+                .field(field)
+                .oldValue(splice.removed())
+                .newValue(splice.inserted())
+                .diffOffset(splice.offset())
+                .createdAt(OffsetDateTime.now())
+                .build());
+    }
+
+    /**
+     * One page of a ticket's history, oldest first for ASC and newest first
+     * for DESC. Description changes may come back as splices (diffOffset
+     * set); with {@code full} they are expanded to the complete old and new
+     * text by walking back from the current description. Without a limit
+     * every entry after the cursor comes back in one page.
+     */
     @Transactional(readOnly = true)
-    public List<TicketHistory> getHistory(UUID ticketId) {
-        return ticketHistoryRepository.findByTicketIdOrderByCreatedAtAsc(ticketId);
+    public KeysetPage<TicketHistory> getHistory(UUID projectId, UUID ticketId, String cursor, Integer limit,
+                                                Sort.Direction direction, boolean full) {
+        int pageSize = activityPageSize(limit);
+        KeysetCursor from = activityCursor(cursor, direction);
+        List<TicketHistory> rows = direction.isAscending()
+                ? ticketHistoryRepository.findPageAfter(ticketId, from.at(), from.id(), Limit.of(pageSize + 1))
+                : ticketHistoryRepository.findPageBefore(ticketId, from.at(), from.id(), Limit.of(pageSize + 1));
+        List<TicketHistory> archived = null;
+        if (rows.isEmpty() && isArchived(ticketId)) {
+            archived = ticketHistoryRepository.findArchivedByTicketId(ticketId);
+            rows = slice(archived, from, direction, pageSize + 1, TicketService::historyKey);
+        }
+        KeysetPage<TicketHistory> page = KeysetPage.of(rows, pageSize, TicketService::historyKey);
+        if (!full || page.items().stream().allMatch(h -> h.getDiffOffset() == null)) {
+            return page;
+        }
+
+        // every later description change is needed, not only the ones on this page
+        List<TicketHistory> descriptions = archived != null
+                ? archived.stream().filter(h -> DESCRIPTION.equals(h.getField())).toList()
+                : ticketHistoryRepository.findByTicketIdAndFieldOrderByCreatedAtAsc(ticketId, DESCRIPTION);
+        Map<UUID, TicketHistory> expanded =
+                expandDescriptions(get(projectId, ticketId).getDescription(), descriptions);
+        return page.map(h -> expanded.getOrDefault(h.getId(), h));
+    }
+
+    /**
+     * Full-text copies of the spliced entries among {@code changes}, keyed by
+     * id. A splice that does not fit the text after it means the chain was
+     * broken, e.g. by a description written past the history; that entry and
+     * the older ones up to the next full value are left as splices.
+     */
+    private static Map<UUID, TicketHistory> expandDescriptions(String current, List<TicketHistory> changes) {
+        Map<UUID, TicketHistory> expanded = new HashMap<>();
+        String after = current;
+        for (TicketHistory h : changes.reversed()) {
+            if (h.getDiffOffset() == null) {
+                after = h.getOldValue();
+                continue;
+            }
+            TextSplice splice = new TextSplice(h.getDiffOffset(),
+                    Objects.requireNonNullElse(h.getOldValue(), ""),
+                    Objects.requireNonNullElse(h.getNewValue(), ""));
+            if (!splice.canUndo(after)) {
+                if (after != null) log.warn("Description history of ticket {} broken at {}", h.getTicketId(), h.getId());
+                after = null;
+                continue;
+            }
+            String before = splice.undo(after);
+            // copies, the managed rows keep their stored form
+            expanded.put(h.getId(), h.toBuilder().oldValue(before).newValue(after).diffOffset(null).build());
+            after = before;
+        }
+        return expanded;
+    }
+
+    private static int activityPageSize(Integer limit) {
+        return limit == null ? UNPAGED : Math.max(1, Math.min(limit, MAX_ACTIVITY_PAGE));
+    }
+
+    // an empty page of a hot ticket is just empty, only a ticket gone from the hot table is looked up in the archive
+    private boolean isArchived(UUID ticketId) {
+        return !ticketRepository.existsById(ticketId);
+    }
+
+    private static KeysetCursor activityCursor(String cursor, Sort.Direction direction) {
+        return KeysetCursor.decode(cursor, direction.isAscending() ? KeysetCursor.START : KeysetCursor.END);
+    }
+
+    // archived tickets are rarely opened; their rows are read whole and paged here
+    private static <T> List<T> slice(List<T> ascending, KeysetCursor from, Sort.Direction direction,
+                                     int limit, Function<T, KeysetCursor> key) {
+        int sign = direction.isAscending() ? 1 : -1;
+        Comparator<T> order = Comparator.comparing(key, KeysetCursor.ORDER);
+        return ascending.stream()
+                .filter(t -> sign * KeysetCursor.ORDER.compare(key.apply(t), from) > 0)
+                .sorted(direction.isAscending() ? order : order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static KeysetCursor commentKey(TicketComment c) {
+        return KeysetCursor.of(c.getCreatedAt(), c.getId());
+    }
+
+    private static KeysetCursor historyKey(TicketHistory h) {
+        return KeysetCursor.of(h.getCreatedAt(), h.getId());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.tsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.model.dto.response.UserShortResponse;
+import com.tsystem.model.event.UserEvent;
+import com.tsystem.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short profiles (id, username, name, surname) of every user, held in memory
+ * so clients can resolve author ids without downloading the whole user list.
+ *
+ * Loaded once at startup and kept current from UserEvents after commit. Ids
+ * it does not know, e.g. users created on another instance, are looked up in
+ * the database once and remembered; so are the ids the database does not
+ * know either, for tsystem.cache.ttl-ms, so repeated requests for deleted or
+ * made-up ids stay in memory too.
+ */
+@Slf4j
+@Service
+public class UserDirectory {
+
+    public static final int MAX_IDS = 1000;
+
+    private static final int MAX_UNKNOWN = 10_000;
+
+    private final UserRepository userRepository;
+
+    private final Map<UUID, UserShortResponse> users = new ConcurrentHashMap<>();
+    private final Cache<UUID, Boolean> unknown;
+
+    public UserDirectory(UserRepository userRepository,
+                         @Value("${tsystem.cache.ttl-ms:600000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.unknown = Caffeine.newBuilder()
+                .maximumSize(MAX_UNKNOWN)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // events that arrived meanwhile are newer than this snapshot
+        userRepository.findAllShort().forEach(u -> users.putIfAbsent(u.getId(), u));
+        log.info("User directory loaded ({} users)", users.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        switch (event.type()) {
+            case SAVED -> {
+                users.put(event.userId(), event.user());
+                unknown.invalidate(event.userId());
+            }
+            case DELETED -> {
+                users.remove(event.userId());
+                unknown.put(event.userId(), Boolean.TRUE);
+            }
+        }
+    }
+
+    /** Profiles of the given users in request order; unknown ids are left out. */
+    public List<UserShortResponse> find(Collection<UUID> ids) {
+        Set<UUID> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " ids per request");
+        }
+
+        List<UUID> missing = distinct.stream()
+                .filter(id -> !users.containsKey(id) && unknown.getIfPresent(id) == null)
+                .toList();
+        if (!missing.isEmpty()) {
+            userRepository.findShortByIdIn(missing).forEach(u -> users.putIfAbsent(u.getId(), u));
+            missing.stream().filter(id -> !users.containsKey(id)).forEach(id -> unknown.put(id, Boolean.TRUE));
+        }
+
+        List<UserShortResponse> found = new ArrayList<>(distinct.size());
+        for (UUID id : distinct) {
+            UserShortResponse u = users.get(id);
+            if (u != null) found.add(u);
+        }
+        return found;
+    }
+}
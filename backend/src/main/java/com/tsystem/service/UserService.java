@@ -1,12 +1,17 @@
 package com.tsystem.service;
 
+import com.tsystem.configuration.CacheConfiguration;
 import com.tsystem.exception.NotFoundException;
 import com.tsystem.model.dto.request.UserRequest;
+import com.tsystem.model.event.UserEvent;
+import com.tsystem.model.mapper.UserMapper;
 import com.tsystem.model.user.SystemRole;
 import com.tsystem.model.user.User;
 import com.tsystem.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +25,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CollectionVersionService collectionVersions;
 
     public List<User> findAll() {
         return userRepository.findAll();
@@ -51,10 +58,15 @@ public class UserService {
                 .password(passwordEncoder.encode(req.getPassword()))
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        collectionVersions.bump(CollectionVersionService.USERS);
+        eventPublisher.publishEvent(UserEvent.saved(UserMapper.toShortResponse(saved)));
+        return saved;
     }
 
+    // cached project and ticket responses embed the owner's and assignee's names
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfiguration.PROJECTS, CacheConfiguration.TICKETS}, allEntries = true)
     public User update(UUID id, UserRequest req) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User not found."));
@@ -70,16 +82,22 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(req.getPassword()));
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        collectionVersions.bump(CollectionVersionService.USERS);
+        eventPublisher.publishEvent(UserEvent.saved(UserMapper.toShortResponse(saved)));
+        return saved;
     }
 
     // DELETE /users/{id}
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfiguration.PROJECTS, CacheConfiguration.TICKETS}, allEntries = true)
     public void delete(UUID id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User not found."));
 
         userRepository.delete(user);
+        collectionVersions.bump(CollectionVersionService.USERS);
+        eventPublisher.publishEvent(UserEvent.deleted(id));
     }
 
     @Transactional
@@ -88,6 +106,7 @@ public class UserService {
         if (updated == 0) {
             throw new EntityNotFoundException("User not found");
         }
+        collectionVersions.bump(CollectionVersionService.USERS);
     }
 
     @Transactional
@@ -96,5 +115,6 @@ public class UserService {
         if (updated == 0) {
             throw new EntityNotFoundException("User not found");
         }
+        collectionVersions.bump(CollectionVersionService.USERS);
     }
 }
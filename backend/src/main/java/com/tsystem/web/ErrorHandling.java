@@ -1,10 +1,17 @@
 package com.tsystem.web;
 
 import com.tsystem.exception.*;
+import com.tsystem.model.dto.response.DuplicateTicketResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestControllerAdvice
 public class ErrorHandling {
     @ResponseStatus(HttpStatus.NOT_FOUND) @ExceptionHandler(NotFoundException.class) String nf(NotFoundException e){return e.getMessage();}
-}
\ No newline at end of file
+    @ResponseStatus(HttpStatus.BAD_REQUEST) @ExceptionHandler(BadRequestException.class) String br(BadRequestException e){return e.getMessage();}
+    @ResponseStatus(HttpStatus.GONE) @ExceptionHandler(CursorExpiredException.class) String gone(CursorExpiredException e){return e.getMessage();}
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE) @ExceptionHandler(PayloadTooLargeException.class) String ptl(PayloadTooLargeException e){return e.getMessage();}
+    @ResponseStatus(HttpStatus.CONFLICT) @ExceptionHandler(DuplicateTicketsException.class) List<DuplicateTicketResponse> dup(DuplicateTicketsException e){return e.getDuplicates();}
+}
@@ -0,0 +1,9 @@
+-- projects are hidden first and removed by a background job
+ALTER TABLE projects ADD COLUMN deleted_at timestamptz NULL;
+
+create index idx_projects_deleted
+    on projects(deleted_at) where deleted_at is not null;
+
+-- chunked deletes look comments up by ticket
+create index idx_ticket_comments_ticket
+    on ticket_comments(ticket_id);
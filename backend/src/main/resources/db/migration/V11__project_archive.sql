@@ -0,0 +1,24 @@
+-- Cold copies of the ticket tables. Tickets of ARCHIVED projects live here so
+-- they stay out of the hot tables and their indexes. Columns must match the
+-- hot tables by name; the move copies every column of the hot table.
+
+create table tickets_archive (like tickets including defaults including constraints);
+alter table tickets_archive add constraint pk_tickets_archive primary key (id);
+alter table tickets_archive add constraint fk_tickets_archive_project
+    foreign key (project_id) references projects(id) on delete cascade;
+create index idx_tickets_archive_project
+    on tickets_archive(project_id, created_at desc);
+
+create table ticket_comments_archive (like ticket_comments including defaults including constraints);
+alter table ticket_comments_archive add constraint pk_ticket_comments_archive primary key (id);
+alter table ticket_comments_archive add constraint fk_ticket_comments_archive_ticket
+    foreign key (ticket_id) references tickets_archive(id) on delete cascade;
+create index idx_ticket_comments_archive_ticket
+    on ticket_comments_archive(ticket_id);
+
+create table ticket_history_archive (like ticket_history including defaults including constraints);
+alter table ticket_history_archive add constraint pk_ticket_history_archive primary key (id);
+alter table ticket_history_archive add constraint fk_ticket_history_archive_ticket
+    foreign key (ticket_id) references tickets_archive(id) on delete cascade;
+create index idx_ticket_history_archive_ticket
+    on ticket_history_archive(ticket_id);
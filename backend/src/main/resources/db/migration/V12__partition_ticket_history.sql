@@ -0,0 +1,58 @@
+-- ticket_history is append-only and read by ticket or by recency. It becomes
+-- range partitioned by month on created_at so old months can be detached or
+-- dropped instead of deleted row by row. Partitions are named
+-- ticket_history_pYYYYMM; TicketHistoryPartitionService creates them ahead of
+-- time and applies the retention policy. Rows outside every monthly range
+-- (e.g. old history restored from the archive) land in ticket_history_default.
+
+create table ticket_history_partitioned (
+    id uuid not null,
+    ticket_id uuid not null,
+    author_id uuid not null,
+
+    action varchar(30) not null,
+    field varchar(50),
+    old_value text,
+    new_value text,
+
+    created_at timestamptz not null default now()
+) partition by range (created_at);
+
+create table ticket_history_default partition of ticket_history_partitioned default;
+
+-- one partition per month from the oldest row up to three months ahead
+do $$
+declare
+    m    timestamp := date_trunc('month', coalesce((select min(created_at) from ticket_history), now()) at time zone 'UTC');
+    last timestamp := date_trunc('month', now() at time zone 'UTC') + interval '3 months';
+begin
+    while m <= last loop
+        execute format('create table %I partition of ticket_history_partitioned for values from (%L) to (%L)',
+                       'ticket_history_p' || to_char(m, 'YYYYMM'),
+                       m at time zone 'UTC',
+                       (m + interval '1 month') at time zone 'UTC');
+        m := m + interval '1 month';
+    end loop;
+end $$;
+
+insert into ticket_history_partitioned (id, ticket_id, author_id, action, field, old_value, new_value, created_at)
+select id, ticket_id, author_id, action, field, old_value, new_value, created_at
+from ticket_history;
+
+drop table ticket_history;
+alter table ticket_history_partitioned rename to ticket_history;
+
+-- the partition key has to be part of the primary key; ids are still unique on their own
+alter table ticket_history add constraint ticket_history_pkey primary key (id, created_at);
+
+alter table ticket_history add constraint fk_ticket_history_ticket
+    foreign key (ticket_id) references tickets(id) on delete cascade;
+
+alter table ticket_history add constraint fk_ticket_history_author
+    foreign key (author_id) references users(id);
+
+create index idx_ticket_history_ticket
+    on ticket_history(ticket_id);
+
+create index idx_ticket_history_created_at
+    on ticket_history(created_at desc);
@@ -0,0 +1,4 @@
+-- Long text changes are stored as a splice: old_value/new_value hold only the
+-- replaced fragment and diff_offset where it starts. Null means full values.
+alter table ticket_history add column diff_offset integer;
+alter table ticket_history_archive add column diff_offset integer;
@@ -0,0 +1,9 @@
+-- comments and history are paged per ticket by (created_at, id) in either
+-- direction; the composite indexes replace the ticket_id-only ones
+create index idx_ticket_comments_ticket_created
+    on ticket_comments(ticket_id, created_at, id);
+drop index idx_ticket_comments_ticket;
+
+create index idx_ticket_history_ticket_created
+    on ticket_history(ticket_id, created_at, id);
+drop index idx_ticket_history_ticket;
@@ -0,0 +1,10 @@
+-- one counter per cached list endpoint, bumped in the same transaction as every write
+create table collection_versions (
+    name varchar(32) primary key,
+    version bigint not null,
+    updated_at timestamptz not null
+);
+
+insert into collection_versions (name, version, updated_at) values
+    ('projects', 1, now()),
+    ('users', 1, now());
@@ -0,0 +1,4 @@
+-- "my work": a user's assigned tickets are counted per state and paged per
+-- (project, state) newest first; id breaks ties in the keyset order
+create index idx_tickets_assignee_state_created
+    on tickets(assignee_id, state, created_at, id);
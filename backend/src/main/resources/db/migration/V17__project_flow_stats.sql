@@ -0,0 +1,21 @@
+-- Flow metrics (lead, cycle and time-in-state histograms) per project, kept
+-- up to date incrementally: computed_through is the newest ticket_history
+-- time already folded into histograms
+create table project_flow_stats (
+    project_id uuid primary key,
+    computed_through timestamptz not null,
+    histograms bytea not null,
+    updated_at timestamptz not null,
+
+    constraint fk_project_flow_stats_project
+        foreign key (project_id) references projects(id) on delete cascade
+);
+
+-- the report reads only state changes, per ticket in time order
+create index idx_ticket_history_state
+    on ticket_history(ticket_id, created_at, id) where field = 'state';
+
+-- new projects get their row in ProjectService.create; an empty FlowStats is 0x010000
+insert into project_flow_stats (project_id, computed_through, histograms, updated_at)
+select id, timestamptz '1970-01-01 00:00:00+00', '\x010000'::bytea, now()
+from projects;
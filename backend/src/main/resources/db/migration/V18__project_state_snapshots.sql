@@ -0,0 +1,13 @@
+-- How many tickets of a project were in each state at the end of a day (UTC),
+-- written nightly by StateSnapshotService; charts read one primary key range
+create table project_state_snapshots (
+    project_id uuid not null,
+    snapshot_day date not null,
+    open_count integer not null,
+    in_progress_count integer not null,
+    done_count integer not null,
+
+    constraint pk_project_state_snapshots primary key (project_id, snapshot_day),
+    constraint fk_project_state_snapshots_project
+        foreign key (project_id) references projects(id) on delete cascade
+);
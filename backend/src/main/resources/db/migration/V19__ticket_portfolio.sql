@@ -0,0 +1,4 @@
+-- portfolio report: tickets of a project counted per state and assignee, with
+-- updated_at for the stale count, without reading the table
+create index idx_tickets_project_state_assignee
+    on tickets(project_id, state, assignee_id, updated_at);
@@ -0,0 +1,29 @@
+-- Files attached to tickets. The bytes live on the filesystem under
+-- tsystem.attachments.root as <project>/<ticket>/<attachment>; this is only
+-- their metadata
+create table ticket_attachments (
+    id uuid not null,
+    ticket_id uuid not null,
+    uploader_id uuid not null,
+    file_name varchar(255) not null,
+    content_type varchar(255) not null,
+    size bigint not null,
+    created_at timestamptz not null default now(),
+
+    constraint pk_ticket_attachments primary key (id),
+    constraint fk_ticket_attachments_ticket
+        foreign key (ticket_id) references tickets(id) on delete cascade,
+    constraint fk_ticket_attachments_uploader
+        foreign key (uploader_id) references users(id) on delete restrict
+);
+
+create index idx_ticket_attachments_ticket
+    on ticket_attachments(ticket_id, created_at);
+
+-- moved with the tickets of archived projects, like comments and history
+create table ticket_attachments_archive (like ticket_attachments including defaults including constraints);
+alter table ticket_attachments_archive add constraint pk_ticket_attachments_archive primary key (id);
+alter table ticket_attachments_archive add constraint fk_ticket_attachments_archive_ticket
+    foreign key (ticket_id) references tickets_archive(id) on delete cascade;
+create index idx_ticket_attachments_archive_ticket
+    on ticket_attachments_archive(ticket_id);
@@ -0,0 +1,20 @@
+-- Content-addressed file store. A blob is kept once per SHA-256, however many
+-- attachments refer to it; ref_count counts them over the hot and archive
+-- tables and BlobStore deletes a blob once it has dropped to zero
+create table content_blobs (
+    hash varchar(64) not null,
+    size bigint not null,
+    ref_count integer not null,
+    created_at timestamptz not null default now(),
+    unreferenced_at timestamptz null,
+
+    constraint pk_content_blobs primary key (hash)
+);
+
+-- the garbage collector's candidates
+create index idx_content_blobs_unreferenced
+    on content_blobs(hash) where ref_count <= 0;
+
+-- null for files stored before the blob store, until they are moved into it on startup
+alter table ticket_attachments add column blob_hash varchar(64) null;
+alter table ticket_attachments_archive add column blob_hash varchar(64) null;
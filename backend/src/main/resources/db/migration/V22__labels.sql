@@ -0,0 +1,37 @@
+-- Free-form labels, defined per project and put on any number of its tickets.
+-- Filtering by label runs on in-memory bitmaps (LabelIndexService); these
+-- tables are what they are rebuilt from
+create table labels (
+    id uuid not null,
+    project_id uuid not null,
+    name varchar(50) not null,
+    created_at timestamptz not null default now(),
+
+    constraint pk_labels primary key (id),
+    constraint fk_labels_project
+        foreign key (project_id) references projects(id) on delete cascade
+);
+
+-- names are unique per project regardless of case
+create unique index uq_labels_project_name on labels(project_id, lower(name));
+
+create table ticket_labels (
+    ticket_id uuid not null,
+    label_id uuid not null,
+
+    constraint pk_ticket_labels primary key (ticket_id, label_id),
+    constraint fk_ticket_labels_ticket
+        foreign key (ticket_id) references tickets(id) on delete cascade,
+    constraint fk_ticket_labels_label
+        foreign key (label_id) references labels(id) on delete cascade
+);
+
+create index idx_ticket_labels_label on ticket_labels(label_id);
+
+-- moved with the tickets of archived projects; the labels themselves stay
+create table ticket_labels_archive (like ticket_labels including defaults including constraints);
+alter table ticket_labels_archive add constraint pk_ticket_labels_archive primary key (ticket_id, label_id);
+alter table ticket_labels_archive add constraint fk_ticket_labels_archive_ticket
+    foreign key (ticket_id) references tickets_archive(id) on delete cascade;
+alter table ticket_labels_archive add constraint fk_ticket_labels_archive_label
+    foreign key (label_id) references labels(id) on delete cascade;
@@ -0,0 +1,26 @@
+-- Ticket queries a user has saved under a name, shown with their result
+-- counts. Empty value lists match any value; the counts themselves are cached
+-- in memory (SavedFilterCounts), not stored
+create table saved_filters (
+    id uuid not null,
+    owner_id uuid not null,
+    name varchar(80) not null,
+    project_id uuid,
+    types varchar(64) not null default '',
+    priorities varchar(64) not null default '',
+    states varchar(64) not null default '',
+    assignee_id uuid,
+    unassigned boolean not null default false,
+    created_at timestamptz not null default now(),
+
+    constraint pk_saved_filters primary key (id),
+    constraint fk_saved_filters_owner
+        foreign key (owner_id) references users(id) on delete cascade,
+    constraint fk_saved_filters_project
+        foreign key (project_id) references projects(id) on delete cascade,
+    constraint fk_saved_filters_assignee
+        foreign key (assignee_id) references users(id) on delete cascade
+);
+
+-- names are unique per user regardless of case
+create unique index uq_saved_filters_owner_name on saved_filters(owner_id, lower(name));
@@ -0,0 +1,3 @@
+-- tombstones past the sync retention are deleted nightly, across all projects
+create index idx_ticket_tombstones_deleted
+    on ticket_tombstones(deleted_at);
@@ -0,0 +1,10 @@
+-- Comment bodies from tsystem.blobs.text-threshold bytes on are kept once in the
+-- blob store: text is null then, text_blob names the blob and the comment counts
+-- among its references, in the hot and archive tables alike
+alter table ticket_comments alter column text drop not null;
+alter table ticket_comments add column text_blob varchar(64) null;
+alter table ticket_comments add constraint ck_ticket_comments_text
+    check ((text is null) <> (text_blob is null));
+
+alter table ticket_comments_archive alter column text drop not null;
+alter table ticket_comments_archive add column text_blob varchar(64) null;
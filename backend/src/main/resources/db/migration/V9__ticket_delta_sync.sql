@@ -0,0 +1,18 @@
+ALTER TABLE tickets ADD COLUMN updated_at timestamptz NULL;
+UPDATE tickets SET updated_at = created_at;
+ALTER TABLE tickets ALTER COLUMN updated_at SET NOT NULL;
+
+create index idx_tickets_project_updated
+    on tickets(project_id, updated_at, id);
+
+create table ticket_tombstones (
+    ticket_id uuid primary key,
+    project_id uuid not null,
+    deleted_at timestamptz not null default now(),
+
+    constraint fk_ticket_tombstones_project
+        foreign key (project_id) references projects(id) on delete cascade
+);
+
+create index idx_ticket_tombstones_project_deleted
+    on ticket_tombstones(project_id, deleted_at, ticket_id);
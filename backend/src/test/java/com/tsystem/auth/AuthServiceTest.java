@@ -12,6 +12,7 @@ import com.tsystem.model.user.User;
 import com.tsystem.repository.PasswordResetTokenRepository;
 import com.tsystem.repository.UserRepository;
 import com.tsystem.service.AuthService;
+import com.tsystem.service.CollectionVersionService;
 import com.tsystem.service.JwtService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +23,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -42,6 +44,8 @@ class AuthServiceTest {
     @Mock JwtService jwtService;
     @Mock AuthenticationManager authenticationManager;
     @Mock PasswordResetTokenRepository passwordResetTokenRepository;
+    @Mock ApplicationEventPublisher eventPublisher;
+    @Mock CollectionVersionService collectionVersions;
 
     @InjectMocks AuthService authService;
 
@@ -81,6 +85,7 @@ class AuthServiceTest {
 
             assertEquals("jwt-token", response.getToken());
             verify(userRepository).save(any(User.class));
+            verify(collectionVersions).bump(CollectionVersionService.USERS);
         }
 
         @Test
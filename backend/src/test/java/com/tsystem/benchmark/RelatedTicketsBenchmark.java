@@ -0,0 +1,97 @@
+package com.tsystem.benchmark;
+
+import com.tsystem.model.similarity.TfIdfIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Latency of "related tickets" on a TfIdfIndex of one large project.
+ *
+ * Not part of the normal build, no Docker needed:
+ * <pre>
+ * mvn test -Dtest=RelatedTicketsBenchmark -Dbenchmarks=true [-Dbenchmark.tickets=100000] [-Dbenchmark.queries=2000]
+ * </pre>
+ * Ticket texts are drawn from a Zipf-distributed vocabulary of
+ * benchmark.vocabulary words, 10 to 200 words each, every fifth ticket with a
+ * couple of comments. Reported are the build time, the query percentiles
+ * after as many warm-up queries, and the time of an incremental update.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class RelatedTicketsBenchmark {
+
+    @Test
+    void queryLatency() {
+        int count = Integer.getInteger("benchmark.tickets", 100_000);
+        int queries = Integer.getInteger("benchmark.queries", 2_000);
+        int vocabulary = Integer.getInteger("benchmark.vocabulary", 30_000);
+        Random random = new Random(42);
+        double[] zipf = zipf(vocabulary);
+
+        List<TfIdfIndex.Source> sources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> comments = i % 5 == 0
+                    ? List.of(text(random, zipf, 5 + random.nextInt(40)), text(random, zipf, 5 + random.nextInt(40)))
+                    : List.of();
+            sources.add(new TfIdfIndex.Source(UUID.randomUUID(), text(random, zipf, 4 + random.nextInt(8)),
+                    text(random, zipf, 10 + random.nextInt(190)), comments));
+        }
+
+        TfIdfIndex index = new TfIdfIndex();
+        long start = System.nanoTime();
+        index.putAll(sources);
+        double buildMs = (System.nanoTime() - start) / 1e6;
+
+        for (int i = 0; i < queries; i++) index.related(sources.get(random.nextInt(count)).id(), 10);
+        long[] nanos = new long[queries];
+        for (int i = 0; i < queries; i++) {
+            UUID id = sources.get(random.nextInt(count)).id();
+            long t = System.nanoTime();
+            index.related(id, 10);
+            nanos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(nanos);
+
+        start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            TfIdfIndex.Source s = sources.get(random.nextInt(count));
+            index.put(s.id(), s.name(), text(random, zipf, 50));
+        }
+        double updateUs = (System.nanoTime() - start) / 1e3 / 1_000;
+
+        System.out.printf("%n%,d tickets, build %,.0f ms%n", count, buildMs);
+        System.out.printf("related: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                ms(nanos, 0.50), ms(nanos, 0.95), ms(nanos, 0.99), nanos[queries - 1] / 1e6);
+        System.out.printf("update: %.1f us per ticket%n%n", updateUs);
+    }
+
+    private static double ms(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    // cumulative probabilities of a Zipf(1) distribution over the word ranks
+    private static double[] zipf(int n) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / (i + 1);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) cdf[i] /= sum;
+        return cdf;
+    }
+
+    private static String text(Random random, double[] zipf, int words) {
+        StringBuilder sb = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            int rank = Arrays.binarySearch(zipf, random.nextDouble());
+            sb.append('w').append(rank < 0 ? -rank - 1 : rank).append(' ');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,129 @@
+package com.tsystem.benchmark;
+
+import com.tsystem.model.TextSplice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Size of ticket_history when description edits are stored as full old/new
+ * values versus as a TextSplice.
+ *
+ * Not part of the normal build, needs Docker:
+ * <pre>
+ * mvn test -Dtest=TicketHistoryDiffBenchmark -Dbenchmarks=true [-Dbenchmark.tickets=2000] [-Dbenchmark.edits=20]
+ * </pre>
+ * Every ticket gets a description of benchmark.length characters of random
+ * words, which is then edited benchmark.edits times in one place. Reported are
+ * the total table sizes (heap, TOAST and indexes) and the /history payload
+ * per ticket.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TicketHistoryDiffBenchmark {
+
+    private static final String[] WORDS = ("the ticket should be fixed before release when users open project board "
+            + "page error shows after login because cache is stale and the request times out").split(" ");
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    @Test
+    void compareStorage() throws Exception {
+        int tickets = Integer.getInteger("benchmark.tickets", 2_000);
+        int edits = Integer.getInteger("benchmark.edits", 20);
+        int length = Integer.getInteger("benchmark.length", 10_000);
+
+        try (Connection c = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())) {
+            c.setAutoCommit(false);
+            for (String table : new String[] {"history_full", "history_splice"}) {
+                try (Statement st = c.createStatement()) {
+                    st.execute("""
+                            create table %s (
+                                id uuid primary key,
+                                ticket_id uuid not null,
+                                field varchar(50),
+                                old_value text,
+                                new_value text,
+                                diff_offset integer
+                            )""".formatted(table));
+                    st.execute("create index %s_ticket on %s(ticket_id)".formatted(table, table));
+                }
+            }
+
+            Random random = new Random(42);
+            long fullPayload = 0, splicePayload = 0;
+            try (PreparedStatement full = c.prepareStatement(
+                         "insert into history_full values (?, ?, 'description', ?, ?, null)");
+                 PreparedStatement splice = c.prepareStatement(
+                         "insert into history_splice values (?, ?, 'description', ?, ?, ?)")) {
+                for (int t = 0; t < tickets; t++) {
+                    UUID ticketId = UUID.randomUUID();
+                    String text = words(random, length);
+                    for (int e = 0; e < edits; e++) {
+                        int at = random.nextInt(text.length() - 200);
+                        String next = text.substring(0, at) + words(random, 20 + random.nextInt(120))
+                                + text.substring(at + random.nextInt(100));
+                        TextSplice s = TextSplice.between(text, next);
+
+                        full.setObject(1, UUID.randomUUID());
+                        full.setObject(2, ticketId);
+                        full.setString(3, text);
+                        full.setString(4, next);
+                        full.addBatch();
+
+                        splice.setObject(1, UUID.randomUUID());
+                        splice.setObject(2, ticketId);
+                        splice.setString(3, s.removed());
+                        splice.setString(4, s.inserted());
+                        splice.setInt(5, s.offset());
+                        splice.addBatch();
+
+                        fullPayload += text.length() + next.length();
+                        splicePayload += s.size();
+                        text = next;
+                    }
+                    full.executeBatch();
+                    splice.executeBatch();
+                    c.commit();
+                }
+            }
+            try (Statement st = c.createStatement()) {
+                st.execute("vacuum analyze");
+            }
+
+            long fullBytes = totalSize(c, "history_full");
+            long spliceBytes = totalSize(c, "history_splice");
+            System.out.printf("%n%-10s %14s %22s%n", "storage", "table MB", "history chars/ticket");
+            System.out.printf("%-10s %,14.1f %,22d%n", "full", fullBytes / 1048576.0, fullPayload / tickets);
+            System.out.printf("%-10s %,14.1f %,22d%n", "splice", spliceBytes / 1048576.0, splicePayload / tickets);
+            System.out.printf("splice / full table size: %.3f%n%n", spliceBytes / (double) fullBytes);
+        }
+    }
+
+    private static long totalSize(Connection c, String table) throws Exception {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("select pg_total_relation_size('%s')".formatted(table))) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String words(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.substring(0, length);
+    }
+}
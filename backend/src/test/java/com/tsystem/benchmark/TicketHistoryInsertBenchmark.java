@@ -0,0 +1,119 @@
+package com.tsystem.benchmark;
+
+import com.tsystem.model.id.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a ticket_history-shaped table with random (v4)
+ * versus time-ordered (v7) primary keys.
+ *
+ * Not part of the normal build. Needs Docker and runs for several minutes:
+ * <pre>
+ * mvn test -Dtest=TicketHistoryInsertBenchmark -Dbenchmarks=true [-Dbenchmark.rows=5000000]
+ * </pre>
+ * Each table is first filled with benchmark.rows rows, then a further
+ * benchmark.measure rows are inserted and timed. Reported are rows/s for the
+ * measured part and the final size of the primary-key index.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TicketHistoryInsertBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15")
+            .withCommand("postgres", "-c", "shared_buffers=256MB", "-c", "max_wal_size=4GB");
+
+    @Test
+    void compareGenerators() throws Exception {
+        long rows = Long.getLong("benchmark.rows", 3_000_000L);
+        long measure = Long.getLong("benchmark.measure", 500_000L);
+
+        try (Connection c = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())) {
+            c.setAutoCommit(false);
+            Result v4 = run(c, "history_v4", UUID::randomUUID, rows, measure);
+            Result v7 = run(c, "history_v7", UuidV7Generator::next, rows, measure);
+
+            System.out.printf("%n%-12s %14s %16s%n", "generator", "rows/s", "pk index MB");
+            System.out.printf("%-12s %,14.0f %,16.1f%n", "uuid v4", v4.rowsPerSecond(), v4.indexBytes() / 1048576.0);
+            System.out.printf("%-12s %,14.0f %,16.1f%n", "uuid v7", v7.rowsPerSecond(), v7.indexBytes() / 1048576.0);
+            System.out.printf("v7 / v4 throughput: %.2fx%n%n", v7.rowsPerSecond() / v4.rowsPerSecond());
+        }
+    }
+
+    private Result run(Connection c, String table, Supplier<UUID> ids, long prefill, long measure) throws Exception {
+        try (Statement st = c.createStatement()) {
+            st.execute("""
+                    create table %s (
+                        id uuid primary key,
+                        ticket_id uuid not null,
+                        author_id uuid not null,
+                        action varchar(30) not null,
+                        field varchar(50),
+                        old_value text,
+                        new_value text,
+                        created_at timestamptz not null default now()
+                    )""".formatted(table));
+            st.execute("create index %s_ticket on %s(ticket_id)".formatted(table, table));
+        }
+        c.commit();
+
+        insert(c, table, ids, prefill);
+        try (Statement st = c.createStatement()) {
+            st.execute("checkpoint");
+        }
+
+        long start = System.nanoTime();
+        insert(c, table, ids, measure);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long indexBytes;
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("select pg_relation_size('%s_pkey')".formatted(table))) {
+            rs.next();
+            indexBytes = rs.getLong(1);
+        }
+        return new Result(measure / seconds, indexBytes);
+    }
+
+    private void insert(Connection c, String table, Supplier<UUID> ids, long count) throws Exception {
+        String sql = "insert into %s (id, ticket_id, author_id, action, field, old_value, new_value, created_at) values (?, ?, ?, 'UPDATED', 'state', 'open', 'done', ?)"
+                .formatted(table);
+        UUID author = UUID.randomUUID();
+        UUID[] tickets = new UUID[10_000];
+        for (int i = 0; i < tickets.length; i++) tickets[i] = UUID.randomUUID();
+
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            for (long i = 0; i < count; i++) {
+                ps.setObject(1, ids.get());
+                ps.setObject(2, tickets[(int) (i % tickets.length)]);
+                ps.setObject(3, author);
+                ps.setTimestamp(4, Timestamp.from(Instant.now()));
+                ps.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    ps.executeBatch();
+                    c.commit();
+                }
+            }
+            ps.executeBatch();
+            c.commit();
+        }
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes) {}
+}
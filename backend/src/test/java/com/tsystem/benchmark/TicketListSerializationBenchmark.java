@@ -0,0 +1,143 @@
+package com.tsystem.benchmark;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.dto.response.UserShortResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time and wire size of a ticket list as JSON, CBOR and Smile,
+ * each uncompressed, gzip-compressed (what Tomcat sends) and brotli-compressed
+ * at the quality BrotliCompressionFilter uses.
+ *
+ * Not part of the normal build, no Docker needed:
+ * <pre>
+ * mvn test -Dtest=TicketListSerializationBenchmark -Dbenchmarks=true [-Dbenchmark.tickets=10000] [-Dbenchmark.rounds=50]
+ * </pre>
+ * The mappers are configured like the application's. Times are the mean over
+ * benchmark.rounds after as many warm-up rounds.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TicketListSerializationBenchmark {
+
+    private static final String[] WORDS = ("the ticket should be fixed before release when users open project board "
+            + "page error shows after login because cache is stale and the request times out").split(" ");
+
+    @Test
+    void compareFormats() throws Exception {
+        int count = Integer.getInteger("benchmark.tickets", 10_000);
+        int rounds = Integer.getInteger("benchmark.rounds", 50);
+        int quality = Integer.getInteger("benchmark.brotli.quality", 4);
+        Brotli4jLoader.ensureAvailability();
+
+        List<TicketResponse> tickets = tickets(count, new Random(42));
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", mapper().build());
+        mappers.put("cbor", mapper().factory(new CBORFactory()).build());
+        mappers.put("smile", mapper().factory(new SmileFactory()).build());
+
+        System.out.printf("%n%d tickets, mean of %d rounds%n", count, rounds);
+        System.out.printf("%-6s %10s %12s %10s %12s %10s %12s%n",
+                "format", "write ms", "bytes", "gzip ms", "gzip bytes", "br ms", "br bytes");
+        for (Map.Entry<String, ObjectMapper> e : mappers.entrySet()) {
+            ObjectMapper mapper = e.getValue();
+            byte[] body = mapper.writeValueAsBytes(tickets);
+            byte[] gzip = gzip(body);
+            byte[] br = Encoder.compress(body, new Encoder.Parameters().setQuality(quality));
+
+            double writeMs = time(rounds, () -> mapper.writeValueAsBytes(tickets));
+            double gzipMs = time(rounds, () -> gzip(body));
+            double brMs = time(rounds, () -> Encoder.compress(body, new Encoder.Parameters().setQuality(quality)));
+
+            System.out.printf("%-6s %,10.2f %,12d %,10.2f %,12d %,10.2f %,12d%n",
+                    e.getKey(), writeMs, body.length, gzipMs, gzip.length, brMs, br.length);
+        }
+        System.out.println();
+    }
+
+    private static Jackson2ObjectMapperBuilder mapper() {
+        // what Spring Boot and JacksonConfiguration set up
+        return new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(FieldSet.ALL.filters());
+    }
+
+    private interface Work {
+        Object run() throws Exception;
+    }
+
+    private static double time(int rounds, Work work) throws Exception {
+        Object sink = null;
+        for (int i = 0; i < rounds; i++) sink = work.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) sink = work.run();
+        long nanos = System.nanoTime() - start;
+        if (sink == null) throw new IllegalStateException();
+        return nanos / 1e6 / rounds;
+    }
+
+    private static byte[] gzip(byte[] body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<TicketResponse> tickets(int count, Random random) {
+        List<UserShortResponse> users = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            users.add(new UserShortResponse(UUID.randomUUID(), "user" + i + "@example.com", "Name" + i, "Surname" + i));
+        }
+        UUID projectId = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+
+        List<TicketResponse> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OffsetDateTime created = now.minusMinutes(random.nextInt(500_000));
+            tickets.add(TicketResponse.builder()
+                    .id(UUID.randomUUID())
+                    .name(words(random, 20 + random.nextInt(60)))
+                    .description(words(random, random.nextInt(600)))
+                    .type(TicketType.values()[random.nextInt(TicketType.values().length)])
+                    .priority(TicketPriority.values()[random.nextInt(TicketPriority.values().length)])
+                    .state(TicketState.values()[random.nextInt(TicketState.values().length)])
+                    .createdAt(created)
+                    .updatedAt(created.plusMinutes(random.nextInt(10_000)))
+                    .owner(users.get(random.nextInt(users.size())))
+                    .assignee(random.nextInt(4) == 0 ? null : users.get(random.nextInt(users.size())))
+                    .projectId(projectId)
+                    .build());
+        }
+        return tickets;
+    }
+
+    private static String words(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.substring(0, length);
+    }
+}
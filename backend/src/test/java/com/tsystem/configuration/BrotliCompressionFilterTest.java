@@ -0,0 +1,133 @@
+package com.tsystem.configuration;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrotliCompressionFilterTest {
+
+    private static final String LARGE = "[" + "{\"name\":\"Ticket\",\"state\":\"open\"},".repeat(200) + "{}]";
+
+    private BrotliCompressionFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new BrotliCompressionFilter(true, 4, DataSize.ofKilobytes(2));
+        request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Large JSON body is brotli-encoded")
+    void compressesLargeBody() throws Exception {
+        filter.doFilter(request, response, chain(MediaType.APPLICATION_JSON_VALUE, LARGE));
+
+        assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        byte[] body = response.getContentAsByteArray();
+        assertTrue(body.length < LARGE.length());
+        assertEquals(body.length, response.getContentLength());
+        assertEquals(LARGE, new String(Decoder.decompress(body).getDecompressedData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Body below the threshold goes out as it is")
+    void leavesSmallBody() throws Exception {
+        filter.doFilter(request, response, chain(MediaType.APPLICATION_JSON_VALUE, "[]"));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Binary formats are compressed as well, other types are not")
+    void compressesByContentType() throws Exception {
+        filter.doFilter(request, response, chain("application/x-jackson-smile", LARGE));
+        assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+
+        MockHttpServletResponse png = new MockHttpServletResponse();
+        filter.doFilter(request, png, chain(MediaType.IMAGE_PNG_VALUE, LARGE));
+        assertNull(png.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE, png.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Clients without br and event streams are not buffered")
+    void skipsWithoutBrotliOrForEvents() throws Exception {
+        MockHttpServletRequest gzipOnly = new MockHttpServletRequest("GET", "/api/projects");
+        gzipOnly.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        filter.doFilter(gzipOnly, response, chain(MediaType.APPLICATION_JSON_VALUE, LARGE));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        MockHttpServletResponse events = new MockHttpServletResponse();
+        filter.doFilter(request, events, chain(MediaType.APPLICATION_JSON_VALUE, LARGE));
+        assertNull(events.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("br is only used when its weight allows it")
+    void honoursQualityValues() {
+        assertTrue(BrotliCompressionFilter.acceptsBrotli("gzip, deflate, br"));
+        assertTrue(BrotliCompressionFilter.acceptsBrotli("gzip;q=1.0, BR;q=0.5"));
+        assertTrue(BrotliCompressionFilter.acceptsBrotli("*"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("gzip, br;q=0"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("br; q=0.000, *"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("*;q=0, gzip"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("brotli, gzip"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("br;q=high"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli(""));
+    }
+
+    @Test
+    @DisplayName("A client refusing br with q=0 gets the body as it is")
+    void skipsRefusedBrotli() throws Exception {
+        MockHttpServletRequest refusing = new MockHttpServletRequest("GET", "/api/projects");
+        refusing.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, br;q=0");
+        filter.doFilter(refusing, response, chain(MediaType.APPLICATION_JSON_VALUE, LARGE));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE, response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Attachment downloads are not buffered, whatever their type")
+    void skipsAttachments() throws Exception {
+        MockHttpServletRequest download = new MockHttpServletRequest("GET",
+                "/api/projects/p/tickets/t/attachments/a");
+        download.addHeader(HttpHeaders.ACCEPT_ENCODING, "br");
+        filter.doFilter(download, response, chain(MediaType.APPLICATION_JSON_VALUE, LARGE));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE, response.getContentAsString());
+    }
+
+    private static MockFilterChain chain(String contentType, String body) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(contentType);
+                resp.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+}
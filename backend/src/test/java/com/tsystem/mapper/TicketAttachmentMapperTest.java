@@ -0,0 +1,54 @@
+package com.tsystem.mapper;
+
+import com.tsystem.model.TicketAttachment;
+import com.tsystem.model.dto.response.TicketAttachmentResponse;
+import com.tsystem.model.mapper.TicketAttachmentMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketAttachmentMapperTest {
+
+    @Test
+    @DisplayName("converts all fields correctly")
+    void toResponse_ConvertsAllFields() {
+        UUID id = UUID.randomUUID(), ticketId = UUID.randomUUID(), uploaderId = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+        TicketAttachment attachment = TicketAttachment.builder()
+                .id(id)
+                .ticketId(ticketId)
+                .uploaderId(uploaderId)
+                .fileName("server.log")
+                .contentType("text/plain")
+                .size(1234)
+                .createdAt(now)
+                .build();
+
+        TicketAttachmentResponse response = TicketAttachmentMapper.toResponse(attachment);
+
+        assertEquals(id, response.getId());
+        assertEquals(ticketId, response.getTicketId());
+        assertEquals(uploaderId, response.getUploaderId());
+        assertEquals("server.log", response.getFileName());
+        assertEquals("text/plain", response.getContentType());
+        assertEquals(1234, response.getSize());
+        assertEquals(now, response.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("converts lists in order")
+    void toResponseList_KeepsOrder() {
+        TicketAttachment a = TicketAttachment.builder().id(UUID.randomUUID()).fileName("a.txt").build();
+        TicketAttachment b = TicketAttachment.builder().id(UUID.randomUUID()).fileName("b.txt").build();
+
+        List<TicketAttachmentResponse> responses = TicketAttachmentMapper.toResponseList(List.of(a, b));
+
+        assertEquals(List.of("a.txt", "b.txt"), responses.stream().map(TicketAttachmentResponse::getFileName).toList());
+        assertTrue(TicketAttachmentMapper.toResponseList(List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package com.tsystem.model;
+
+import com.tsystem.model.report.DurationHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurationHistogramTest {
+
+    @Test
+    @DisplayName("Empty histogram reports zeros")
+    void empty() {
+        DurationHistogram h = new DurationHistogram();
+
+        assertEquals(0, h.count());
+        assertEquals(0, h.mean());
+        assertEquals(0, h.percentile(50));
+        assertEquals(0, h.max());
+    }
+
+    @Test
+    @DisplayName("Short durations are exact")
+    void smallValuesExact() {
+        DurationHistogram h = new DurationHistogram();
+        for (int s = 1; s <= 20; s++) h.record(s);
+
+        assertEquals(10, h.percentile(50));
+        assertEquals(19, h.percentile(95));
+        assertEquals(20, h.percentile(100));
+        assertEquals(11, h.mean());
+    }
+
+    @Test
+    @DisplayName("Percentiles stay within about 3% of the exact value")
+    void percentilesWithinRelativeError() {
+        Random random = new Random(7);
+        long[] values = new long[10_000];
+        DurationHistogram h = new DurationHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 16);   // 1 s to ~100 days
+            h.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[]{50, 85, 95, 99}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            assertEquals(exact, h.percentile(p), exact * 0.032 + 1, "p" + p);
+        }
+        assertEquals(values[values.length - 1], h.max());
+    }
+
+    @Test
+    @DisplayName("Merged histograms equal one histogram of all values")
+    void merge() {
+        DurationHistogram a = new DurationHistogram(), b = new DurationHistogram(), all = new DurationHistogram();
+        for (long s = 0; s < 5000; s += 7) {
+            (s % 2 == 0 ? a : b).record(s * 13);
+            all.record(s * 13);
+        }
+        a.merge(b);
+
+        assertEquals(all.count(), a.count());
+        assertEquals(all.mean(), a.mean());
+        assertEquals(all.max(), a.max());
+        for (double p : new double[]{1, 50, 85, 95, 100}) {
+            assertEquals(all.percentile(p), a.percentile(p));
+        }
+    }
+
+    @Test
+    @DisplayName("Negative durations count as zero, huge ones are kept in the last bucket")
+    void outOfRange() {
+        DurationHistogram h = new DurationHistogram();
+        h.record(-5);
+        h.record(Long.MAX_VALUE);
+
+        assertEquals(0, h.percentile(50));
+        assertEquals(Long.MAX_VALUE, h.percentile(100));
+        assertTrue(h.percentile(99) >= 0);
+    }
+}
@@ -0,0 +1,68 @@
+package com.tsystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSetTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Missing or empty parameter means every field")
+    void parse_Blank() {
+        assertSame(FieldSet.ALL, FieldSet.parse(mapper, TicketResponse.class, null));
+        assertSame(FieldSet.ALL, FieldSet.parse(mapper, TicketResponse.class, " "));
+        assertSame(FieldSet.ALL, FieldSet.parse(mapper, TicketResponse.class, ","));
+    }
+
+    @Test
+    @DisplayName("The same fields in any order give the same shared instance")
+    void parse_SharedPerSet() {
+        FieldSet a = FieldSet.parse(mapper, TicketResponse.class, "state,id,name");
+        FieldSet b = FieldSet.parse(mapper, TicketResponse.class, " name , id,state,id");
+
+        assertSame(a, b);
+        assertEquals(List.of("id", "name", "state"), List.copyOf(a.names()));
+        assertFalse(a.isAll());
+    }
+
+    @Test
+    @DisplayName("Sets are kept apart per response class")
+    void parse_PerClass() {
+        assertNotSame(FieldSet.parse(mapper, TicketResponse.class, "id"), FieldSet.parse(mapper, ProjectResponse.class, "id"));
+    }
+
+    @Test
+    @DisplayName("Unknown field is a bad request")
+    void parse_Unknown() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> FieldSet.parse(mapper, ProjectResponse.class, "id,password"));
+        assertEquals("Unknown field: password", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Names are the ones Jackson writes, ignored properties are unknown")
+    void parse_JacksonNames() {
+        assertEquals(List.of("title"), List.copyOf(FieldSet.parse(mapper, Renamed.class, "title").names()));
+        assertThrows(BadRequestException.class, () -> FieldSet.parse(mapper, Renamed.class, "name"));
+        assertThrows(BadRequestException.class, () -> FieldSet.parse(mapper, Renamed.class, "secret"));
+    }
+
+    static class Renamed {
+        @JsonProperty("title")
+        public String name;
+        @JsonIgnore
+        public String secret;
+    }
+}
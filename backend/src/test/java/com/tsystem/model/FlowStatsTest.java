@@ -0,0 +1,60 @@
+package com.tsystem.model;
+
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.report.FlowStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowStatsTest {
+
+    @Test
+    @DisplayName("Survives a round trip through bytes")
+    void roundTrip() {
+        FlowStats stats = new FlowStats();
+        FlowStats.Cell bugs = stats.cell(TicketType.bug, TicketPriority.high);
+        bugs.leadTime().record(3600);
+        bugs.leadTime().record(7200);
+        bugs.cycleTime().record(1800);
+        bugs.timeIn(TicketState.in_progress).record(1800);
+        stats.cell(TicketType.task, TicketPriority.low).timeIn(TicketState.open).record(60);
+
+        FlowStats copy = FlowStats.fromBytes(stats.toBytes());
+
+        FlowStats.Cell c = copy.find(TicketType.bug, TicketPriority.high);
+        assertNotNull(c);
+        assertEquals(2, c.leadTime().count());
+        assertEquals(5400, c.leadTime().mean());
+        assertEquals(7200, c.leadTime().max());
+        assertEquals(1800, c.cycleTime().percentile(50));
+        assertEquals(1, c.timeIn(TicketState.in_progress).count());
+        assertEquals(60, copy.find(TicketType.task, TicketPriority.low).timeIn(TicketState.open).max());
+        assertNull(copy.find(TicketType.feature, TicketPriority.med));
+    }
+
+    @Test
+    @DisplayName("Empty or missing bytes are empty stats")
+    void empty() {
+        assertEquals(0, FlowStats.fromBytes(null).total().leadTime().count());
+        assertEquals(0, FlowStats.fromBytes(new FlowStats().toBytes()).total().leadTime().count());
+    }
+
+    @Test
+    @DisplayName("Total merges every cell, merge adds cell by cell")
+    void totalAndMerge() {
+        FlowStats a = new FlowStats();
+        a.cell(TicketType.bug, TicketPriority.low).leadTime().record(100);
+        FlowStats b = new FlowStats();
+        b.cell(TicketType.bug, TicketPriority.low).leadTime().record(300);
+        b.cell(TicketType.feature, TicketPriority.high).leadTime().record(500);
+
+        a.merge(b);
+
+        assertEquals(2, a.find(TicketType.bug, TicketPriority.low).leadTime().count());
+        assertEquals(3, a.total().leadTime().count());
+        assertEquals(500, a.total().leadTime().max());
+    }
+}
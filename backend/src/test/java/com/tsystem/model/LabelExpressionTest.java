@@ -0,0 +1,74 @@
+package com.tsystem.model;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.model.label.LabelExpression;
+import com.tsystem.model.label.LabelExpression.And;
+import com.tsystem.model.label.LabelExpression.Label;
+import com.tsystem.model.label.LabelExpression.Not;
+import com.tsystem.model.label.LabelExpression.Or;
+import com.tsystem.model.label.RoaringBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabelExpressionTest {
+
+    private static RoaringBitmap bits(int... values) {
+        RoaringBitmap b = new RoaringBitmap();
+        for (int v : values) b.add(v);
+        return b;
+    }
+
+    private static List<Integer> values(RoaringBitmap b) {
+        return IntStream.iterate(b.nextValue(0), v -> v >= 0, v -> b.nextValue(v + 1)).boxed().toList();
+    }
+
+    @Test
+    @DisplayName("NOT binds tighter than AND, AND tighter than OR")
+    void precedence() {
+        assertEquals(new Or(List.of(new Label("a"), new And(List.of(new Label("b"), new Not(new Label("c")))))),
+                LabelExpression.parse("a OR b and not c"));
+        assertEquals(new And(List.of(new Or(List.of(new Label("a"), new Label("b"))), new Label("c"))),
+                LabelExpression.parse("(a or b) and c"));
+    }
+
+    @Test
+    @DisplayName("Quoted names may hold spaces and keywords")
+    void quoted() {
+        assertEquals(new And(List.of(new Label("needs review"), new Label("and"))),
+                LabelExpression.parse("\"needs review\" and \"and\""));
+    }
+
+    @Test
+    @DisplayName("Malformed filters throw BadRequestException")
+    void malformed() {
+        List<String> filters = List.of("", "a and", "(a or b", "a b", "and", "a or )", "\"open", "\"\"",
+                "(".repeat(40) + "a" + ")".repeat(40));
+        for (String bad : filters) {
+            assertThrows(BadRequestException.class, () -> LabelExpression.parse(bad), bad);
+        }
+    }
+
+    @Test
+    @DisplayName("Evaluates with bitmap operations against the label sets")
+    void evaluate() {
+        Map<String, RoaringBitmap> labels = Map.of(
+                "bug", bits(1, 2, 3, 4),
+                "ui", bits(2, 3, 7),
+                "api", bits(4, 8),
+                "wontfix", bits(3));
+        RoaringBitmap all = bits(1, 2, 3, 4, 5, 6, 7, 8);
+
+        assertEquals(List.of(2, 4), values(LabelExpression.parse("bug and (ui or api) and not wontfix")
+                .evaluate(labels::get, all)));
+        assertEquals(List.of(5, 6), values(LabelExpression.parse("not bug and not ui and not api")
+                .evaluate(labels::get, all)));
+        assertEquals(List.of(1, 2, 4, 5, 6, 7, 8), values(LabelExpression.parse("not wontfix")
+                .evaluate(labels::get, all)));
+    }
+}
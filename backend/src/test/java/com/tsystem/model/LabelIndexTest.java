@@ -0,0 +1,79 @@
+package com.tsystem.model;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.model.label.LabelExpression;
+import com.tsystem.model.label.LabelIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabelIndexTest {
+
+    private LabelIndex index;
+    private UUID bug, ui;
+    private UUID[] tickets;
+
+    @BeforeEach
+    void setUp() {
+        index = new LabelIndex();
+        bug = UUID.randomUUID();
+        ui = UUID.randomUUID();
+        index.putLabel(bug, "Bug");
+        index.putLabel(ui, "UI");
+        tickets = new UUID[10];
+        for (int i = 0; i < tickets.length; i++) {
+            tickets[i] = new UUID(0x0100L, i);
+            index.putTicket(tickets[i]);
+            if (i % 2 == 0) index.addLabel(tickets[i], bug);
+            if (i % 3 == 0) index.addLabel(tickets[i], ui);
+        }
+    }
+
+    private List<UUID> find(String filter, UUID after, int limit) {
+        return index.find(LabelExpression.parse(filter), after, limit);
+    }
+
+    @Test
+    @DisplayName("Pages follow id order and continue after the cursor")
+    void paging() {
+        assertEquals(List.of(tickets[0], tickets[2]), find("bug", null, 2));
+        assertEquals(List.of(tickets[4], tickets[6]), find("bug", tickets[2], 2));
+        assertEquals(List.of(tickets[8]), find("bug", tickets[6], 2));
+        assertEquals(List.of(tickets[0], tickets[6]), find("BUG and ui", null, 5));
+        assertEquals(List.of(tickets[1], tickets[5], tickets[7]), find("not bug and not ui", null, 5));
+    }
+
+    @Test
+    @DisplayName("Changes to tickets and labels show up in the next query")
+    void changes() {
+        index.setLabels(tickets[1], Set.of(bug));
+        index.removeTicket(tickets[0]);
+        assertEquals(List.of(tickets[1], tickets[2]), find("bug", null, 2));
+        // a deleted ticket still works as the cursor
+        assertEquals(List.of(tickets[1]), find("bug", tickets[0], 1));
+
+        index.putLabel(bug, "defect");
+        assertEquals(List.of(tickets[1]), find("defect", null, 1));
+        assertThrows(BadRequestException.class, () -> find("bug", null, 1));
+
+        index.removeLabel(ui);
+        assertThrows(BadRequestException.class, () -> find("ui", null, 1));
+    }
+
+    @Test
+    @DisplayName("A ticket whose id sorts before the end is put in place")
+    void outOfOrder() {
+        UUID early = new UUID(0x0001L, 0);
+        index.putTicket(early);
+        index.setLabels(early, Set.of(bug));
+
+        assertEquals(List.of(early, tickets[0], tickets[2]), find("bug", null, 3));
+        assertEquals(List.of(tickets[2]), find("bug", tickets[0], 1));
+    }
+}
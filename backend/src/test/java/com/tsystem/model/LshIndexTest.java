@@ -0,0 +1,81 @@
+package com.tsystem.model;
+
+import com.tsystem.model.similarity.LshIndex;
+import com.tsystem.model.similarity.MinHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LshIndexTest {
+
+    private LshIndex index;
+    private UUID login, export, darkMode;
+
+    @BeforeEach
+    void setUp() {
+        index = new LshIndex();
+        login = put("Login fails with valid password", "After entering a valid password the login page reloads");
+        export = put("Export to PDF crashes", "The export dialog closes and nothing is saved");
+        darkMode = put("Add dark mode", "Users want a dark theme for the dashboard");
+        for (int i = 0; i < 200; i++) put("Unrelated ticket " + i, "filler text number " + i + " about topic " + (i * 7));
+    }
+
+    @Test
+    @DisplayName("A reworded ticket finds the original, unrelated ones are not returned")
+    void findsNearDuplicate() {
+        List<LshIndex.Match> matches = index.query(
+                MinHash.signature("Login fails with a valid password", "after entering a valid password the login page just reloads"),
+                null, 0.5, 5);
+
+        assertEquals(1, matches.size());
+        assertEquals(login, matches.getFirst().id());
+        assertEquals("Login fails with valid password", matches.getFirst().name());
+        assertTrue(matches.getFirst().similarity() >= 0.5);
+    }
+
+    @Test
+    @DisplayName("The excluded ticket is not its own duplicate")
+    void exclude() {
+        int[] same = MinHash.signature("Export to PDF crashes", "The export dialog closes and nothing is saved");
+
+        assertEquals(export, index.query(same, null, 0.5, 5).getFirst().id());
+        assertTrue(index.query(same, export, 0.5, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Removed and replaced entries are no longer found under the old text")
+    void removeAndReplace() {
+        int[] dark = MinHash.signature("Add dark mode", "Users want a dark theme for the dashboard");
+        index.put(darkMode, "Keyboard shortcuts", MinHash.signature("Keyboard shortcuts", "for every menu item"));
+        assertTrue(index.query(dark, null, 0.5, 5).isEmpty());
+
+        int before = index.size();
+        index.remove(darkMode);
+        assertEquals(before - 1, index.size());
+        assertTrue(index.query(MinHash.signature("Keyboard shortcuts", "for every menu item"), null, 0.5, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Most similar first, up to the limit")
+    void orderAndLimit() {
+        put("Export to PDF crashes on large files", "The export dialog closes and nothing is saved");
+        int[] query = MinHash.signature("Export to PDF crashes", "The export dialog closes and nothing is saved");
+
+        List<LshIndex.Match> matches = index.query(query, null, 0.3, 5);
+        assertEquals(2, matches.size());
+        assertEquals(export, matches.getFirst().id());
+        assertTrue(matches.getFirst().similarity() >= matches.get(1).similarity());
+        assertEquals(1, index.query(query, null, 0.3, 1).size());
+    }
+
+    private UUID put(String name, String description) {
+        UUID id = UUID.randomUUID();
+        index.put(id, name, MinHash.signature(name, description));
+        return id;
+    }
+}
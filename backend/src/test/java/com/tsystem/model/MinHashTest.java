@@ -0,0 +1,62 @@
+package com.tsystem.model;
+
+import com.tsystem.model.similarity.MinHash;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashTest {
+
+    @Test
+    @DisplayName("Case, accents and punctuation do not matter")
+    void normalized() {
+        int[] a = MinHash.signature("Login fails on Café page", "Steps: open, click!");
+        int[] b = MinHash.signature("login FAILS on cafe page.", "steps open click");
+
+        assertEquals(MinHash.SIGNATURE_SIZE, a.length);
+        assertEquals(1.0, MinHash.similarity(a, b));
+    }
+
+    @Test
+    @DisplayName("Texts without words have no signature")
+    void noWords() {
+        assertNull(MinHash.signature(null, "  "));
+        assertNull(MinHash.signature("!!! ---", null));
+    }
+
+    @Test
+    @DisplayName("Word order counts through the word pairs")
+    void wordOrder() {
+        int[] a = MinHash.signature("save button does nothing");
+        int[] b = MinHash.signature("nothing does button save");
+
+        double s = MinHash.similarity(a, b);
+        assertTrue(s > 0.2 && s < 0.8, "similarity " + s);
+    }
+
+    @Test
+    @DisplayName("The estimate is close to the Jaccard similarity of the shingles")
+    void estimatesJaccard() {
+        // 10 words in common out of 20 each: 19 of 59 distinct words and pairs shared, 0.32
+        String a = words(0, 20);
+        String b = words(0, 10) + " " + words(100, 110);
+
+        double s = MinHash.similarity(MinHash.signature(a), MinHash.signature(b));
+        assertEquals(0.32, s, 0.2);
+        assertTrue(MinHash.similarity(MinHash.signature(a), MinHash.signature(words(200, 220))) < 0.1);
+    }
+
+    @Test
+    @DisplayName("Signatures are stable")
+    void stable() {
+        assertArrayEquals(MinHash.signature("Crash on export", "PDF"), MinHash.signature("Crash on export", "PDF"));
+    }
+
+    private static String words(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "w" + i).collect(Collectors.joining(" "));
+    }
+}
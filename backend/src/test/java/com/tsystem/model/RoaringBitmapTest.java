@@ -0,0 +1,100 @@
+package com.tsystem.model;
+
+import com.tsystem.model.label.RoaringBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTest {
+
+    private static RoaringBitmap of(BitSet bits) {
+        RoaringBitmap b = new RoaringBitmap();
+        bits.stream().forEach(b::add);
+        return b;
+    }
+
+    private static BitSet toBitSet(RoaringBitmap b) {
+        BitSet bits = new BitSet();
+        for (int v = b.nextValue(0); v >= 0; v = b.nextValue(v + 1)) bits.set(v);
+        return bits;
+    }
+
+    // sparse chunks stay arrays, dense ones become bitmaps, a few chunks are only in one operand
+    private static BitSet random(Random random, int chunks) {
+        BitSet bits = new BitSet();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (random.nextInt(4) == 0) continue;
+            int n = random.nextBoolean() ? random.nextInt(100) : 5000 + random.nextInt(20000);
+            for (int i = 0; i < n; i++) bits.set(chunk << 16 | random.nextInt(1 << 16));
+        }
+        return bits;
+    }
+
+    @Test
+    @DisplayName("Add, remove and contains agree with a BitSet across the array/bitmap switch")
+    void addRemove() {
+        RoaringBitmap b = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i += 2) assertTrue(b.add(i));
+        assertFalse(b.add(0));
+        assertEquals(5_000, b.cardinality());
+        assertTrue(b.contains(4_000));
+        assertFalse(b.contains(4_001));
+
+        for (int i = 0; i < 10_000; i += 4) assertTrue(b.remove(i));
+        assertFalse(b.remove(0));
+        assertEquals(2_500, b.cardinality());
+        assertFalse(b.contains(4_000));
+        assertTrue(b.contains(4_002));
+
+        assertTrue(b.add(1 << 20));
+        assertEquals(2, b.nextValue(0));
+        assertEquals(1 << 20, b.nextValue(9_999));
+        assertEquals(-1, b.nextValue((1 << 20) + 1));
+        assertThrows(IllegalArgumentException.class, () -> b.add(-1));
+    }
+
+    @Test
+    @DisplayName("AND, OR and AND NOT match BitSet on random sparse and dense chunks")
+    void operations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            BitSet x = random(random, 4);
+            BitSet y = random(random, 4);
+            RoaringBitmap a = of(x);
+            RoaringBitmap b = of(y);
+
+            BitSet and = (BitSet) x.clone();
+            and.and(y);
+            BitSet or = (BitSet) x.clone();
+            or.or(y);
+            BitSet andNot = (BitSet) x.clone();
+            andNot.andNot(y);
+
+            assertEquals(and, toBitSet(RoaringBitmap.and(a, b)));
+            assertEquals(or, toBitSet(RoaringBitmap.or(a, b)));
+            assertEquals(andNot, toBitSet(RoaringBitmap.andNot(a, b)));
+            assertEquals(and.cardinality(), RoaringBitmap.and(a, b).cardinality());
+            // operands are left alone
+            assertEquals(x, toBitSet(a));
+            assertEquals(y, toBitSet(b));
+        }
+    }
+
+    @Test
+    @DisplayName("A copy is independent of the original")
+    void copy() {
+        RoaringBitmap a = new RoaringBitmap();
+        for (int i = 0; i < 5_000; i++) a.add(i);
+        RoaringBitmap c = a.copy();
+        c.remove(1);
+        c.add(70_000);
+
+        assertTrue(a.contains(1));
+        assertFalse(a.contains(70_000));
+        assertEquals(5_000, c.cardinality());
+    }
+}
@@ -0,0 +1,102 @@
+package com.tsystem.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSpliceTest {
+
+    @Test
+    @DisplayName("Keeps only the changed region of a long text")
+    void between_SingleEdit() {
+        String before = "a".repeat(5000) + "old words" + "b".repeat(5000);
+        String after = "a".repeat(5000) + "new text" + "b".repeat(5000);
+
+        TextSplice splice = TextSplice.between(before, after);
+
+        assertEquals(new TextSplice(5000, "old words", "new text"), splice);
+        assertEquals(after, splice.apply(before));
+        assertEquals(before, splice.undo(after));
+    }
+
+    @Test
+    @DisplayName("Pure insertions and deletions round-trip")
+    void between_InsertAndDelete() {
+        TextSplice insert = TextSplice.between("hello world", "hello big world");
+        assertEquals("", insert.removed());
+        assertEquals("hello world", insert.undo("hello big world"));
+
+        TextSplice append = TextSplice.between("abc", "abcabc");
+        assertEquals("abc", append.undo("abcabc"));
+        assertEquals("abcabc", append.apply("abc"));
+
+        TextSplice delete = TextSplice.between("abcabc", "abc");
+        assertEquals("", delete.inserted());
+        assertEquals("abcabc", delete.undo("abc"));
+    }
+
+    @Test
+    @DisplayName("Edits in two places collapse into one region")
+    void between_TwoEdits() {
+        String before = "x-" + "m".repeat(100) + "-y";
+        String after = "X-" + "m".repeat(100) + "-Y";
+
+        TextSplice splice = TextSplice.between(before, after);
+
+        assertEquals(0, splice.offset());
+        assertEquals(before, splice.undo(after));
+    }
+
+    @Test
+    @DisplayName("Does not split surrogate pairs")
+    void between_SurrogatePairs() {
+        String before = "note 😀 end";
+        String after = "note 😁 end";
+
+        TextSplice splice = TextSplice.between(before, after);
+
+        assertEquals("😀", splice.removed());
+        assertEquals("😁", splice.inserted());
+        assertEquals(before, splice.undo(after));
+    }
+
+    @Test
+    @DisplayName("A splice is only undone on a text it produced")
+    void undo_Mismatch() {
+        TextSplice splice = new TextSplice(6, "old", "new");
+
+        assertTrue(splice.canUndo("prefixnew"));
+        assertFalse(splice.canUndo("prefixold"));
+        assertFalse(splice.canUndo("short"));
+        assertFalse(splice.canUndo(null));
+        assertThrows(IllegalArgumentException.class, () -> splice.undo("short"));
+    }
+
+    @Test
+    @DisplayName("Twenty edits of a 2,000 char description store a few percent of the full texts")
+    void size_RepeatedEdits() {
+        String[] words = "the ticket should be fixed before release when users open the board".split(" ");
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 2000) sb.append(words[random.nextInt(words.length)]).append(' ');
+        String text = sb.toString();
+
+        long full = 0, spliced = 0;
+        for (int i = 0; i < 20; i++) {
+            int at = random.nextInt(text.length() - 200);
+            String next = text.substring(0, at) + words[random.nextInt(words.length)] + " fixed in "
+                    + random.nextInt(1000) + " " + text.substring(at + random.nextInt(100));
+            TextSplice splice = TextSplice.between(text, next);
+            assertEquals(text, splice.undo(next));
+            full += text.length() + next.length();
+            spliced += splice.size();
+            text = next;
+        }
+
+        // history rows hold both versions per edit without splices
+        assertTrue(spliced * 20 < full, "spliced " + spliced + " of " + full + " chars");
+    }
+}
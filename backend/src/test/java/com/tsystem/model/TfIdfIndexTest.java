@@ -0,0 +1,105 @@
+package com.tsystem.model;
+
+import com.tsystem.model.similarity.TfIdfIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TfIdfIndexTest {
+
+    private TfIdfIndex index;
+    private UUID upload, uploadLarge, darkMode, export;
+
+    @BeforeEach
+    void setUp() {
+        index = new TfIdfIndex();
+        upload = UUID.randomUUID();
+        uploadLarge = UUID.randomUUID();
+        darkMode = UUID.randomUUID();
+        export = UUID.randomUUID();
+        index.putAll(List.of(
+                source(upload, "Avatar upload fails", "Uploading an avatar image returns an error"),
+                source(uploadLarge, "Large avatar images time out", "The upload of big images never finishes"),
+                source(darkMode, "Dark mode", "Add a dark theme to our dashboard"),
+                source(export, "Export dashboard to PDF", "The dashboard should be exported as a PDF")));
+    }
+
+    @Test
+    @DisplayName("Tickets sharing rare words rank first, unrelated ones are not returned")
+    void related() {
+        List<TfIdfIndex.Match> related = index.related(upload, 10);
+
+        assertEquals(uploadLarge, related.getFirst().id());
+        assertEquals("Large avatar images time out", related.getFirst().name());
+        assertTrue(related.getFirst().similarity() > 0 && related.getFirst().similarity() <= 1);
+        assertTrue(related.stream().noneMatch(m -> m.id().equals(upload)));
+        assertTrue(related.stream().noneMatch(m -> m.id().equals(darkMode)));
+    }
+
+    @Test
+    @DisplayName("Unknown tickets give null, a limit cuts the list")
+    void unknownAndLimit() {
+        assertNull(index.related(UUID.randomUUID(), 10));
+        assertEquals(1, index.related(export, 1).size());
+    }
+
+    @Test
+    @DisplayName("Comments count, and survive an edit of the ticket")
+    void comments() {
+        assertTrue(index.related(darkMode, 10).stream().noneMatch(m -> m.id().equals(uploadLarge)));
+
+        index.addComment(darkMode, "the avatar images look wrong in dark mode, large uploads too");
+        assertTrue(index.related(darkMode, 10).stream().anyMatch(m -> m.id().equals(uploadLarge)));
+
+        index.put(darkMode, "Dark theme", "Add a dark theme to our dashboard");
+        assertTrue(index.related(darkMode, 10).stream().anyMatch(m -> m.id().equals(uploadLarge)));
+        assertEquals("Dark theme", index.related(uploadLarge, 10).stream()
+                .filter(m -> m.id().equals(darkMode)).findFirst().orElseThrow().name());
+    }
+
+    @Test
+    @DisplayName("Removed tickets are no longer returned")
+    void remove() {
+        index.remove(uploadLarge);
+
+        assertEquals(3, index.size());
+        assertNull(index.related(uploadLarge, 10));
+        assertTrue(index.related(upload, 10).stream().noneMatch(m -> m.id().equals(uploadLarge)));
+    }
+
+    @Test
+    @DisplayName("Many edits compact the postings without changing the answers")
+    void compaction() {
+        List<TfIdfIndex.Match> before = index.related(upload, 10);
+        for (int i = 0; i < 3000; i++) {
+            index.put(export, "Export dashboard to PDF", "The dashboard should be exported as a PDF");
+        }
+
+        assertEquals(4, index.size());
+        assertEquals(before.stream().map(TfIdfIndex.Match::id).toList(),
+                index.related(upload, 10).stream().map(TfIdfIndex.Match::id).toList());
+    }
+
+    @Test
+    @DisplayName("Words in most tickets do not make tickets related")
+    void commonWordsIgnored() {
+        List<TfIdfIndex.Source> sources = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sources.add(source(UUID.randomUUID(), "please fix ticket " + i, "please fix this quickly topic" + i));
+        }
+        index.putAll(sources);
+        UUID probe = sources.getFirst().id();
+
+        assertTrue(index.related(probe, 10).isEmpty());
+    }
+
+    private static TfIdfIndex.Source source(UUID id, String name, String description) {
+        return new TfIdfIndex.Source(id, name, description, List.of());
+    }
+}
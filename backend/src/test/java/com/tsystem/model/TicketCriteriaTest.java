@@ -0,0 +1,82 @@
+package com.tsystem.model;
+
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.filter.TicketCriteria;
+import com.tsystem.model.filter.TicketFields;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketCriteriaTest {
+
+    private final UUID project = UUID.randomUUID();
+    private final UUID me = UUID.randomUUID();
+
+    // high-priority open bugs in the project assigned to me
+    private final TicketCriteria mine = new TicketCriteria(project, Set.of(TicketType.bug),
+            Set.of(TicketPriority.high), Set.of(TicketState.open), me, false);
+
+    private TicketFields bug(TicketPriority priority, TicketState state, UUID assignee) {
+        return new TicketFields(project, TicketType.bug, priority, state, assignee);
+    }
+
+    @Test
+    @DisplayName("Every set part must match, empty parts match anything")
+    void matches() {
+        assertTrue(mine.matches(bug(TicketPriority.high, TicketState.open, me)));
+        assertFalse(mine.matches(bug(TicketPriority.low, TicketState.open, me)));
+        assertFalse(mine.matches(bug(TicketPriority.high, TicketState.open, null)));
+        assertFalse(mine.matches(new TicketFields(UUID.randomUUID(), TicketType.bug, TicketPriority.high,
+                TicketState.open, me)));
+        assertFalse(mine.matches(null));
+
+        TicketCriteria any = new TicketCriteria(null, Set.of(), Set.of(), Set.of(), null, false);
+        assertTrue(any.matches(new TicketFields(UUID.randomUUID(), TicketType.task, TicketPriority.low,
+                TicketState.done, null)));
+
+        TicketCriteria unassigned = new TicketCriteria(null, Set.of(), Set.of(), Set.of(), null, true);
+        assertTrue(unassigned.matches(bug(TicketPriority.low, TicketState.open, null)));
+        assertFalse(unassigned.matches(bug(TicketPriority.low, TicketState.open, me)));
+    }
+
+    @Test
+    @DisplayName("Only writes that move a ticket into or out of the results change the count")
+    void changedBy() {
+        TicketFields open = bug(TicketPriority.high, TicketState.open, me);
+        TicketFields done = bug(TicketPriority.high, TicketState.done, me);
+
+        assertTrue(mine.changedBy(null, open));
+        assertTrue(mine.changedBy(open, null));
+        assertTrue(mine.changedBy(open, done));
+        assertFalse(mine.changedBy(null, done));
+        assertFalse(mine.changedBy(done, bug(TicketPriority.low, TicketState.done, me)));
+
+        // still in the results after the change
+        TicketCriteria anyPriority = new TicketCriteria(project, Set.of(), Set.of(), Set.of(TicketState.open),
+                null, false);
+        assertFalse(anyPriority.changedBy(open, bug(TicketPriority.low, TicketState.open, me)));
+    }
+
+    @Test
+    @DisplayName("Value sets are stored in declaration order and read back")
+    void storedForm() {
+        assertEquals("low,high", TicketCriteria.join(List.of(TicketPriority.high, TicketPriority.low,
+                TicketPriority.high)));
+        assertEquals("", TicketCriteria.join(List.<TicketState>of()));
+
+        SavedFilter f = SavedFilter.builder().projectId(project).types("bug,task").priorities("high")
+                .states("").assigneeId(me).build();
+        TicketCriteria c = TicketCriteria.of(f);
+        assertEquals(Set.of(TicketType.bug, TicketType.task), c.types());
+        assertEquals(Set.of(TicketPriority.high), c.priorities());
+        assertTrue(c.states().isEmpty());
+        assertEquals(List.of(TicketType.bug, TicketType.task), List.copyOf(c.types()));
+    }
+}
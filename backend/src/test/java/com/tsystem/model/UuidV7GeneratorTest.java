@@ -0,0 +1,70 @@
+package com.tsystem.model;
+
+import com.tsystem.model.dto.KeysetCursor;
+import com.tsystem.model.id.UuidV7Generator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Generated ids carry version 7 and the RFC variant")
+    void next_VersionAndVariant() {
+        UUID id = UuidV7Generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    @DisplayName("Embedded timestamp is the creation time")
+    void next_EmbedsTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long ts = UuidV7Generator.timestampMillis(id);
+        // the sequence may borrow a millisecond under heavy load
+        assertTrue(ts >= before && ts <= after + 1, "timestamp " + ts + " outside [" + before + ", " + after + "]");
+    }
+
+    @Test
+    @DisplayName("Ids are strictly increasing in database order, even within one millisecond")
+    void next_Monotonic() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) ids.add(UuidV7Generator.next());
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(KeysetCursor.UUID_ORDER.compare(ids.get(i - 1), ids.get(i)) < 0,
+                    "not increasing at " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent generation yields no duplicates")
+    void next_ConcurrentUnique() {
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 50_000).parallel().forEach(i -> seen.add(UuidV7Generator.next()));
+
+        assertEquals(50_000, seen.size());
+    }
+
+    @Test
+    @DisplayName("Random part differs between ids")
+    void next_RandomTail() {
+        Set<Long> tails = new HashSet<>();
+        for (int i = 0; i < 1000; i++) tails.add(UuidV7Generator.next().getLeastSignificantBits());
+
+        assertEquals(1000, tails.size());
+    }
+}
@@ -0,0 +1,74 @@
+package com.tsystem.project;
+
+import com.tsystem.model.CollectionVersion;
+import com.tsystem.model.dto.VersionStamp;
+import com.tsystem.repository.CollectionVersionRepository;
+import com.tsystem.service.CollectionVersionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CollectionVersionServiceTest {
+
+    @Mock CollectionVersionRepository repository;
+    @InjectMocks CollectionVersionService service;
+
+    @Test
+    @DisplayName("Bump increments the existing counter")
+    void bump_Increments() {
+        when(repository.bump(eq("projects"), any())).thenReturn(1);
+
+        service.bump(CollectionVersionService.PROJECTS);
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Bump creates the counter when its row is missing")
+    void bump_CreatesRow() {
+        when(repository.bump(eq("users"), any())).thenReturn(0);
+
+        service.bump(CollectionVersionService.USERS);
+
+        verify(repository).save(argThat(v -> v.getName().equals("users") && v.getVersion() == 1));
+    }
+
+    @Test
+    @DisplayName("Stamp names every collection and takes the latest change time")
+    void stamp_CombinesCollections() {
+        OffsetDateTime older = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime newer = older.plusHours(1);
+        when(repository.findAllById(List.of("projects", "users"))).thenReturn(List.of(
+                new CollectionVersion("users", 7, newer),
+                new CollectionVersion("projects", 3, older)));
+
+        VersionStamp stamp = service.stamp(CollectionVersionService.PROJECTS, CollectionVersionService.USERS);
+
+        assertEquals("W/\"projects.3-users.7\"", stamp.etag());
+        assertEquals(newer.toInstant().toEpochMilli(), stamp.lastModified());
+    }
+
+    @Test
+    @DisplayName("Unknown collection counts as version 0 without a change time")
+    void stamp_Missing() {
+        when(repository.findAllById(List.of("users"))).thenReturn(List.of());
+
+        VersionStamp stamp = service.stamp(CollectionVersionService.USERS);
+
+        assertEquals("W/\"users.0\"", stamp.etag());
+        assertEquals(-1, stamp.lastModified());
+    }
+}
@@ -0,0 +1,167 @@
+package com.tsystem.project;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.TicketHistory;
+import com.tsystem.model.dto.response.DurationStatsResponse;
+import com.tsystem.model.dto.response.FlowGroupResponse;
+import com.tsystem.model.dto.response.FlowReportResponse;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectFlowStatsRepository;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketHistoryRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.FlowReportService;
+import com.tsystem.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class FlowReportServiceTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+    @Autowired TicketHistoryRepository ticketHistoryRepository;
+    @Autowired ProjectFlowStatsRepository flowStatsRepository;
+
+    private final ProjectService projectService = mock(ProjectService.class);
+    private FlowReportService flowReportService;
+
+    private User user;
+    private Project project;
+    private OffsetDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        flowReportService = new FlowReportService(jdbcTemplate, flowStatsRepository, projectService, 0);
+        user = userRepository.save(User.builder()
+                .username("flow@example.com").email("flow@example.com").name("Flow").surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+        project = projectRepository.save(Project.builder().name("Flow").user(user).build());
+        when(projectService.lookup(project.getId())).thenReturn(Optional.of(
+                ProjectResponse.builder().id(project.getId()).status(ProjectStatus.ACTIVE).build()));
+        base = OffsetDateTime.now().minusDays(10);
+    }
+
+    @Test
+    @DisplayName("Lead time, cycle time and time in state per type and priority")
+    void computesFromStateChanges() {
+        Ticket bug = ticket(TicketType.bug, TicketPriority.high, base);
+        change(bug, TicketState.in_progress, base.plusHours(1));
+        change(bug, TicketState.done, base.plusHours(4));
+        Ticket task = ticket(TicketType.task, TicketPriority.low, base);
+        change(task, TicketState.done, base.plusHours(2));
+        ticket(TicketType.feature, TicketPriority.med, base);   // never moved
+
+        FlowReportResponse report = flowReportService.getFlowReport(project.getId());
+
+        assertEquals(2, report.getGroups().size());
+        FlowGroupResponse bugs = report.getGroups().get(0);
+        assertEquals(TicketType.bug, bugs.getType());
+        assertEquals(TicketPriority.high, bugs.getPriority());
+        assertStats(1, 4 * 3600, bugs.getLeadTime());
+        assertStats(1, 3 * 3600, bugs.getCycleTime());
+        assertStats(1, 3600, bugs.getTimeInState().get(TicketState.open));
+        assertStats(1, 3 * 3600, bugs.getTimeInState().get(TicketState.in_progress));
+        assertEquals(0, bugs.getTimeInState().get(TicketState.done).getCount());
+
+        FlowGroupResponse tasks = report.getGroups().get(1);
+        assertStats(1, 2 * 3600, tasks.getLeadTime());
+        assertEquals(0, tasks.getCycleTime().getCount(), "closed without being in progress");
+
+        assertEquals(2, report.getTotal().getLeadTime().getCount());
+        assertNull(report.getTotal().getType());
+    }
+
+    @Test
+    @DisplayName("A later report only adds the changes made since the previous one")
+    void incremental() throws InterruptedException {
+        Ticket bug = ticket(TicketType.bug, TicketPriority.med, base);
+        change(bug, TicketState.in_progress, base.plusHours(1));
+        change(bug, TicketState.done, base.plusHours(2));
+        FlowReportResponse first = flowReportService.getFlowReport(project.getId());
+        assertEquals(1, first.getGroups().get(0).getLeadTime().getCount());
+
+        // reopened and closed again after the first report
+        OffsetDateTime reopened = first.getComputedThrough().plusNanos(1_000);
+        change(bug, TicketState.in_progress, reopened);
+        change(bug, TicketState.done, reopened.plusNanos(1_000));
+        Thread.sleep(5);
+        FlowReportResponse second = flowReportService.getFlowReport(project.getId());
+
+        FlowGroupResponse bugs = second.getGroups().get(0);
+        assertEquals(2, bugs.getLeadTime().getCount());
+        assertEquals(2, bugs.getCycleTime().getCount());
+        assertEquals(1, bugs.getTimeInState().get(TicketState.open).getCount(), "not counted twice");
+        assertEquals(2, bugs.getTimeInState().get(TicketState.in_progress).getCount());
+        assertEquals(1, bugs.getTimeInState().get(TicketState.done).getCount());
+        assertTrue(second.getComputedThrough().isAfter(first.getComputedThrough()));
+    }
+
+    @Test
+    @DisplayName("Archived projects return the stored stats without reading history")
+    void archivedNotRecomputed() {
+        Ticket bug = ticket(TicketType.bug, TicketPriority.med, base);
+        change(bug, TicketState.done, base.plusHours(1));
+        when(projectService.lookup(project.getId())).thenReturn(Optional.of(
+                ProjectResponse.builder().id(project.getId()).status(ProjectStatus.ARCHIVED).build()));
+
+        FlowReportResponse report = flowReportService.getFlowReport(project.getId());
+
+        assertTrue(report.getGroups().isEmpty());
+        assertEquals(0, report.getTotal().getLeadTime().getCount());
+    }
+
+    @Test
+    @DisplayName("Unknown project is 404")
+    void unknownProject() {
+        assertThrows(NotFoundException.class, () -> flowReportService.getFlowReport(UUID.randomUUID()));
+    }
+
+    private static void assertStats(long count, long seconds, DurationStatsResponse stats) {
+        assertEquals(count, stats.getCount());
+        assertEquals(seconds, stats.getMax());
+        assertEquals(seconds, stats.getP50(), seconds * 0.032);
+    }
+
+    // flushed right away, the report reads them over JDBC
+    private Ticket ticket(TicketType type, TicketPriority priority, OffsetDateTime createdAt) {
+        return ticketRepository.saveAndFlush(Ticket.builder()
+                .name("T").type(type).priority(priority)
+                .author(user).project(project)
+                .createdAt(createdAt).updatedAt(createdAt)
+                .build());
+    }
+
+    private void change(Ticket ticket, TicketState state, OffsetDateTime at) {
+        ticketHistoryRepository.saveAndFlush(TicketHistory.builder()
+                .ticketId(ticket.getId()).authorId(user.getId())
+                .action("UPDATED").field("state").newValue(state.name())
+                .createdAt(at)
+                .build());
+    }
+}
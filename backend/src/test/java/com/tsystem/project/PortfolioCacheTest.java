@@ -0,0 +1,70 @@
+package com.tsystem.project;
+
+import com.tsystem.configuration.CacheConfiguration;
+import com.tsystem.model.dto.response.PortfolioReportResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.service.PortfolioReportService;
+import com.tsystem.service.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+@Import({CacheConfiguration.class, PortfolioReportService.class})
+class PortfolioCacheTest {
+
+    @Autowired
+    private PortfolioReportService portfolioReportService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private ProjectRepository projectRepository;
+
+    @MockitoBean
+    private TicketRepository ticketRepository;
+
+    @MockitoBean
+    private UserDirectory userDirectory;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfiguration.PORTFOLIO).clear();
+        when(projectRepository.findByStatus(ProjectStatus.ACTIVE)).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("The report is computed once and then served from the cache")
+    void getReport_Cached() {
+        PortfolioReportResponse first = portfolioReportService.getReport();
+        PortfolioReportResponse second = portfolioReportService.getReport();
+
+        assertSame(first, second);
+        verify(projectRepository, times(1)).findByStatus(ProjectStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("A failed report is not cached")
+    void getReport_FailureNotCached() {
+        when(projectRepository.findByStatus(ProjectStatus.ACTIVE))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> portfolioReportService.getReport());
+        assertNotNull(portfolioReportService.getReport());
+        verify(projectRepository, times(2)).findByStatus(ProjectStatus.ACTIVE);
+    }
+}
@@ -0,0 +1,68 @@
+package com.tsystem.project;
+
+import com.tsystem.configuration.JacksonConfiguration;
+import com.tsystem.configuration.JwtAuthenticationFilter;
+import com.tsystem.controller.PortfolioReportController;
+import com.tsystem.model.dto.response.PortfolioAssigneeResponse;
+import com.tsystem.model.dto.response.PortfolioProjectResponse;
+import com.tsystem.model.dto.response.PortfolioReportResponse;
+import com.tsystem.model.dto.response.UserShortResponse;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.service.PortfolioReportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = PortfolioReportController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthenticationFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(JacksonConfiguration.class)
+class PortfolioReportControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean PortfolioReportService portfolioReportService;
+
+    @Test @DisplayName("GET /api/reports/portfolio - counts, projects and top assignees")
+    void getPortfolio() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(portfolioReportService.getReport()).thenReturn(PortfolioReportResponse.builder()
+                .generatedAt(OffsetDateTime.now())
+                .states(Map.of(TicketState.open, 4L))
+                .total(4).stale(1)
+                .projects(List.of(PortfolioProjectResponse.builder()
+                        .projectId(UUID.randomUUID()).name("Alpha").states(Map.of(TicketState.open, 4L))
+                        .total(4).stale(1).build()))
+                .topAssignees(List.of(PortfolioAssigneeResponse.builder()
+                        .user(UserShortResponse.builder().id(userId).username("ann@example.com").build())
+                        .open(3).projects(1).build()))
+                .build());
+
+        mockMvc.perform(get("/api/reports/portfolio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.states.open").value(4))
+                .andExpect(jsonPath("$.projects[0].name").value("Alpha"))
+                .andExpect(jsonPath("$.topAssignees[0].user.username").value("ann@example.com"))
+                .andExpect(jsonPath("$.topAssignees[0].open").value(3));
+    }
+}
@@ -0,0 +1,118 @@
+package com.tsystem.project;
+
+import com.tsystem.model.Project;
+import com.tsystem.model.dto.ProjectTicketCount;
+import com.tsystem.model.dto.response.PortfolioAssigneeResponse;
+import com.tsystem.model.dto.response.PortfolioProjectResponse;
+import com.tsystem.model.dto.response.PortfolioReportResponse;
+import com.tsystem.model.dto.response.UserShortResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.service.PortfolioReportService;
+import com.tsystem.service.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PortfolioReportServiceTest {
+
+    @Mock ProjectRepository projectRepository;
+    @Mock TicketRepository ticketRepository;
+    @Mock UserDirectory userDirectory;
+
+    private PortfolioReportService service;
+    private Project alpha, beta;
+    private UUID ann, bob, carl;
+
+    @BeforeEach
+    void setUp() {
+        service = new PortfolioReportService(projectRepository, ticketRepository, userDirectory, 2, 14, 2);
+        alpha = Project.builder().id(UUID.randomUUID()).name("alpha").build();
+        beta = Project.builder().id(UUID.randomUUID()).name("Beta").build();
+        ann = UUID.randomUUID();
+        bob = UUID.randomUUID();
+        carl = UUID.randomUUID();
+        when(projectRepository.findByStatus(ProjectStatus.ACTIVE)).thenReturn(List.of(beta, alpha));
+    }
+
+    @Test
+    @DisplayName("Sums the per-project counts; done tickets are never stale or unassigned")
+    void getReport_Merges() {
+        when(ticketRepository.countForPortfolio(eq(alpha.getId()), any())).thenReturn(List.of(
+                new ProjectTicketCount(TicketState.open, ann, 3, 1),
+                new ProjectTicketCount(TicketState.open, null, 2, 2),
+                new ProjectTicketCount(TicketState.done, ann, 5, 5)));
+        when(ticketRepository.countForPortfolio(eq(beta.getId()), any())).thenReturn(List.of(
+                new ProjectTicketCount(TicketState.in_progress, ann, 1, 0),
+                new ProjectTicketCount(TicketState.in_progress, bob, 2, 2),
+                new ProjectTicketCount(TicketState.open, carl, 1, 0)));
+        when(userDirectory.find(anyList())).thenReturn(List.of(
+                UserShortResponse.builder().id(ann).username("ann@example.com").build()));
+
+        PortfolioReportResponse report = service.getReport();
+
+        assertEquals(14, report.getTotal());
+        assertEquals(6, report.getStates().get(TicketState.open));
+        assertEquals(3, report.getStates().get(TicketState.in_progress));
+        assertEquals(5, report.getStates().get(TicketState.done));
+        assertEquals(5, report.getStale());
+        assertEquals(2, report.getUnassigned());
+
+        // by name, case-insensitive
+        List<PortfolioProjectResponse> projects = report.getProjects();
+        assertEquals(List.of("alpha", "Beta"), projects.stream().map(PortfolioProjectResponse::getName).toList());
+        assertEquals(10, projects.getFirst().getTotal());
+        assertEquals(3, projects.getFirst().getStale());
+        assertEquals(0, projects.get(1).getStates().get(TicketState.done));
+
+        // ann 4 open over two projects, bob 2; carl is cut by the limit
+        List<PortfolioAssigneeResponse> top = report.getTopAssignees();
+        assertEquals(2, top.size());
+        assertEquals("ann@example.com", top.getFirst().getUser().getUsername());
+        assertEquals(4, top.getFirst().getOpen());
+        assertEquals(2, top.getFirst().getProjects());
+        assertEquals(bob, top.get(1).getUser().getId());
+        assertNull(top.get(1).getUser().getUsername());
+        assertEquals(2, top.get(1).getStale());
+        verify(userDirectory).find(List.of(ann, bob));
+    }
+
+    @Test
+    @DisplayName("The stale cutoff is the configured number of days back")
+    void getReport_StaleCutoff() {
+        when(ticketRepository.countForPortfolio(any(), any())).thenReturn(List.of());
+        OffsetDateTime before = OffsetDateTime.now().minusDays(14);
+
+        PortfolioReportResponse report = service.getReport();
+
+        assertFalse(report.getStaleBefore().isBefore(before));
+        verify(ticketRepository).countForPortfolio(alpha.getId(), report.getStaleBefore());
+        assertEquals(0, report.getTotal());
+        assertTrue(report.getTopAssignees().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A failed project query fails the report")
+    void getReport_Failure() {
+        when(ticketRepository.countForPortfolio(eq(beta.getId()), any())).thenThrow(new QueryTimeoutException("slow"));
+
+        assertThrows(QueryTimeoutException.class, () -> service.getReport());
+    }
+}
@@ -0,0 +1,83 @@
+package com.tsystem.project;
+
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.ProjectTicketCount;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class PortfolioRepositoryTest {
+
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+
+    private User me;
+    private Project active, archived;
+    private OffsetDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        me = userRepository.save(User.builder()
+                .username("pm@example.com").email("pm@example.com").name("Pm").surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+        active = projectRepository.save(Project.builder().name("Active").user(me).build());
+        archived = projectRepository.save(Project.builder().name("Archived").user(me)
+                .status(ProjectStatus.ARCHIVED).build());
+        now = OffsetDateTime.now();
+    }
+
+    @Test
+    @DisplayName("Only active projects are listed")
+    void findByStatus() {
+        assertEquals(List.of(active.getId()),
+                projectRepository.findByStatus(ProjectStatus.ACTIVE).stream().map(Project::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Counts per state and assignee, stale ones separately")
+    void countForPortfolio() {
+        ticket(TicketState.open, me, now.minusDays(30));
+        ticket(TicketState.open, me, now);
+        ticket(TicketState.open, null, now.minusDays(30));
+        ticket(TicketState.done, me, now);
+
+        Set<ProjectTicketCount> counts = Set.copyOf(
+                ticketRepository.countForPortfolio(active.getId(), now.minusDays(14)));
+
+        assertEquals(Set.of(
+                new ProjectTicketCount(TicketState.open, me.getId(), 2, 1),
+                new ProjectTicketCount(TicketState.open, null, 1, 1),
+                new ProjectTicketCount(TicketState.done, me.getId(), 1, 0)), counts);
+        assertTrue(ticketRepository.countForPortfolio(archived.getId(), now).isEmpty());
+    }
+
+    private void ticket(TicketState state, User assignee, OffsetDateTime updatedAt) {
+        ticketRepository.saveAndFlush(Ticket.builder()
+                .name("T").type(TicketType.task).priority(TicketPriority.med).state(state)
+                .author(me).assignee(assignee).project(active)
+                .createdAt(updatedAt).updatedAt(updatedAt)
+                .build());
+    }
+}
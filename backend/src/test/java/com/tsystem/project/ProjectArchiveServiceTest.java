@@ -0,0 +1,111 @@
+package com.tsystem.project;
+
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.TicketComment;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketCommentRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.BlobStore;
+import com.tsystem.service.ProjectArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ProjectArchiveServiceTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+    @Autowired TicketCommentRepository ticketCommentRepository;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private ProjectArchiveService service;
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        // the schema of the tests comes from the entities, the archive tables from a migration
+        for (String table : new String[]{"tickets", "ticket_comments", "ticket_history", "ticket_attachments",
+                "ticket_labels"}) {
+            jdbcTemplate.execute("create table if not exists " + table + "_archive as select * from " + table
+                    + " with no data");
+        }
+        service = new ProjectArchiveService(jdbcTemplate, mock(BlobStore.class), eventPublisher,
+                transactionManager, 2);
+        user = userRepository.save(User.builder()
+                .username("archive@example.com").email("archive@example.com").name("Archive").surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+        project = projectRepository.save(Project.builder().name("Archive").user(user).build());
+        for (int i = 0; i < 5; i++) {
+            Ticket t = ticketRepository.save(Ticket.builder().name("Ticket " + i).type(TicketType.task)
+                    .priority(TicketPriority.low).author(user).project(project).build());
+            ticketCommentRepository.save(TicketComment.builder().ticketId(t.getId()).authorId(user.getId())
+                    .text("Comment " + i).build());
+        }
+        ticketRepository.flush();
+        ticketCommentRepository.flush();
+    }
+
+    private void setStatus(ProjectStatus status) {
+        project.setStatus(status);
+        projectRepository.saveAndFlush(project);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    @Test
+    @DisplayName("Archiving moves the tickets and their children in chunks")
+    void move_ToArchive() {
+        setStatus(ProjectStatus.ARCHIVED);
+
+        assertEquals(5, service.move(project.getId()));
+
+        assertEquals(0, ticketRepository.countByProjectId(project.getId()));
+        assertEquals(5, service.countArchivedTickets(project.getId()));
+        assertEquals(0, count("ticket_comments"));
+        assertEquals(5, count("ticket_comments_archive"));
+        verify(eventPublisher).publishEvent(ProjectArchiveEvent.ticketsMoved(project.getId()));
+    }
+
+    @Test
+    @DisplayName("Tickets move toward the status, a settled project moves nothing")
+    void move_FollowsStatus() {
+        setStatus(ProjectStatus.ARCHIVED);
+        service.move(project.getId());
+        setStatus(ProjectStatus.ACTIVE);
+
+        assertEquals(5, service.move(project.getId()));
+        assertEquals(0, service.move(project.getId()));
+
+        assertEquals(5, ticketRepository.countByProjectId(project.getId()));
+        assertEquals(0, service.countArchivedTickets(project.getId()));
+        assertEquals(5, count("ticket_comments"));
+        assertEquals(0, count("ticket_comments_archive"));
+    }
+}
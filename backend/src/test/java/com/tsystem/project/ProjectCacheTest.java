@@ -0,0 +1,140 @@
+package com.tsystem.project;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tsystem.configuration.CacheConfiguration;
+import com.tsystem.model.Project;
+import com.tsystem.model.dto.request.ProjectUpdateRequest;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectFlowStatsRepository;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.CollectionVersionService;
+import com.tsystem.service.DuplicateTicketService;
+import com.tsystem.service.ProjectDeletionService;
+import com.tsystem.service.ProjectService;
+import com.tsystem.service.LabelIndexService;
+import com.tsystem.service.SavedFilterCounts;
+import com.tsystem.service.RelatedTicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+@Import({CacheConfiguration.class, ProjectService.class})
+class ProjectCacheTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private ProjectRepository projectRepository;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private ProjectDeletionService projectDeletionService;
+
+    @MockitoBean
+    private CollectionVersionService collectionVersions;
+
+    @MockitoBean
+    private ProjectFlowStatsRepository flowStatsRepository;
+
+    @MockitoBean
+    private DuplicateTicketService duplicateTicketService;
+
+    @MockitoBean
+    private RelatedTicketService relatedTicketService;
+
+    @MockitoBean
+    private LabelIndexService labelIndexService;
+
+    @MockitoBean
+    private SavedFilterCounts savedFilterCounts;
+
+    private UUID projectId;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfiguration.PROJECTS).clear();
+        projectId = UUID.randomUUID();
+        project = Project.builder()
+                .id(projectId)
+                .name("Cached")
+                .status(ProjectStatus.ACTIVE)
+                .user(User.builder().id(UUID.randomUUID()).username("owner@example.com").build())
+                .build();
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+    }
+
+    @Test
+    @DisplayName("Second lookup is served from the cache")
+    void lookup_SecondCallHitsCache() {
+        CacheStats before = nativeCache().stats();
+
+        assertEquals("Cached", projectService.lookup(projectId).orElseThrow().getName());
+        assertEquals("Cached", projectService.lookup(projectId).orElseThrow().getName());
+
+        verify(projectRepository, times(1)).findById(projectId);
+        CacheStats delta = nativeCache().stats().minus(before);
+        assertEquals(1, delta.hitCount());
+        assertEquals(1, delta.missCount());
+    }
+
+    @Test
+    @DisplayName("Missing project is not cached")
+    void lookup_MissIsNotCached() {
+        UUID unknown = UUID.randomUUID();
+        when(projectRepository.findById(unknown)).thenReturn(Optional.empty());
+
+        assertTrue(projectService.lookup(unknown).isEmpty());
+        assertTrue(projectService.lookup(unknown).isEmpty());
+
+        verify(projectRepository, times(2)).findById(unknown);
+    }
+
+    @Test
+    @DisplayName("Update evicts the cached project")
+    void update_EvictsEntry() {
+        projectService.lookup(projectId);
+        when(projectRepository.save(any(Project.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        projectService.update(projectId, new ProjectUpdateRequest("Renamed", null, ProjectStatus.ACTIVE));
+
+        assertEquals("Renamed", projectService.lookup(projectId).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Delete evicts the cached project")
+    void delete_EvictsEntry() {
+        projectService.lookup(projectId);
+
+        projectService.delete(projectId);
+
+        assertNull(nativeCache().getIfPresent(projectId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache() {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfiguration.PROJECTS).getNativeCache();
+    }
+}
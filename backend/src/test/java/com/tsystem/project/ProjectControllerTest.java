@@ -1,11 +1,20 @@
 package com.tsystem.project;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystem.configuration.JacksonConfiguration;
 import com.tsystem.configuration.JwtAuthenticationFilter;
 import com.tsystem.controller.ProjectController;
 import com.tsystem.exception.NotFoundException;
 import com.tsystem.model.Project;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.VersionStamp;
+import com.tsystem.model.dto.response.ProjectDeletionResponse;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.enums.ProjectDeletionState;
 import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.mapper.ProjectMapper;
 import com.tsystem.model.user.User;
+import com.tsystem.service.CollectionVersionService;
 import com.tsystem.service.ProjectService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +25,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -25,6 +36,7 @@ import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -41,14 +53,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         )
 )
 @AutoConfigureMockMvc(addFilters = false)
+@Import(JacksonConfiguration.class)
 class ProjectControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private ProjectService projectService;
 
+    @MockitoBean
+    private CollectionVersionService collectionVersions;
+
+    private final VersionStamp stamp = new VersionStamp("W/\"projects.3-users.7\"", 1_700_000_000_000L);
+
     private User testUser;
     private Project testProject;
     private UUID projectId;
@@ -56,6 +77,7 @@ class ProjectControllerTest {
 
     @BeforeEach
     void setUp() {
+        when(collectionVersions.stamp(CollectionVersionService.PROJECTS, CollectionVersionService.USERS)).thenReturn(stamp);
         projectId = UUID.randomUUID();
         userId = UUID.randomUUID();
 
@@ -126,6 +148,54 @@ class ProjectControllerTest {
                     .andExpect(jsonPath("$[0].name").value("Test Project"))
                     .andExpect(jsonPath("$[1].name").value("Project 2"));
         }
+
+        @Test
+        @DisplayName("fields= returns only the requested properties")
+        void list_WithFields() throws Exception {
+            when(projectService.findAll(any(FieldSet.class))).thenReturn(List.of(
+                    ProjectResponse.builder().id(projectId).name("Test Project").build()));
+
+            mockMvc.perform(get("/api/projects").param("fields", "name,id"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(projectId.toString()))
+                    .andExpect(jsonPath("$[0].name").value("Test Project"))
+                    .andExpect(jsonPath("$[0].description").doesNotExist())
+                    .andExpect(jsonPath("$[0].owner").doesNotExist());
+
+            verify(projectService).findAll(FieldSet.parse(objectMapper, ProjectResponse.class, "id,name"));
+            verify(projectService, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("sends the collection versions as validators")
+        void list_SendsValidators() throws Exception {
+            when(projectService.findAll()).thenReturn(List.of(testProject));
+
+            mockMvc.perform(get("/api/projects"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, stamp.etag()))
+                    .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        }
+
+        @Test
+        @DisplayName("matching If-None-Match returns 304 without loading projects")
+        void list_NotModified() throws Exception {
+            mockMvc.perform(get("/api/projects").header(HttpHeaders.IF_NONE_MATCH, stamp.etag()))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                    .andExpect(content().string(""));
+
+            verifyNoInteractions(projectService);
+        }
+
+        @Test
+        @DisplayName("unknown field returns 400")
+        void list_UnknownField() throws Exception {
+            mockMvc.perform(get("/api/projects").param("fields", "id,secret"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -220,7 +290,7 @@ class ProjectControllerTest {
         @Test
         @DisplayName("returns project by id")
         void get_Success() throws Exception {
-            when(projectService.findById(projectId)).thenReturn(testProject);
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(ProjectMapper.toResponse(testProject)));
 
             mockMvc.perform(get("/api/projects/{projectId}", projectId))
                     .andExpect(status().isOk())
@@ -230,14 +300,14 @@ class ProjectControllerTest {
                     .andExpect(jsonPath("$.status").value("ACTIVE"))
                     .andExpect(jsonPath("$.owner.id").value(userId.toString()));
 
-            verify(projectService).findById(projectId);
+            verify(projectService).lookup(projectId);
         }
 
         @Test
         @DisplayName("returns 404 when project not found")
         void get_NotFound() throws Exception {
             UUID randomId = UUID.randomUUID();
-            when(projectService.findById(randomId)).thenThrow(new NotFoundException("Project not found"));
+            when(projectService.lookup(randomId)).thenReturn(Optional.empty());
 
             mockMvc.perform(get("/api/projects/{projectId}", randomId))
                     .andExpect(status().isNotFound());
@@ -247,7 +317,7 @@ class ProjectControllerTest {
         @DisplayName("returns project with null description")
         void get_NullDescription() throws Exception {
             testProject.setDescription(null);
-            when(projectService.findById(projectId)).thenReturn(testProject);
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(ProjectMapper.toResponse(testProject)));
 
             mockMvc.perform(get("/api/projects/{projectId}", projectId))
                     .andExpect(status().isOk())
@@ -359,7 +429,7 @@ class ProjectControllerTest {
         @DisplayName("deletes project successfully")
         @WithMockUser(username = "owner@example.com")
         void delete_Success() throws Exception {
-            doNothing().when(projectService).delete(projectId);
+            when(projectService.delete(projectId)).thenReturn(deletion(ProjectDeletionState.DONE));
 
             mockMvc.perform(delete("/api/projects/{projectId}", projectId))
                     .andExpect(status().isNoContent());
@@ -367,6 +437,18 @@ class ProjectControllerTest {
             verify(projectService).delete(projectId);
         }
 
+        @Test
+        @DisplayName("returns 202 with job status when deletion continues in background")
+        @WithMockUser(username = "owner@example.com")
+        void delete_Async_Returns202() throws Exception {
+            when(projectService.delete(projectId)).thenReturn(deletion(ProjectDeletionState.QUEUED));
+
+            mockMvc.perform(delete("/api/projects/{projectId}", projectId))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.state").value("QUEUED"))
+                    .andExpect(jsonPath("$.totalTickets").value(50000));
+        }
+
         @Test
         @DisplayName("returns 404 when project not found")
         @WithMockUser(username = "owner@example.com")
@@ -378,5 +460,35 @@ class ProjectControllerTest {
             mockMvc.perform(delete("/api/projects/{projectId}", randomId))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("returns deletion progress")
+        void deletionStatus_ReturnsProgress() throws Exception {
+            ProjectDeletionResponse running = deletion(ProjectDeletionState.RUNNING);
+            running.setDeletedTickets(1500);
+            when(projectService.deletionStatus(projectId)).thenReturn(Optional.of(running));
+
+            mockMvc.perform(get("/api/projects/{projectId}/deletion", projectId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.state").value("RUNNING"))
+                    .andExpect(jsonPath("$.deletedTickets").value(1500));
+        }
+
+        @Test
+        @DisplayName("returns 404 when no deletion is known")
+        void deletionStatus_NotFound() throws Exception {
+            when(projectService.deletionStatus(projectId)).thenReturn(Optional.empty());
+
+            mockMvc.perform(get("/api/projects/{projectId}/deletion", projectId))
+                    .andExpect(status().isNotFound());
+        }
+
+        private ProjectDeletionResponse deletion(ProjectDeletionState state) {
+            return ProjectDeletionResponse.builder()
+                    .projectId(projectId)
+                    .state(state)
+                    .totalTickets(50000)
+                    .build();
+        }
     }
 }
\ No newline at end of file
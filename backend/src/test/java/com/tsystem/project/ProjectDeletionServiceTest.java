@@ -0,0 +1,143 @@
+package com.tsystem.project;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.dto.response.ProjectDeletionResponse;
+import com.tsystem.model.enums.ProjectDeletionState;
+import com.tsystem.repository.*;
+import com.tsystem.service.BlobStore;
+import com.tsystem.service.ProjectArchiveService;
+import com.tsystem.service.ProjectDeletionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectDeletionServiceTest {
+
+    @Mock ProjectRepository projectRepository;
+    @Mock TicketRepository ticketRepository;
+    @Mock TicketCommentRepository ticketCommentRepository;
+    @Mock TicketHistoryRepository ticketHistoryRepository;
+    @Mock TicketTombstoneRepository ticketTombstoneRepository;
+    @Mock TicketAttachmentRepository ticketAttachmentRepository;
+    @Mock TicketLabelRepository ticketLabelRepository;
+    @Mock ProjectArchiveService projectArchiveService;
+    @Mock BlobStore blobStore;
+    @Mock PlatformTransactionManager transactionManager;
+
+    private ProjectDeletionService service;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectDeletionService(projectRepository, ticketRepository, ticketCommentRepository,
+                ticketHistoryRepository, ticketTombstoneRepository, ticketAttachmentRepository, ticketLabelRepository,
+                projectArchiveService, blobStore, transactionManager, 2, 10);
+        projectId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Small project is deleted inline, chunk by chunk")
+    void delete_SmallProject_DeletesInChunks() {
+        List<UUID> first = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> second = List.of(UUID.randomUUID());
+        when(projectRepository.markDeleted(eq(projectId), any())).thenReturn(1);
+        when(ticketRepository.countByProjectId(projectId)).thenReturn(3L);
+        when(ticketRepository.findIdsByProjectId(projectId, Limit.of(2)))
+                .thenReturn(first, second, Collections.emptyList());
+        when(ticketRepository.deleteByIdIn(first)).thenReturn(2);
+        when(ticketRepository.deleteByIdIn(second)).thenReturn(1);
+        when(ticketAttachmentRepository.findBlobHashesByTicketIdIn(first)).thenReturn(List.of("a1", "a1"));
+        when(ticketCommentRepository.findTextBlobsByTicketIdIn(first)).thenReturn(List.of("c1"));
+        when(ticketTombstoneRepository.findIdsByProjectId(projectId, Limit.of(2))).thenReturn(Collections.emptyList());
+
+        ProjectDeletionResponse result = service.delete(projectId);
+
+        assertEquals(ProjectDeletionState.DONE, result.getState());
+        assertEquals(3, result.getDeletedTickets());
+        verify(ticketCommentRepository).deleteByTicketIdIn(first);
+        verify(ticketHistoryRepository).deleteByTicketIdIn(second);
+        verify(ticketAttachmentRepository).deleteByTicketIdIn(first);
+        verify(ticketLabelRepository).deleteByTicketIdIn(second);
+        verify(blobStore).release(List.of("a1", "a1"));
+        verify(blobStore).release(List.of("c1"));
+        verify(projectRepository).purge(projectId);
+        // hide, three ticket chunks, one archive chunk, one tombstone chunk, purge
+        verify(transactionManager, times(7)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Archived tickets are purged and counted")
+    void delete_ArchivedProject_PurgesArchive() {
+        when(projectRepository.markDeleted(eq(projectId), any())).thenReturn(1);
+        when(projectArchiveService.countArchivedTickets(projectId)).thenReturn(3L);
+        when(projectArchiveService.purgeChunk(projectId, 2)).thenReturn(2, 1, 0);
+        when(ticketRepository.findIdsByProjectId(projectId, Limit.of(2))).thenReturn(Collections.emptyList());
+        when(ticketTombstoneRepository.findIdsByProjectId(projectId, Limit.of(2))).thenReturn(Collections.emptyList());
+
+        ProjectDeletionResponse result = service.delete(projectId);
+
+        assertEquals(ProjectDeletionState.DONE, result.getState());
+        assertEquals(3, result.getTotalTickets());
+        assertEquals(3, result.getDeletedTickets());
+        verify(projectArchiveService, times(3)).purgeChunk(projectId, 2);
+    }
+
+    @Test
+    @DisplayName("Large project is deleted in the background")
+    void delete_LargeProject_RunsAsync() throws Exception {
+        when(projectRepository.markDeleted(eq(projectId), any())).thenReturn(1);
+        when(ticketRepository.countByProjectId(projectId)).thenReturn(50_000L);
+        when(ticketRepository.findIdsByProjectId(projectId, Limit.of(2))).thenReturn(Collections.emptyList());
+        when(ticketTombstoneRepository.findIdsByProjectId(projectId, Limit.of(2))).thenReturn(Collections.emptyList());
+
+        ProjectDeletionResponse result = service.delete(projectId);
+
+        assertNotEquals(ProjectDeletionState.DONE, result.getState());
+        assertEquals(50_000, result.getTotalTickets());
+        for (int i = 0; i < 100 && service.status(projectId).orElseThrow().getState() != ProjectDeletionState.DONE; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(ProjectDeletionState.DONE, service.status(projectId).orElseThrow().getState());
+        verify(projectRepository).purge(projectId);
+    }
+
+    @Test
+    @DisplayName("Failure is recorded and the project stays hidden")
+    void delete_Failure_MarksFailed() {
+        when(projectRepository.markDeleted(eq(projectId), any())).thenReturn(1);
+        when(ticketRepository.countByProjectId(projectId)).thenReturn(1L);
+        when(ticketRepository.findIdsByProjectId(projectId, Limit.of(2)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        ProjectDeletionResponse result = service.delete(projectId);
+
+        assertEquals(ProjectDeletionState.FAILED, result.getState());
+        assertEquals("connection lost", result.getError());
+        verify(projectRepository, never()).purge(any());
+        verifyNoInteractions(blobStore);
+    }
+
+    @Test
+    @DisplayName("Unknown project throws NotFoundException")
+    void delete_NotFound() {
+        when(projectRepository.markDeleted(eq(projectId), any())).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> service.delete(projectId));
+        verify(ticketRepository, never()).findIdsByProjectId(any(), any());
+    }
+}
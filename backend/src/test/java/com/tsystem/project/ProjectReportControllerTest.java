@@ -0,0 +1,118 @@
+package com.tsystem.project;
+
+import com.tsystem.configuration.JacksonConfiguration;
+import com.tsystem.configuration.JwtAuthenticationFilter;
+import com.tsystem.controller.ProjectReportController;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.dto.response.DurationStatsResponse;
+import com.tsystem.model.dto.response.FlowGroupResponse;
+import com.tsystem.model.dto.response.FlowReportResponse;
+import com.tsystem.model.dto.response.StateSeriesResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.service.FlowReportService;
+import com.tsystem.service.StateSnapshotService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = ProjectReportController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthenticationFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(JacksonConfiguration.class)
+class ProjectReportControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean FlowReportService flowReportService;
+    @MockitoBean StateSnapshotService stateSnapshotService;
+
+    @Test @DisplayName("GET /api/projects/{id}/reports/flow - percentiles per group")
+    void getFlowReport() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        DurationStatsResponse lead = DurationStatsResponse.builder().count(3).p50(3600).p85(7200).build();
+        DurationStatsResponse none = new DurationStatsResponse();
+        FlowGroupResponse bugs = FlowGroupResponse.builder()
+                .type(TicketType.bug).priority(TicketPriority.high)
+                .leadTime(lead).cycleTime(none).timeInState(Map.of(TicketState.open, lead)).build();
+        when(flowReportService.getFlowReport(projectId)).thenReturn(FlowReportResponse.builder()
+                .projectId(projectId).computedThrough(OffsetDateTime.now())
+                .total(bugs).groups(List.of(bugs)).build());
+
+        mockMvc.perform(get("/api/projects/{projectId}/reports/flow", projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[0].type").value("bug"))
+                .andExpect(jsonPath("$.groups[0].leadTime.p85").value(7200))
+                .andExpect(jsonPath("$.groups[0].timeInState.open.count").value(3));
+    }
+
+    @Test @DisplayName("GET /api/projects/{id}/reports/flow - 404")
+    void getFlowReport_NotFound() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        when(flowReportService.getFlowReport(projectId)).thenThrow(new NotFoundException("Project not found"));
+
+        mockMvc.perform(get("/api/projects/{projectId}/reports/flow", projectId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test @DisplayName("GET /api/projects/{id}/reports/states - last 30 days by default")
+    void getStateSeries_DefaultRange() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        when(stateSnapshotService.getSeries(projectId, today.minusDays(29), today)).thenReturn(
+                StateSeriesResponse.builder().projectId(projectId).from(today.minusDays(29)).to(today)
+                        .states(Map.of(TicketState.open, new int[]{3, 2})).remaining(new int[]{3, 2}).build());
+
+        mockMvc.perform(get("/api/projects/{projectId}/reports/states", projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.states.open[0]").value(3))
+                .andExpect(jsonPath("$.remaining[1]").value(2));
+    }
+
+    @Test @DisplayName("GET /api/projects/{id}/reports/states?from&to - explicit range")
+    void getStateSeries_Range() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2026, 1, 1), to = LocalDate.of(2026, 1, 31);
+        when(stateSnapshotService.getSeries(projectId, from, to)).thenReturn(
+                StateSeriesResponse.builder().projectId(projectId).from(from).to(to).build());
+
+        mockMvc.perform(get("/api/projects/{projectId}/reports/states", projectId)
+                        .param("from", "2026-01-01").param("to", "2026-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2026-01-01"));
+    }
+
+    @Test @DisplayName("POST /api/projects/{id}/reports/states/refresh - 204")
+    void refreshStateSeries() throws Exception {
+        UUID projectId = UUID.randomUUID();
+
+        mockMvc.perform(post("/api/projects/{projectId}/reports/states/refresh", projectId))
+                .andExpect(status().isNoContent());
+        verify(stateSnapshotService).refresh(projectId);
+    }
+}
@@ -2,13 +2,24 @@ package com.tsystem.project;
 
 import com.tsystem.exception.NotFoundException;
 import com.tsystem.model.Project;
+import com.tsystem.model.ProjectFlowStats;
 import com.tsystem.model.dto.request.ProjectCreateRequest;
 import com.tsystem.model.dto.request.ProjectUpdateRequest;
+import com.tsystem.model.dto.response.ProjectDeletionResponse;
+import com.tsystem.model.enums.ProjectDeletionState;
 import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.ProjectArchiveEvent;
 import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectFlowStatsRepository;
 import com.tsystem.repository.ProjectRepository;
 import com.tsystem.repository.UserRepository;
+import com.tsystem.service.CollectionVersionService;
+import com.tsystem.service.DuplicateTicketService;
+import com.tsystem.service.LabelIndexService;
+import com.tsystem.service.SavedFilterCounts;
+import com.tsystem.service.ProjectDeletionService;
 import com.tsystem.service.ProjectService;
+import com.tsystem.service.RelatedTicketService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -33,6 +45,14 @@ class ProjectServiceTest {
 
     @Mock ProjectRepository projectRepository;
     @Mock UserRepository userRepository;
+    @Mock ProjectDeletionService projectDeletionService;
+    @Mock CollectionVersionService collectionVersions;
+    @Mock ProjectFlowStatsRepository flowStatsRepository;
+    @Mock DuplicateTicketService duplicateTicketService;
+    @Mock RelatedTicketService relatedTicketService;
+    @Mock LabelIndexService labelIndexService;
+    @Mock SavedFilterCounts savedFilterCounts;
+    @Mock ApplicationEventPublisher eventPublisher;
 
     @InjectMocks ProjectService projectService;
 
@@ -68,6 +88,8 @@ class ProjectServiceTest {
             assertEquals("New Project", result.getName());
             assertEquals(testUser, result.getUser());
             verify(projectRepository).save(any(Project.class));
+            verify(collectionVersions).bump(CollectionVersionService.PROJECTS);
+            verify(flowStatsRepository).save(any(ProjectFlowStats.class));
         }
 
         @Test
@@ -147,6 +169,63 @@ class ProjectServiceTest {
 
             assertThrows(IllegalArgumentException.class, () -> projectService.update(UUID.randomUUID(), req));
         }
+
+        @Test
+        @DisplayName("Archiving moves the tickets after commit")
+        void update_ToArchived_ArchivesTickets() {
+            ProjectUpdateRequest req = ProjectUpdateRequest.builder()
+                    .name("Test Project").status(ProjectStatus.ARCHIVED).build();
+            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectRepository.save(any(Project.class))).thenAnswer(i -> i.getArgument(0));
+
+            projectService.update(projectId, req);
+
+            verify(eventPublisher).publishEvent(ProjectArchiveEvent.statusChanged(projectId));
+            // the label index and the filter counts follow the event after commit
+            verifyNoInteractions(labelIndexService, savedFilterCounts);
+        }
+
+        @Test
+        @DisplayName("Un-archiving moves the tickets back after commit")
+        void update_FromArchived_RestoresTickets() {
+            testProject.setStatus(ProjectStatus.ARCHIVED);
+            ProjectUpdateRequest req = ProjectUpdateRequest.builder()
+                    .name("Test Project").status(ProjectStatus.ACTIVE).build();
+            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectRepository.save(any(Project.class))).thenAnswer(i -> i.getArgument(0));
+
+            projectService.update(projectId, req);
+
+            verify(eventPublisher).publishEvent(ProjectArchiveEvent.statusChanged(projectId));
+        }
+
+        @Test
+        @DisplayName("Updating a project keeps its flow stats, also on restore")
+        void update_KeepsFlowStats() {
+            ProjectUpdateRequest rename = ProjectUpdateRequest.builder()
+                    .name("Renamed").status(ProjectStatus.ACTIVE).build();
+            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectRepository.save(any(Project.class))).thenAnswer(i -> i.getArgument(0));
+
+            projectService.update(projectId, rename);
+            testProject.setStatus(ProjectStatus.ARCHIVED);
+            projectService.update(projectId, rename);
+
+            verifyNoInteractions(flowStatsRepository);
+        }
+
+        @Test
+        @DisplayName("Unchanged status moves nothing")
+        void update_SameStatus_NoMove() {
+            ProjectUpdateRequest req = ProjectUpdateRequest.builder()
+                    .name("Renamed").status(ProjectStatus.ACTIVE).build();
+            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectRepository.save(any(Project.class))).thenAnswer(i -> i.getArgument(0));
+
+            projectService.update(projectId, req);
+
+            verifyNoInteractions(eventPublisher);
+        }
     }
 
     @Nested
@@ -155,9 +234,16 @@ class ProjectServiceTest {
         @Test
         @DisplayName("Successful project removal")
         void delete_Success() {
-            doNothing().when(projectRepository).deleteById(projectId);
-            projectService.delete(projectId);
-            verify(projectRepository).deleteById(projectId);
+            ProjectDeletionResponse done = ProjectDeletionResponse.builder()
+                    .projectId(projectId).state(ProjectDeletionState.DONE).build();
+            when(projectDeletionService.delete(projectId)).thenReturn(done);
+
+            assertEquals(done, projectService.delete(projectId));
+            verify(projectDeletionService).delete(projectId);
+            verify(projectRepository, never()).deleteById(any());
+            verify(collectionVersions).bump(CollectionVersionService.PROJECTS);
+            verify(duplicateTicketService).forget(projectId);
+            verify(relatedTicketService).forget(projectId);
         }
     }
 }
\ No newline at end of file
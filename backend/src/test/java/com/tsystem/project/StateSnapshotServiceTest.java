@@ -0,0 +1,165 @@
+package com.tsystem.project;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.model.Project;
+import com.tsystem.model.ProjectStateSnapshot;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.TicketHistory;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.dto.response.StateSeriesResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.ProjectStateSnapshotRepository;
+import com.tsystem.repository.TicketHistoryRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.ProjectService;
+import com.tsystem.service.StateSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class StateSnapshotServiceTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+    @Autowired TicketHistoryRepository ticketHistoryRepository;
+    @Autowired ProjectStateSnapshotRepository snapshotRepository;
+
+    private final ProjectService projectService = mock(ProjectService.class);
+    private StateSnapshotService snapshotService;
+
+    private User user;
+    private Project project;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new StateSnapshotService(jdbcTemplate, projectRepository, snapshotRepository,
+                projectService, transactionManager, 1);
+        user = userRepository.save(User.builder()
+                .username("cfd@example.com").email("cfd@example.com").name("Cfd").surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+        project = projectRepository.save(Project.builder().name("Snapshots").user(user).build());
+        when(projectService.lookup(project.getId())).thenReturn(Optional.of(
+                ProjectResponse.builder().id(project.getId()).status(ProjectStatus.ACTIVE).build()));
+        today = LocalDate.now(ZoneOffset.UTC);
+
+        // A: open 5 days ago, in progress 3 days ago, done yesterday; B: open since 2 days ago
+        Ticket a = ticket(noon(5));
+        change(a, TicketState.in_progress, noon(3));
+        change(a, TicketState.done, noon(1));
+        ticket(noon(2));
+    }
+
+    @Test
+    @DisplayName("Refresh backfills every day from the history and counts today")
+    void refresh_Backfills() {
+        snapshotService.refresh(project.getId());
+
+        StateSeriesResponse series = snapshotService.getSeries(project.getId(), today.minusDays(6), today);
+
+        assertArrayEquals(new int[]{0, 1, 1, 0, 1, 1, 1}, series.getStates().get(TicketState.open));
+        assertArrayEquals(new int[]{0, 0, 0, 1, 1, 0, 0}, series.getStates().get(TicketState.in_progress));
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 1, 1}, series.getStates().get(TicketState.done));
+        assertArrayEquals(new int[]{0, 1, 1, 1, 2, 1, 1}, series.getRemaining());
+        assertEquals(6, snapshotRepository.count());
+    }
+
+    @Test
+    @DisplayName("With recent snapshots only the missing days are counted, matching a replay")
+    void refresh_CatchesUpDayByDay() {
+        snapshotService.refresh(project.getId());
+        StateSeriesResponse replayed = snapshotService.getSeries(project.getId(), today.minusDays(6), today);
+
+        // the last three days are lost; the next refresh counts them one by one
+        snapshotRepository.deleteAll(snapshotRepository.findByProjectIdAndDayBetweenOrderByDayAsc(
+                project.getId(), today.minusDays(2), today));
+        snapshotRepository.flush();
+        snapshotService.refresh(project.getId());
+
+        StateSeriesResponse counted = snapshotService.getSeries(project.getId(), today.minusDays(6), today);
+        assertEquals(replayed.getRemaining().length, counted.getRemaining().length);
+        assertArrayEquals(replayed.getRemaining(), counted.getRemaining());
+        for (TicketState state : TicketState.values()) {
+            assertArrayEquals(replayed.getStates().get(state), counted.getStates().get(state), state.name());
+        }
+    }
+
+    @Test
+    @DisplayName("A day without a snapshot repeats the day before")
+    void getSeries_CarriesForward() {
+        snapshotService.refresh(project.getId());
+        snapshotRepository.deleteById(new ProjectStateSnapshot.Key(project.getId(), today.minusDays(2)));
+        snapshotRepository.flush();
+
+        StateSeriesResponse series = snapshotService.getSeries(project.getId(), today.minusDays(3), today.minusDays(2));
+
+        assertArrayEquals(new int[]{1, 1}, series.getRemaining());
+        assertArrayEquals(new int[]{1, 1}, series.getStates().get(TicketState.in_progress));
+    }
+
+    @Test
+    @DisplayName("Ranges are validated")
+    void getSeries_InvalidRange() {
+        assertThrows(BadRequestException.class,
+                () -> snapshotService.getSeries(project.getId(), today, today.minusDays(1)));
+        assertThrows(BadRequestException.class,
+                () -> snapshotService.getSeries(project.getId(), today.minusDays(StateSnapshotService.MAX_SERIES_DAYS), today));
+    }
+
+    @Test
+    @DisplayName("Archived projects are not refreshed")
+    void refresh_Archived() {
+        when(projectService.lookup(project.getId())).thenReturn(Optional.of(
+                ProjectResponse.builder().id(project.getId()).status(ProjectStatus.ARCHIVED).build()));
+
+        assertThrows(BadRequestException.class, () -> snapshotService.refresh(project.getId()));
+        assertEquals(0, snapshotRepository.count());
+    }
+
+    private OffsetDateTime noon(int daysAgo) {
+        return today.minusDays(daysAgo).atTime(12, 0).atOffset(ZoneOffset.UTC);
+    }
+
+    // flushed right away, the service reads them over JDBC
+    private Ticket ticket(OffsetDateTime createdAt) {
+        return ticketRepository.saveAndFlush(Ticket.builder()
+                .name("T").type(TicketType.task).priority(TicketPriority.med)
+                .author(user).project(project)
+                .createdAt(createdAt).updatedAt(createdAt)
+                .build());
+    }
+
+    private void change(Ticket ticket, TicketState state, OffsetDateTime at) {
+        ticketHistoryRepository.saveAndFlush(TicketHistory.builder()
+                .ticketId(ticket.getId()).authorId(user.getId())
+                .action("UPDATED").field("state").newValue(state.name())
+                .createdAt(at)
+                .build());
+    }
+}
@@ -0,0 +1,232 @@
+package com.tsystem.ticket;
+
+import com.tsystem.configuration.JacksonConfiguration;
+import com.tsystem.configuration.JwtAuthenticationFilter;
+import com.tsystem.controller.AttachmentController;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.exception.PayloadTooLargeException;
+import com.tsystem.model.TicketAttachment;
+import com.tsystem.service.AttachmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = AttachmentController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthenticationFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(JacksonConfiguration.class)
+class AttachmentControllerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean AttachmentService attachmentService;
+
+    @TempDir Path dir;
+
+    private UUID projectId, ticketId, attachmentId;
+    private TicketAttachment attachment;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        projectId = UUID.randomUUID();
+        ticketId = UUID.randomUUID();
+        attachmentId = UUID.randomUUID();
+        attachment = TicketAttachment.builder()
+                .id(attachmentId)
+                .ticketId(ticketId)
+                .uploaderId(UUID.randomUUID())
+                .fileName("server log.txt")
+                .contentType("text/plain")
+                .size(CONTENT.length())
+                .createdAt(OffsetDateTime.now())
+                .build();
+        Path file = Files.writeString(dir.resolve(attachmentId.toString()), CONTENT);
+        when(attachmentService.get(projectId, ticketId, attachmentId))
+                .thenReturn(new AttachmentService.AttachmentFile(attachment, file));
+        url = "/api/projects/" + projectId + "/tickets/" + ticketId + "/attachments";
+    }
+
+    @Nested
+    @DisplayName("Upload and list")
+    class UploadTests {
+
+        @Test
+        @DisplayName("POST streams the body to the service with its type and length")
+        @WithMockUser(username = "author@test.com")
+        void upload_Success() throws Exception {
+            when(attachmentService.upload(eq(projectId), eq(ticketId), eq("server.log"), eq("text/plain"),
+                    eq((long) CONTENT.length()), any(InputStream.class), eq("author@test.com")))
+                    .thenAnswer(inv -> {
+                        byte[] body = inv.getArgument(5, InputStream.class).readAllBytes();
+                        assertArrayEquals(CONTENT.getBytes(StandardCharsets.UTF_8), body);
+                        return attachment;
+                    });
+
+            mockMvc.perform(post(url).param("name", "server.log")
+                            .contentType("text/plain")
+                            .content(CONTENT))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(attachmentId.toString()))
+                    .andExpect(jsonPath("$.size").value(CONTENT.length()));
+        }
+
+        @Test
+        @DisplayName("POST of a too large file returns 413")
+        @WithMockUser(username = "author@test.com")
+        void upload_TooLarge() throws Exception {
+            when(attachmentService.upload(any(), any(), any(), any(), anyLong(), any(), any()))
+                    .thenThrow(new PayloadTooLargeException("Attachment is larger than 10 bytes"));
+
+            mockMvc.perform(post(url).param("name", "server.log").content(CONTENT))
+                    .andExpect(status().isPayloadTooLarge());
+        }
+
+        @Test
+        @DisplayName("GET lists the ticket's attachments")
+        void list_Success() throws Exception {
+            when(attachmentService.list(projectId, ticketId)).thenReturn(List.of(attachment));
+
+            mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].fileName").value("server log.txt"))
+                    .andExpect(jsonPath("$[0].contentType").value("text/plain"));
+        }
+
+        @Test
+        @DisplayName("DELETE returns 204")
+        void delete_Success() throws Exception {
+            mockMvc.perform(delete(url + "/" + attachmentId))
+                    .andExpect(status().isNoContent());
+
+            verify(attachmentService).delete(projectId, ticketId, attachmentId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Download")
+    class DownloadTests {
+
+        @Test
+        @DisplayName("Without Range the whole file is sent")
+        void download_Whole() throws Exception {
+            mockMvc.perform(get(url + "/" + attachmentId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(CONTENT))
+                    .andExpect(content().contentType("text/plain"))
+                    .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                    .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + attachmentId + "\""))
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                            containsString("filename*=UTF-8''server%20log.txt")));
+        }
+
+        @Test
+        @DisplayName("Content stored as a blob is tagged with its hash")
+        void download_BlobHashETag() throws Exception {
+            attachment.setBlobHash("ab".repeat(32));
+
+            mockMvc.perform(get(url + "/" + attachmentId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + "ab".repeat(32) + "\""));
+        }
+
+        @Test
+        @DisplayName("A single range is answered with 206 and only those bytes")
+        void download_Range() throws Exception {
+            mockMvc.perform(get(url + "/" + attachmentId).header(HttpHeaders.RANGE, "bytes=5-9"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(content().string("56789"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                    .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5));
+
+            mockMvc.perform(get(url + "/" + attachmentId).header(HttpHeaders.RANGE, "bytes=-4"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(content().string("ghij"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 16-19/20"));
+
+            mockMvc.perform(get(url + "/" + attachmentId).header(HttpHeaders.RANGE, "bytes=15-100"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(content().string("fghij"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 15-19/20"));
+        }
+
+        @Test
+        @DisplayName("A range past the end returns 416")
+        void download_Unsatisfiable() throws Exception {
+            mockMvc.perform(get(url + "/" + attachmentId).header(HttpHeaders.RANGE, "bytes=20-"))
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+        }
+
+        @Test
+        @DisplayName("Several ranges, malformed ones and a stale If-Range get the whole file")
+        void download_WholeInsteadOfRange() throws Exception {
+            mockMvc.perform(get(url + "/" + attachmentId).header(HttpHeaders.RANGE, "bytes=0-1,5-6"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(CONTENT));
+            mockMvc.perform(get(url + "/" + attachmentId).header(HttpHeaders.RANGE, "lines=1-2"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(CONTENT));
+            mockMvc.perform(get(url + "/" + attachmentId)
+                            .header(HttpHeaders.RANGE, "bytes=5-9")
+                            .header(HttpHeaders.IF_RANGE, "\"" + UUID.randomUUID() + "\""))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(CONTENT));
+            mockMvc.perform(get(url + "/" + attachmentId)
+                            .header(HttpHeaders.RANGE, "bytes=5-9")
+                            .header(HttpHeaders.IF_RANGE, "\"" + attachmentId + "\""))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(content().string("56789"));
+        }
+
+        @Test
+        @DisplayName("Unknown attachments and missing files return 404")
+        void download_NotFound() throws Exception {
+            UUID unknown = UUID.randomUUID();
+            when(attachmentService.get(projectId, ticketId, unknown))
+                    .thenThrow(new NotFoundException("Attachment not found"));
+            mockMvc.perform(get(url + "/" + unknown))
+                    .andExpect(status().isNotFound());
+
+            Files.delete(dir.resolve(attachmentId.toString()));
+            mockMvc.perform(get(url + "/" + attachmentId))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
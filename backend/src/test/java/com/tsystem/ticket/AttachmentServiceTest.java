@@ -0,0 +1,275 @@
+package com.tsystem.ticket;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.exception.PayloadTooLargeException;
+import com.tsystem.model.TicketAttachment;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.TicketAttachmentRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.AttachmentService;
+import com.tsystem.service.BlobStore;
+import com.tsystem.service.ProjectService;
+import com.tsystem.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentServiceTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Mock TicketAttachmentRepository attachmentRepository;
+    @Mock UserRepository userRepository;
+    @Mock TicketService ticketService;
+    @Mock ProjectService projectService;
+    @Mock BlobStore blobStore;
+    @Mock PlatformTransactionManager transactionManager;
+
+    @TempDir Path legacyRoot;
+
+    private AttachmentService service;
+    private UUID projectId, ticketId;
+    private User uploader;
+    private BlobStore.Received received;
+
+    @BeforeEach
+    void setUp() {
+        service = new AttachmentService(attachmentRepository, userRepository, ticketService, projectService,
+                blobStore, transactionManager, DataSize.ofBytes(16), legacyRoot);
+        projectId = UUID.randomUUID();
+        ticketId = UUID.randomUUID();
+        uploader = User.builder().id(UUID.randomUUID()).username("author@test.com").build();
+        received = new BlobStore.Received(legacyRoot.resolve("received"), HASH, 16);
+    }
+
+    private void activeProject() {
+        when(projectService.lookup(projectId)).thenReturn(Optional.of(
+                ProjectResponse.builder().id(projectId).status(ProjectStatus.ACTIVE).build()));
+    }
+
+    private void receiving() {
+        when(userRepository.findByUsername("author@test.com")).thenReturn(Optional.of(uploader));
+        when(blobStore.receive(any(), eq(16L))).thenReturn(received);
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("upload")
+    class UploadTests {
+
+        @Test
+        @DisplayName("Saves the row with the content hash and takes a blob reference")
+        void upload_Success() {
+            activeProject();
+            receiving();
+            when(attachmentRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+
+            TicketAttachment saved = service.upload(projectId, ticketId, "C:\\logs\\server.log", "text/plain;charset=UTF-8",
+                    -1, body("hello attachment"), "author@test.com");
+
+            assertEquals("server.log", saved.getFileName());
+            assertEquals("text/plain;charset=UTF-8", saved.getContentType());
+            assertEquals(16, saved.getSize());
+            assertEquals(HASH, saved.getBlobHash());
+            assertEquals(uploader.getId(), saved.getUploaderId());
+            verify(blobStore).acquire(received);
+            verify(blobStore, never()).discard(any());
+        }
+
+        @Test
+        @DisplayName("A body over the limit is rejected before anything is saved")
+        void upload_TooLarge() {
+            activeProject();
+            when(userRepository.findByUsername("author@test.com")).thenReturn(Optional.of(uploader));
+            when(blobStore.receive(any(), eq(16L))).thenThrow(new PayloadTooLargeException("too large"));
+
+            assertThrows(PayloadTooLargeException.class, () -> service.upload(projectId, ticketId, "big.log",
+                    "text/plain", -1, body("seventeen bytes!!"), "author@test.com"));
+            verify(attachmentRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("A declared length over the limit is rejected before reading")
+        void upload_DeclaredTooLarge() {
+            activeProject();
+            InputStream content = mock(InputStream.class);
+
+            assertThrows(PayloadTooLargeException.class, () -> service.upload(projectId, ticketId, "big.log",
+                    "text/plain", 1_000_000, content, "author@test.com"));
+            verifyNoInteractions(content, userRepository, blobStore);
+        }
+
+        @Test
+        @DisplayName("A failed insert discards the received file")
+        void upload_InsertFails() {
+            activeProject();
+            receiving();
+            when(attachmentRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("fk"));
+
+            assertThrows(DataIntegrityViolationException.class, () -> service.upload(projectId, ticketId,
+                    "server.log", null, -1, body("hello"), "author@test.com"));
+            verify(blobStore, never()).acquire(any());
+            verify(blobStore).discard(received);
+        }
+
+        @Test
+        @DisplayName("Archived projects and bad names or types are rejected")
+        void upload_Rejected() {
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(
+                    ProjectResponse.builder().id(projectId).status(ProjectStatus.ARCHIVED).build()));
+            assertThrows(BadRequestException.class, () -> service.upload(projectId, ticketId, "a.txt",
+                    "text/plain", 1, body("a"), "author@test.com"));
+
+            activeProject();
+            assertThrows(BadRequestException.class, () -> service.upload(projectId, ticketId, "logs/ ",
+                    "text/plain", 1, body("a"), "author@test.com"));
+            assertThrows(BadRequestException.class, () -> service.upload(projectId, ticketId, "a.txt",
+                    "multipart/form-data; boundary=x", 1, body("a"), "author@test.com"));
+            verify(attachmentRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("Unknown tickets throw NotFoundException")
+        void upload_UnknownTicket() {
+            activeProject();
+            when(ticketService.getResponse(projectId, ticketId)).thenThrow(new NotFoundException("Ticket not found"));
+
+            assertThrows(NotFoundException.class, () -> service.upload(projectId, ticketId, "a.txt",
+                    "text/plain", 1, body("a"), "author@test.com"));
+        }
+    }
+
+    @Nested
+    @DisplayName("get and delete")
+    class ReadAndDeleteTests {
+
+        @Test
+        @DisplayName("Archived attachments are found through the archive table and served from their blob")
+        void get_Archived() {
+            UUID id = UUID.randomUUID();
+            TicketAttachment archived = TicketAttachment.builder().id(id).ticketId(ticketId).blobHash(HASH).build();
+            when(attachmentRepository.findByIdAndTicketId(id, ticketId)).thenReturn(Optional.empty());
+            when(attachmentRepository.findArchivedByIdAndTicketId(id, ticketId)).thenReturn(Optional.of(archived));
+            Path blob = Path.of("blobs", HASH);
+            when(blobStore.path(HASH)).thenReturn(blob);
+
+            AttachmentService.AttachmentFile file = service.get(projectId, ticketId, id);
+
+            assertSame(archived, file.attachment());
+            assertEquals(blob, file.path());
+        }
+
+        @Test
+        @DisplayName("Attachments not moved into the blob store yet are served from their old place")
+        void get_Legacy() {
+            UUID id = UUID.randomUUID();
+            TicketAttachment attachment = TicketAttachment.builder().id(id).ticketId(ticketId).build();
+            when(attachmentRepository.findByIdAndTicketId(id, ticketId)).thenReturn(Optional.of(attachment));
+
+            AttachmentService.AttachmentFile file = service.get(projectId, ticketId, id);
+
+            assertEquals(legacyRoot.resolve(projectId.toString()).resolve(ticketId.toString()).resolve(id.toString()),
+                    file.path());
+            verifyNoInteractions(blobStore);
+        }
+
+        @Test
+        @DisplayName("Unknown attachments throw NotFoundException")
+        void get_NotFound() {
+            UUID id = UUID.randomUUID();
+            when(attachmentRepository.findByIdAndTicketId(id, ticketId)).thenReturn(Optional.empty());
+            when(attachmentRepository.findArchivedByIdAndTicketId(id, ticketId)).thenReturn(Optional.empty());
+
+            assertThrows(NotFoundException.class, () -> service.get(projectId, ticketId, id));
+        }
+
+        @Test
+        @DisplayName("Deleting an attachment removes its row and releases its blob")
+        void delete_Success() {
+            activeProject();
+            UUID id = UUID.randomUUID();
+            TicketAttachment attachment = TicketAttachment.builder().id(id).ticketId(ticketId).blobHash(HASH).build();
+            when(attachmentRepository.findByIdAndTicketId(id, ticketId)).thenReturn(Optional.of(attachment));
+
+            service.delete(projectId, ticketId, id);
+
+            verify(attachmentRepository).delete(attachment);
+            verify(blobStore).release(Collections.singletonList(HASH));
+        }
+    }
+
+    @Nested
+    @DisplayName("adoption of files stored before the blob store")
+    class AdoptionTests {
+
+        @Test
+        @DisplayName("Files of known attachments are moved into the blob store, others are dropped")
+        void adoptLegacyFiles() throws Exception {
+            UUID known = UUID.randomUUID();
+            UUID orphan = UUID.randomUUID();
+            Path dir = Files.createDirectories(legacyRoot.resolve(projectId.toString()).resolve(ticketId.toString()));
+            Files.writeString(dir.resolve(known.toString()), "kept");
+            Files.writeString(dir.resolve(orphan.toString()), "left over");
+            Files.writeString(dir.resolve("upload.part"), "partial");
+            when(blobStore.receive(any(), eq(Long.MAX_VALUE))).thenReturn(received);
+            // the walk order is not fixed, so any id first and the known one on top
+            lenient().when(attachmentRepository.setBlobHash(any(), any())).thenReturn(0);
+            lenient().when(attachmentRepository.setArchivedBlobHash(any(), any())).thenReturn(0);
+            when(attachmentRepository.setBlobHash(known, HASH)).thenReturn(1);
+
+            assertEquals(1, service.adoptLegacyFiles());
+
+            verify(blobStore).acquire(received);
+            verify(blobStore).discard(received);
+            assertFalse(Files.exists(legacyRoot));
+        }
+
+        @Test
+        @DisplayName("A file that fails is left for the next start, the others are still moved")
+        void adoptLegacyFiles_FailureIsPerFile() throws Exception {
+            UUID broken = UUID.randomUUID();
+            UUID known = UUID.randomUUID();
+            Path dir = Files.createDirectories(legacyRoot.resolve(projectId.toString()).resolve(ticketId.toString()));
+            Files.writeString(dir.resolve(broken.toString()), "unreadable");
+            Files.writeString(dir.resolve(known.toString()), "kept");
+            when(blobStore.receive(any(), eq(Long.MAX_VALUE))).thenReturn(received);
+            lenient().when(attachmentRepository.setArchivedBlobHash(any(), any())).thenReturn(0);
+            when(attachmentRepository.setBlobHash(broken, HASH)).thenThrow(new IllegalStateException("boom"));
+            when(attachmentRepository.setBlobHash(known, HASH)).thenReturn(1);
+
+            assertEquals(1, service.adoptLegacyFiles());
+
+            verify(blobStore).acquire(received);
+            assertTrue(Files.exists(dir.resolve(broken.toString())));
+            assertFalse(Files.exists(dir.resolve(known.toString())));
+        }
+    }
+}
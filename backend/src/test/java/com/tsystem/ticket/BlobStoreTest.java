@@ -0,0 +1,101 @@
+package com.tsystem.ticket;
+
+import com.tsystem.exception.PayloadTooLargeException;
+import com.tsystem.service.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BlobStoreTest {
+
+    // sha256("hello blob")
+    private static final String HELLO = "e997afd18e5f6be004fc193aed2c90291e68ab2c7599a62538c935b7fca6ab0f";
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @TempDir Path root;
+
+    private BlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new BlobStore(jdbcTemplate, transactionManager, root);
+    }
+
+    private BlobStore.Received receive(String text) {
+        return store.receive(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), 16);
+    }
+
+    private Integer refCount(String hash) {
+        List<Integer> counts = jdbcTemplate.queryForList(
+                "select ref_count from content_blobs where hash = ?", Integer.class, hash);
+        return counts.isEmpty() ? null : counts.getFirst();
+    }
+
+    private List<Path> files() throws Exception {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    @Test
+    @DisplayName("The same content received twice is stored once with two references")
+    void acquire_Deduplicates() throws Exception {
+        BlobStore.Received first = receive("hello blob");
+        BlobStore.Received second = receive("hello blob");
+        assertEquals(HELLO, first.hash());
+        assertEquals(HELLO, second.hash());
+        assertEquals(10, first.size());
+
+        store.acquire(first);
+        store.acquire(second);
+
+        assertEquals(2, refCount(first.hash()));
+        assertEquals(List.of(store.path(first.hash())), files());
+        assertEquals("hello blob", Files.readString(store.path(first.hash())));
+    }
+
+    @Test
+    @DisplayName("Garbage collection deletes a blob only once its last reference is released")
+    void collectGarbage_AfterLastRelease() {
+        BlobStore.Received first = receive("hello blob");
+        String hash = store.acquire(first);
+        store.acquire(receive("hello blob"));
+
+        store.release(Arrays.asList(hash, null));
+        assertEquals(0, store.collectGarbage());
+        assertTrue(Files.exists(store.path(hash)));
+
+        store.release(List.of(hash));
+        assertEquals(0, refCount(hash));
+        assertEquals(1, store.collectGarbage());
+        assertFalse(Files.exists(store.path(hash)));
+        assertNull(refCount(hash));
+    }
+
+    @Test
+    @DisplayName("A stream over the limit is rejected and leaves no file")
+    void receive_TooLarge() throws Exception {
+        assertThrows(PayloadTooLargeException.class, () -> receive("seventeen bytes!!"));
+        assertTrue(files().isEmpty());
+    }
+}
@@ -0,0 +1,141 @@
+package com.tsystem.ticket;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.response.DuplicateTicketResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.DuplicateTicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class DuplicateTicketServiceTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+
+    private DuplicateTicketService service;
+    private User user;
+    private Project project;
+    private Ticket login;
+
+    @BeforeEach
+    void setUp() {
+        service = new DuplicateTicketService(jdbcTemplate, projectRepository, transactionManager, 0.5);
+        user = userRepository.save(User.builder()
+                .username("dup@example.com").email("dup@example.com").name("Dup").surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+        project = projectRepository.save(Project.builder().name("Duplicates").user(user).build());
+        login = ticket("Login fails with valid password", "The login page reloads after submitting");
+        ticket("Export to PDF crashes", "The export dialog closes");
+    }
+
+    @Test
+    @DisplayName("The project is loaded on first use and similar tickets are found")
+    void find_LoadsProject() {
+        List<DuplicateTicketResponse> found = service.find(project.getId(),
+                "Login fails with a valid password", "the login page reloads after submitting", null, 5);
+
+        assertEquals(1, found.size());
+        assertEquals(login.getId(), found.getFirst().getTicketId());
+        assertEquals("Login fails with valid password", found.getFirst().getName());
+        assertTrue(found.getFirst().getSimilarity() >= 0.5);
+    }
+
+    @Test
+    @DisplayName("Created, updated and deleted tickets are applied from the events")
+    void onTicketEvent() {
+        service.find(project.getId(), "warm up", null, null, 5);
+
+        UUID id = UUID.randomUUID();
+        service.onTicketEvent(TicketEvent.created(response(id, "Dark mode for the dashboard", "a dark theme please")));
+        assertEquals(id, service.find(project.getId(), "Dark mode for the dashboard", "a dark theme please", null, 5)
+                .getFirst().getTicketId());
+
+        service.onTicketEvent(TicketEvent.updated(response(id, "Keyboard shortcuts", "for every menu")));
+        assertTrue(service.find(project.getId(), "Dark mode for the dashboard", "a dark theme please", null, 5).isEmpty());
+
+        service.onTicketEvent(TicketEvent.deleted(project.getId(), login.getId()));
+        assertTrue(service.find(project.getId(), "Login fails with valid password",
+                "The login page reloads after submitting", null, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Events of a project not loaded yet are left to its load")
+    void onTicketEvent_NotLoaded() {
+        service.onTicketEvent(TicketEvent.deleted(project.getId(), login.getId()));
+
+        assertEquals(1, service.find(project.getId(), "Login fails with valid password",
+                "The login page reloads after submitting", null, 5).size());
+    }
+
+    @Test
+    @DisplayName("The ticket being edited is excluded, unknown projects are 404")
+    void find_ExcludeAndUnknown() {
+        assertTrue(service.find(project.getId(), "Login fails with valid password",
+                "The login page reloads after submitting", login.getId(), 5).isEmpty());
+        assertThrows(NotFoundException.class, () -> service.find(UUID.randomUUID(), "x", null, null, 5));
+    }
+
+    @Test
+    @DisplayName("A forgotten project is read again from the database")
+    void forget() {
+        service.find(project.getId(), "warm up", null, null, 5);
+        ticket("Crash when uploading avatars", "large images crash the upload");
+        assertTrue(service.find(project.getId(), "Crash when uploading avatars", "large images crash the upload", null, 5)
+                .isEmpty());
+
+        service.forget(project.getId());
+        assertEquals(1, service.find(project.getId(), "Crash when uploading avatars",
+                "large images crash the upload", null, 5).size());
+    }
+
+    @Test
+    @DisplayName("Moving the project's tickets drops its index")
+    void onArchiveEvent() {
+        service.find(project.getId(), "warm up", null, null, 5);
+        ticket("Crash when uploading avatars", "large images crash the upload");
+
+        service.onArchiveEvent(ProjectArchiveEvent.ticketsMoved(project.getId()));
+
+        assertEquals(1, service.find(project.getId(), "Crash when uploading avatars",
+                "large images crash the upload", null, 5).size());
+    }
+
+    // flushed right away, the index is read over JDBC
+    private Ticket ticket(String name, String description) {
+        return ticketRepository.saveAndFlush(Ticket.builder()
+                .name(name).description(description).type(TicketType.bug).priority(TicketPriority.med)
+                .author(user).project(project)
+                .build());
+    }
+
+    private TicketResponse response(UUID id, String name, String description) {
+        return TicketResponse.builder().id(id).projectId(project.getId()).name(name).description(description).build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.tsystem.ticket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class FieldProjectionRepositoryTest {
+
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private User owner;
+    private Project project;
+    private Ticket assigned, unassigned;
+
+    @BeforeEach
+    void setUp() {
+        owner = user("owner");
+        User assignee = user("assignee");
+        project = projectRepository.save(Project.builder().name("Fields").description("long text").user(owner).build());
+        OffsetDateTime now = OffsetDateTime.now();
+        assigned = ticket("Assigned", assignee, now.minusMinutes(1));
+        unassigned = ticket("Unassigned", null, now);
+    }
+
+    @Test
+    @DisplayName("Selects only the requested ticket fields, newest first")
+    void tickets_RequestedFieldsOnly() {
+        List<TicketResponse> rows = ticketRepository.findFieldsByProjectId(project.getId(),
+                FieldSet.parse(objectMapper, TicketResponse.class, "id,name"));
+
+        assertEquals(List.of(unassigned.getId(), assigned.getId()), rows.stream().map(TicketResponse::getId).toList());
+        assertEquals("Unassigned", rows.get(0).getName());
+        assertNull(rows.get(0).getDescription());
+        assertNull(rows.get(0).getOwner());
+        assertNull(rows.get(0).getProjectId());
+    }
+
+    @Test
+    @DisplayName("Tickets without an assignee stay in the list when the assignee is requested")
+    void tickets_AssigneeIsOuterJoined() {
+        List<TicketResponse> rows = ticketRepository.findFieldsByProjectId(project.getId(),
+                FieldSet.parse(objectMapper, TicketResponse.class, "assignee,owner,projectId"));
+
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).getAssignee());
+        assertEquals("assignee", rows.get(1).getAssignee().getName());
+        assertEquals(owner.getId(), rows.get(1).getOwner().getId());
+        assertEquals(project.getId(), rows.get(1).getProjectId());
+    }
+
+    @Test
+    @DisplayName("Assignee list selects the requested fields, oldest first")
+    void tickets_ByAssignee() {
+        ticket("Later", assigned.getAssignee(), OffsetDateTime.now().plusMinutes(1));
+        ticket("Earlier", assigned.getAssignee(), OffsetDateTime.now().minusMinutes(2));
+
+        List<TicketResponse> rows = ticketRepository.findFieldsByAssigneeId(assigned.getAssignee().getId(),
+                FieldSet.parse(objectMapper, TicketResponse.class, "name,state"));
+
+        assertEquals(List.of("Earlier", "Assigned", "Later"), rows.stream().map(TicketResponse::getName).toList());
+        assertEquals(assigned.getState(), rows.get(1).getState());
+        assertNull(rows.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Projects being deleted are left out, like in findAll")
+    void projects_SkipHidden() {
+        projectRepository.markDeleted(
+                projectRepository.save(Project.builder().name("Hidden").user(owner).build()).getId(),
+                OffsetDateTime.now());
+
+        List<ProjectResponse> rows = projectRepository.findAllFields(FieldSet.parse(objectMapper, ProjectResponse.class, "name,owner"));
+
+        assertEquals(List.of("Fields"), rows.stream().map(ProjectResponse::getName).toList());
+        assertEquals("owner", rows.get(0).getOwner().getName());
+        assertNull(rows.get(0).getDescription());
+    }
+
+    private User user(String name) {
+        String login = name + "-" + UUID.randomUUID() + "@example.com";
+        return userRepository.save(User.builder()
+                .username(login).email(login).name(name).surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+    }
+
+    private Ticket ticket(String name, User assignee, OffsetDateTime createdAt) {
+        return ticketRepository.save(Ticket.builder()
+                .name(name).description("description of " + name)
+                .type(TicketType.task).priority(TicketPriority.med)
+                .author(owner).assignee(assignee).project(project)
+                .createdAt(createdAt).updatedAt(createdAt)
+                .build());
+    }
+}
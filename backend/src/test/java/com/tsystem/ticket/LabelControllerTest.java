@@ -0,0 +1,114 @@
+package com.tsystem.ticket;
+
+import com.tsystem.configuration.JacksonConfiguration;
+import com.tsystem.configuration.JwtAuthenticationFilter;
+import com.tsystem.controller.LabelController;
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.model.Label;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.request.LabelRequest;
+import com.tsystem.model.dto.request.TicketLabelsRequest;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.service.LabelIndexService;
+import com.tsystem.service.LabelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = LabelController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthenticationFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(JacksonConfiguration.class)
+class LabelControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean LabelService labelService;
+    @MockitoBean LabelIndexService labelIndexService;
+
+    private UUID projectId, ticketId;
+    private Label bug;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        ticketId = UUID.randomUUID();
+        bug = Label.builder().id(UUID.randomUUID()).projectId(projectId).name("bug").build();
+    }
+
+    @Test
+    @DisplayName("POST creates a label, a blank name returns 400")
+    void create() throws Exception {
+        when(labelService.create(projectId, new LabelRequest("bug"))).thenReturn(bug);
+
+        mockMvc.perform(post("/api/projects/" + projectId + "/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"bug\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(bug.getId().toString()))
+                .andExpect(jsonPath("$.name").value("bug"));
+
+        mockMvc.perform(post("/api/projects/" + projectId + "/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("PUT replaces a ticket's labels")
+    void setTicketLabels() throws Exception {
+        when(labelService.setTicketLabels(projectId, ticketId, new TicketLabelsRequest(List.of(bug.getId()))))
+                .thenReturn(List.of(bug));
+
+        mockMvc.perform(put("/api/projects/" + projectId + "/tickets/" + ticketId + "/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"labelIds\":[\"" + bug.getId() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("bug"));
+    }
+
+    @Test
+    @DisplayName("GET labeled returns the page and the next cursor")
+    void labeled() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(labelIndexService.find(projectId, "bug and not ui", null, 1)).thenReturn(new KeysetPage<>(
+                List.of(TicketResponse.builder().id(id).name("Crash").build()), id.toString()));
+
+        mockMvc.perform(get("/api/projects/" + projectId + "/tickets/labeled")
+                        .param("q", "bug and not ui")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id.toString()))
+                .andExpect(header().string("X-Next-Cursor", id.toString()));
+    }
+
+    @Test
+    @DisplayName("A malformed filter returns 400")
+    void labeled_BadFilter() throws Exception {
+        when(labelIndexService.find(projectId, "bug and", null, 50))
+                .thenThrow(new BadRequestException("Label filter ends early"));
+
+        mockMvc.perform(get("/api/projects/" + projectId + "/tickets/labeled").param("q", "bug and"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,150 @@
+package com.tsystem.ticket;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.Label;
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.TicketLabel;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.event.LabelEvent;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.model.mapper.TicketMapper;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.LabelRepository;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketLabelRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.LabelIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class LabelIndexServiceTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+    @Autowired LabelRepository labelRepository;
+    @Autowired TicketLabelRepository ticketLabelRepository;
+
+    private LabelIndexService service;
+    private User user;
+    private Project project;
+    private Label bug, ui;
+    private Ticket crash, layout, docs;
+
+    @BeforeEach
+    void setUp() {
+        service = new LabelIndexService(jdbcTemplate, projectRepository, ticketRepository, transactionManager);
+        user = userRepository.save(User.builder()
+                .username("labels@example.com").email("labels@example.com").name("Label").surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+        project = projectRepository.save(Project.builder().name("Labels").user(user).build());
+        bug = labelRepository.save(Label.builder().projectId(project.getId()).name("bug").build());
+        ui = labelRepository.save(Label.builder().projectId(project.getId()).name("ui").build());
+        crash = ticket("Crash on save", bug);
+        layout = ticket("Broken layout", bug, ui);
+        docs = ticket("Write docs");
+        ticketLabelRepository.flush();
+    }
+
+    private Ticket ticket(String name, Label... labels) {
+        Ticket t = ticketRepository.saveAndFlush(Ticket.builder()
+                .name(name).type(TicketType.task).priority(TicketPriority.med)
+                .author(user).project(project).build());
+        for (Label l : labels) {
+            ticketLabelRepository.save(TicketLabel.builder().ticketId(t.getId()).labelId(l.getId()).build());
+        }
+        return t;
+    }
+
+    private List<UUID> ids(KeysetPage<TicketResponse> page) {
+        return page.items().stream().map(TicketResponse::getId).toList();
+    }
+
+    @Test
+    @DisplayName("The index is loaded from the tables and filters with AND, OR and NOT")
+    void find_FromTables() {
+        assertEquals(List.of(crash.getId(), layout.getId()),
+                ids(service.find(project.getId(), "bug", null, 10)));
+        assertEquals(List.of(crash.getId()),
+                ids(service.find(project.getId(), "bug and not ui", null, 10)));
+        assertEquals(List.of(docs.getId()),
+                ids(service.find(project.getId(), "not (bug or ui)", null, 10)));
+        assertEquals("Broken layout", service.find(project.getId(), "ui", null, 10).items().getFirst().getName());
+    }
+
+    @Test
+    @DisplayName("Pages continue after the cursor")
+    void find_Paged() {
+        KeysetPage<TicketResponse> first = service.find(project.getId(), "bug or not bug", null, 2);
+        assertEquals(List.of(crash.getId(), layout.getId()), ids(first));
+        assertEquals(layout.getId().toString(), first.nextCursor());
+
+        KeysetPage<TicketResponse> second = service.find(project.getId(), "bug or not bug", first.nextCursor(), 2);
+        assertEquals(List.of(docs.getId()), ids(second));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Label and ticket events update a loaded index")
+    void events() {
+        service.find(project.getId(), "bug", null, 10);
+
+        Ticket api = ticket("API timeout");
+        service.onTicketEvent(TicketEvent.created(TicketMapper.toResponse(api)));
+        UUID apiLabel = UUID.randomUUID();
+        service.onLabelEvent(LabelEvent.saved(project.getId(), apiLabel, "api"));
+        service.onLabelEvent(LabelEvent.ticketLabeled(project.getId(), api.getId(), List.of(apiLabel, ui.getId())));
+        assertEquals(List.of(layout.getId(), api.getId()), ids(service.find(project.getId(), "ui", null, 10)));
+
+        service.onTicketEvent(TicketEvent.deleted(project.getId(), layout.getId()));
+        service.onLabelEvent(LabelEvent.deleted(project.getId(), bug.getId()));
+        assertEquals(List.of(api.getId()), ids(service.find(project.getId(), "ui or api", null, 10)));
+        assertThrows(BadRequestException.class, () -> service.find(project.getId(), "bug", null, 10));
+    }
+
+    @Test
+    @DisplayName("Archive events drop the index, the next use loads it again")
+    void archiveEvents() {
+        service.find(project.getId(), "bug", null, 10);
+
+        // restored behind the index's back, as the archive move does
+        Ticket restored = ticket("Restored crash", bug);
+        ticketLabelRepository.flush();
+        assertEquals(List.of(crash.getId(), layout.getId()), ids(service.find(project.getId(), "bug", null, 10)));
+
+        service.onArchiveEvent(ProjectArchiveEvent.ticketsMoved(project.getId()));
+        assertEquals(List.of(crash.getId(), layout.getId(), restored.getId()),
+                ids(service.find(project.getId(), "bug", null, 10)));
+    }
+
+    @Test
+    @DisplayName("Unknown projects, labels and cursors are rejected")
+    void find_Rejected() {
+        assertThrows(NotFoundException.class, () -> service.find(UUID.randomUUID(), "bug", null, 10));
+        assertThrows(BadRequestException.class, () -> service.find(project.getId(), "feature", null, 10));
+        assertThrows(BadRequestException.class, () -> service.find(project.getId(), "bug", "not-a-cursor", 10));
+    }
+}
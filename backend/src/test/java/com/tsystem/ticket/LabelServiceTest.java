@@ -0,0 +1,189 @@
+package com.tsystem.ticket;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.Label;
+import com.tsystem.model.TicketLabel;
+import com.tsystem.model.dto.request.LabelRequest;
+import com.tsystem.model.dto.request.TicketLabelsRequest;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.event.LabelEvent;
+import com.tsystem.repository.LabelRepository;
+import com.tsystem.repository.TicketLabelRepository;
+import com.tsystem.service.LabelService;
+import com.tsystem.service.ProjectService;
+import com.tsystem.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LabelServiceTest {
+
+    @Mock LabelRepository labelRepository;
+    @Mock TicketLabelRepository ticketLabelRepository;
+    @Mock ProjectService projectService;
+    @Mock TicketService ticketService;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks LabelService labelService;
+
+    private UUID projectId, ticketId;
+    private Label bug;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        ticketId = UUID.randomUUID();
+        bug = Label.builder().id(UUID.randomUUID()).projectId(projectId).name("bug").build();
+    }
+
+    private void project(ProjectStatus status) {
+        when(projectService.lookup(projectId)).thenReturn(Optional.of(
+                ProjectResponse.builder().id(projectId).status(status).build()));
+    }
+
+    @Nested
+    @DisplayName("Labels")
+    class LabelTests {
+
+        @Test
+        @DisplayName("Create trims the name, saves and publishes the label")
+        void create_Success() {
+            project(ProjectStatus.ACTIVE);
+            when(labelRepository.findByProjectIdAndNameIgnoreCase(projectId, "needs review")).thenReturn(Optional.empty());
+            when(labelRepository.save(any())).thenAnswer(inv -> {
+                Label l = inv.getArgument(0);
+                l.setId(bug.getId());
+                return l;
+            });
+
+            Label saved = labelService.create(projectId, new LabelRequest("  needs review "));
+
+            assertEquals("needs review", saved.getName());
+            verify(eventPublisher).publishEvent(LabelEvent.saved(projectId, bug.getId(), "needs review"));
+        }
+
+        @Test
+        @DisplayName("Names are unique per project regardless of case and may not hold quotes")
+        void create_Rejected() {
+            project(ProjectStatus.ACTIVE);
+            when(labelRepository.findByProjectIdAndNameIgnoreCase(projectId, "BUG")).thenReturn(Optional.of(bug));
+
+            assertThrows(BadRequestException.class, () -> labelService.create(projectId, new LabelRequest("BUG")));
+            assertThrows(BadRequestException.class, () -> labelService.create(projectId, new LabelRequest("a\"b")));
+            verify(labelRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Renaming to its own name in another case is allowed")
+        void rename_SameLabel() {
+            project(ProjectStatus.ACTIVE);
+            when(labelRepository.findByIdAndProjectId(bug.getId(), projectId)).thenReturn(Optional.of(bug));
+            when(labelRepository.findByProjectIdAndNameIgnoreCase(projectId, "Bug")).thenReturn(Optional.of(bug));
+
+            assertEquals("Bug", labelService.rename(projectId, bug.getId(), new LabelRequest("Bug")).getName());
+            verify(eventPublisher).publishEvent(LabelEvent.saved(projectId, bug.getId(), "Bug"));
+        }
+
+        @Test
+        @DisplayName("Delete takes the label off its tickets first")
+        void delete_Success() {
+            project(ProjectStatus.ACTIVE);
+            when(labelRepository.findByIdAndProjectId(bug.getId(), projectId)).thenReturn(Optional.of(bug));
+
+            labelService.delete(projectId, bug.getId());
+
+            var order = inOrder(ticketLabelRepository, labelRepository);
+            order.verify(ticketLabelRepository).deleteByLabelId(bug.getId());
+            order.verify(labelRepository).delete(bug);
+            verify(eventPublisher).publishEvent(LabelEvent.deleted(projectId, bug.getId()));
+        }
+
+        @Test
+        @DisplayName("Archived projects are read-only, unknown labels throw NotFoundException")
+        void writes_Rejected() {
+            project(ProjectStatus.ARCHIVED);
+            assertThrows(BadRequestException.class, () -> labelService.create(projectId, new LabelRequest("x")));
+
+            project(ProjectStatus.ACTIVE);
+            UUID unknown = UUID.randomUUID();
+            when(labelRepository.findByIdAndProjectId(unknown, projectId)).thenReturn(Optional.empty());
+            assertThrows(NotFoundException.class, () -> labelService.delete(projectId, unknown));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ticket labels")
+    class TicketLabelTests {
+
+        @Test
+        @DisplayName("Setting replaces the ticket's labels and publishes the new set")
+        @SuppressWarnings("unchecked")
+        void set_Success() {
+            project(ProjectStatus.ACTIVE);
+            Label ui = Label.builder().id(UUID.randomUUID()).projectId(projectId).name("ui").build();
+            when(labelRepository.findAllById(any())).thenReturn(List.of(bug, ui));
+            when(labelRepository.findByTicketId(ticketId)).thenReturn(List.of(bug, ui));
+
+            List<Label> labels = labelService.setTicketLabels(projectId, ticketId,
+                    new TicketLabelsRequest(List.of(bug.getId(), ui.getId(), bug.getId())));
+
+            assertEquals(List.of(bug, ui), labels);
+            verify(ticketLabelRepository).deleteByTicketId(ticketId);
+            ArgumentCaptor<List<TicketLabel>> saved = ArgumentCaptor.forClass(List.class);
+            verify(ticketLabelRepository).saveAll(saved.capture());
+            assertEquals(2, saved.getValue().size());
+            verify(eventPublisher).publishEvent(LabelEvent.ticketLabeled(projectId, ticketId,
+                    List.of(bug.getId(), ui.getId())));
+        }
+
+        @Test
+        @DisplayName("Labels of another project are rejected")
+        void set_ForeignLabel() {
+            project(ProjectStatus.ACTIVE);
+            Label foreign = Label.builder().id(UUID.randomUUID()).projectId(UUID.randomUUID()).name("bug").build();
+            when(labelRepository.findAllById(any())).thenReturn(List.of(foreign));
+
+            assertThrows(BadRequestException.class, () -> labelService.setTicketLabels(projectId, ticketId,
+                    new TicketLabelsRequest(List.of(foreign.getId()))));
+            verify(ticketLabelRepository, never()).deleteByTicketId(any());
+        }
+
+        @Test
+        @DisplayName("Unknown tickets throw NotFoundException")
+        void set_UnknownTicket() {
+            project(ProjectStatus.ACTIVE);
+            when(ticketService.getResponse(projectId, ticketId)).thenThrow(new NotFoundException("Ticket not found"));
+
+            assertThrows(NotFoundException.class, () -> labelService.setTicketLabels(projectId, ticketId,
+                    new TicketLabelsRequest(List.of())));
+        }
+
+        @Test
+        @DisplayName("Labels of archived tickets are read from the archive")
+        void get_Archived() {
+            when(labelRepository.findByTicketId(ticketId)).thenReturn(List.of());
+            when(labelRepository.findArchivedByTicketId(ticketId)).thenReturn(List.of(bug));
+
+            assertEquals(List.of(bug), labelService.getTicketLabels(projectId, ticketId));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.tsystem.ticket;
+
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.AssignedTicketCount;
+import com.tsystem.model.dto.KeysetCursor;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MyWorkRepositoryTest {
+
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+
+    private User me, other;
+    private Project alpha, hidden;
+    private Ticket open1, open2, open3, done;
+    private OffsetDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        me = user("me");
+        other = user("other");
+        alpha = projectRepository.save(Project.builder().name("Alpha").user(me).build());
+        hidden = projectRepository.save(Project.builder().name("Hidden").user(me).build());
+        now = OffsetDateTime.now();
+
+        open1 = ticket(alpha, me, TicketState.open, now.minusMinutes(3));
+        open2 = ticket(alpha, me, TicketState.open, now.minusMinutes(2));
+        open3 = ticket(alpha, me, TicketState.open, now.minusMinutes(1));
+        done = ticket(alpha, me, TicketState.done, now);
+        ticket(alpha, other, TicketState.open, now);
+        ticket(hidden, me, TicketState.open, now);
+        projectRepository.markDeleted(hidden.getId(), now);
+    }
+
+    @Test
+    @DisplayName("Counts per project and state, without other assignees or hidden projects")
+    void countAssigned() {
+        Set<AssignedTicketCount> counts = Set.copyOf(
+                ticketRepository.countAssigned(me.getId(), EnumSet.allOf(TicketState.class)));
+
+        assertEquals(Set.of(
+                new AssignedTicketCount(alpha.getId(), "Alpha", TicketState.open, 3),
+                new AssignedTicketCount(alpha.getId(), "Alpha", TicketState.done, 1)), counts);
+        assertEquals(1, ticketRepository.countAssigned(me.getId(), Set.of(TicketState.done)).size());
+    }
+
+    @Test
+    @DisplayName("First ids are the newest of each group")
+    void findFirstAssignedIds() {
+        Set<UUID> ids = ticketRepository.findFirstAssignedIds(me.getId(), List.of("open", "done"), 2)
+                .stream().map(UUID::fromString).collect(Collectors.toSet());
+
+        assertEquals(Set.of(open3.getId(), open2.getId(), done.getId()), ids);
+    }
+
+    @Test
+    @DisplayName("Group page continues below the cursor, newest first")
+    void findAssignedPageBefore() {
+        List<Ticket> first = ticketRepository.findAssignedPageBefore(me.getId(), alpha.getId(), TicketState.open,
+                KeysetCursor.END.at(), KeysetCursor.END.id(), Limit.of(2));
+        assertEquals(List.of(open3.getId(), open2.getId()), first.stream().map(Ticket::getId).toList());
+
+        KeysetCursor after = KeysetCursor.of(open2.getCreatedAt(), open2.getId());
+        List<Ticket> rest = ticketRepository.findAssignedPageBefore(me.getId(), alpha.getId(), TicketState.open,
+                after.at(), after.id(), Limit.of(2));
+        assertEquals(List.of(open1.getId()), rest.stream().map(Ticket::getId).toList());
+    }
+
+    private User user(String name) {
+        String login = name + "-" + UUID.randomUUID() + "@example.com";
+        return userRepository.save(User.builder()
+                .username(login).email(login).name(name).surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+    }
+
+    private Ticket ticket(Project project, User assignee, TicketState state, OffsetDateTime createdAt) {
+        return ticketRepository.save(Ticket.builder()
+                .name("T").description("d")
+                .type(TicketType.task).priority(TicketPriority.med).state(state)
+                .author(me).assignee(assignee).project(project)
+                .createdAt(createdAt).updatedAt(createdAt)
+                .build());
+    }
+}
@@ -0,0 +1,155 @@
+package com.tsystem.ticket;
+
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.AssignedTicketCount;
+import com.tsystem.model.dto.KeysetCursor;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.MyWorkGroupResponse;
+import com.tsystem.model.dto.response.MyWorkResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.service.MyWorkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MyWorkServiceTest {
+
+    @Mock TicketRepository ticketRepository;
+
+    @InjectMocks MyWorkService myWorkService;
+
+    private UUID userId;
+    private User me;
+    private Project alpha, beta;
+    private OffsetDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        me = User.builder().id(userId).username("me@example.com").name("Me").surname("Self").build();
+        alpha = Project.builder().id(UUID.randomUUID()).name("Alpha").build();
+        beta = Project.builder().id(UUID.randomUUID()).name("beta").build();
+        now = OffsetDateTime.now();
+    }
+
+    @Nested
+    @DisplayName("Dashboard")
+    class DashboardTests {
+
+        @Test
+        @DisplayName("Groups by project name and state, newest first, with a cursor where more follow")
+        void get_GroupsAndPages() {
+            Ticket older = ticket(beta, TicketState.open, now.minusHours(2));
+            Ticket newer = ticket(beta, TicketState.open, now.minusHours(1));
+            Ticket done = ticket(alpha, TicketState.done, now);
+            when(ticketRepository.countAssigned(userId, EnumSet.allOf(TicketState.class))).thenReturn(List.of(
+                    new AssignedTicketCount(beta.getId(), "beta", TicketState.open, 5),
+                    new AssignedTicketCount(alpha.getId(), "Alpha", TicketState.done, 1)));
+            when(ticketRepository.findFirstAssignedIds(userId, List.of("open", "in_progress", "done"), 2))
+                    .thenReturn(List.of(older.getId().toString(), newer.getId().toString(), done.getId().toString()));
+            when(ticketRepository.findByIdIn(anyCollection())).thenReturn(List.of(older, done, newer));
+
+            MyWorkResponse result = myWorkService.get(userId, null, 2);
+
+            assertEquals(6, result.getTotal());
+            List<MyWorkGroupResponse> groups = result.getGroups();
+            assertEquals(List.of("Alpha", "beta"), groups.stream().map(MyWorkGroupResponse::getProjectName).toList());
+            assertEquals(List.of(done.getId()), groups.get(0).getTickets().stream().map(t -> t.getId()).toList());
+            assertNull(groups.get(0).getNextCursor());
+            assertEquals(List.of(newer.getId(), older.getId()),
+                    groups.get(1).getTickets().stream().map(t -> t.getId()).toList());
+            assertEquals(KeysetCursor.of(older.getCreatedAt(), older.getId()).encode(), groups.get(1).getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Nothing assigned: only the count query runs")
+        void get_NothingAssigned() {
+            when(ticketRepository.countAssigned(userId, Set.of(TicketState.open))).thenReturn(List.of());
+
+            MyWorkResponse result = myWorkService.get(userId, List.of(TicketState.open), 10);
+
+            assertEquals(0, result.getTotal());
+            assertTrue(result.getGroups().isEmpty());
+            verify(ticketRepository, never()).findFirstAssignedIds(any(), anyCollection(), anyInt());
+            verify(ticketRepository, never()).findByIdIn(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Page size is capped")
+        void get_CapsLimit() {
+            when(ticketRepository.countAssigned(eq(userId), anyCollection())).thenReturn(List.of(
+                    new AssignedTicketCount(alpha.getId(), "Alpha", TicketState.open, 1)));
+
+            myWorkService.get(userId, List.of(TicketState.open), 10_000);
+
+            verify(ticketRepository).findFirstAssignedIds(userId, List.of("open"), MyWorkService.MAX_PAGE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Group pages")
+    class GroupPageTests {
+
+        @Test
+        @DisplayName("Without a cursor starts at the newest ticket")
+        void getGroupPage_FromNewest() {
+            Ticket first = ticket(alpha, TicketState.open, now);
+            Ticket second = ticket(alpha, TicketState.open, now.minusMinutes(1));
+            Ticket extra = ticket(alpha, TicketState.open, now.minusMinutes(2));
+            when(ticketRepository.findAssignedPageBefore(userId, alpha.getId(), TicketState.open,
+                    KeysetCursor.END.at(), KeysetCursor.END.id(), Limit.of(3)))
+                    .thenReturn(List.of(first, second, extra));
+
+            KeysetPage<Ticket> page = myWorkService.getGroupPage(userId, alpha.getId(), TicketState.open, null, 2);
+
+            assertEquals(List.of(first, second), page.items());
+            assertEquals(KeysetCursor.of(second.getCreatedAt(), second.getId()).encode(), page.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Continues below the cursor")
+        void getGroupPage_FromCursor() {
+            KeysetCursor cursor = KeysetCursor.of(now, UUID.randomUUID());
+            when(ticketRepository.findAssignedPageBefore(userId, alpha.getId(), TicketState.done,
+                    cursor.at(), cursor.id(), Limit.of(11))).thenReturn(List.of());
+
+            KeysetPage<Ticket> page = myWorkService.getGroupPage(userId, alpha.getId(), TicketState.done,
+                    cursor.encode(), 10);
+
+            assertTrue(page.items().isEmpty());
+            assertNull(page.nextCursor());
+        }
+    }
+
+    private Ticket ticket(Project project, TicketState state, OffsetDateTime createdAt) {
+        return Ticket.builder()
+                .id(UUID.randomUUID()).name("T").type(TicketType.task).priority(TicketPriority.med)
+                .state(state).author(me).assignee(me).project(project)
+                .createdAt(createdAt).updatedAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.tsystem.ticket;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.Project;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.TicketComment;
+import com.tsystem.model.dto.response.RelatedTicketResponse;
+import com.tsystem.model.dto.response.TicketCommentResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.TicketCommentRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.BlobStore;
+import com.tsystem.service.RelatedTicketService;
+import com.tsystem.service.TextBlobs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class RelatedTicketServiceTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+    @Autowired TicketCommentRepository ticketCommentRepository;
+
+    @TempDir Path root;
+
+    private RelatedTicketService service;
+    private User user;
+    private Project project;
+    private Ticket upload, timeout, darkMode;
+
+    @BeforeEach
+    void setUp() {
+        BlobStore blobStore = new BlobStore(jdbcTemplate, transactionManager, root);
+        // a fresh instance, so the service reads the comment back from disk
+        service = new RelatedTicketService(jdbcTemplate, projectRepository,
+                new TextBlobs(blobStore, 16), transactionManager);
+        TextBlobs writer = new TextBlobs(blobStore, 16);
+        user = userRepository.save(User.builder()
+                .username("rel@example.com").email("rel@example.com").name("Rel").surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+        project = projectRepository.save(Project.builder().name("Related").user(user).build());
+        upload = ticket("Avatar upload fails", "Uploading an avatar returns an error");
+        timeout = ticket("Requests time out", "The server is slow");
+        darkMode = ticket("Dark mode", "Add a dark theme");
+        // only the comment ties the timeout to avatars; long enough for the blob store
+        ticketCommentRepository.saveAndFlush(TicketComment.builder()
+                .ticketId(timeout.getId()).authorId(user.getId())
+                .textBlob(writer.acquire("mostly when uploading an avatar")).build());
+    }
+
+    @Test
+    @DisplayName("Tickets and comments are read on first use")
+    void find_LoadsTicketsAndComments() {
+        List<RelatedTicketResponse> related = service.find(project.getId(), upload.getId(), 10);
+
+        assertEquals(List.of(timeout.getId()), related.stream().map(RelatedTicketResponse::getTicketId).toList());
+        assertEquals("Requests time out", related.getFirst().getName());
+    }
+
+    @Test
+    @DisplayName("Changes arrive through the ticket events")
+    void onTicketEvent() {
+        service.find(project.getId(), upload.getId(), 10);
+
+        service.onTicketEvent(TicketEvent.commentAdded(project.getId(), TicketCommentResponse.builder()
+                .ticketId(darkMode.getId()).text("the avatar upload button is invisible in dark mode").build()));
+        assertTrue(ids(service.find(project.getId(), upload.getId(), 10)).contains(darkMode.getId()));
+
+        UUID created = UUID.randomUUID();
+        service.onTicketEvent(TicketEvent.created(TicketResponse.builder().id(created).projectId(project.getId())
+                .name("Avatar upload error on Safari").build()));
+        assertEquals(created, service.find(project.getId(), upload.getId(), 10).getFirst().getTicketId());
+
+        service.onTicketEvent(TicketEvent.deleted(project.getId(), created));
+        assertFalse(ids(service.find(project.getId(), upload.getId(), 10)).contains(created));
+    }
+
+    @Test
+    @DisplayName("Moving the project's tickets drops its index")
+    void onArchiveEvent() {
+        service.find(project.getId(), upload.getId(), 10);
+        Ticket safari = ticket("Avatar upload error on Safari", "Uploading fails");
+        assertFalse(ids(service.find(project.getId(), upload.getId(), 10)).contains(safari.getId()));
+
+        service.onArchiveEvent(ProjectArchiveEvent.ticketsMoved(project.getId()));
+
+        assertTrue(ids(service.find(project.getId(), upload.getId(), 10)).contains(safari.getId()));
+    }
+
+    @Test
+    @DisplayName("Unknown projects and tickets are 404")
+    void find_NotFound() {
+        assertThrows(NotFoundException.class, () -> service.find(UUID.randomUUID(), upload.getId(), 10));
+        assertThrows(NotFoundException.class, () -> service.find(project.getId(), UUID.randomUUID(), 10));
+    }
+
+    private static List<UUID> ids(List<RelatedTicketResponse> related) {
+        return related.stream().map(RelatedTicketResponse::getTicketId).toList();
+    }
+
+    // flushed right away, the index is read over JDBC
+    private Ticket ticket(String name, String description) {
+        return ticketRepository.saveAndFlush(Ticket.builder()
+                .name(name).description(description).type(TicketType.bug).priority(TicketPriority.med)
+                .author(user).project(project)
+                .build());
+    }
+}
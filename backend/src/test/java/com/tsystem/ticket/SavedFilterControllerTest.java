@@ -0,0 +1,131 @@
+package com.tsystem.ticket;
+
+import com.tsystem.configuration.JacksonConfiguration;
+import com.tsystem.configuration.JwtAuthenticationFilter;
+import com.tsystem.controller.SavedFilterController;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.Project;
+import com.tsystem.model.SavedFilter;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.request.SavedFilterRequest;
+import com.tsystem.model.dto.response.SavedFilterResponse;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.service.SavedFilterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.TestSecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = SavedFilterController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthenticationFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(JacksonConfiguration.class)
+class SavedFilterControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean SavedFilterService savedFilterService;
+
+    private User me;
+
+    @BeforeEach
+    void setUp() {
+        me = User.builder().id(UUID.randomUUID()).username("dev@example.com").email("dev@example.com")
+                .name("Dev").surname("Eloper").role(SystemRole.USER).build();
+        // security filters are off in this slice, so the principal is put in the context directly
+        TestSecurityContextHolder.setAuthentication(
+                new UsernamePasswordAuthenticationToken(me, null, me.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestSecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("GET lists the caller's filters with counts")
+    void list() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(savedFilterService.list(me.getId())).thenReturn(List.of(SavedFilterResponse.builder()
+                .id(id).name("My open bugs").types(Set.of(TicketType.bug)).assignee("me").count(3L).build()));
+
+        mockMvc.perform(get("/api/filters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id.toString()))
+                .andExpect(jsonPath("$[0].assignee").value("me"))
+                .andExpect(jsonPath("$[0].count").value(3));
+    }
+
+    @Test
+    @DisplayName("POST creates a filter, a blank name returns 400")
+    void create() throws Exception {
+        SavedFilter saved = SavedFilter.builder().id(UUID.randomUUID()).ownerId(me.getId()).name("My open bugs")
+                .states("open").assigneeId(me.getId()).build();
+        when(savedFilterService.create(eq(me), any(SavedFilterRequest.class))).thenReturn(saved);
+
+        mockMvc.perform(post("/api/filters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"My open bugs\",\"states\":[\"open\"],\"assignee\":\"me\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("My open bugs"))
+                .andExpect(jsonPath("$.states[0]").value("open"))
+                .andExpect(jsonPath("$.assignee").value("me"));
+
+        mockMvc.perform(post("/api/filters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET tickets returns the page and the next cursor, unknown filters 404")
+    void tickets() throws Exception {
+        UUID filterId = UUID.randomUUID();
+        Ticket t = Ticket.builder().id(UUID.randomUUID()).name("Crash").type(TicketType.bug)
+                .priority(TicketPriority.high).state(TicketState.open).author(me)
+                .project(Project.builder().id(UUID.randomUUID()).build()).build();
+        when(savedFilterService.tickets(me.getId(), filterId, null, 1))
+                .thenReturn(new KeysetPage<>(List.of(t), t.getId().toString()));
+
+        mockMvc.perform(get("/api/filters/" + filterId + "/tickets").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Crash"))
+                .andExpect(header().string("X-Next-Cursor", t.getId().toString()));
+
+        UUID unknown = UUID.randomUUID();
+        when(savedFilterService.tickets(me.getId(), unknown, null, 50))
+                .thenThrow(new NotFoundException("Saved filter not found"));
+        mockMvc.perform(get("/api/filters/" + unknown + "/tickets"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,160 @@
+package com.tsystem.ticket;
+
+import com.tsystem.model.Project;
+import com.tsystem.model.SavedFilter;
+import com.tsystem.model.Ticket;
+import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.event.ProjectArchiveEvent;
+import com.tsystem.model.event.SavedFilterEvent;
+import com.tsystem.model.event.TicketFieldsEvent;
+import com.tsystem.model.filter.TicketFields;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.ProjectRepository;
+import com.tsystem.repository.SavedFilterRepository;
+import com.tsystem.repository.TicketRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.SavedFilterCounts;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class SavedFilterCountsTest {
+
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired UserRepository userRepository;
+    @Autowired ProjectRepository projectRepository;
+    @Autowired TicketRepository ticketRepository;
+    @Autowired SavedFilterRepository savedFilterRepository;
+
+    private SavedFilterCounts counts;
+    private User user;
+    private Project project;
+    private SavedFilter highOpenBugs, everything;
+    private Ticket crash;
+
+    @BeforeEach
+    void setUp() {
+        counts = new SavedFilterCounts(savedFilterRepository, em, transactionManager, 100, 600_000);
+        user = userRepository.save(User.builder()
+                .username("filters@example.com").email("filters@example.com").name("Filter").surname("Test")
+                .password("hash").role(SystemRole.USER).build());
+        project = projectRepository.save(Project.builder().name("Filters").user(user).build());
+
+        crash = ticket(TicketType.bug, TicketPriority.high, TicketState.open);
+        ticket(TicketType.bug, TicketPriority.high, TicketState.open);
+        ticket(TicketType.bug, TicketPriority.low, TicketState.open);
+        ticket(TicketType.task, TicketPriority.high, TicketState.done);
+
+        highOpenBugs = savedFilterRepository.save(SavedFilter.builder().ownerId(user.getId())
+                .name("High open bugs").projectId(project.getId())
+                .types("bug").priorities("high").states("open").build());
+        everything = savedFilterRepository.save(SavedFilter.builder().ownerId(user.getId())
+                .name("Everything").build());
+    }
+
+    private Ticket ticket(TicketType type, TicketPriority priority, TicketState state) {
+        return ticketRepository.saveAndFlush(Ticket.builder()
+                .name(type + " " + priority).type(type).priority(priority).state(state)
+                .author(user).project(project).build());
+    }
+
+    private Map<UUID, Long> counts() {
+        return counts.counts(counts.filters(user.getId()));
+    }
+
+    @Test
+    @DisplayName("Counts come from the compiled queries, then from memory")
+    void counts_Cached() {
+        assertEquals(List.of(everything.getId(), highOpenBugs.getId()),
+                counts.filters(user.getId()).stream().map(SavedFilterCounts.Compiled::id).toList());
+        assertEquals(Map.of(highOpenBugs.getId(), 2L, everything.getId(), 4L), counts());
+
+        // written behind the cache's back: no event, the counts stay
+        ticket(TicketType.bug, TicketPriority.high, TicketState.open);
+        assertEquals(Map.of(highOpenBugs.getId(), 2L, everything.getId(), 4L), counts());
+    }
+
+    @Test
+    @DisplayName("A ticket write drops only the counts it changes")
+    void counts_SelectiveInvalidation() {
+        counts();
+        Ticket added = ticket(TicketType.bug, TicketPriority.high, TicketState.open);
+        counts.onTicketFields(TicketFieldsEvent.created(TicketFields.of(added)));
+        assertEquals(Map.of(highOpenBugs.getId(), 3L, everything.getId(), 5L), counts());
+
+        // the crash stays in Everything, leaves High open bugs
+        TicketFields before = TicketFields.of(crash);
+        crash.setState(TicketState.done);
+        ticketRepository.saveAndFlush(crash);
+        ticket(TicketType.task, TicketPriority.low, TicketState.open);
+        counts.onTicketFields(new TicketFieldsEvent(before, TicketFields.of(crash)));
+        assertEquals(Map.of(highOpenBugs.getId(), 2L, everything.getId(), 5L), counts());
+    }
+
+    @Test
+    @DisplayName("Filter lists follow SavedFilterEvents, counts follow forget")
+    void filters_AndForget() {
+        counts();
+        SavedFilter done = savedFilterRepository.save(SavedFilter.builder().ownerId(user.getId())
+                .name("Done").states("done").build());
+        assertEquals(2, counts.filters(user.getId()).size());
+        counts.onSavedFilter(new SavedFilterEvent(user.getId(), done.getId()));
+        assertEquals(3, counts.filters(user.getId()).size());
+
+        ticket(TicketType.bug, TicketPriority.high, TicketState.open);
+        counts.forget(project.getId());
+        assertEquals(Map.of(highOpenBugs.getId(), 3L, everything.getId(), 5L, done.getId(), 1L), counts());
+    }
+
+    @Test
+    @DisplayName("Archive events drop the counts that may include the project's tickets")
+    void archiveEvents() {
+        counts();
+        ticket(TicketType.bug, TicketPriority.high, TicketState.open);
+
+        counts.onArchiveEvent(ProjectArchiveEvent.ticketsMoved(project.getId()));
+        assertEquals(Map.of(highOpenBugs.getId(), 3L, everything.getId(), 5L), counts());
+    }
+
+    @Test
+    @DisplayName("Tickets of a deleted project are not counted while they wait for deletion")
+    void counts_DeletedProject() {
+        projectRepository.markDeleted(project.getId(), OffsetDateTime.now());
+        counts.forget(project.getId());
+
+        assertEquals(Map.of(highOpenBugs.getId(), 0L, everything.getId(), 0L), counts());
+        assertEquals(List.of(), counts.filters(user.getId()).getLast().query().page(em, null, 10));
+    }
+
+    @Test
+    @DisplayName("Pages of matching tickets continue after the cursor")
+    void page() {
+        Ticket second = ticketRepository.findAll().stream()
+                .filter(t -> t.getPriority() == TicketPriority.high && t.getState() == TicketState.open
+                        && !t.getId().equals(crash.getId()))
+                .findFirst().orElseThrow();
+        SavedFilterCounts.Compiled filter = counts.filters(user.getId()).getLast();
+
+        assertEquals(List.of(crash.getId()), filter.query().page(em, null, 1).stream().map(Ticket::getId).toList());
+        assertEquals(List.of(second.getId()),
+                filter.query().page(em, crash.getId(), 10).stream().map(Ticket::getId).toList());
+    }
+}
@@ -0,0 +1,179 @@
+package com.tsystem.ticket;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.SavedFilter;
+import com.tsystem.model.dto.request.SavedFilterRequest;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.dto.response.SavedFilterResponse;
+import com.tsystem.model.enums.ProjectStatus;
+import com.tsystem.model.enums.TicketState;
+import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.event.SavedFilterEvent;
+import com.tsystem.model.filter.TicketCriteria;
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.SavedFilterRepository;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.ProjectService;
+import com.tsystem.service.SavedFilterCounts;
+import com.tsystem.service.SavedFilterService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedFilterServiceTest {
+
+    @Mock SavedFilterRepository savedFilterRepository;
+    @Mock UserRepository userRepository;
+    @Mock ProjectService projectService;
+    @Mock SavedFilterCounts savedFilterCounts;
+    @Mock EntityManager em;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks SavedFilterService savedFilterService;
+
+    private User manager, worker;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        manager = User.builder().id(UUID.randomUUID()).username("pm@example.com").role(SystemRole.PROJECT_MANAGER).build();
+        worker = User.builder().id(UUID.randomUUID()).username("dev@example.com").role(SystemRole.USER).build();
+        projectId = UUID.randomUUID();
+    }
+
+    private SavedFilterRequest.SavedFilterRequestBuilder request() {
+        return SavedFilterRequest.builder().name(" My open bugs ").projectId(projectId)
+                .types(Set.of(TicketType.bug)).states(Set.of(TicketState.open, TicketState.in_progress));
+    }
+
+    private void project(ProjectStatus status) {
+        when(projectService.lookup(projectId)).thenReturn(Optional.of(
+                ProjectResponse.builder().id(projectId).status(status).build()));
+    }
+
+    @Nested
+    @DisplayName("Create and update")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Create stores the criteria, resolves \"me\" and publishes the change")
+        void create_Success() {
+            project(ProjectStatus.ACTIVE);
+            when(savedFilterRepository.findByOwnerIdAndNameIgnoreCase(worker.getId(), "My open bugs"))
+                    .thenReturn(Optional.empty());
+            when(savedFilterRepository.save(any(SavedFilter.class))).thenAnswer(inv -> {
+                SavedFilter f = inv.getArgument(0);
+                f.setId(UUID.randomUUID());
+                return f;
+            });
+
+            SavedFilter saved = savedFilterService.create(worker, request().assignee("me").build());
+
+            assertEquals("My open bugs", saved.getName());
+            assertEquals(worker.getId(), saved.getOwnerId());
+            assertEquals(worker.getId(), saved.getAssigneeId());
+            assertEquals("bug", saved.getTypes());
+            assertEquals("open,in_progress", saved.getStates());
+            assertEquals("", saved.getPriorities());
+            ArgumentCaptor<SavedFilterEvent> event = ArgumentCaptor.forClass(SavedFilterEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertEquals(new SavedFilterEvent(worker.getId(), saved.getId()), event.getValue());
+        }
+
+        @Test
+        @DisplayName("Users who cannot read every ticket may only filter their own")
+        void create_WorkerOtherTickets_Rejected() {
+            project(ProjectStatus.ACTIVE);
+            when(savedFilterRepository.findByOwnerIdAndNameIgnoreCase(any(), any())).thenReturn(Optional.empty());
+
+            assertThrows(BadRequestException.class,
+                    () -> savedFilterService.create(worker, request().assignee("none").build()));
+            assertThrows(BadRequestException.class,
+                    () -> savedFilterService.create(worker, request().build()));
+            verify(savedFilterRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Duplicate names, archived projects, unknown assignees and full lists are rejected")
+        void create_Rejected() {
+            when(savedFilterRepository.findByOwnerIdAndNameIgnoreCase(manager.getId(), "My open bugs"))
+                    .thenReturn(Optional.of(SavedFilter.builder().id(UUID.randomUUID()).build()));
+            assertThrows(BadRequestException.class, () -> savedFilterService.create(manager, request().build()));
+
+            when(savedFilterRepository.findByOwnerIdAndNameIgnoreCase(manager.getId(), "My open bugs"))
+                    .thenReturn(Optional.empty());
+            project(ProjectStatus.ARCHIVED);
+            assertThrows(BadRequestException.class, () -> savedFilterService.create(manager, request().build()));
+
+            project(ProjectStatus.ACTIVE);
+            UUID nobody = UUID.randomUUID();
+            when(userRepository.existsById(nobody)).thenReturn(false);
+            assertThrows(BadRequestException.class,
+                    () -> savedFilterService.create(manager, request().assignee(nobody.toString()).build()));
+            assertThrows(BadRequestException.class,
+                    () -> savedFilterService.create(manager, request().assignee("someone").build()));
+
+            when(savedFilterRepository.countByOwnerId(manager.getId())).thenReturn((long) SavedFilterService.MAX_FILTERS);
+            assertThrows(BadRequestException.class, () -> savedFilterService.create(manager, request().build()));
+            verify(savedFilterRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Update of another user's filter is not found")
+        void update_NotOwner_NotFound() {
+            UUID filterId = UUID.randomUUID();
+            when(savedFilterRepository.findByIdAndOwnerId(filterId, manager.getId())).thenReturn(Optional.empty());
+
+            assertThrows(NotFoundException.class,
+                    () -> savedFilterService.update(manager, filterId, request().build()));
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    @Test
+    @DisplayName("The list pairs the cached filters with their counts")
+    void list_WithCounts() {
+        SavedFilter f = SavedFilter.builder().id(UUID.randomUUID()).ownerId(manager.getId()).name("Unassigned")
+                .unassigned(true).build();
+        List<SavedFilterCounts.Compiled> compiled =
+                List.of(new SavedFilterCounts.Compiled(f, TicketCriteria.of(f), null));
+        when(savedFilterCounts.filters(manager.getId())).thenReturn(compiled);
+        when(savedFilterCounts.counts(compiled)).thenReturn(Map.of(f.getId(), 7L));
+
+        List<SavedFilterResponse> list = savedFilterService.list(manager.getId());
+
+        assertEquals(1, list.size());
+        assertEquals("none", list.getFirst().getAssignee());
+        assertEquals(7L, list.getFirst().getCount());
+        verifyNoInteractions(savedFilterRepository);
+    }
+
+    @Test
+    @DisplayName("Tickets of an unknown or foreign filter are not found")
+    void tickets_Rejected() {
+        when(savedFilterCounts.filters(manager.getId())).thenReturn(List.of());
+        assertThrows(NotFoundException.class,
+                () -> savedFilterService.tickets(manager.getId(), UUID.randomUUID(), null, 10));
+    }
+}
@@ -0,0 +1,62 @@
+package com.tsystem.ticket;
+
+import com.tsystem.service.BlobStore;
+import com.tsystem.service.TextBlobs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TextBlobsTest {
+
+    private static final String TRACE = "java.lang.IllegalStateException: boom\n\tat com.example.Foo.bar(Foo.java:42)";
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @TempDir Path root;
+
+    private BlobStore store;
+    private TextBlobs texts;
+
+    @BeforeEach
+    void setUp() {
+        store = new BlobStore(jdbcTemplate, transactionManager, root);
+        texts = new TextBlobs(store, 32);
+    }
+
+    private Integer refCount(String hash) {
+        return jdbcTemplate.queryForObject("select ref_count from content_blobs where hash = ?", Integer.class, hash);
+    }
+
+    @Test
+    @DisplayName("Short text stays in the row")
+    void acquire_Short() {
+        assertNull(texts.acquire("Looks fine to me"));
+        assertNull(texts.acquire(null));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from content_blobs", Integer.class));
+    }
+
+    @Test
+    @DisplayName("The same long text pasted twice is stored once with two references")
+    void acquire_Deduplicates() {
+        String first = texts.acquire(TRACE);
+        String second = texts.acquire(TRACE);
+
+        assertEquals(first, second);
+        assertEquals(2, refCount(first));
+        // another instance has nothing cached and reads the file
+        assertEquals(TRACE, new TextBlobs(store, 32).read(first));
+    }
+}
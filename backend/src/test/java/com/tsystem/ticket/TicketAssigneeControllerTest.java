@@ -1,13 +1,22 @@
 package com.tsystem.ticket;
 
+import com.tsystem.configuration.JacksonConfiguration;
 import com.tsystem.configuration.JwtAuthenticationFilter;
 import com.tsystem.controller.TicketAssigneeController;
 import com.tsystem.exception.NotFoundException;
 import com.tsystem.model.Project;
 import com.tsystem.model.Ticket;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.MyWorkGroupResponse;
+import com.tsystem.model.dto.response.MyWorkResponse;
+import com.tsystem.model.dto.response.TicketResponse;
 import com.tsystem.model.enums.TicketPriority;
+import com.tsystem.model.enums.TicketState;
 import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.user.SystemRole;
 import com.tsystem.model.user.User;
+import com.tsystem.service.MyWorkService;
 import com.tsystem.service.TicketService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +26,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -26,6 +38,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,10 +51,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         )
 )
 @AutoConfigureMockMvc(addFilters = false)
+@Import(JacksonConfiguration.class)
 class TicketAssigneeControllerTest {
 
     @Autowired MockMvc mockMvc;
     @MockitoBean TicketService ticketService;
+    @MockitoBean MyWorkService myWorkService;
 
     private UUID userId;
     private User assignee;
@@ -50,7 +65,8 @@ class TicketAssigneeControllerTest {
     @BeforeEach
     void setUp() {
         userId = UUID.randomUUID();
-        assignee = User.builder().id(userId).username("user@test.com").name("Test").surname("User").build();
+        assignee = User.builder().id(userId).username("user@test.com").name("Test").surname("User")
+                .role(SystemRole.USER).build();
         testTicket = Ticket.builder()
                 .id(UUID.randomUUID()).name("Assigned Ticket").description("Test")
                 .type(TicketType.task).priority(TicketPriority.med)
@@ -85,10 +101,59 @@ class TicketAssigneeControllerTest {
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test @DisplayName("GET /api/tickets/assignee/{userId}?fields= - only the requested properties")
+    void getByAssignee_WithFields() throws Exception {
+        when(ticketService.findByAssignee(eq(userId), any(FieldSet.class))).thenReturn(List.of(
+                TicketResponse.builder().name("Assigned Ticket").projectId(testTicket.getProject().getId()).build()));
+        mockMvc.perform(get("/api/tickets/assignee/{userId}", userId).param("fields", "name,projectId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Assigned Ticket"))
+                .andExpect(jsonPath("$[0].projectId").value(testTicket.getProject().getId().toString()))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
     @Test @DisplayName("GET /api/tickets/assignee/{userId} - 404")
     void getByAssignee_UserNotFound() throws Exception {
         when(ticketService.findByAssignee(any())).thenThrow(new NotFoundException("User not found"));
         mockMvc.perform(get("/api/tickets/assignee/{userId}", UUID.randomUUID()))
                 .andExpect(status().isNotFound());
     }
+
+    // security filters are off in this slice, so the principal is put in the context directly
+    private void signedInAs(User user) {
+        TestSecurityContextHolder.setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Test @DisplayName("GET /api/tickets/my-work - groups of the current user")
+    void getMyWork() throws Exception {
+        signedInAs(assignee);
+        UUID projectId = testTicket.getProject().getId();
+        when(myWorkService.get(userId, List.of(TicketState.open, TicketState.in_progress), 5))
+                .thenReturn(MyWorkResponse.builder().total(7).groups(List.of(MyWorkGroupResponse.builder()
+                        .projectId(projectId).projectName("Alpha").state(TicketState.open).count(7)
+                        .tickets(List.of(TicketResponse.builder().name("Assigned Ticket").build()))
+                        .nextCursor("abc").build())).build());
+        mockMvc.perform(get("/api/tickets/my-work")
+                        .param("state", "open", "in_progress").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(7))
+                .andExpect(jsonPath("$.groups[0].projectName").value("Alpha"))
+                .andExpect(jsonPath("$.groups[0].state").value("open"))
+                .andExpect(jsonPath("$.groups[0].tickets[0].name").value("Assigned Ticket"))
+                .andExpect(jsonPath("$.groups[0].nextCursor").value("abc"));
+    }
+
+    @Test @DisplayName("GET /api/tickets/my-work/{projectId}/{state} - next page with cursor header")
+    void getMyWorkGroup() throws Exception {
+        signedInAs(assignee);
+        UUID projectId = testTicket.getProject().getId();
+        when(myWorkService.getGroupPage(userId, projectId, TicketState.in_progress, "abc", 10))
+                .thenReturn(new KeysetPage<>(List.of(testTicket), "def"));
+        mockMvc.perform(get("/api/tickets/my-work/{projectId}/{state}", projectId, "in_progress")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$[0].name").value("Assigned Ticket"));
+    }
 }
@@ -1,16 +1,32 @@
 package com.tsystem.ticket;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.tsystem.configuration.JacksonConfiguration;
 import com.tsystem.configuration.JwtAuthenticationFilter;
 import com.tsystem.controller.TicketController;
+import com.tsystem.exception.BadRequestException;
 import com.tsystem.exception.NotFoundException;
 import com.tsystem.model.Project;
 import com.tsystem.model.Ticket;
 import com.tsystem.model.TicketComment;
 import com.tsystem.model.TicketHistory;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.DuplicateTicketResponse;
+import com.tsystem.model.dto.response.RelatedTicketResponse;
+import com.tsystem.model.dto.response.TicketChangesResponse;
+import com.tsystem.model.dto.response.TicketDetailResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.dto.response.UserShortResponse;
 import com.tsystem.model.enums.TicketPriority;
 import com.tsystem.model.enums.TicketState;
 import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.mapper.TicketMapper;
 import com.tsystem.model.user.User;
+import com.tsystem.service.DuplicateTicketService;
+import com.tsystem.service.RelatedTicketService;
+import com.tsystem.service.TicketDetailService;
 import com.tsystem.service.TicketService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +37,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -32,7 +50,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -46,10 +66,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         )
 )
 @AutoConfigureMockMvc(addFilters = false)
+@Import(JacksonConfiguration.class)
 class TicketControllerTest {
 
     @Autowired MockMvc mockMvc;
     @MockitoBean TicketService ticketService;
+    @MockitoBean TicketDetailService ticketDetailService;
+    @MockitoBean DuplicateTicketService duplicateTicketService;
+    @MockitoBean RelatedTicketService relatedTicketService;
 
     private UUID projectId, ticketId, commentId;
     private User author;
@@ -94,10 +118,89 @@ class TicketControllerTest {
                     .andExpect(jsonPath("$").isEmpty());
         }
 
+        @Test
+        @DisplayName("GET /api/projects/{id}/tickets - CBOR when asked for in Accept")
+        void list_Cbor() throws Exception {
+            when(ticketService.getAllByProjectId(projectId)).thenReturn(List.of(testTicket));
+
+            byte[] body = mockMvc.perform(get("/api/projects/{id}/tickets", projectId)
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode tickets = new CBORMapper().readTree(body);
+            assertEquals("Test Bug", tickets.get(0).get("name").asText());
+        }
+
+        @Test
+        @DisplayName("GET /api/projects/{id}/tickets?fields= - only the requested properties")
+        void list_WithFields() throws Exception {
+            when(ticketService.getAllByProjectId(eq(projectId), any(FieldSet.class))).thenReturn(List.of(
+                    TicketResponse.builder().id(ticketId).state(TicketState.open).build()));
+
+            mockMvc.perform(get("/api/projects/{id}/tickets", projectId).param("fields", "id, state"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(ticketId.toString()))
+                    .andExpect(jsonPath("$[0].state").value("open"))
+                    .andExpect(jsonPath("$[0].name").doesNotExist())
+                    .andExpect(jsonPath("$[0].assignee").doesNotExist());
+
+            verify(ticketService, never()).getAllByProjectId(projectId);
+        }
+
+        @Test
+        @DisplayName("GET /api/projects/{id}/tickets/changes - returns delta page")
+        void changes_ReturnsDelta() throws Exception {
+            UUID deletedId = UUID.randomUUID();
+            when(ticketService.getChanges(projectId, "abc", 50)).thenReturn(TicketChangesResponse.builder()
+                    .changed(List.of(TicketMapper.toResponse(testTicket)))
+                    .deleted(List.of(deletedId))
+                    .cursor("next")
+                    .hasMore(false)
+                    .build());
+
+            mockMvc.perform(get("/api/projects/{id}/tickets/changes", projectId)
+                            .param("cursor", "abc").param("limit", "50"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed[0].name").value("Test Bug"))
+                    .andExpect(jsonPath("$.deleted[0]").value(deletedId.toString()))
+                    .andExpect(jsonPath("$.cursor").value("next"))
+                    .andExpect(jsonPath("$.hasMore").value(false));
+        }
+
+        @Test
+        @DisplayName("GET /api/projects/{id}/tickets/changes - bad cursor")
+        void changes_BadCursor() throws Exception {
+            when(ticketService.getChanges(eq(projectId), eq("bad"), anyInt()))
+                    .thenThrow(new BadRequestException("Invalid cursor"));
+
+            mockMvc.perform(get("/api/projects/{id}/tickets/changes", projectId).param("cursor", "bad"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("GET /api/projects/{pid}/tickets/{tid}/detail - aggregate in one response")
+        void detail_Success() throws Exception {
+            when(ticketDetailService.get(projectId, ticketId, 50)).thenReturn(TicketDetailResponse.builder()
+                    .ticket(TicketMapper.toResponse(testTicket))
+                    .comments(List.of())
+                    .history(List.of())
+                    .historyCursor("older")
+                    .users(List.of(UserShortResponse.builder().id(author.getId()).name("Ann").build()))
+                    .build());
+
+            mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/detail", projectId, ticketId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.ticket.name").value("Test Bug"))
+                    .andExpect(jsonPath("$.historyCursor").value("older"))
+                    .andExpect(jsonPath("$.users[0].name").value("Ann"));
+        }
+
         @Test
         @DisplayName("GET /api/projects/{pid}/tickets/{tid} - get single ticket")
         void get_Success() throws Exception {
-            when(ticketService.get(projectId, ticketId)).thenReturn(testTicket);
+            when(ticketService.getResponse(projectId, ticketId)).thenReturn(TicketMapper.toResponse(testTicket));
 
             mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}", projectId, ticketId))
                     .andExpect(status().isOk())
@@ -108,7 +211,7 @@ class TicketControllerTest {
         @Test
         @DisplayName("GET /api/projects/{pid}/tickets/{tid} - not found")
         void get_NotFound() throws Exception {
-            when(ticketService.get(any(), any())).thenThrow(new NotFoundException("Ticket not found"));
+            when(ticketService.getResponse(any(), any())).thenThrow(new NotFoundException("Ticket not found"));
 
             mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}", projectId, ticketId))
                     .andExpect(status().isNotFound());
@@ -127,6 +230,74 @@ class TicketControllerTest {
                     .andExpect(jsonPath("$.name").value("Test Bug"));
         }
 
+        @Test
+        @DisplayName("POST /api/projects/{id}/tickets?checkDuplicates=true - 409 with the likely duplicates")
+        @WithMockUser(username = "author@test.com")
+        void create_Duplicates() throws Exception {
+            when(duplicateTicketService.find(projectId, "Test Bug", null, null, 5)).thenReturn(List.of(
+                    DuplicateTicketResponse.builder().ticketId(ticketId).name("Test bug").similarity(0.75).build()));
+
+            mockMvc.perform(post("/api/projects/{id}/tickets", projectId)
+                            .param("checkDuplicates", "true")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Test Bug\",\"type\":\"bug\",\"priority\":\"high\"}"))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$[0].ticketId").value(ticketId.toString()))
+                    .andExpect(jsonPath("$[0].similarity").value(0.75));
+            verify(ticketService, never()).create(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("POST /api/projects/{id}/tickets?checkDuplicates=true - created when there are none")
+        @WithMockUser(username = "author@test.com")
+        void create_NoDuplicates() throws Exception {
+            when(duplicateTicketService.find(eq(projectId), any(), any(), any(), anyInt())).thenReturn(List.of());
+            when(ticketService.create(eq(projectId), any(), eq("author@test.com"))).thenReturn(testTicket);
+
+            mockMvc.perform(post("/api/projects/{id}/tickets", projectId)
+                            .param("checkDuplicates", "true")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Test Bug\",\"type\":\"bug\",\"priority\":\"high\"}"))
+                    .andExpect(status().isCreated());
+        }
+
+        @Test
+        @DisplayName("POST /api/projects/{id}/tickets/duplicates - similar tickets of a draft")
+        void duplicates() throws Exception {
+            when(duplicateTicketService.find(projectId, "Login fails", "on Safari", ticketId, 3)).thenReturn(List.of(
+                    DuplicateTicketResponse.builder().ticketId(UUID.randomUUID()).name("Login fails on Safari")
+                            .similarity(0.6).build()));
+
+            mockMvc.perform(post("/api/projects/{id}/tickets/duplicates", projectId)
+                            .param("limit", "3")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Login fails\",\"description\":\"on Safari\",\"ticketId\":\"" + ticketId + "\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].name").value("Login fails on Safari"));
+        }
+
+        @Test
+        @DisplayName("GET /api/projects/{pid}/tickets/{tid}/related - most similar first")
+        void related() throws Exception {
+            UUID other = UUID.randomUUID();
+            when(relatedTicketService.find(projectId, ticketId, 3)).thenReturn(List.of(
+                    RelatedTicketResponse.builder().ticketId(other).name("Similar bug").similarity(0.42).build()));
+
+            mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/related", projectId, ticketId).param("limit", "3"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].ticketId").value(other.toString()))
+                    .andExpect(jsonPath("$[0].similarity").value(0.42));
+        }
+
+        @Test
+        @DisplayName("GET /api/projects/{pid}/tickets/{tid}/related - 404 for an unknown ticket")
+        void related_NotFound() throws Exception {
+            when(relatedTicketService.find(projectId, ticketId, 10)).thenThrow(new NotFoundException("Ticket not found"));
+
+            mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/related", projectId, ticketId))
+                    .andExpect(status().isNotFound());
+        }
+
         @Test
         @DisplayName("PUT /api/projects/{pid}/tickets/{tid} - ticket update")
         @WithMockUser(username = "author@test.com")
@@ -205,7 +376,8 @@ class TicketControllerTest {
         @Test
         @DisplayName("GET /api/projects/{pid}/tickets/{tid}/comments - list comments")
         void listComments_Success() throws Exception {
-            when(ticketService.getComments(ticketId)).thenReturn(List.of(testComment));
+            when(ticketService.getComments(ticketId, null, null, Sort.Direction.ASC))
+                    .thenReturn(new KeysetPage<>(List.of(testComment), null));
 
             mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/comments", projectId, ticketId))
                     .andExpect(status().isOk())
@@ -215,18 +387,34 @@ class TicketControllerTest {
         @Test
         @DisplayName("GET /api/projects/{pid}/tickets/{tid}/comments - empty list")
         void listComments_Empty() throws Exception {
-            when(ticketService.getComments(ticketId)).thenReturn(List.of());
+            when(ticketService.getComments(ticketId, null, null, Sort.Direction.ASC))
+                    .thenReturn(new KeysetPage<>(List.of(), null));
 
             mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/comments", projectId, ticketId))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$").isEmpty());
         }
 
+        @Test
+        @DisplayName("GET /api/projects/{pid}/tickets/{tid}/comments - newest page with next cursor header")
+        void listComments_Paged() throws Exception {
+            when(ticketService.getComments(ticketId, "abc", 20, Sort.Direction.DESC))
+                    .thenReturn(new KeysetPage<>(List.of(testComment), "next"));
+
+            mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/comments", projectId, ticketId)
+                            .param("cursor", "abc")
+                            .param("limit", "20")
+                            .param("direction", "DESC"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(TicketController.NEXT_CURSOR_HEADER, "next"))
+                    .andExpect(jsonPath("$[0].text").value("Test comment"));
+        }
+
         @Test
         @DisplayName("POST /api/projects/{pid}/tickets/{tid}/comments - add comment")
         @WithMockUser(username = "author@test.com")
         void addComment_Success() throws Exception {
-            when(ticketService.addComment(eq(ticketId), any(), eq("author@test.com"))).thenReturn(testComment);
+            when(ticketService.addComment(eq(projectId), eq(ticketId), any(), eq("author@test.com"))).thenReturn(testComment);
 
             mockMvc.perform(post("/api/projects/{pid}/tickets/{tid}/comments", projectId, ticketId)
                             .contentType(MediaType.APPLICATION_JSON)
@@ -301,7 +489,8 @@ class TicketControllerTest {
                     .createdAt(OffsetDateTime.now())
                     .build();
 
-            when(ticketService.getHistory(ticketId)).thenReturn(List.of(history));
+            when(ticketService.getHistory(projectId, ticketId, null, null, Sort.Direction.ASC, false))
+                    .thenReturn(new KeysetPage<>(List.of(history), null));
 
             mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/history", projectId, ticketId))
                     .andExpect(status().isOk())
@@ -311,7 +500,8 @@ class TicketControllerTest {
         @Test
         @DisplayName("GET history - empty")
         void getHistory_Empty() throws Exception {
-            when(ticketService.getHistory(ticketId)).thenReturn(List.of());
+            when(ticketService.getHistory(projectId, ticketId, null, null, Sort.Direction.ASC, false))
+                    .thenReturn(new KeysetPage<>(List.of(), null));
 
             mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/history", projectId, ticketId))
                     .andExpect(status().isOk())
@@ -332,7 +522,8 @@ class TicketControllerTest {
                     .createdAt(OffsetDateTime.now())
                     .build();
 
-            when(ticketService.getHistory(ticketId)).thenReturn(List.of(history));
+            when(ticketService.getHistory(projectId, ticketId, null, null, Sort.Direction.ASC, false))
+                    .thenReturn(new KeysetPage<>(List.of(history), null));
 
             mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/history", projectId, ticketId))
                     .andExpect(status().isOk())
@@ -341,5 +532,18 @@ class TicketControllerTest {
                     .andExpect(jsonPath("$[0].oldValue").value("open"))
                     .andExpect(jsonPath("$[0].newValue").value("in_progress"));
         }
+
+        @Test
+        @DisplayName("GET history - full=true expands description splices")
+        void getHistory_Full() throws Exception {
+            when(ticketService.getHistory(projectId, ticketId, null, null, Sort.Direction.ASC, true))
+                    .thenReturn(new KeysetPage<>(List.of(), null));
+
+            mockMvc.perform(get("/api/projects/{pid}/tickets/{tid}/history", projectId, ticketId)
+                            .param("full", "true"))
+                    .andExpect(status().isOk());
+
+            verify(ticketService).getHistory(projectId, ticketId, null, null, Sort.Direction.ASC, true);
+        }
     }
 }
\ No newline at end of file
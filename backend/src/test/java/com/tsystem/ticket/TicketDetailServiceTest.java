@@ -0,0 +1,134 @@
+package com.tsystem.ticket;
+
+import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.TicketComment;
+import com.tsystem.model.TicketHistory;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.TicketDetailResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.model.user.User;
+import com.tsystem.model.mapper.UserMapper;
+import com.tsystem.service.TicketDetailService;
+import com.tsystem.service.UserDirectory;
+import com.tsystem.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketDetailServiceTest {
+
+    @Mock TicketService ticketService;
+    @Mock UserDirectory userDirectory;
+
+    @InjectMocks TicketDetailService ticketDetailService;
+
+    private UUID projectId;
+    private UUID ticketId;
+    private User commenter;
+    private User editor;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        ticketId = UUID.randomUUID();
+        commenter = User.builder().id(UUID.randomUUID()).username("c@example.com").name("Cee").surname("C").build();
+        editor = User.builder().id(UUID.randomUUID()).username("e@example.com").name("Ed").surname("E").build();
+    }
+
+    @Test
+    @DisplayName("Combines ticket, newest comments and history, and their authors")
+    void get_Aggregates() {
+        TicketResponse ticket = TicketResponse.builder().id(ticketId).name("Bug").build();
+        TicketComment comment = TicketComment.builder().id(UUID.randomUUID()).ticketId(ticketId)
+                .authorId(commenter.getId()).text("hi").build();
+        TicketHistory created = TicketHistory.builder().id(UUID.randomUUID()).ticketId(ticketId)
+                .authorId(commenter.getId()).action("CREATED").build();
+        TicketHistory edited = TicketHistory.builder().id(UUID.randomUUID()).ticketId(ticketId)
+                .authorId(editor.getId()).action("UPDATED").field("state").build();
+
+        when(ticketService.getResponse(projectId, ticketId)).thenReturn(ticket);
+        when(ticketService.getComments(ticketId, null, 20, Sort.Direction.DESC))
+                .thenReturn(new KeysetPage<>(List.of(comment), null));
+        when(ticketService.getHistory(projectId, ticketId, null, 20, Sort.Direction.DESC, true))
+                .thenReturn(new KeysetPage<>(List.of(edited, created), "older"));
+        when(userDirectory.find(Set.of(commenter.getId(), editor.getId())))
+                .thenReturn(List.of(UserMapper.toShortResponse(commenter), UserMapper.toShortResponse(editor)));
+
+        TicketDetailResponse result = ticketDetailService.get(projectId, ticketId, 20);
+
+        assertSame(ticket, result.getTicket());
+        assertEquals("hi", result.getComments().get(0).getText());
+        assertNull(result.getCommentsCursor());
+        assertEquals(2, result.getHistory().size());
+        assertEquals("older", result.getHistoryCursor());
+        assertEquals(2, result.getUsers().size());
+        assertEquals("Cee", result.getUsers().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("A long description edit comes back as the whole texts")
+    void get_LongDescriptionEdit() {
+        String before = "a".repeat(5000) + "old words" + "b".repeat(5000);
+        String after = "a".repeat(5000) + "new text" + "b".repeat(5000);
+        TicketHistory edited = TicketHistory.builder().id(UUID.randomUUID()).ticketId(ticketId)
+                .authorId(editor.getId()).action("UPDATED").field("description")
+                .oldValue(before).newValue(after).build();
+
+        when(ticketService.getResponse(projectId, ticketId))
+                .thenReturn(TicketResponse.builder().id(ticketId).description(after).build());
+        when(ticketService.getComments(ticketId, null, 20, Sort.Direction.DESC))
+                .thenReturn(new KeysetPage<>(List.of(), null));
+        when(ticketService.getHistory(projectId, ticketId, null, 20, Sort.Direction.DESC, true))
+                .thenReturn(new KeysetPage<>(List.of(edited), null));
+        when(userDirectory.find(Set.of(editor.getId())))
+                .thenReturn(List.of(UserMapper.toShortResponse(editor)));
+
+        TicketDetailResponse result = ticketDetailService.get(projectId, ticketId, 20);
+
+        assertEquals(before, result.getHistory().get(0).getOldValue());
+        assertEquals(after, result.getHistory().get(0).getNewValue());
+        assertNull(result.getHistory().get(0).getDiffOffset());
+        verify(ticketService, never()).getHistory(any(), any(), any(), anyInt(), any(), eq(false));
+    }
+
+    @Test
+    @DisplayName("No activity means no users")
+    void get_NoActivity() {
+        when(ticketService.getResponse(projectId, ticketId)).thenReturn(TicketResponse.builder().id(ticketId).build());
+        when(ticketService.getComments(any(), any(), anyInt(), any())).thenReturn(new KeysetPage<>(List.of(), null));
+        when(ticketService.getHistory(any(), any(), any(), anyInt(), any(), anyBoolean()))
+                .thenReturn(new KeysetPage<>(List.of(), null));
+        when(userDirectory.find(Set.of())).thenReturn(List.of());
+
+        TicketDetailResponse result = ticketDetailService.get(projectId, ticketId, 20);
+
+        assertTrue(result.getUsers().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A missing ticket is reported as NotFoundException")
+    void get_TicketNotFound() {
+        when(ticketService.getResponse(projectId, ticketId)).thenThrow(new NotFoundException("Ticket not found"));
+        lenient().when(ticketService.getComments(any(), any(), anyInt(), any())).thenReturn(new KeysetPage<>(List.of(), null));
+        lenient().when(ticketService.getHistory(any(), any(), any(), anyInt(), any(), anyBoolean()))
+                .thenReturn(new KeysetPage<>(List.of(), null));
+
+        NotFoundException ex = assertThrows(NotFoundException.class,
+                () -> ticketDetailService.get(projectId, ticketId, 20));
+        assertEquals("Ticket not found", ex.getMessage());
+    }
+}
@@ -0,0 +1,134 @@
+package com.tsystem.ticket;
+
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.service.TicketEventBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketEventBroadcasterTest {
+
+    private TicketEventBroadcaster broadcaster;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new TicketEventBroadcaster(60_000, 4);
+        projectId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Event is delivered to subscribers of the same project only")
+    void onTicketEvent_DeliversToProjectSubscribers() throws Exception {
+        RecordingEmitter mine = new RecordingEmitter(1);
+        RecordingEmitter other = new RecordingEmitter(1);
+        broadcaster.register(projectId, mine);
+        broadcaster.register(UUID.randomUUID(), other);
+
+        broadcaster.onTicketEvent(TicketEvent.deleted(projectId, UUID.randomUUID()));
+
+        assertTrue(mine.await());
+        assertTrue(mine.payload().contains("TICKET_DELETED"));
+        assertTrue(other.sent.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Heartbeat reaches every subscriber")
+    void heartbeat_SentToAll() throws Exception {
+        RecordingEmitter a = new RecordingEmitter(1);
+        RecordingEmitter b = new RecordingEmitter(1);
+        broadcaster.register(projectId, a);
+        broadcaster.register(UUID.randomUUID(), b);
+
+        broadcaster.heartbeat();
+
+        assertTrue(a.await());
+        assertTrue(b.await());
+        assertTrue(a.payload().contains(":ping"));
+    }
+
+    @Test
+    @DisplayName("Subscriber that fails to receive is dropped")
+    void send_Failure_RemovesSubscriber() throws Exception {
+        RecordingEmitter broken = new RecordingEmitter(1) {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                latch.countDown();
+                throw new IOException("connection reset");
+            }
+        };
+        broadcaster.register(projectId, broken);
+        assertEquals(1, broadcaster.subscriberCount(projectId));
+
+        broadcaster.onTicketEvent(TicketEvent.deleted(projectId, UUID.randomUUID()));
+
+        assertTrue(broken.await());
+        for (int i = 0; i < 50 && broadcaster.subscriberCount(projectId) > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, broadcaster.subscriberCount(projectId));
+    }
+
+    @Test
+    @DisplayName("Subscriber whose buffer overflows is dropped")
+    void offer_BufferFull_RemovesSubscriber() {
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter(1) {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        broadcaster.register(projectId, stuck);
+
+        // one event is held by the blocked sender, four fill the buffer, the next overflows
+        for (int i = 0; i < 6; i++) {
+            broadcaster.onTicketEvent(TicketEvent.deleted(projectId, UUID.randomUUID()));
+        }
+
+        assertEquals(0, broadcaster.subscriberCount(projectId));
+        blocked.countDown();
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+        final List<Set<DataWithMediaType>> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch;
+
+        RecordingEmitter(int expected) {
+            super(60_000L);
+            latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sent.add(items);
+            latch.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return latch.await(2, TimeUnit.SECONDS);
+        }
+
+        String payload() {
+            StringBuilder sb = new StringBuilder();
+            sent.forEach(items -> items.forEach(d -> sb.append(d.getData())));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.tsystem.ticket;
+
+import com.tsystem.model.enums.HistoryRetentionAction;
+import com.tsystem.service.TicketHistoryPartitionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketHistoryPartitionServiceTest {
+
+    @Mock JdbcTemplate jdbcTemplate;
+    @Mock PlatformTransactionManager transactionManager;
+
+    private TicketHistoryPartitionService service(int retentionMonths, HistoryRetentionAction action) {
+        return new TicketHistoryPartitionService(jdbcTemplate, transactionManager, true, 2, retentionMonths, action);
+    }
+
+    @Test
+    @DisplayName("Creates the current month and the months ahead, across a year boundary")
+    void ensurePartitions_CreatesMonthsAhead() {
+        service(0, HistoryRetentionAction.DROP).ensurePartitions(YearMonth.of(2025, 11));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).execute(sql.capture());
+        assertEquals("create table if not exists ticket_history_p202511 partition of ticket_history"
+                + " for values from ('2025-11-01T00:00Z') to ('2025-12-01T00:00Z')", sql.getAllValues().get(0));
+        assertTrue(sql.getAllValues().get(2).startsWith("create table if not exists ticket_history_p202601 "));
+        assertTrue(sql.getAllValues().get(2).endsWith("to ('2026-02-01T00:00Z')"));
+    }
+
+    @Test
+    @DisplayName("Rows of a missing month are moved out of the default partition")
+    void ensurePartitions_AdoptsStrandedRows() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class)))
+                .thenAnswer(inv -> "ticket_history_p202511".equals(inv.getArgument(2)));
+
+        service(0, HistoryRetentionAction.DROP).ensurePartitions(YearMonth.of(2025, 11));
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("alter table ticket_history detach partition ticket_history_default");
+        order.verify(jdbcTemplate).execute(startsWith("create table if not exists ticket_history_p202511 "));
+        order.verify(jdbcTemplate).update(startsWith("insert into ticket_history_p202511 select * from ticket_history_default"),
+                any(Object[].class));
+        order.verify(jdbcTemplate).update(startsWith("delete from ticket_history_default"), any(Object[].class));
+        order.verify(jdbcTemplate).execute("alter table ticket_history attach partition ticket_history_default default");
+        verify(transactionManager).commit(any());
+        // the months ahead had nothing stranded and are only created
+        verify(jdbcTemplate).execute(startsWith("create table if not exists ticket_history_p202601 "));
+    }
+
+    @Test
+    @DisplayName("Partitions older than the retention window are detached and dropped")
+    void retire_DropsOldPartitions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any())).thenReturn(List.of(
+                "ticket_history_default", "ticket_history_p202601", "ticket_history_p202602",
+                "ticket_history_p202603", "ticket_history_p202604"));
+
+        List<String> retired = service(2, HistoryRetentionAction.DROP).retire(YearMonth.of(2026, 4));
+
+        assertEquals(List.of("ticket_history_p202601"), retired);
+        verify(jdbcTemplate).execute("alter table ticket_history detach partition ticket_history_p202601");
+        verify(jdbcTemplate).execute("drop table ticket_history_p202601");
+        verify(jdbcTemplate, never()).execute("alter table ticket_history detach partition ticket_history_default");
+        verify(jdbcTemplate).update(startsWith("delete from ticket_history_default"), any(Object[].class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("DETACH keeps the old partition as a table for export")
+    void retire_DetachOnly() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any()))
+                .thenReturn(List.of("ticket_history_p202512"));
+
+        service(3, HistoryRetentionAction.DETACH).retire(YearMonth.of(2026, 4));
+
+        verify(jdbcTemplate).execute("alter table ticket_history detach partition ticket_history_p202512");
+        verify(jdbcTemplate, never()).execute(startsWith("drop table"));
+    }
+
+    @Test
+    @DisplayName("Without a retention period nothing is retired")
+    void retire_Disabled() {
+        assertTrue(service(0, HistoryRetentionAction.DROP).retire(YearMonth.of(2026, 4)).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -1,18 +1,34 @@
 package com.tsystem.ticket;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tsystem.exception.NotFoundException;
 import com.tsystem.model.Project;
 import com.tsystem.model.Ticket;
 import com.tsystem.model.TicketComment;
 import com.tsystem.model.TicketHistory;
+import com.tsystem.model.TicketTombstone;
+import com.tsystem.model.dto.FieldSet;
+import com.tsystem.model.dto.KeysetCursor;
+import com.tsystem.model.dto.KeysetPage;
+import com.tsystem.model.dto.response.ProjectResponse;
+import com.tsystem.model.dto.response.TicketChangesResponse;
+import com.tsystem.model.dto.response.TicketResponse;
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.exception.CursorExpiredException;
 import com.tsystem.model.dto.request.TicketCommentRequest;
 import com.tsystem.model.dto.request.TicketCreateRequest;
 import com.tsystem.model.dto.request.TicketUpdateRequest;
+import com.tsystem.model.enums.ProjectStatus;
 import com.tsystem.model.enums.TicketPriority;
 import com.tsystem.model.enums.TicketState;
 import com.tsystem.model.enums.TicketType;
+import com.tsystem.model.event.TicketEvent;
+import com.tsystem.model.event.TicketFieldsEvent;
 import com.tsystem.model.user.User;
 import com.tsystem.repository.*;
+import com.tsystem.service.BlobStore;
+import com.tsystem.service.TextBlobs;
+import com.tsystem.service.ProjectService;
 import com.tsystem.service.TicketService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,6 +39,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.OffsetDateTime;
 import java.util.Arrays;
@@ -33,6 +52,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +64,9 @@ class TicketServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private ProjectService projectService;
+
     @Mock
     private UserRepository userRepository;
 
@@ -53,11 +76,29 @@ class TicketServiceTest {
     @Mock
     private TicketHistoryRepository ticketHistoryRepository;
 
+    @Mock
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
+    @Mock
+    private TicketAttachmentRepository ticketAttachmentRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private TextBlobs textBlobs;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TicketService ticketService;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private User testUser;
     private Project testProject;
+    private ProjectResponse projectResponse;
     private Ticket testTicket;
     private UUID userId;
     private UUID projectId;
@@ -81,6 +122,10 @@ class TicketServiceTest {
                 .id(projectId)
                 .name("Test Project")
                 .build();
+        projectResponse = ProjectResponse.builder()
+                .id(projectId)
+                .name("Test Project")
+                .build();
 
         testTicket = Ticket.builder()
                 .id(ticketId)
@@ -108,7 +153,8 @@ class TicketServiceTest {
                     .priority(TicketPriority.med)
                     .build();
 
-            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(projectRepository.getReferenceById(projectId)).thenReturn(testProject);
             when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
             when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> {
                 Ticket t = inv.getArgument(0);
@@ -128,6 +174,33 @@ class TicketServiceTest {
             verify(ticketHistoryRepository).save(any(TicketHistory.class));
         }
 
+        @Test
+        @DisplayName("Create ticket publishes TICKET_CREATED event")
+        void create_PublishesEvent() {
+            TicketCreateRequest req = TicketCreateRequest.builder()
+                    .name("New Ticket")
+                    .type(TicketType.task)
+                    .priority(TicketPriority.low)
+                    .build();
+
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(projectRepository.getReferenceById(projectId)).thenReturn(testProject);
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> {
+                Ticket t = inv.getArgument(0);
+                t.setId(ticketId);
+                return t;
+            });
+
+            ticketService.create(projectId, req, "test@example.com");
+
+            ArgumentCaptor<TicketEvent> eventCaptor = ArgumentCaptor.forClass(TicketEvent.class);
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertEquals(TicketEvent.Type.TICKET_CREATED, eventCaptor.getValue().type());
+            assertEquals(projectId, eventCaptor.getValue().projectId());
+            assertEquals("New Ticket", eventCaptor.getValue().ticket().getName());
+        }
+
         @Test
         @DisplayName("Create ticket logs CREATED action in history")
         void create_LogsHistory() {
@@ -138,7 +211,8 @@ class TicketServiceTest {
                     .priority(TicketPriority.low)
                     .build();
 
-            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(projectRepository.getReferenceById(projectId)).thenReturn(testProject);
             when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
             when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> {
                 Ticket t = inv.getArgument(0);
@@ -170,7 +244,7 @@ class TicketServiceTest {
                     .priority(TicketPriority.high)
                     .build();
 
-            when(projectRepository.findById(projectId)).thenReturn(Optional.empty());
+            when(projectService.lookup(projectId)).thenReturn(Optional.empty());
 
             IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
                     () -> ticketService.create(projectId, req, "test@example.com"));
@@ -188,7 +262,8 @@ class TicketServiceTest {
                     .priority(TicketPriority.high)
                     .build();
 
-            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(projectRepository.getReferenceById(projectId)).thenReturn(testProject);
             when(userRepository.findByUsername("unknown@example.com")).thenReturn(Optional.empty());
 
             assertThrows(NotFoundException.class,
@@ -206,7 +281,8 @@ class TicketServiceTest {
                         .priority(TicketPriority.med)
                         .build();
 
-                when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+                when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+                when(projectRepository.getReferenceById(projectId)).thenReturn(testProject);
                 when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
                 when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> {
                     Ticket t = inv.getArgument(0);
@@ -230,21 +306,21 @@ class TicketServiceTest {
             List<Ticket> tickets = Arrays.asList(testTicket);
 
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-            when(ticketRepository.findByAssigneeId(userId)).thenReturn(tickets);
+            when(ticketRepository.findByAssigneeIdOrderByCreatedAtAscIdAsc(userId)).thenReturn(tickets);
 
             List<Ticket> result = ticketService.findByAssignee(userId);
 
             assertEquals(1, result.size());
             assertEquals(testTicket, result.get(0));
             verify(userRepository).findById(userId);
-            verify(ticketRepository).findByAssigneeId(userId);
+            verify(ticketRepository).findByAssigneeIdOrderByCreatedAtAscIdAsc(userId);
         }
 
         @Test
         @DisplayName("Returns empty list when no tickets assigned")
         void findByAssignee_ReturnsEmptyList() {
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-            when(ticketRepository.findByAssigneeId(userId)).thenReturn(Collections.emptyList());
+            when(ticketRepository.findByAssigneeIdOrderByCreatedAtAscIdAsc(userId)).thenReturn(Collections.emptyList());
 
             List<Ticket> result = ticketService.findByAssignee(userId);
 
@@ -259,7 +335,19 @@ class TicketServiceTest {
             NotFoundException ex = assertThrows(NotFoundException.class,
                     () -> ticketService.findByAssignee(userId));
             assertEquals("User not found", ex.getMessage());
-            verify(ticketRepository, never()).findByAssigneeId(any());
+            verify(ticketRepository, never()).findByAssigneeIdOrderByCreatedAtAscIdAsc(any());
+        }
+
+        @Test
+        @DisplayName("Selects only the requested fields")
+        void findByAssignee_WithFields() {
+            FieldSet fields = FieldSet.parse(objectMapper, TicketResponse.class, "state");
+            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+            when(ticketRepository.findFieldsByAssigneeId(userId, fields))
+                    .thenReturn(List.of(TicketResponse.builder().state(TicketState.open).build()));
+
+            assertEquals(1, ticketService.findByAssignee(userId, fields).size());
+            verify(ticketRepository, never()).findByAssigneeIdOrderByCreatedAtAscIdAsc(any());
         }
     }
 
@@ -279,20 +367,20 @@ class TicketServiceTest {
                     .build();
             List<Ticket> tickets = Arrays.asList(testTicket, anotherTicket);
 
-            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
             when(ticketRepository.findByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(tickets);
 
             List<Ticket> result = ticketService.getAllByProjectId(projectId);
 
             assertEquals(2, result.size());
-            verify(projectRepository).findById(projectId);
+            verify(projectService).lookup(projectId);
             verify(ticketRepository).findByProjectIdOrderByCreatedAtDesc(projectId);
         }
 
         @Test
         @DisplayName("Returns empty list when no tickets")
         void getAllByProjectId_ReturnsEmptyList() {
-            when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
             when(ticketRepository.findByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(Collections.emptyList());
 
             List<Ticket> result = ticketService.getAllByProjectId(projectId);
@@ -303,13 +391,25 @@ class TicketServiceTest {
         @Test
         @DisplayName("Throws exception when project not found")
         void getAllByProjectId_ProjectNotFound_ThrowsException() {
-            when(projectRepository.findById(projectId)).thenReturn(Optional.empty());
+            when(projectService.lookup(projectId)).thenReturn(Optional.empty());
 
             IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
                     () -> ticketService.getAllByProjectId(projectId));
             assertEquals("Project not found", ex.getMessage());
             verify(ticketRepository, never()).findByProjectIdOrderByCreatedAtDesc(any());
         }
+
+        @Test
+        @DisplayName("Selects only the requested fields")
+        void getAllByProjectId_WithFields() {
+            FieldSet fields = FieldSet.parse(objectMapper, TicketResponse.class, "id,name");
+            List<TicketResponse> rows = List.of(TicketResponse.builder().id(ticketId).name("Test Ticket").build());
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(ticketRepository.findFieldsByProjectId(projectId, fields)).thenReturn(rows);
+
+            assertEquals(rows, ticketService.getAllByProjectId(projectId, fields));
+            verify(ticketRepository, never()).findByProjectIdOrderByCreatedAtDesc(any());
+        }
     }
 
     @Nested
@@ -339,10 +439,117 @@ class TicketServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Archived Project Tests")
+    class ArchivedProjectTests {
+
+        @BeforeEach
+        void archive() {
+            projectResponse.setStatus(ProjectStatus.ARCHIVED);
+        }
+
+        @Test
+        @DisplayName("Lists tickets from the archive tables")
+        void getAllByProjectId_ReadsArchive() {
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(ticketRepository.findArchivedByProjectId(projectId)).thenReturn(List.of(testTicket));
+
+            List<Ticket> result = ticketService.getAllByProjectId(projectId);
+
+            assertEquals(List.of(testTicket), result);
+            verify(ticketRepository, never()).findByProjectIdOrderByCreatedAtDesc(any());
+        }
+
+        @Test
+        @DisplayName("Field selection reads the archive whole")
+        void getAllByProjectId_WithFields_ReadsArchive() {
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(ticketRepository.findArchivedByProjectId(projectId)).thenReturn(List.of(testTicket));
+
+            List<TicketResponse> result = ticketService.getAllByProjectId(projectId,
+                    FieldSet.parse(objectMapper, TicketResponse.class, "name"));
+
+            assertEquals(testTicket.getName(), result.get(0).getName());
+            verify(ticketRepository, never()).findFieldsByProjectId(any(), any());
+        }
+
+        @Test
+        @DisplayName("Single ticket falls back to the archive")
+        void get_FallsBackToArchive() {
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.empty());
+            when(ticketRepository.findArchivedByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+
+            assertEquals(testTicket, ticketService.get(projectId, ticketId));
+        }
+
+        @Test
+        @DisplayName("Comments fall back to the archive")
+        void getComments_FallsBackToArchive() {
+            when(ticketCommentRepository.findPageAfter(eq(ticketId), any(), any(), any())).thenReturn(Collections.emptyList());
+            TicketComment archived = TicketComment.builder().id(UUID.randomUUID()).ticketId(ticketId).text("Old").build();
+            when(ticketCommentRepository.findArchivedByTicketId(ticketId)).thenReturn(List.of(archived));
+
+            assertEquals(List.of(archived), ticketService.getComments(ticketId, null, 50, Sort.Direction.ASC).items());
+        }
+
+        @Test
+        @DisplayName("Creating a ticket is rejected")
+        void create_Rejected() {
+            TicketCreateRequest req = TicketCreateRequest.builder().name("New").build();
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+
+            BadRequestException ex = assertThrows(BadRequestException.class,
+                    () -> ticketService.create(projectId, req, "test@example.com"));
+            assertEquals("Project is archived", ex.getMessage());
+            verify(ticketRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Updating a ticket is rejected")
+        void update_Rejected() {
+            TicketUpdateRequest req = TicketUpdateRequest.builder().name("Renamed").build();
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+
+            BadRequestException ex = assertThrows(BadRequestException.class,
+                    () -> ticketService.update(projectId, ticketId, req, "test@example.com"));
+            assertEquals("Project is archived", ex.getMessage());
+            verify(ticketRepository, never()).save(any());
+            verify(ticketHistoryRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deleting a ticket is rejected")
+        void delete_Rejected() {
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+
+            assertThrows(BadRequestException.class,
+                    () -> ticketService.delete(projectId, ticketId, "test@example.com"));
+            verify(ticketRepository, never()).delete(any());
+            verify(ticketTombstoneRepository, never()).save(any());
+            verify(blobStore, never()).release(any());
+        }
+
+        @Test
+        @DisplayName("Adding a comment is rejected")
+        void addComment_Rejected() {
+            TicketCommentRequest req = TicketCommentRequest.builder().text("Late").build();
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+
+            assertThrows(BadRequestException.class,
+                    () -> ticketService.addComment(projectId, ticketId, req, "test@example.com"));
+            verify(ticketCommentRepository, never()).save(any());
+        }
+    }
+
     @Nested
     @DisplayName("Update Ticket Tests")
     class UpdateTests {
 
+        @BeforeEach
+        void writable() {
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+        }
+
         @Test
         @DisplayName("Updates ticket name and logs history")
         void update_Name_LogsHistory() {
@@ -396,6 +603,34 @@ class TicketServiceTest {
             ));
         }
 
+        @Test
+        @DisplayName("Long description change is logged as a splice")
+        void update_LongDescription_LogsSplice() {
+            String before = "x".repeat(400) + "DRAFT" + "y".repeat(400);
+            String after = "x".repeat(400) + "final" + "y".repeat(400);
+            testTicket.setDescription(before);
+            TicketUpdateRequest req = TicketUpdateRequest.builder()
+                    .name("Test Ticket")
+                    .description(after)
+                    .type(TicketType.bug)
+                    .priority(TicketPriority.high)
+                    .state(TicketState.open)
+                    .build();
+
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            ticketService.update(projectId, ticketId, req, "test@example.com");
+
+            ArgumentCaptor<TicketHistory> historyCaptor = ArgumentCaptor.forClass(TicketHistory.class);
+            verify(ticketHistoryRepository).save(historyCaptor.capture());
+            TicketHistory history = historyCaptor.getValue();
+            assertEquals(400, history.getDiffOffset());
+            assertEquals("DRAFT", history.getOldValue());
+            assertEquals("final", history.getNewValue());
+        }
+
         @Test
         @DisplayName("Updates ticket priority and logs history")
         void update_Priority_LogsHistory() {
@@ -461,13 +696,17 @@ class TicketServiceTest {
                     .state(TicketState.open)
                     .build();
 
+            OffsetDateTime updatedAt = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+            testTicket.setUpdatedAt(updatedAt);
             when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
             when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
             when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
 
-            ticketService.update(projectId, ticketId, req, "test@example.com");
+            Ticket result = ticketService.update(projectId, ticketId, req, "test@example.com");
 
             verify(ticketHistoryRepository, never()).save(any());
+            // not sent to delta-sync clients again
+            assertEquals(updatedAt, result.getUpdatedAt());
         }
 
         @Test
@@ -496,6 +735,51 @@ class TicketServiceTest {
             verify(ticketHistoryRepository, times(4)).save(any(TicketHistory.class));
         }
 
+        @Test
+        @DisplayName("A state change publishes the filterable fields before and after")
+        void update_State_PublishesFieldsEvent() {
+            TicketUpdateRequest req = TicketUpdateRequest.builder()
+                    .name("Test Ticket")
+                    .description("Test Description")
+                    .type(TicketType.bug)
+                    .priority(TicketPriority.high)
+                    .state(TicketState.done)
+                    .build();
+
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            ticketService.update(projectId, ticketId, req, "test@example.com");
+
+            ArgumentCaptor<TicketFieldsEvent> captor = ArgumentCaptor.forClass(TicketFieldsEvent.class);
+            verify(eventPublisher).publishEvent(captor.capture());
+            assertEquals(TicketState.open, captor.getValue().before().state());
+            assertEquals(TicketState.done, captor.getValue().after().state());
+            assertEquals(projectId, captor.getValue().after().projectId());
+        }
+
+        @Test
+        @DisplayName("Name and description edits publish no fields event")
+        void update_TextOnly_NoFieldsEvent() {
+            TicketUpdateRequest req = TicketUpdateRequest.builder()
+                    .name("New Name")
+                    .description("New Description")
+                    .type(TicketType.bug)
+                    .priority(TicketPriority.high)
+                    .state(TicketState.open)
+                    .build();
+
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            ticketService.update(projectId, ticketId, req, "test@example.com");
+
+            verify(eventPublisher).publishEvent(any(TicketEvent.class));
+            verify(eventPublisher, never()).publishEvent(any(TicketFieldsEvent.class));
+        }
+
         @Test
         @DisplayName("Throws exception when ticket not found")
         void update_TicketNotFound_ThrowsException() {
@@ -538,6 +822,11 @@ class TicketServiceTest {
     @DisplayName("Delete Ticket Tests")
     class DeleteTests {
 
+        @BeforeEach
+        void writable() {
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+        }
+
         @Test
         @DisplayName("Successfully deletes ticket")
         void delete_Success() {
@@ -549,6 +838,51 @@ class TicketServiceTest {
             verify(ticketRepository).delete(testTicket);
         }
 
+        @Test
+        @DisplayName("Delete releases the blobs of the ticket's attachments and comments")
+        void delete_ReleasesBlobs() {
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+            when(ticketAttachmentRepository.findBlobHashesByTicketIdIn(List.of(ticketId)))
+                    .thenReturn(Arrays.asList("ab12", null));
+            when(ticketCommentRepository.findTextBlobsByTicketIdIn(List.of(ticketId))).thenReturn(List.of("cd34"));
+
+            ticketService.delete(projectId, ticketId, "test@example.com");
+
+            verify(blobStore).release(Arrays.asList("ab12", null));
+            verify(blobStore).release(List.of("cd34"));
+        }
+
+        @Test
+        @DisplayName("Delete leaves a tombstone for delta sync")
+        void delete_SavesTombstone() {
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+
+            ticketService.delete(projectId, ticketId, "test@example.com");
+
+            ArgumentCaptor<TicketTombstone> captor = ArgumentCaptor.forClass(TicketTombstone.class);
+            verify(ticketTombstoneRepository).save(captor.capture());
+            assertEquals(ticketId, captor.getValue().getTicketId());
+            assertEquals(projectId, captor.getValue().getProjectId());
+            assertNotNull(captor.getValue().getDeletedAt());
+        }
+
+        @Test
+        @DisplayName("Delete publishes TICKET_DELETED event")
+        void delete_PublishesEvent() {
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+
+            ticketService.delete(projectId, ticketId, "test@example.com");
+
+            ArgumentCaptor<TicketEvent> eventCaptor = ArgumentCaptor.forClass(TicketEvent.class);
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertEquals(TicketEvent.Type.TICKET_DELETED, eventCaptor.getValue().type());
+            assertEquals(projectId, eventCaptor.getValue().projectId());
+            assertEquals(ticketId, eventCaptor.getValue().ticketId());
+        }
+
         @Test
         @DisplayName("Delete logs DELETED action in history")
         void delete_LogsHistory() {
@@ -621,23 +955,85 @@ class TicketServiceTest {
                     .build();
             List<TicketComment> comments = Arrays.asList(testComment, anotherComment);
 
-            when(ticketCommentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId)).thenReturn(comments);
+            when(ticketCommentRepository.findPageAfter(eq(ticketId), any(), any(), any())).thenReturn(comments);
 
-            List<TicketComment> result = ticketService.getComments(ticketId);
+            List<TicketComment> result = ticketService.getComments(ticketId, null, 50, Sort.Direction.ASC).items();
 
             assertEquals(2, result.size());
             assertEquals(testComment, result.get(0));
-            verify(ticketCommentRepository).findByTicketIdOrderByCreatedAtAsc(ticketId);
+            verify(ticketCommentRepository).findPageAfter(ticketId, KeysetCursor.START.at(), KeysetCursor.START.id(), Limit.of(51));
         }
 
         @Test
         @DisplayName("getComments returns empty list when no comments")
         void getComments_ReturnsEmptyList() {
-            when(ticketCommentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId)).thenReturn(Collections.emptyList());
+            when(ticketCommentRepository.findPageAfter(eq(ticketId), any(), any(), any())).thenReturn(Collections.emptyList());
+            when(ticketRepository.existsById(ticketId)).thenReturn(true);
 
-            List<TicketComment> result = ticketService.getComments(ticketId);
+            List<TicketComment> result = ticketService.getComments(ticketId, null, 50, Sort.Direction.ASC).items();
 
             assertTrue(result.isEmpty());
+            // the ticket is still hot, its empty page is not looked up in the archive
+            verify(ticketCommentRepository, never()).findArchivedByTicketId(any());
+        }
+
+        @Test
+        @DisplayName("getComments without a limit returns every comment in one page")
+        void getComments_Unpaged() {
+            when(ticketCommentRepository.findPageAfter(ticketId, KeysetCursor.START.at(), KeysetCursor.START.id(),
+                    Limit.of(Integer.MAX_VALUE))).thenReturn(List.of(testComment));
+
+            KeysetPage<TicketComment> page = ticketService.getComments(ticketId, null, null, Sort.Direction.ASC);
+
+            assertEquals(List.of(testComment), page.items());
+            assertNull(page.nextCursor());
+        }
+
+        @Test
+        @DisplayName("getComments pages backwards from the newest comment")
+        void getComments_NewestFirstPage() {
+            OffsetDateTime t0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+            TicketComment c3 = TicketComment.builder().id(UUID.randomUUID()).ticketId(ticketId).createdAt(t0.plusMinutes(3)).build();
+            TicketComment c2 = TicketComment.builder().id(UUID.randomUUID()).ticketId(ticketId).createdAt(t0.plusMinutes(2)).build();
+            TicketComment c1 = TicketComment.builder().id(UUID.randomUUID()).ticketId(ticketId).createdAt(t0.plusMinutes(1)).build();
+            when(ticketCommentRepository.findPageBefore(ticketId, KeysetCursor.END.at(), KeysetCursor.END.id(), Limit.of(3)))
+                    .thenReturn(List.of(c3, c2, c1));
+
+            KeysetPage<TicketComment> page = ticketService.getComments(ticketId, null, 2, Sort.Direction.DESC);
+
+            assertEquals(List.of(c3, c2), page.items());
+            assertEquals(KeysetCursor.of(c2.getCreatedAt(), c2.getId()), KeysetCursor.decode(page.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("getComments continues from the cursor and ends without one")
+        void getComments_LastPage() {
+            KeysetCursor from = KeysetCursor.of(OffsetDateTime.parse("2026-01-01T10:00:00Z"), UUID.randomUUID());
+            when(ticketCommentRepository.findPageBefore(ticketId, from.at(), from.id(), Limit.of(3)))
+                    .thenReturn(List.of(testComment));
+
+            KeysetPage<TicketComment> page = ticketService.getComments(ticketId, from.encode(), 2, Sort.Direction.DESC);
+
+            assertEquals(List.of(testComment), page.items());
+            assertNull(page.nextCursor());
+        }
+
+        @Test
+        @DisplayName("getComments pages archived comments in memory")
+        void getComments_ArchivedPage() {
+            OffsetDateTime t0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+            List<TicketComment> archived = java.util.stream.IntStream.range(0, 5)
+                    .mapToObj(i -> TicketComment.builder().id(UUID.randomUUID()).ticketId(ticketId)
+                            .createdAt(t0.plusMinutes(i)).build())
+                    .toList();
+            KeysetCursor from = KeysetCursor.of(archived.get(3).getCreatedAt(), archived.get(3).getId());
+            when(ticketCommentRepository.findPageBefore(eq(ticketId), any(), any(), any())).thenReturn(List.of());
+            when(ticketCommentRepository.findArchivedByTicketId(ticketId)).thenReturn(archived);
+
+            KeysetPage<TicketComment> page = ticketService.getComments(ticketId, from.encode(), 2, Sort.Direction.DESC);
+
+            assertEquals(List.of(archived.get(2), archived.get(1)), page.items());
+            assertNotNull(page.nextCursor());
         }
 
         @Test
@@ -645,6 +1041,8 @@ class TicketServiceTest {
         void addComment_Success() {
             TicketCommentRequest req = TicketCommentRequest.builder().text("New comment").build();
 
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
             when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
             when(ticketCommentRepository.save(any(TicketComment.class))).thenAnswer(inv -> {
                 TicketComment c = inv.getArgument(0);
@@ -652,7 +1050,7 @@ class TicketServiceTest {
                 return c;
             });
 
-            TicketComment result = ticketService.addComment(ticketId, req, "test@example.com");
+            TicketComment result = ticketService.addComment(projectId, ticketId, req, "test@example.com");
 
             assertEquals(ticketId, result.getTicketId());
             assertEquals(userId, result.getAuthorId());
@@ -660,15 +1058,50 @@ class TicketServiceTest {
             verify(ticketCommentRepository).save(any(TicketComment.class));
         }
 
+        @Test
+        @DisplayName("addComment publishes COMMENT_ADDED event for the project")
+        void addComment_PublishesEvent() {
+            TicketCommentRequest req = TicketCommentRequest.builder().text("New comment").build();
+
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+            when(ticketCommentRepository.save(any(TicketComment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            ticketService.addComment(projectId, ticketId, req, "test@example.com");
+
+            ArgumentCaptor<TicketEvent> eventCaptor = ArgumentCaptor.forClass(TicketEvent.class);
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertEquals(TicketEvent.Type.COMMENT_ADDED, eventCaptor.getValue().type());
+            assertEquals(projectId, eventCaptor.getValue().projectId());
+            assertEquals("New comment", eventCaptor.getValue().comment().getText());
+        }
+
+        @Test
+        @DisplayName("addComment throws NotFound for a ticket of another project")
+        void addComment_TicketNotInProject_ThrowsException() {
+            TicketCommentRequest req = TicketCommentRequest.builder().text("Comment").build();
+
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.empty());
+
+            assertThrows(NotFoundException.class,
+                    () -> ticketService.addComment(projectId, ticketId, req, "test@example.com"));
+            verify(ticketCommentRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
         @Test
         @DisplayName("addComment throws exception when user not found")
         void addComment_UserNotFound_ThrowsException() {
             TicketCommentRequest req = TicketCommentRequest.builder().text("Comment").build();
 
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
             when(userRepository.findByUsername("unknown@example.com")).thenReturn(Optional.empty());
 
             assertThrows(NotFoundException.class,
-                    () -> ticketService.addComment(ticketId, req, "unknown@example.com"));
+                    () -> ticketService.addComment(projectId, ticketId, req, "unknown@example.com"));
             verify(ticketCommentRepository, never()).save(any());
         }
 
@@ -707,6 +1140,63 @@ class TicketServiceTest {
             verify(ticketCommentRepository).delete(testComment);
         }
 
+        @Test
+        @DisplayName("addComment keeps a long body in the blob store")
+        void addComment_LongText() {
+            TicketCommentRequest req = TicketCommentRequest.builder().text("Long stack trace").build();
+
+            when(projectService.lookup(projectId)).thenReturn(Optional.of(projectResponse));
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+            when(userRepository.findByUsername("test@example.com")).thenReturn(Optional.of(testUser));
+            when(textBlobs.acquire("Long stack trace")).thenReturn("hash");
+            when(ticketCommentRepository.save(any(TicketComment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            TicketComment result = ticketService.addComment(projectId, ticketId, req, "test@example.com");
+
+            assertEquals("hash", result.getTextBlob());
+            assertEquals("Long stack trace", result.getText());
+        }
+
+        @Test
+        @DisplayName("getComments reads long bodies back from the blob store")
+        void getComments_LongText() {
+            TicketComment stored = TicketComment.builder().id(UUID.randomUUID()).ticketId(ticketId)
+                    .textBlob("hash").createdAt(OffsetDateTime.now()).build();
+            when(ticketCommentRepository.findPageAfter(eq(ticketId), any(), any(), any())).thenReturn(List.of(stored));
+            when(textBlobs.read("hash")).thenReturn("Long stack trace");
+
+            List<TicketComment> result = ticketService.getComments(ticketId, null, 50, Sort.Direction.ASC).items();
+
+            assertEquals("Long stack trace", result.getFirst().getText());
+        }
+
+        @Test
+        @DisplayName("updateComment releases the blob of the previous body")
+        void updateComment_ReleasesPreviousBlob() {
+            testComment.setText(null);
+            testComment.setTextBlob("old");
+            when(ticketCommentRepository.findById(commentId)).thenReturn(Optional.of(testComment));
+            when(ticketCommentRepository.save(any(TicketComment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            TicketComment result = ticketService.updateComment(commentId,
+                    TicketCommentRequest.builder().text("Short").build());
+
+            assertEquals("Short", result.getText());
+            assertNull(result.getTextBlob());
+            verify(blobStore).release(Collections.singletonList("old"));
+        }
+
+        @Test
+        @DisplayName("deleteComment releases the comment's blob")
+        void deleteComment_ReleasesBlob() {
+            testComment.setTextBlob("hash");
+            when(ticketCommentRepository.findById(commentId)).thenReturn(Optional.of(testComment));
+
+            ticketService.deleteComment(commentId);
+
+            verify(blobStore).release(Collections.singletonList("hash"));
+        }
+
         @Test
         @DisplayName("deleteComment throws exception when comment not found")
         void deleteComment_NotFound_ThrowsException() {
@@ -742,26 +1232,182 @@ class TicketServiceTest {
                     .createdAt(OffsetDateTime.now())
                     .build();
 
-            when(ticketHistoryRepository.findByTicketIdOrderByCreatedAtAsc(ticketId))
+            when(ticketHistoryRepository.findPageAfter(eq(ticketId), any(), any(), any()))
                     .thenReturn(Arrays.asList(history1, history2));
 
-            List<TicketHistory> result = ticketService.getHistory(ticketId);
+            List<TicketHistory> result = ticketService.getHistory(projectId, ticketId, null, 50, Sort.Direction.ASC, false).items();
 
             assertEquals(2, result.size());
             assertEquals("CREATED", result.get(0).getAction());
             assertEquals("UPDATED", result.get(1).getAction());
-            verify(ticketHistoryRepository).findByTicketIdOrderByCreatedAtAsc(ticketId);
+            verify(ticketHistoryRepository).findPageAfter(ticketId, KeysetCursor.START.at(), KeysetCursor.START.id(), Limit.of(51));
         }
 
         @Test
         @DisplayName("getHistory returns empty list when no history")
         void getHistory_ReturnsEmptyList() {
-            when(ticketHistoryRepository.findByTicketIdOrderByCreatedAtAsc(ticketId))
+            when(ticketHistoryRepository.findPageAfter(eq(ticketId), any(), any(), any()))
                     .thenReturn(Collections.emptyList());
+            when(ticketRepository.existsById(ticketId)).thenReturn(true);
 
-            List<TicketHistory> result = ticketService.getHistory(ticketId);
+            List<TicketHistory> result = ticketService.getHistory(projectId, ticketId, null, 50, Sort.Direction.ASC, false).items();
 
             assertTrue(result.isEmpty());
+            verify(ticketHistoryRepository, never()).findArchivedByTicketId(any());
+        }
+
+        private TicketHistory entry(String field, String oldValue, String newValue, Integer diffOffset) {
+            return TicketHistory.builder()
+                    .id(UUID.randomUUID())
+                    .ticketId(ticketId)
+                    .authorId(userId)
+                    .action("UPDATED")
+                    .field(field)
+                    .oldValue(oldValue)
+                    .newValue(newValue)
+                    .diffOffset(diffOffset)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Splices are returned as stored by default")
+        void getHistory_Compact() {
+            List<TicketHistory> stored = List.of(entry("description", "a", "b", 3));
+            when(ticketHistoryRepository.findPageAfter(eq(ticketId), any(), any(), any())).thenReturn(stored);
+
+            assertEquals(stored, ticketService.getHistory(projectId, ticketId, null, 50, Sort.Direction.ASC, false).items());
+            verify(ticketRepository, never()).findByIdAndProjectId(any(), any());
+        }
+
+        @Test
+        @DisplayName("full=true rebuilds every description version from the current one")
+        void getHistory_Full_RebuildsValues() {
+            // v1 "draft" -> v2 "first draft" (full values) -> v3 "first version" -> v4 "the first version"
+            TicketHistory v2 = entry("description", "draft", "first draft", null);
+            TicketHistory v3 = entry("description", "draft", "version", 6);
+            TicketHistory state = entry("state", "open", "done", null);
+            TicketHistory v4 = entry("description", "", "the ", 0);
+            testTicket.setDescription("the first version");
+            when(ticketHistoryRepository.findPageAfter(eq(ticketId), any(), any(), any()))
+                    .thenReturn(List.of(v2, v3, state, v4));
+            when(ticketHistoryRepository.findByTicketIdAndFieldOrderByCreatedAtAsc(ticketId, "description"))
+                    .thenReturn(List.of(v2, v3, v4));
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+
+            List<TicketHistory> result = ticketService.getHistory(projectId, ticketId, null, 50, Sort.Direction.ASC, true).items();
+
+            assertEquals(4, result.size());
+            assertSame(v2, result.get(0));
+            assertEquals("first draft", result.get(1).getOldValue());
+            assertEquals("first version", result.get(1).getNewValue());
+            assertNull(result.get(1).getDiffOffset());
+            assertSame(state, result.get(2));
+            assertEquals("first version", result.get(3).getOldValue());
+            assertEquals("the first version", result.get(3).getNewValue());
+            // the loaded rows are left untouched
+            assertEquals(6, v3.getDiffOffset());
+        }
+
+        @Test
+        @DisplayName("full=true leaves splices that do not fit as stored, up to the next full value")
+        void getHistory_Full_BrokenChain() {
+            TicketHistory v2 = entry("description", "draft", "first draft", null);
+            TicketHistory v3 = entry("description", "draft", "version", 6);
+            TicketHistory v4 = entry("description", "", "the ", 0);
+            // written past the history, so v4's splice does not fit any more
+            testTicket.setDescription("x");
+            when(ticketHistoryRepository.findPageAfter(eq(ticketId), any(), any(), any()))
+                    .thenReturn(List.of(v2, v3, v4));
+            when(ticketHistoryRepository.findByTicketIdAndFieldOrderByCreatedAtAsc(ticketId, "description"))
+                    .thenReturn(List.of(v2, v3, v4));
+            when(ticketRepository.findByIdAndProjectId(ticketId, projectId)).thenReturn(Optional.of(testTicket));
+
+            List<TicketHistory> result = ticketService.getHistory(projectId, ticketId, null, 50, Sort.Direction.ASC, true).items();
+
+            assertEquals(List.of(v2, v3, v4), result);
+        }
+    }
+
+    @Nested
+    @DisplayName("Delta Sync Tests")
+    class ChangesTests {
+
+        private Ticket ticketAt(OffsetDateTime updatedAt) {
+            return Ticket.builder()
+                    .id(UUID.randomUUID()).name("T").type(TicketType.bug).priority(TicketPriority.low)
+                    .state(TicketState.open).project(testProject).author(testUser)
+                    .updatedAt(updatedAt).build();
+        }
+
+        @Test
+        @DisplayName("Merges changed tickets and tombstones in time order")
+        void getChanges_MergesInOrder() {
+            OffsetDateTime t0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+            Ticket first = ticketAt(t0);
+            Ticket third = ticketAt(t0.plusMinutes(2));
+            TicketTombstone second = TicketTombstone.builder()
+                    .ticketId(UUID.randomUUID()).projectId(projectId).deletedAt(t0.plusMinutes(1)).build();
+
+            when(ticketRepository.findChangedSince(eq(projectId), any(), any(), any(), any(Limit.class)))
+                    .thenReturn(List.of(first, third));
+            when(ticketTombstoneRepository.findDeletedSince(eq(projectId), any(), any(), any(), any(Limit.class)))
+                    .thenReturn(List.of(second));
+
+            TicketChangesResponse result = ticketService.getChanges(projectId, null, 2);
+
+            assertEquals(1, result.getChanged().size());
+            assertEquals(first.getId(), result.getChanged().get(0).getId());
+            assertEquals(List.of(second.getTicketId()), result.getDeleted());
+            assertTrue(result.isHasMore());
+
+            KeysetCursor next = KeysetCursor.decode(result.getCursor());
+            assertEquals(second.getTicketId(), next.id());
+            assertEquals(second.getDeletedAt().toInstant(), next.at().toInstant());
+        }
+
+        @Test
+        @DisplayName("Empty page keeps the incoming cursor")
+        void getChanges_NothingNew_KeepsCursor() {
+            String cursor = KeysetCursor.of(OffsetDateTime.now().minusHours(1), ticketId).encode();
+
+            when(ticketRepository.findChangedSince(eq(projectId), any(), any(), any(), any(Limit.class)))
+                    .thenReturn(Collections.emptyList());
+            when(ticketTombstoneRepository.findDeletedSince(eq(projectId), any(), any(), any(), any(Limit.class)))
+                    .thenReturn(Collections.emptyList());
+
+            TicketChangesResponse result = ticketService.getChanges(projectId, cursor, 100);
+
+            assertTrue(result.getChanged().isEmpty());
+            assertTrue(result.getDeleted().isEmpty());
+            assertFalse(result.isHasMore());
+            assertEquals(cursor, result.getCursor());
+        }
+
+        @Test
+        @DisplayName("A cursor older than the kept tombstones is rejected")
+        void getChanges_ExpiredCursor_Throws() {
+            String cursor = KeysetCursor.of(OffsetDateTime.now().minusDays(31), ticketId).encode();
+
+            assertThrows(CursorExpiredException.class, () -> ticketService.getChanges(projectId, cursor, 10));
+            verify(ticketTombstoneRepository, never()).findDeletedSince(any(), any(), any(), any(), any(Limit.class));
+        }
+
+        @Test
+        @DisplayName("Tombstones older than the retention are deleted")
+        void purgeTombstones() {
+            when(ticketTombstoneRepository.deleteByDeletedAtBefore(any())).thenReturn(3);
+
+            assertEquals(3, ticketService.purgeTombstones());
+
+            ArgumentCaptor<OffsetDateTime> cutoff = ArgumentCaptor.forClass(OffsetDateTime.class);
+            verify(ticketTombstoneRepository).deleteByDeletedAtBefore(cutoff.capture());
+            assertTrue(cutoff.getValue().isBefore(OffsetDateTime.now().minusDays(29)));
+        }
+
+        @Test
+        @DisplayName("Malformed cursor is rejected")
+        void getChanges_BadCursor_Throws() {
+            assertThrows(BadRequestException.class, () -> ticketService.getChanges(projectId, "not-a-cursor!", 10));
         }
     }
-}
\ No newline at end of file
+}
@@ -3,8 +3,12 @@ package com.tsystem.user;
 import com.tsystem.configuration.JwtAuthenticationFilter;
 import com.tsystem.controller.UserController;
 import com.tsystem.exception.NotFoundException;
+import com.tsystem.model.dto.VersionStamp;
+import com.tsystem.model.dto.response.UserShortResponse;
 import com.tsystem.model.user.SystemRole;
 import com.tsystem.model.user.User;
+import com.tsystem.service.CollectionVersionService;
+import com.tsystem.service.UserDirectory;
 import com.tsystem.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +19,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -46,11 +51,20 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserDirectory userDirectory;
+
+    @MockitoBean
+    private CollectionVersionService collectionVersions;
+
+    private final VersionStamp stamp = new VersionStamp("W/\"users.7\"", 1_700_000_000_000L);
+
     private User testUser;
     private UUID userId;
 
     @BeforeEach
     void setUp() {
+        when(collectionVersions.stamp(CollectionVersionService.USERS)).thenReturn(stamp);
         userId = UUID.randomUUID();
         testUser = User.builder()
                 .id(userId)
@@ -84,6 +98,26 @@ class UserControllerTest {
             verify(userService).findAll();
         }
 
+        @Test
+        @DisplayName("matching If-None-Match returns 304 without loading users")
+        void getAllUsers_NotModified() throws Exception {
+            mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, stamp.etag()))
+                    .andExpect(status().isNotModified());
+
+            verify(userService, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("stale If-None-Match returns the list with the current ETag")
+        void getAllUsers_Modified() throws Exception {
+            when(userService.findAll()).thenReturn(List.of(testUser));
+
+            mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, "W/\"users.6\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, stamp.etag()))
+                    .andExpect(jsonPath("$[0].id").value(userId.toString()));
+        }
+
         @Test
         @DisplayName("returns empty list")
         void getAllUsers_Empty() throws Exception {
@@ -128,6 +162,31 @@ class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/users/short")
+    class GetShortTests {
+
+        @Test
+        @DisplayName("returns short profiles for the requested ids")
+        void returnsProfiles() throws Exception {
+            UUID otherId = UUID.randomUUID();
+            when(userDirectory.find(List.of(userId, otherId))).thenReturn(List.of(
+                    UserShortResponse.builder().id(userId).username("test@example.com").name("Test").surname("User").build()));
+
+            mockMvc.perform(get("/api/users/short").param("ids", userId + "," + otherId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].name").value("Test"));
+        }
+
+        @Test
+        @DisplayName("returns 400 for a malformed id")
+        void malformedId() throws Exception {
+            mockMvc.perform(get("/api/users/short").param("ids", "not-a-uuid"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/users/getById/{id}")
     class GetUserByIdTests {
@@ -0,0 +1,94 @@
+package com.tsystem.user;
+
+import com.tsystem.exception.BadRequestException;
+import com.tsystem.model.dto.response.UserShortResponse;
+import com.tsystem.model.event.UserEvent;
+import com.tsystem.repository.UserRepository;
+import com.tsystem.service.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+    @Mock UserRepository userRepository;
+
+    private UserDirectory userDirectory;
+
+    private UserShortResponse ann;
+    private UserShortResponse bob;
+
+    @BeforeEach
+    void setUp() {
+        userDirectory = new UserDirectory(userRepository, 600_000);
+        ann = new UserShortResponse(UUID.randomUUID(), "ann@example.com", "Ann", "A");
+        bob = new UserShortResponse(UUID.randomUUID(), "bob@example.com", "Bob", "B");
+        when(userRepository.findAllShort()).thenReturn(List.of(ann, bob));
+        userDirectory.load();
+    }
+
+    @Test
+    @DisplayName("Known ids are answered from memory, in request order, without duplicates")
+    void find_FromMemory() {
+        List<UserShortResponse> result = userDirectory.find(List.of(bob.getId(), ann.getId(), bob.getId()));
+
+        assertEquals(List.of(bob, ann), result);
+        verify(userRepository, never()).findShortByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Unknown ids are looked up once and remembered, also when the database lacks them")
+    void find_MissLoadsOnce() {
+        UserShortResponse cid = new UserShortResponse(UUID.randomUUID(), "cid@example.com", "Cid", "C");
+        UUID ghost = UUID.randomUUID();
+        when(userRepository.findShortByIdIn(List.of(cid.getId(), ghost))).thenReturn(List.of(cid));
+
+        assertEquals(List.of(ann, cid), userDirectory.find(List.of(ann.getId(), cid.getId(), ghost)));
+        assertEquals(List.of(cid), userDirectory.find(List.of(cid.getId(), ghost)));
+        verify(userRepository).findShortByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("An id remembered as unknown is found once the user is saved")
+    void find_UnknownThenSaved() {
+        UserShortResponse cid = new UserShortResponse(UUID.randomUUID(), "cid@example.com", "Cid", "C");
+        when(userRepository.findShortByIdIn(List.of(cid.getId()))).thenReturn(List.of());
+        assertEquals(List.of(), userDirectory.find(List.of(cid.getId())));
+
+        userDirectory.onUserEvent(UserEvent.saved(cid));
+
+        assertEquals(List.of(cid), userDirectory.find(List.of(cid.getId())));
+        verify(userRepository).findShortByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Saved and deleted users are applied")
+    void onUserEvent_KeepsCurrent() {
+        UserShortResponse renamed = new UserShortResponse(ann.getId(), "ann@example.com", "Anna", "A");
+
+        userDirectory.onUserEvent(UserEvent.saved(renamed));
+        userDirectory.onUserEvent(UserEvent.deleted(bob.getId()));
+
+        assertEquals(List.of(renamed), userDirectory.find(List.of(ann.getId(), bob.getId())));
+        verify(userRepository, never()).findShortByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Too many ids are rejected")
+    void find_TooManyIds() {
+        List<UUID> ids = IntStream.rangeClosed(0, UserDirectory.MAX_IDS).mapToObj(i -> UUID.randomUUID()).toList();
+
+        assertThrows(BadRequestException.class, () -> userDirectory.find(ids));
+    }
+}
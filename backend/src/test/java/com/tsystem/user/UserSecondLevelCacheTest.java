@@ -0,0 +1,93 @@
+package com.tsystem.user;
+
+import com.tsystem.model.user.SystemRole;
+import com.tsystem.model.user.User;
+import com.tsystem.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String login = "cached-" + UUID.randomUUID() + "@example.com";
+        user = userRepository.save(User.builder()
+                .username(login)
+                .email(login)
+                .name("Cached")
+                .surname("User")
+                .password("hash")
+                .role(SystemRole.USER)
+                .build());
+        entityManagerFactory.getCache().evictAll();
+        statistics().clear();
+    }
+
+    @Test
+    @DisplayName("Entity is served from the second-level cache after the first load")
+    void findById_SecondLoadHitsCache() {
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        assertEquals(1, statistics().getDomainDataRegionStatistics("users").getHitCount());
+    }
+
+    @Test
+    @DisplayName("Username lookup is answered from the query cache")
+    void findByUsername_UsesQueryCache() {
+        userRepository.findByUsername(user.getUsername());
+        userRepository.findByUsername(user.getUsername());
+
+        assertEquals(1, statistics().getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Bulk block update evicts the cached user and its cached lookups")
+    void blockUser_EvictsCachedEntries() {
+        userRepository.findById(user.getId());
+        userRepository.findByUsername(user.getUsername());
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> userRepository.blockUser(user.getId()));
+
+        assertFalse(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        User reloaded = userRepository.findByUsername(user.getUsername()).orElseThrow();
+        assertTrue(reloaded.isBlocked());
+        assertEquals(1, reloaded.getTokenVersion());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
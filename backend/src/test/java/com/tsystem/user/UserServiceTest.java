@@ -5,6 +5,7 @@ import com.tsystem.model.dto.request.UserRequest;
 import com.tsystem.model.user.SystemRole;
 import com.tsystem.model.user.User;
 import com.tsystem.repository.UserRepository;
+import com.tsystem.service.CollectionVersionService;
 import com.tsystem.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
@@ -36,6 +38,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CollectionVersionService collectionVersions;
+
     @InjectMocks
     private UserService userService;
 
@@ -381,6 +389,7 @@ class UserServiceTest {
 
             verify(userRepository).findById(userId);
             verify(userRepository).delete(testUser);
+            verify(collectionVersions).bump(CollectionVersionService.USERS);
         }
 
         @Test
@@ -411,6 +420,7 @@ class UserServiceTest {
             userService.blockUser(userId);
 
             verify(userRepository).blockUser(userId);
+            verify(collectionVersions).bump(CollectionVersionService.USERS);
         }
 
         @Test
@@ -426,6 +436,7 @@ class UserServiceTest {
 
             assertEquals("User not found", exception.getMessage());
             verify(userRepository).blockUser(randomId);
+            verifyNoInteractions(collectionVersions);
         }
     }
 
@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Ticket, TicketRequest } from '../../pages/tickets/ticket.models';
+import { Ticket, TicketChanges, TicketRequest } from '../../pages/tickets/ticket.models';
 import { environment } from '../../../environments/environment';
 import { Observable } from 'rxjs';
 import { TicketHistory } from '../../pages/tickets/ticket-history.model';
@@ -16,6 +16,13 @@ export class TicketService {
         return this.http.get<Ticket[]>(`${this.base}/projects/${projectId}/tickets`);
     }
 
+    // tickets changed since the cursor returned by the previous call (none = from scratch);
+    // a 410 means the cursor has expired, drop the local copy and call again without one
+    changes(projectId: string, cursor?: string): Observable<TicketChanges> {
+        const params: Record<string, string> = cursor ? { cursor } : {};
+        return this.http.get<TicketChanges>(`${this.base}/projects/${projectId}/tickets/changes`, { params });
+    }
+
     get(projectId: string, ticketId: string): Observable<Ticket> {
         return this.http.get<Ticket>(`${this.base}/projects/${projectId}/tickets/${ticketId}`);
     }
@@ -40,6 +47,9 @@ export class TicketService {
     }
 
     getHistory(projectId: string, ticketId: string): Observable<TicketHistory[]> {
-        return this.http.get<TicketHistory[]>(`${this.base}/projects/${projectId}/tickets/${ticketId}/history`);
+        // full=true: the history view shows whole descriptions, not the stored splices
+        return this.http.get<TicketHistory[]>(`${this.base}/projects/${projectId}/tickets/${ticketId}/history`, {
+            params: { full: 'true' }
+        });
     }
 }
@@ -10,6 +10,7 @@ export interface Ticket {
     priority: TicketPriority;
     state: TicketState;
     createdAt: string;
+    updatedAt?: string;
     projectId: string;
     assigneeId?: number | null;
 
@@ -17,6 +18,13 @@ export interface Ticket {
     owner?: UserShort;
 }
 
+export interface TicketChanges {
+    changed: Ticket[];
+    deleted: string[];
+    cursor: string;
+    hasMore: boolean;
+}
+
 export interface TicketRequest {
     name: string;
     description: string;